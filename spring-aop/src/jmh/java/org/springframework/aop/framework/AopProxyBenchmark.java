@@ -0,0 +1,158 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import java.lang.reflect.Method;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.DynamicMethodMatcherPointcut;
+
+/**
+ * Benchmark for method invocations on {@link CglibAopProxy} and
+ * {@link JdkDynamicAopProxy} instances, with and without advice, comparing
+ * frozen configurations, which invoke through a {@link CompiledInterceptorChain},
+ * with unfrozen configurations for the same advice.
+ *
+ * @since 5.0.12
+ */
+@BenchmarkMode(Mode.Throughput)
+public class AopProxyBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"cglib", "jdk"})
+		public String proxyType;
+
+		@Param({"0", "1", "3"})
+		public int interceptorCount;
+
+		public Calculator target;
+
+		public Calculator proxy;
+
+		public Calculator frozenProxy;
+
+		public Calculator dynamicProxy;
+
+		public Calculator frozenDynamicProxy;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.target = new SimpleCalculator();
+			this.proxy = createProxy(false);
+			this.frozenProxy = createProxy(true);
+			this.dynamicProxy = createDynamicProxy(false);
+			this.frozenDynamicProxy = createDynamicProxy(true);
+		}
+
+		private Calculator createProxy(boolean frozen) {
+			ProxyFactory pf = new ProxyFactory(this.target);
+			pf.setProxyTargetClass(this.proxyType.equals("cglib"));
+			for (int i = 0; i < this.interceptorCount; i++) {
+				pf.addAdvice((MethodInterceptor) invocation -> invocation.proceed());
+			}
+			pf.setFrozen(frozen);
+			return (Calculator) pf.getProxy();
+		}
+
+		private Calculator createDynamicProxy(boolean frozen) {
+			ProxyFactory pf = new ProxyFactory(this.target);
+			pf.setProxyTargetClass(this.proxyType.equals("cglib"));
+			for (int i = 0; i < this.interceptorCount; i++) {
+				pf.addAdvisor(new DefaultPointcutAdvisor(new DynamicMethodMatcherPointcut() {
+					@Override
+					public boolean matches(Method method, Class<?> targetClass, Object... args) {
+						return (args.length > 0 && args[0] instanceof Integer && (Integer) args[0] > 0);
+					}
+				}, (MethodInterceptor) invocation -> invocation.proceed()));
+			}
+			pf.setFrozen(frozen);
+			return (Calculator) pf.getProxy();
+		}
+	}
+
+
+	@Benchmark
+	public void invokeTarget(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.target.add(1, 2));
+	}
+
+	@Benchmark
+	public void invokeProxy(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.proxy.add(1, 2));
+	}
+
+	@Benchmark
+	public void invokeFrozenProxy(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.frozenProxy.add(1, 2));
+	}
+
+	@Benchmark
+	public void invokeProxyWithObjectResult(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.proxy.describe());
+	}
+
+	@Benchmark
+	public void invokeFrozenProxyWithObjectResult(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.frozenProxy.describe());
+	}
+
+	@Benchmark
+	public void invokeProxyWithDynamicPointcut(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.dynamicProxy.add(1, 2));
+	}
+
+	@Benchmark
+	public void invokeFrozenProxyWithDynamicPointcut(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.frozenDynamicProxy.add(1, 2));
+	}
+
+
+	public interface Calculator {
+
+		int add(int a, int b);
+
+		String describe();
+	}
+
+
+	public static class SimpleCalculator implements Calculator {
+
+		@Override
+		public int add(int a, int b) {
+			return a + b;
+		}
+
+		@Override
+		public String describe() {
+			return "calculator";
+		}
+	}
+
+}
@@ -329,7 +329,7 @@ class CglibAopProxy implements AopProxy, Serializable {
 			for (int x = 0; x < methods.length; x++) {
 				List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(methods[x], rootClass);
 				fixedCallbacks[x] = new FixedChainStaticTargetInterceptor(
-						chain, this.advised.getTargetSource().getTarget(), this.advised.getTargetClass());
+						methods[x], chain, this.advised.getTargetSource().getTarget(), this.advised.getTargetClass());
 				this.fixedInterceptorMap.put(methods[x].toString(), x);
 			}
 
@@ -611,6 +611,8 @@ class CglibAopProxy implements AopProxy, Serializable {
 
 	/**
 	 * Interceptor used specifically for advised methods on a frozen, static proxy.
+	 * Proceeds through a {@link CompiledInterceptorChain} for the given method,
+	 * unless deserialized.
 	 */
 	private static class FixedChainStaticTargetInterceptor implements MethodInterceptor, Serializable {
 
@@ -622,21 +624,31 @@ class CglibAopProxy implements AopProxy, Serializable {
 		@Nullable
 		private final Class<?> targetClass;
 
-		public FixedChainStaticTargetInterceptor(
+		@Nullable
+		private final transient CompiledInterceptorChain compiledChain;
+
+		public FixedChainStaticTargetInterceptor(Method method,
 				List<Object> adviceChain, @Nullable Object target, @Nullable Class<?> targetClass) {
 
 			this.adviceChain = adviceChain;
 			this.target = target;
 			this.targetClass = targetClass;
+			this.compiledChain = new CompiledInterceptorChain(method, targetClass, adviceChain);
 		}
 
 		@Override
 		@Nullable
 		public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
-			MethodInvocation invocation = new CglibMethodInvocation(proxy, this.target, method, args,
-					this.targetClass, this.adviceChain, methodProxy);
-			// If we get here, we need to create a MethodInvocation.
-			Object retVal = invocation.proceed();
+			Object retVal;
+			if (this.compiledChain != null) {
+				retVal = this.compiledChain.invoke(proxy, this.target, method, args, methodProxy);
+			}
+			else {
+				MethodInvocation invocation = new CglibMethodInvocation(proxy, this.target, method, args,
+						this.targetClass, this.adviceChain, methodProxy);
+				// If we get here, we need to create a MethodInvocation.
+				retVal = invocation.proceed();
+			}
 			retVal = processReturnType(proxy, this.target, method, retVal);
 			return retVal;
 		}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+import org.aopalliance.intercept.MethodInterceptor;
+
+import org.springframework.aop.AopInvocationException;
+import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.core.BridgeMethodResolver;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Interceptor chain for a specific method, compiled once at proxy creation
+ * for a frozen proxy configuration with a static target.
+ *
+ * <p>In contrast to {@link AdvisedSupport#getInterceptorsAndDynamicInterceptionAdvice},
+ * an invocation through a compiled chain does not need a cache lookup per call.
+ * Dynamic method matchers are folded into the interceptor array, and the target
+ * method is made accessible once, or invoked through the CGLIB {@link MethodProxy}
+ * for public methods on a CGLIB proxy.
+ *
+ * @since 5.0.12
+ * @see AdvisedSupport#isFrozen()
+ * @see org.springframework.aop.TargetSource#isStatic()
+ */
+final class CompiledInterceptorChain {
+
+	private final Method method;
+
+	@Nullable
+	private final Class<?> targetClass;
+
+	private final List<Object> interceptorsAndDynamicMethodMatchers;
+
+	private final MethodInterceptor[] interceptors;
+
+	private final boolean publicMethod;
+
+
+	/**
+	 * Compile the given interceptor chain for the given method.
+	 * @param method the method invoked on the proxy
+	 * @param targetClass the target class, for dynamic method matchers
+	 * @param interceptorsAndDynamicMethodMatchers the chain as determined by the
+	 * {@link AdvisorChainFactory} for the given method
+	 */
+	public CompiledInterceptorChain(Method method, @Nullable Class<?> targetClass,
+			List<Object> interceptorsAndDynamicMethodMatchers) {
+
+		this.method = BridgeMethodResolver.findBridgedMethod(method);
+		this.targetClass = targetClass;
+		this.interceptorsAndDynamicMethodMatchers = interceptorsAndDynamicMethodMatchers;
+		this.interceptors = new MethodInterceptor[interceptorsAndDynamicMethodMatchers.size()];
+		for (int i = 0; i < this.interceptors.length; i++) {
+			this.interceptors[i] = compileInterceptor(interceptorsAndDynamicMethodMatchers.get(i));
+		}
+		ReflectionUtils.makeAccessible(this.method);
+		this.publicMethod = Modifier.isPublic(method.getModifiers());
+	}
+
+	private MethodInterceptor compileInterceptor(Object interceptorOrInterceptionAdvice) {
+		if (interceptorOrInterceptionAdvice instanceof InterceptorAndDynamicMethodMatcher) {
+			// Evaluate dynamic method matcher on invocation, skipping the interceptor if not matching
+			InterceptorAndDynamicMethodMatcher dm = (InterceptorAndDynamicMethodMatcher) interceptorOrInterceptionAdvice;
+			return invocation -> (dm.methodMatcher.matches(this.method, this.targetClass, invocation.getArguments()) ?
+					dm.interceptor.invoke(invocation) : invocation.proceed());
+		}
+		return (MethodInterceptor) interceptorOrInterceptionAdvice;
+	}
+
+
+	/**
+	 * Invoke the given method through this chain.
+	 * @param proxy the proxy object that the invocation was made on
+	 * @param target the target object to invoke
+	 * @param method the method as invoked on the proxy
+	 * @param args the arguments to invoke the method with
+	 * @return the value returned by the interceptor chain
+	 */
+	@Nullable
+	public Object invoke(Object proxy, @Nullable Object target, Method method, Object[] args) throws Throwable {
+		return invoke(proxy, target, method, args, null);
+	}
+
+	/**
+	 * Invoke the given method through this chain, invoking a public target
+	 * method through the given CGLIB {@code MethodProxy}, if any.
+	 * @param proxy the proxy object that the invocation was made on
+	 * @param target the target object to invoke
+	 * @param method the method as invoked on the proxy
+	 * @param args the arguments to invoke the method with
+	 * @param methodProxy the CGLIB method proxy for the given method, if any
+	 * @return the value returned by the interceptor chain
+	 */
+	@Nullable
+	public Object invoke(Object proxy, @Nullable Object target, Method method, Object[] args,
+			@Nullable MethodProxy methodProxy) throws Throwable {
+
+		if (this.interceptors.length == 0) {
+			return invokeJoinpoint(target, AopProxyUtils.adaptArgumentsIfNecessary(method, args), methodProxy);
+		}
+		return new CompiledMethodInvocation(proxy, target, method, args, this, methodProxy).proceed();
+	}
+
+	/**
+	 * Invoke the target method, with the same exception translation as
+	 * {@link org.springframework.aop.support.AopUtils#invokeJoinpointUsingReflection}.
+	 */
+	@Nullable
+	private Object invokeJoinpoint(@Nullable Object target, Object[] args, @Nullable MethodProxy methodProxy)
+			throws Throwable {
+
+		if (methodProxy != null && this.publicMethod) {
+			return methodProxy.invoke(target, args);
+		}
+		try {
+			return this.method.invoke(target, args);
+		}
+		catch (InvocationTargetException ex) {
+			// Invoked method threw a checked exception.
+			// We must rethrow it. The client won't see the interceptor.
+			throw ex.getTargetException();
+		}
+		catch (IllegalArgumentException ex) {
+			throw new AopInvocationException("AOP configuration seems to be invalid: tried calling method [" +
+					this.method + "] on target [" + target + "]", ex);
+		}
+		catch (IllegalAccessException ex) {
+			throw new AopInvocationException("Could not access method [" + this.method + "]", ex);
+		}
+	}
+
+
+	/**
+	 * MethodInvocation proceeding through the interceptor array of a compiled chain.
+	 */
+	private static class CompiledMethodInvocation extends ReflectiveMethodInvocation {
+
+		private final CompiledInterceptorChain chain;
+
+		@Nullable
+		private final MethodProxy methodProxy;
+
+		private int currentInterceptorIndex = -1;
+
+		public CompiledMethodInvocation(Object proxy, @Nullable Object target, Method method,
+				Object[] arguments, CompiledInterceptorChain chain, @Nullable MethodProxy methodProxy) {
+
+			super(proxy, target, method, arguments, chain.targetClass, chain.interceptorsAndDynamicMethodMatchers);
+			this.chain = chain;
+			this.methodProxy = methodProxy;
+		}
+
+		@Override
+		@Nullable
+		public Object proceed() throws Throwable {
+			MethodInterceptor[] interceptors = this.chain.interceptors;
+			if (this.currentInterceptorIndex == interceptors.length - 1) {
+				return invokeJoinpoint();
+			}
+			return interceptors[++this.currentInterceptorIndex].invoke(this);
+		}
+
+		@Override
+		@Nullable
+		protected Object invokeJoinpoint() throws Throwable {
+			return this.chain.invokeJoinpoint(this.target, this.arguments, this.methodProxy);
+		}
+	}
+
+}
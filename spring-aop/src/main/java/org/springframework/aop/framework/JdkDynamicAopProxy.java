@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,7 +20,9 @@ import java.io.Serializable;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.logging.Log;
@@ -92,6 +94,13 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 	 */
 	private boolean hashCodeDefined;
 
+	/**
+	 * Compiled interceptor chains per proxied interface method, if the
+	 * configuration is frozen and the target source is static.
+	 */
+	@Nullable
+	private final transient Map<Method, CompiledInterceptorChain> compiledChains;
+
 
 	/**
 	 * Construct a new JdkDynamicAopProxy for the given AOP configuration.
@@ -105,6 +114,36 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 			throw new AopConfigException("No advisors and no TargetSource specified");
 		}
 		this.advised = config;
+		this.compiledChains = compileInterceptorChains(config);
+	}
+
+	/**
+	 * Compile the interceptor chains for all methods on the proxied interfaces,
+	 * provided that the given configuration is frozen and has a static target.
+	 * @param config the AOP configuration
+	 * @return the compiled chains per method, or {@code null} if not applicable
+	 */
+	@Nullable
+	private static Map<Method, CompiledInterceptorChain> compileInterceptorChains(AdvisedSupport config) {
+		if (!config.isFrozen() || !config.getTargetSource().isStatic()) {
+			return null;
+		}
+		Object target;
+		try {
+			target = config.getTargetSource().getTarget();
+		}
+		catch (Exception ex) {
+			throw new AopConfigException("Failed to obtain static target for compiling interceptor chains", ex);
+		}
+		Class<?> targetClass = (target != null ? target.getClass() : null);
+		Map<Method, CompiledInterceptorChain> compiledChains = new HashMap<>();
+		for (Class<?> proxiedInterface : config.getProxiedInterfaces()) {
+			for (Method method : proxiedInterface.getMethods()) {
+				List<Object> chain = config.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+				compiledChains.put(method, new CompiledInterceptorChain(method, targetClass, chain));
+			}
+		}
+		return compiledChains;
 	}
 
 
@@ -193,23 +232,31 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 			target = targetSource.getTarget();
 			Class<?> targetClass = (target != null ? target.getClass() : null);
 
-			// Get the interception chain for this method.
-			List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
-
-			// Check whether we have any advice. If we don't, we can fallback on direct
-			// reflective invocation of the target, and avoid creating a MethodInvocation.
-			if (chain.isEmpty()) {
-				// We can skip creating a MethodInvocation: just invoke the target directly
-				// Note that the final invoker must be an InvokerInterceptor so we know it does
-				// nothing but a reflective operation on the target, and no hot swapping or fancy proxying.
-				Object[] argsToUse = AopProxyUtils.adaptArgumentsIfNecessary(method, args);
-				retVal = AopUtils.invokeJoinpointUsingReflection(target, method, argsToUse);
+			// Use the interception chain compiled at proxy creation, if available.
+			CompiledInterceptorChain compiledChain =
+					(this.compiledChains != null && this.advised.isFrozen() ? this.compiledChains.get(method) : null);
+			if (compiledChain != null) {
+				retVal = compiledChain.invoke(proxy, target, method, args);
 			}
 			else {
-				// We need to create a method invocation...
-				invocation = new ReflectiveMethodInvocation(proxy, target, method, args, targetClass, chain);
-				// Proceed to the joinpoint through the interceptor chain.
-				retVal = invocation.proceed();
+				// Get the interception chain for this method.
+				List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+
+				// Check whether we have any advice. If we don't, we can fallback on direct
+				// reflective invocation of the target, and avoid creating a MethodInvocation.
+				if (chain.isEmpty()) {
+					// We can skip creating a MethodInvocation: just invoke the target directly
+					// Note that the final invoker must be an InvokerInterceptor so we know it does
+					// nothing but a reflective operation on the target, and no hot swapping or fancy proxying.
+					Object[] argsToUse = AopProxyUtils.adaptArgumentsIfNecessary(method, args);
+					retVal = AopUtils.invokeJoinpointUsingReflection(target, method, argsToUse);
+				}
+				else {
+					// We need to create a method invocation...
+					invocation = new ReflectiveMethodInvocation(proxy, target, method, args, targetClass, chain);
+					// Proceed to the joinpoint through the interceptor chain.
+					retVal = invocation.proceed();
+				}
 			}
 
 			// Massage return value if necessary.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.aop.framework;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import javax.accessibility.Accessible;
@@ -33,14 +34,18 @@ import org.springframework.aop.support.AopUtils;
 import org.springframework.aop.support.DefaultIntroductionAdvisor;
 import org.springframework.aop.support.DefaultPointcutAdvisor;
 import org.springframework.aop.support.DelegatingIntroductionInterceptor;
+import org.springframework.aop.support.DynamicMethodMatcherPointcut;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.core.annotation.Order;
 import org.springframework.tests.TimeStamped;
 import org.springframework.tests.aop.advice.CountingBeforeAdvice;
 import org.springframework.tests.aop.interceptor.NopInterceptor;
+import org.springframework.tests.aop.interceptor.SerializableNopInterceptor;
 import org.springframework.tests.sample.beans.IOther;
 import org.springframework.tests.sample.beans.ITestBean;
+import org.springframework.tests.sample.beans.SerializablePerson;
 import org.springframework.tests.sample.beans.TestBean;
+import org.springframework.util.SerializationTestUtils;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
@@ -379,6 +384,163 @@ public class ProxyFactoryTests {
 		assertEquals("tb", proxy.getName());
 	}
 
+	@Test
+	public void testFrozenInterfaceProxyAppliesInterceptorsInOrder() {
+		List<String> calls = new ArrayList<>();
+		ProxyFactory pf = new ProxyFactory(new TestBean("tb"));
+		pf.addAdvice((MethodInterceptor) invocation -> {
+			calls.add("first");
+			return invocation.proceed();
+		});
+		pf.addAdvice((MethodInterceptor) invocation -> {
+			calls.add("second");
+			return invocation.proceed();
+		});
+		pf.setFrozen(true);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		assertEquals("tb", proxy.getName());
+		assertEquals("tb", proxy.getName());
+		assertEquals(4, calls.size());
+		assertEquals("first", calls.get(0));
+		assertEquals("second", calls.get(1));
+	}
+
+	@Test
+	public void testFrozenInterfaceProxyEvaluatesDynamicPointcut() {
+		NopInterceptor nop = new NopInterceptor();
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvisor(new DefaultPointcutAdvisor(new DynamicMethodMatcherPointcut() {
+			@Override
+			public boolean matches(Method method, Class<?> targetClass, Object... args) {
+				return (args.length == 1 && "advised".equals(args[0]));
+			}
+		}, nop));
+		pf.setFrozen(true);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		proxy.setName("plain");
+		assertEquals(0, nop.getCount());
+		proxy.setName("advised");
+		assertEquals(1, nop.getCount());
+		assertEquals("advised", proxy.getName());
+	}
+
+	@Test
+	public void testFrozenInterfaceProxyRethrowsCheckedException() throws Throwable {
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvice(new NopInterceptor());
+		pf.setFrozen(true);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		Exception ex = new Exception("expected");
+		try {
+			proxy.exceptional(ex);
+			fail("Should have thrown Exception");
+		}
+		catch (Exception actual) {
+			assertSame(ex, actual);
+		}
+	}
+
+	@Test
+	public void testFrozenClassProxyAppliesInterceptorsInOrder() {
+		List<String> calls = new ArrayList<>();
+		ProxyFactory pf = new ProxyFactory(new TestBean("tb"));
+		pf.setProxyTargetClass(true);
+		pf.addAdvice((MethodInterceptor) invocation -> {
+			calls.add("first");
+			return invocation.proceed();
+		});
+		pf.addAdvice((MethodInterceptor) invocation -> {
+			calls.add("second");
+			return invocation.proceed();
+		});
+		pf.setFrozen(true);
+		TestBean proxy = (TestBean) pf.getProxy();
+		assertEquals("tb", proxy.getName());
+		assertEquals("tb", proxy.getName());
+		assertEquals(4, calls.size());
+		assertEquals("first", calls.get(0));
+		assertEquals("second", calls.get(1));
+	}
+
+	@Test
+	public void testFrozenClassProxyEvaluatesDynamicPointcut() {
+		NopInterceptor nop = new NopInterceptor();
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.setProxyTargetClass(true);
+		pf.addAdvisor(new DefaultPointcutAdvisor(new DynamicMethodMatcherPointcut() {
+			@Override
+			public boolean matches(Method method, Class<?> targetClass, Object... args) {
+				return (args.length == 1 && "advised".equals(args[0]));
+			}
+		}, nop));
+		pf.setFrozen(true);
+		TestBean proxy = (TestBean) pf.getProxy();
+		proxy.setName("plain");
+		assertEquals(0, nop.getCount());
+		proxy.setName("advised");
+		assertEquals(1, nop.getCount());
+		assertEquals("advised", proxy.getName());
+	}
+
+	@Test
+	public void testFrozenClassProxyRethrowsCheckedException() throws Throwable {
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.setProxyTargetClass(true);
+		pf.addAdvice(new NopInterceptor());
+		pf.setFrozen(true);
+		TestBean proxy = (TestBean) pf.getProxy();
+		Exception ex = new Exception("expected");
+		try {
+			proxy.exceptional(ex);
+			fail("Should have thrown Exception");
+		}
+		catch (Exception actual) {
+			assertSame(ex, actual);
+		}
+	}
+
+	@Test
+	public void testFrozenClassProxySerialization() throws Throwable {
+		SerializablePerson target = new SerializablePerson();
+		target.setName("tb");
+		ProxyFactory pf = new ProxyFactory(target);
+		pf.setProxyTargetClass(true);
+		pf.addAdvice(new SerializableNopInterceptor());
+		pf.setFrozen(true);
+		SerializablePerson proxy = (SerializablePerson) pf.getProxy();
+		assertEquals("tb", proxy.getName());
+
+		// Compiled interceptor chain not serialized: proceeding through the regular chain
+		SerializablePerson serializedProxy = (SerializablePerson) SerializationTestUtils.serializeAndDeserialize(proxy);
+		assertEquals("tb", serializedProxy.getName());
+		serializedProxy.setName("other");
+		assertEquals("other", serializedProxy.getName());
+		Exception ex = new Exception("expected");
+		try {
+			serializedProxy.echo(ex);
+			fail("Should have thrown Exception");
+		}
+		catch (Exception actual) {
+			assertSame(ex, actual);
+		}
+		SerializableNopInterceptor nop =
+				(SerializableNopInterceptor) ((Advised) serializedProxy).getAdvisors()[0].getAdvice();
+		assertEquals(5, nop.getCount());
+	}
+
+	@Test
+	public void testInterfaceProxyReflectsAdviceAddedAfterUnfreezing() {
+		NopInterceptor nop = new NopInterceptor();
+		ProxyFactory pf = new ProxyFactory(new TestBean("tb"));
+		pf.setFrozen(true);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		assertEquals("tb", proxy.getName());
+		pf.setFrozen(false);
+		pf.addAdvice(nop);
+		assertEquals("tb", proxy.getName());
+		assertEquals(1, nop.getCount());
+	}
+
 
 	@SuppressWarnings("serial")
 	private static class TimestampIntroductionInterceptor extends DelegatingIntroductionInterceptor
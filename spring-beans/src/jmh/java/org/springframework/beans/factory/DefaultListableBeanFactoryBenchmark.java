@@ -0,0 +1,105 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+/**
+ * Benchmark for retrieving beans from a {@link DefaultListableBeanFactory},
+ * covering both singleton lookups and prototype creation.
+ *
+ * @since 5.0.12
+ */
+@BenchmarkMode(Mode.Throughput)
+public class DefaultListableBeanFactoryBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"singleton", "prototype"})
+		public String scope;
+
+		public DefaultListableBeanFactory beanFactory;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.beanFactory = new DefaultListableBeanFactory();
+			RootBeanDefinition dependency = new RootBeanDefinition(Dependency.class);
+			this.beanFactory.registerBeanDefinition("dependency", dependency);
+			RootBeanDefinition service = new RootBeanDefinition(Service.class);
+			service.setScope(this.scope.equals("singleton") ?
+					BeanDefinition.SCOPE_SINGLETON : BeanDefinition.SCOPE_PROTOTYPE);
+			service.getPropertyValues().add("dependency", new RuntimeBeanReference("dependency"));
+			service.getPropertyValues().add("name", "benchmark");
+			this.beanFactory.registerBeanDefinition("service", service);
+			this.beanFactory.preInstantiateSingletons();
+		}
+	}
+
+
+	@Benchmark
+	public void getBeanByName(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.beanFactory.getBean("service"));
+	}
+
+	@Benchmark
+	public void getBeanByType(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.beanFactory.getBean(Service.class));
+	}
+
+
+	public static class Dependency {
+	}
+
+
+	public static class Service {
+
+		private Dependency dependency;
+
+		private String name;
+
+		public Dependency getDependency() {
+			return this.dependency;
+		}
+
+		public void setDependency(Dependency dependency) {
+			this.dependency = dependency;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+}
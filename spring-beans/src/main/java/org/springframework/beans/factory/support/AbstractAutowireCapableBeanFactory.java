@@ -932,6 +932,10 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 					(mbd.getFactoryBeanName() != null && isSingletonCurrentlyInCreation(mbd.getFactoryBeanName()))) {
 				return null;
 			}
+			if (!claimSingletonCreation(beanName)) {
+				// Currently being created by another thread.
+				return null;
+			}
 
 			Object instance;
 			try {
@@ -947,6 +951,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 			finally {
 				// Finished partial creation of this bean.
 				afterSingletonCreation(beanName);
+				releaseSingletonCreation(beanName);
 			}
 
 			FactoryBean<?> fb = getFactoryBean(beanName, instance);
@@ -30,6 +30,7 @@ import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
@@ -39,11 +40,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import javax.inject.Provider;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCurrentlyInCreationException;
@@ -66,8 +73,10 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
 import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.NamedBeanHolder;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.core.OrderComparator;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotationUtils;
@@ -144,6 +153,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether to allow eager class loading even for lazy-init beans */
 	private boolean allowEagerClassLoading = true;
 
+	/** Number of threads to use for pre-instantiating singletons (1 for serial instantiation) */
+	private int preInstantiationParallelism = 1;
+
 	/** Optional OrderComparator for dependency Lists and arrays */
 	@Nullable
 	private Comparator<Object> dependencyComparator;
@@ -176,6 +188,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether bean definition metadata may be cached for all beans */
 	private volatile boolean configurationFrozen = false;
 
+	/** Parallel pre-instantiation of singletons in progress, if any */
+	@Nullable
+	private volatile ParallelPreInstantiation parallelPreInstantiation;
+
 
 	/**
 	 * Create a new DefaultListableBeanFactory.
@@ -260,6 +276,45 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.allowEagerClassLoading;
 	}
 
+	/**
+	 * Set the number of threads to use for pre-instantiating non-lazy singletons
+	 * in {@link #preInstantiateSingletons()}.
+	 * <p>Default is 1, instantiating all singletons serially on the calling thread.
+	 * Specify a higher number to instantiate independent singletons concurrently on
+	 * a dedicated {@link ForkJoinPool} with the given parallelism.
+	 * <p>Scheduling is based on the dependencies visible in the bean definitions:
+	 * {@code depends-on} declarations, factory beans and explicit bean references
+	 * in constructor arguments and property values, which are instantiated first.
+	 * Beans involved in a cycle of such dependencies, beans with an autowire mode
+	 * other than {@link #AUTOWIRE_NO} in their definition, and any beans depending
+	 * on those are instantiated serially on the calling thread after all others.
+	 * Dependencies injected through annotations (e.g. {@code @Autowired}) or
+	 * looked up programmatically are not visible upfront: they get created on
+	 * demand by the requesting thread or, if already in creation on another thread,
+	 * awaited through the per-bean creation guard of {@link DefaultSingletonBeanRegistry}.
+	 * Declare {@code depends-on} for such dependencies if their order matters.
+	 * {@link SmartInitializingSingleton} callbacks are always invoked on the
+	 * calling thread, in registration order. Once an instantiation fails or
+	 * {@link #destroySingletons()} gets called, pending instantiations are skipped
+	 * and those in progress are awaited.
+	 * <p>Only turn this on for bean factories whose singletons can safely be
+	 * initialized from multiple threads, e.g. with slow I/O in their init methods.
+	 * @since 5.0.12
+	 * @see #preInstantiateSingletons()
+	 */
+	public void setPreInstantiationParallelism(int preInstantiationParallelism) {
+		Assert.isTrue(preInstantiationParallelism > 0, "Pre-instantiation parallelism must be greater than 0");
+		this.preInstantiationParallelism = preInstantiationParallelism;
+	}
+
+	/**
+	 * Return the number of threads to use for pre-instantiating non-lazy singletons.
+	 * @since 5.0.12
+	 */
+	public int getPreInstantiationParallelism() {
+		return this.preInstantiationParallelism;
+	}
+
 	/**
 	 * Set a {@link java.util.Comparator} for dependency Lists and arrays.
 	 * @since 4.0
@@ -315,6 +370,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			DefaultListableBeanFactory otherListableFactory = (DefaultListableBeanFactory) otherFactory;
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
+			this.preInstantiationParallelism = otherListableFactory.preInstantiationParallelism;
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
 			// A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware...
 			setAutowireCandidateResolver(BeanUtils.instantiateClass(getAutowireCandidateResolver().getClass()));
@@ -733,31 +789,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
 
 		// Trigger initialization of all non-lazy singleton beans...
-		for (String beanName : beanNames) {
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-				if (isFactoryBean(beanName)) {
-					Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
-					if (bean instanceof FactoryBean) {
-						final FactoryBean<?> factory = (FactoryBean<?>) bean;
-						boolean isEagerInit;
-						if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-							isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)
-											((SmartFactoryBean<?>) factory)::isEagerInit,
-									getAccessControlContext());
-						}
-						else {
-							isEagerInit = (factory instanceof SmartFactoryBean &&
-									((SmartFactoryBean<?>) factory).isEagerInit());
-						}
-						if (isEagerInit) {
-							getBean(beanName);
-						}
-					}
-				}
-				else {
-					getBean(beanName);
-				}
+		if (this.preInstantiationParallelism > 1) {
+			preInstantiateSingletonsInParallel(beanNames);
+		}
+		else {
+			for (String beanName : beanNames) {
+				preInstantiateSingleton(beanName);
 			}
 		}
 
@@ -780,6 +817,216 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	}
 
 
+	/**
+	 * Instantiate the specified bean if it is a non-lazy singleton,
+	 * including the object exposed by an eagerly initializing factory bean.
+	 * @param beanName the name of the bean
+	 */
+	private void preInstantiateSingleton(String beanName) {
+		RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+		if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+			if (isFactoryBean(beanName)) {
+				Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+				if (bean instanceof FactoryBean) {
+					final FactoryBean<?> factory = (FactoryBean<?>) bean;
+					boolean isEagerInit;
+					if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+						isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)
+										((SmartFactoryBean<?>) factory)::isEagerInit,
+								getAccessControlContext());
+					}
+					else {
+						isEagerInit = (factory instanceof SmartFactoryBean &&
+								((SmartFactoryBean<?>) factory).isEagerInit());
+					}
+					if (isEagerInit) {
+						getBean(beanName);
+					}
+				}
+			}
+			else {
+				getBean(beanName);
+			}
+		}
+	}
+
+	/**
+	 * Instantiate the given beans concurrently, respecting the dependencies
+	 * that can be derived from their bean definitions.
+	 * @param beanNames the names of the beans to instantiate, in registration order
+	 * @see #setPreInstantiationParallelism
+	 */
+	private void preInstantiateSingletonsInParallel(List<String> beanNames) {
+		// Build the dependency graph between non-lazy singletons
+		Map<String, Set<String>> dependencies = new LinkedHashMap<>(beanNames.size());
+		for (String beanName : beanNames) {
+			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+				dependencies.put(beanName, new LinkedHashSet<>());
+			}
+		}
+		Map<String, Set<String>> dependents = new LinkedHashMap<>(dependencies.size());
+		for (Map.Entry<String, Set<String>> entry : dependencies.entrySet()) {
+			Set<String> references = new LinkedHashSet<>();
+			collectBeanReferences(getMergedLocalBeanDefinition(entry.getKey()), references);
+			for (String reference : references) {
+				if (!reference.equals(entry.getKey()) && dependencies.containsKey(reference)) {
+					entry.getValue().add(reference);
+					dependents.computeIfAbsent(reference, key -> new LinkedHashSet<>()).add(entry.getKey());
+				}
+			}
+		}
+
+		// Determine an instantiation order: beans within or behind dependency cycles remain,
+		// as well as beans with autowired dependencies not visible in their bean definition
+		Map<String, Integer> pendingCounts = new LinkedHashMap<>(dependencies.size());
+		List<String> ordered = new ArrayList<>(dependencies.size());
+		for (Map.Entry<String, Set<String>> entry : dependencies.entrySet()) {
+			int pendingCount = entry.getValue().size();
+			if (getMergedLocalBeanDefinition(entry.getKey()).getAutowireMode() != AUTOWIRE_NO) {
+				pendingCount++;
+			}
+			pendingCounts.put(entry.getKey(), pendingCount);
+			if (pendingCount == 0) {
+				ordered.add(entry.getKey());
+			}
+		}
+		for (int i = 0; i < ordered.size(); i++) {
+			for (String dependent : dependents.getOrDefault(ordered.get(i), Collections.emptySet())) {
+				int pendingCount = pendingCounts.get(dependent) - 1;
+				pendingCounts.put(dependent, pendingCount);
+				if (pendingCount == 0) {
+					ordered.add(dependent);
+				}
+			}
+		}
+
+		if (logger.isDebugEnabled()) {
+			logger.debug("Pre-instantiating " + ordered.size() + " singletons with parallelism " +
+					this.preInstantiationParallelism + " in " + this);
+		}
+
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		ForkJoinPool pool = new ForkJoinPool(this.preInstantiationParallelism);
+		ParallelPreInstantiation preInstantiation = new ParallelPreInstantiation(pool);
+		this.parallelPreInstantiation = preInstantiation;
+		try {
+			Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>(ordered.size());
+			for (String beanName : ordered) {
+				Set<String> beanDependencies = dependencies.get(beanName);
+				CompletableFuture<?>[] dependencyFutures = new CompletableFuture<?>[beanDependencies.size()];
+				int i = 0;
+				for (String dependency : beanDependencies) {
+					dependencyFutures[i++] = futures.get(dependency);
+				}
+				futures.put(beanName, CompletableFuture.allOf(dependencyFutures).thenRunAsync(() -> {
+					if (preInstantiation.isCancelled()) {
+						return;
+					}
+					Thread currentThread = Thread.currentThread();
+					ClassLoader previousClassLoader = currentThread.getContextClassLoader();
+					currentThread.setContextClassLoader(classLoader);
+					try {
+						preInstantiateSingleton(beanName);
+					}
+					finally {
+						currentThread.setContextClassLoader(previousClassLoader);
+					}
+				}, pool));
+			}
+			preInstantiation.setCompletion(
+					CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])));
+			for (CompletableFuture<Void> future : futures.values()) {
+				try {
+					future.join();
+				}
+				catch (CompletionException ex) {
+					// Skip pending instantiations and let those in progress complete first
+					preInstantiation.cancelAndAwait();
+					Throwable cause = ex.getCause();
+					if (cause instanceof RuntimeException) {
+						throw (RuntimeException) cause;
+					}
+					if (cause instanceof Error) {
+						throw (Error) cause;
+					}
+					throw ex;
+				}
+			}
+		}
+		finally {
+			this.parallelPreInstantiation = null;
+			pool.shutdown();
+		}
+		if (preInstantiation.isCancelled()) {
+			// Singletons destroyed in the meantime
+			return;
+		}
+
+		// Instantiate remaining beans with cyclic or autowired dependencies on the calling thread
+		for (String beanName : dependencies.keySet()) {
+			if (pendingCounts.get(beanName) > 0) {
+				preInstantiateSingleton(beanName);
+			}
+		}
+	}
+
+	/**
+	 * Collect the names of all beans that the given bean definition explicitly
+	 * refers to: {@code depends-on} declarations, its factory bean and bean
+	 * references in constructor arguments and property values.
+	 * @param bd the bean definition to introspect
+	 * @param references the set of canonical bean names to add to
+	 */
+	private void collectBeanReferences(BeanDefinition bd, Set<String> references) {
+		String[] dependsOn = bd.getDependsOn();
+		if (dependsOn != null) {
+			for (String dependency : dependsOn) {
+				references.add(transformedBeanName(dependency));
+			}
+		}
+		if (bd.getFactoryBeanName() != null) {
+			references.add(transformedBeanName(bd.getFactoryBeanName()));
+		}
+		for (ConstructorArgumentValues.ValueHolder valueHolder :
+				bd.getConstructorArgumentValues().getIndexedArgumentValues().values()) {
+			collectBeanReferences(valueHolder.getValue(), references);
+		}
+		for (ConstructorArgumentValues.ValueHolder valueHolder :
+				bd.getConstructorArgumentValues().getGenericArgumentValues()) {
+			collectBeanReferences(valueHolder.getValue(), references);
+		}
+		for (PropertyValue pv : bd.getPropertyValues().getPropertyValues()) {
+			collectBeanReferences(pv.getValue(), references);
+		}
+	}
+
+	private void collectBeanReferences(@Nullable Object value, Set<String> references) {
+		if (value instanceof RuntimeBeanReference) {
+			RuntimeBeanReference reference = (RuntimeBeanReference) value;
+			if (!reference.isToParent()) {
+				references.add(transformedBeanName(reference.getBeanName()));
+			}
+		}
+		else if (value instanceof BeanDefinitionHolder) {
+			collectBeanReferences(((BeanDefinitionHolder) value).getBeanDefinition(), references);
+		}
+		else if (value instanceof BeanDefinition) {
+			collectBeanReferences((BeanDefinition) value, references);
+		}
+		else if (value instanceof Collection) {
+			for (Object element : (Collection<?>) value) {
+				collectBeanReferences(element, references);
+			}
+		}
+		else if (value instanceof Map) {
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				collectBeanReferences(entry.getKey(), references);
+				collectBeanReferences(entry.getValue(), references);
+			}
+		}
+	}
+
 	//---------------------------------------------------------------------
 	// Implementation of BeanDefinitionRegistry interface
 	//---------------------------------------------------------------------
@@ -958,6 +1205,11 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
 	@Override
 	public void destroySingletons() {
+		ParallelPreInstantiation preInstantiation = this.parallelPreInstantiation;
+		if (preInstantiation != null) {
+			// Do not let pending instantiations recreate singletons after their destruction
+			preInstantiation.cancelAndAwait();
+		}
 		super.destroySingletons();
 		this.manualSingletonNames.clear();
 		clearByTypeCache();
@@ -1817,4 +2069,48 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+
+	/**
+	 * Handle on a parallel pre-instantiation of singletons in progress, allowing
+	 * to skip the instantiations that did not start yet and to await all others.
+	 */
+	private static class ParallelPreInstantiation {
+
+		private final ForkJoinPool pool;
+
+		private volatile boolean cancelled;
+
+		@Nullable
+		private volatile CompletableFuture<Void> completion;
+
+		public ParallelPreInstantiation(ForkJoinPool pool) {
+			this.pool = pool;
+		}
+
+		public void setCompletion(CompletableFuture<Void> completion) {
+			this.completion = completion;
+		}
+
+		public boolean isCancelled() {
+			return this.cancelled;
+		}
+
+		public void cancelAndAwait() {
+			this.cancelled = true;
+			CompletableFuture<Void> completion = this.completion;
+			// Never block a pool thread on its own completion
+			if (completion != null && ForkJoinTask.getPool() != this.pool) {
+				try {
+					completion.get();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				catch (ExecutionException ex) {
+					// Failures get propagated by the pre-instantiating thread
+				}
+			}
+		}
+	}
+
 }
@@ -16,12 +16,14 @@
 
 package org.springframework.beans.factory.support;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -32,6 +34,7 @@ import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.SimpleAliasRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -61,6 +64,15 @@ import org.springframework.util.StringUtils;
  * (which inherit from it). Can alternatively also be used as a nested
  * helper to delegate to.
  *
+ * <p>Singleton creation is guarded per bean name rather than through a single
+ * registry-wide lock: fully initialized singletons are served without any locking,
+ * and concurrent threads creating different singletons do not block each other.
+ * A thread requesting a singleton that is currently being created by another thread
+ * waits for that creation to complete. Early references to singletons in creation
+ * are only exposed to the creating thread, unless threads are waiting for each
+ * other in a circular fashion, in which case an early reference is handed out
+ * to break the cycle (just like for a circular reference within a single thread).
+ *
  * @author Juergen Hoeller
  * @since 2.0
  * @see #registerSingleton
@@ -90,9 +102,18 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	private final Set<String> inCreationCheckExclusions =
 			Collections.newSetFromMap(new ConcurrentHashMap<>(16));
 
-	/** List of suppressed Exceptions, available for associating related causes */
-	@Nullable
-	private Set<Exception> suppressedExceptions;
+	/** Threads currently creating singletons: bean name --> creating thread */
+	private final Map<String, Thread> singletonCreationThreads = new HashMap<>(16);
+
+	/** Singletons that threads are waiting for: waiting thread --> bean name */
+	private final Map<Thread, String> awaitedSingletons = new HashMap<>(16);
+
+	/** Waiting threads which may accept an early reference in order to break a circular wait */
+	private final Set<Thread> earlyReferenceGrantees = new HashSet<>(4);
+
+	/** List of suppressed Exceptions for the current thread, available for associating related causes */
+	private final ThreadLocal<Set<Exception>> suppressedExceptions =
+			new NamedThreadLocal<>("Suppressed exceptions during singleton creation");
 
 	/** Flag that indicates whether we're currently within destroySingletons */
 	private boolean singletonsCurrentlyInDestruction = false;
@@ -120,6 +141,10 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 				throw new IllegalStateException("Could not register object [" + singletonObject +
 						"] under bean name '" + beanName + "': there is already object [" + oldObject + "] bound");
 			}
+			if (this.singletonCreationThreads.containsKey(beanName)) {
+				throw new IllegalStateException("Could not register object [" + singletonObject +
+						"] under bean name '" + beanName + "': singleton is currently in creation");
+			}
 			addSingleton(beanName, singletonObject);
 		}
 	}
@@ -129,9 +154,15 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * <p>To be called for eager registration of singletons.
 	 * @param beanName the name of the bean
 	 * @param singletonObject the singleton object
+	 * @throws BeanCreationNotAllowedException if the singletons of this registry
+	 * are currently in destruction
 	 */
 	protected void addSingleton(String beanName, Object singletonObject) {
 		synchronized (this.singletonObjects) {
+			if (this.singletonsCurrentlyInDestruction) {
+				throw new BeanCreationNotAllowedException(beanName,
+						"Singleton registration not allowed while singletons of this factory are in destruction");
+			}
 			this.singletonObjects.put(beanName, singletonObject);
 			this.singletonFactories.remove(beanName);
 			this.earlySingletonObjects.remove(beanName);
@@ -168,6 +199,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * Return the (raw) singleton object registered under the given name.
 	 * <p>Checks already instantiated singletons and also allows for an early
 	 * reference to a currently created singleton (resolving a circular reference).
+	 * Early references are only exposed to the thread creating the singleton.
 	 * @param beanName the name of the bean to look for
 	 * @param allowEarlyReference whether early references should be created or not
 	 * @return the registered singleton object, or {@code null} if none found
@@ -177,20 +209,41 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		Object singletonObject = this.singletonObjects.get(beanName);
 		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
 			synchronized (this.singletonObjects) {
+				Thread creationThread = this.singletonCreationThreads.get(beanName);
+				if (creationThread != null && creationThread != Thread.currentThread()) {
+					// Being created by another thread -> not to be exposed in its early state.
+					return null;
+				}
 				singletonObject = this.earlySingletonObjects.get(beanName);
 				if (singletonObject == null && allowEarlyReference) {
-					ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
-					if (singletonFactory != null) {
-						singletonObject = singletonFactory.getObject();
-						this.earlySingletonObjects.put(beanName, singletonObject);
-						this.singletonFactories.remove(beanName);
-					}
+					singletonObject = getEarlySingletonReference(beanName);
 				}
 			}
 		}
 		return singletonObject;
 	}
 
+	/**
+	 * Obtain an early reference to the given singleton, creating it from its
+	 * registered singleton factory if necessary.
+	 * <p>To be called while holding the singleton mutex.
+	 * @param beanName the name of the bean
+	 * @return the early singleton reference, or {@code null} if none available
+	 */
+	@Nullable
+	private Object getEarlySingletonReference(String beanName) {
+		Object singletonObject = this.earlySingletonObjects.get(beanName);
+		if (singletonObject == null) {
+			ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+			if (singletonFactory != null) {
+				singletonObject = singletonFactory.getObject();
+				this.earlySingletonObjects.put(beanName, singletonObject);
+				this.singletonFactories.remove(beanName);
+			}
+		}
+		return singletonObject;
+	}
+
 	/**
 	 * Return the (raw) singleton object registered under the given name,
 	 * creating and registering a new one if none registered yet.
@@ -201,54 +254,218 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
+		Object singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject != null) {
+			return singletonObject;
+		}
+
+		boolean claimedCreation;
 		synchronized (this.singletonObjects) {
-			Object singletonObject = this.singletonObjects.get(beanName);
-			if (singletonObject == null) {
-				if (this.singletonsCurrentlyInDestruction) {
-					throw new BeanCreationNotAllowedException(beanName,
-							"Singleton bean creation not allowed while singletons of this factory are in destruction " +
-							"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+			singletonObject = awaitSingletonCreation(beanName);
+			if (singletonObject != null) {
+				return singletonObject;
+			}
+			if (this.singletonsCurrentlyInDestruction) {
+				throw new BeanCreationNotAllowedException(beanName,
+						"Singleton bean creation not allowed while singletons of this factory are in destruction " +
+						"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+			}
+			claimedCreation = (this.singletonCreationThreads.putIfAbsent(beanName, Thread.currentThread()) == null);
+		}
+
+		try {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+			}
+			beforeSingletonCreation(beanName);
+			boolean newSingleton = false;
+			Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+			boolean recordSuppressedExceptions = (suppressedExceptions == null);
+			if (recordSuppressedExceptions) {
+				suppressedExceptions = new LinkedHashSet<>();
+				this.suppressedExceptions.set(suppressedExceptions);
+			}
+			try {
+				singletonObject = singletonFactory.getObject();
+				newSingleton = true;
+			}
+			catch (IllegalStateException ex) {
+				// Has the singleton object implicitly appeared in the meantime ->
+				// if yes, proceed with it since the exception indicates that state.
+				singletonObject = this.singletonObjects.get(beanName);
+				if (singletonObject == null) {
+					throw ex;
 				}
-				if (logger.isDebugEnabled()) {
-					logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+			}
+			catch (BeanCreationException ex) {
+				if (recordSuppressedExceptions) {
+					for (Exception suppressedException : suppressedExceptions) {
+						ex.addRelatedCause(suppressedException);
+					}
 				}
-				beforeSingletonCreation(beanName);
-				boolean newSingleton = false;
-				boolean recordSuppressedExceptions = (this.suppressedExceptions == null);
+				throw ex;
+			}
+			finally {
 				if (recordSuppressedExceptions) {
-					this.suppressedExceptions = new LinkedHashSet<>();
+					this.suppressedExceptions.remove();
 				}
-				try {
-					singletonObject = singletonFactory.getObject();
-					newSingleton = true;
+				afterSingletonCreation(beanName);
+			}
+			if (newSingleton) {
+				addSingleton(beanName, singletonObject);
+			}
+			return singletonObject;
+		}
+		finally {
+			if (claimedCreation) {
+				releaseSingletonCreation(beanName);
+			}
+		}
+	}
+
+	/**
+	 * Wait for another thread to complete the creation of the given singleton.
+	 * <p>To be called while holding the singleton mutex, which gets released
+	 * while waiting (so that callers holding the mutex themselves do not block
+	 * the creating thread).
+	 * @param beanName the name of the bean
+	 * @return the singleton object created by the other thread, an early reference
+	 * if the creating thread is waiting for the current thread, or {@code null}
+	 * if the singleton is not being created by another thread (anymore)
+	 * @throws BeanCurrentlyInCreationException in case of an unresolvable
+	 * circular wait between threads
+	 */
+	@Nullable
+	private Object awaitSingletonCreation(String beanName) {
+		Thread currentThread = Thread.currentThread();
+		boolean interrupted = false;
+		try {
+			while (true) {
+				Object singletonObject = this.singletonObjects.get(beanName);
+				if (singletonObject != null) {
+					return singletonObject;
 				}
-				catch (IllegalStateException ex) {
-					// Has the singleton object implicitly appeared in the meantime ->
-					// if yes, proceed with it since the exception indicates that state.
-					singletonObject = this.singletonObjects.get(beanName);
-					if (singletonObject == null) {
-						throw ex;
-					}
+				Thread creationThread = this.singletonCreationThreads.get(beanName);
+				if (creationThread == null || creationThread == currentThread) {
+					return null;
 				}
-				catch (BeanCreationException ex) {
-					if (recordSuppressedExceptions) {
-						for (Exception suppressedException : this.suppressedExceptions) {
-							ex.addRelatedCause(suppressedException);
-						}
+				if (this.earlyReferenceGrantees.remove(currentThread)) {
+					singletonObject = getEarlySingletonReference(beanName);
+					if (singletonObject != null) {
+						return singletonObject;
 					}
-					throw ex;
 				}
-				finally {
-					if (recordSuppressedExceptions) {
-						this.suppressedExceptions = null;
+				List<Thread> circularWait = getCircularWait(creationThread, currentThread);
+				if (circularWait != null) {
+					// The creating thread is (transitively) waiting for the current thread:
+					// either this thread or one of the waiting threads has to accept an early reference.
+					singletonObject = getEarlySingletonReference(beanName);
+					if (singletonObject != null) {
+						return singletonObject;
+					}
+					if (!grantEarlyReference(circularWait)) {
+						throw new BeanCurrentlyInCreationException(beanName,
+								"Requested bean is currently in creation in thread '" + creationThread.getName() +
+								"' which is waiting for a bean in creation in the current thread: " +
+								"Is there an unresolvable circular reference?");
 					}
-					afterSingletonCreation(beanName);
+					this.singletonObjects.notifyAll();
 				}
-				if (newSingleton) {
-					addSingleton(beanName, singletonObject);
+				this.awaitedSingletons.put(currentThread, beanName);
+				try {
+					this.singletonObjects.wait();
+				}
+				catch (InterruptedException ex) {
+					// Keep waiting, just like for a regular monitor, but preserve the interrupt status.
+					interrupted = true;
+				}
+				finally {
+					this.awaitedSingletons.remove(currentThread);
 				}
 			}
-			return singletonObject;
+		}
+		finally {
+			this.earlyReferenceGrantees.remove(currentThread);
+			if (interrupted) {
+				currentThread.interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Determine whether the given creating thread is (transitively) waiting
+	 * for a singleton that is being created by the current thread.
+	 * <p>To be called while holding the singleton mutex.
+	 * @param creationThread the thread creating the requested singleton
+	 * @param currentThread the current thread
+	 * @return the threads in the circular wait (starting with the given creating
+	 * thread), or {@code null} if there is no circular wait
+	 */
+	@Nullable
+	private List<Thread> getCircularWait(Thread creationThread, Thread currentThread) {
+		List<Thread> threads = new ArrayList<>(4);
+		Thread thread = creationThread;
+		while (thread != null && threads.size() <= this.awaitedSingletons.size()) {
+			if (thread == currentThread) {
+				return threads;
+			}
+			threads.add(thread);
+			String awaitedSingleton = this.awaitedSingletons.get(thread);
+			if (awaitedSingleton == null) {
+				return null;
+			}
+			thread = this.singletonCreationThreads.get(awaitedSingleton);
+		}
+		return null;
+	}
+
+	/**
+	 * Allow the first thread in the given circular wait for which an early
+	 * reference to its awaited singleton is available to accept that reference.
+	 * <p>To be called while holding the singleton mutex.
+	 * @param circularWait the threads in the circular wait
+	 * @return {@code true} if a waiting thread is able to break the circular wait
+	 */
+	private boolean grantEarlyReference(List<Thread> circularWait) {
+		for (Thread thread : circularWait) {
+			String awaitedSingleton = this.awaitedSingletons.get(thread);
+			if (awaitedSingleton != null && (this.earlySingletonObjects.containsKey(awaitedSingleton) ||
+					this.singletonFactories.containsKey(awaitedSingleton))) {
+				this.earlyReferenceGrantees.add(thread);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Claim the creation of the given singleton for the current thread,
+	 * unless it is being created by any thread already.
+	 * <p>Threads requesting the singleton through {@link #getSingleton(String, ObjectFactory)}
+	 * are going to wait until {@link #releaseSingletonCreation} has been called.
+	 * @param beanName the name of the bean
+	 * @return {@code true} if the creation has been claimed for the current thread,
+	 * {@code false} if the singleton is being created already
+	 * @since 5.0.12
+	 * @see #releaseSingletonCreation
+	 */
+	protected boolean claimSingletonCreation(String beanName) {
+		synchronized (this.singletonObjects) {
+			return (this.singletonCreationThreads.putIfAbsent(beanName, Thread.currentThread()) == null);
+		}
+	}
+
+	/**
+	 * Release the creation of the given singleton by the current thread,
+	 * resuming any threads waiting for it.
+	 * @param beanName the name of the bean
+	 * @since 5.0.12
+	 * @see #claimSingletonCreation
+	 */
+	protected void releaseSingletonCreation(String beanName) {
+		synchronized (this.singletonObjects) {
+			this.singletonCreationThreads.remove(beanName);
+			this.singletonObjects.notifyAll();
 		}
 	}
 
@@ -258,10 +475,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @param ex the Exception to register
 	 */
 	protected void onSuppressedException(Exception ex) {
-		synchronized (this.singletonObjects) {
-			if (this.suppressedExceptions != null) {
-				this.suppressedExceptions.add(ex);
-			}
+		Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+		if (suppressedExceptions != null) {
+			suppressedExceptions.add(ex);
 		}
 	}
 
@@ -494,6 +710,8 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		}
 		synchronized (this.singletonObjects) {
 			this.singletonsCurrentlyInDestruction = true;
+			// Singletons in creation get registered as disposable beans before completing
+			awaitSingletonCreations();
 		}
 
 		String[] disposableBeanNames;
@@ -511,6 +729,38 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		clearSingletonCache();
 	}
 
+	/**
+	 * Wait until no other thread is creating a singleton anymore.
+	 * <p>To be called while holding the singleton mutex, after flagging the
+	 * singletons as in destruction: other threads are not allowed to start new
+	 * creations then, and creations in progress fail to register their singleton.
+	 */
+	private void awaitSingletonCreations() {
+		Thread currentThread = Thread.currentThread();
+		boolean interrupted = false;
+		while (isSingletonCreationInProgress(currentThread)) {
+			try {
+				this.singletonObjects.wait();
+			}
+			catch (InterruptedException ex) {
+				// Keep waiting, just like for a regular monitor, but preserve the interrupt status.
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			currentThread.interrupt();
+		}
+	}
+
+	private boolean isSingletonCreationInProgress(Thread excludedThread) {
+		for (Thread creationThread : this.singletonCreationThreads.values()) {
+			if (creationThread != excludedThread) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Clear all cached singleton instances in this registry.
 	 * @since 4.3.15
@@ -609,6 +859,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * any sort of extended singleton creation phase. In particular, subclasses
 	 * should <i>not</i> have their own mutexes involved in singleton creation,
 	 * to avoid the potential for deadlocks in lazy-init situations.
+	 * <p>Note that singleton creation itself does not hold this mutex: a thread
+	 * holding it while waiting for a singleton that is being created by another
+	 * thread temporarily releases it until the creation has completed.
 	 */
 	public final Object getSingletonMutex() {
 		return this.singletonObjects;
@@ -26,7 +26,9 @@ import java.security.Principal;
 import java.security.PrivilegedAction;
 import java.text.NumberFormat;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -35,6 +37,8 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Priority;
 import javax.security.auth.Subject;
 
@@ -150,6 +154,147 @@ public class DefaultListableBeanFactoryTests {
 		assertTrue("singleton was instantiated", KnowsIfInstantiated.wasInstantiated());
 	}
 
+	@Test
+	public void testParallelPreInstantiation() {
+		RecordingBean.instantiated.clear();
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPreInstantiationParallelism(4);
+		for (int i = 0; i < 20; i++) {
+			lbf.registerBeanDefinition("independent" + i, recordingBeanDefinition("independent" + i));
+		}
+		RootBeanDefinition third = recordingBeanDefinition("third");
+		third.getPropertyValues().add("dependency", new RuntimeBeanReference("second"));
+		lbf.registerBeanDefinition("third", third);
+		RootBeanDefinition second = recordingBeanDefinition("second");
+		second.setDependsOn("first");
+		lbf.registerBeanDefinition("second", second);
+		lbf.registerBeanDefinition("first", recordingBeanDefinition("first"));
+		RootBeanDefinition lazy = recordingBeanDefinition("lazy");
+		lazy.setLazyInit(true);
+		lbf.registerBeanDefinition("lazy", lazy);
+		lbf.registerBeanDefinition("smart", new RootBeanDefinition(RecordingSmartInitializingSingleton.class));
+		lbf.preInstantiateSingletons();
+
+		List<String> instantiated = RecordingBean.instantiated;
+		assertEquals(23, instantiated.size());
+		assertTrue(instantiated.indexOf("first") < instantiated.indexOf("second"));
+		assertTrue(instantiated.indexOf("second") < instantiated.indexOf("third"));
+		assertFalse(instantiated.contains("lazy"));
+		assertSame(lbf.getBean("second"), lbf.getBean("third", RecordingBean.class).getDependency());
+		assertEquals(23, lbf.getBean(RecordingSmartInitializingSingleton.class).instantiatedCount);
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithCircularReferences() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPreInstantiationParallelism(4);
+		RootBeanDefinition husband = new RootBeanDefinition(TestBean.class);
+		husband.getPropertyValues().add("spouse", new RuntimeBeanReference("wife"));
+		lbf.registerBeanDefinition("husband", husband);
+		RootBeanDefinition wife = new RootBeanDefinition(TestBean.class);
+		wife.getPropertyValues().add("spouse", new RuntimeBeanReference("husband"));
+		lbf.registerBeanDefinition("wife", wife);
+		lbf.preInstantiateSingletons();
+
+		assertSame(lbf.getBean("wife"), lbf.getBean("husband", TestBean.class).getSpouse());
+		assertSame(lbf.getBean("husband"), lbf.getBean("wife", TestBean.class).getSpouse());
+	}
+
+	@Test(expected = BeanCreationException.class)
+	public void testParallelPreInstantiationWithFailingBean() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPreInstantiationParallelism(4);
+		RootBeanDefinition failing = new RootBeanDefinition(TestBean.class);
+		failing.setInitMethodName("noSuchMethod");
+		lbf.registerBeanDefinition("failing", failing);
+		RootBeanDefinition dependent = new RootBeanDefinition(TestBean.class);
+		dependent.setDependsOn("failing");
+		lbf.registerBeanDefinition("dependent", dependent);
+		lbf.preInstantiateSingletons();
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithUndeclaredDependencies() {
+		RecordingBean.instantiated.clear();
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPreInstantiationParallelism(4);
+		for (int i = 0; i < 10; i++) {
+			RootBeanDefinition lookup = new RootBeanDefinition(LookupBean.class);
+			lookup.getPropertyValues().add("lookupName", "shared");
+			lookup.setInitMethodName("init");
+			lbf.registerBeanDefinition("lookup" + i, lookup);
+		}
+		lbf.registerBeanDefinition("shared", recordingBeanDefinition("shared"));
+		lbf.preInstantiateSingletons();
+
+		assertEquals(Collections.singletonList("shared"), RecordingBean.instantiated);
+		for (int i = 0; i < 10; i++) {
+			assertSame(lbf.getBean("shared"), lbf.getBean("lookup" + i, LookupBean.class).lookedUp);
+		}
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithAutowiredBeansOnCallingThread() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPreInstantiationParallelism(4);
+		RootBeanDefinition autowired = new RootBeanDefinition(LookupBean.class);
+		autowired.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_BY_NAME);
+		autowired.setInitMethodName("init");
+		lbf.registerBeanDefinition("autowired", autowired);
+		RootBeanDefinition dependent = new RootBeanDefinition(LookupBean.class);
+		dependent.setDependsOn("autowired");
+		dependent.setInitMethodName("init");
+		lbf.registerBeanDefinition("dependent", dependent);
+		RootBeanDefinition independent = new RootBeanDefinition(LookupBean.class);
+		independent.setInitMethodName("init");
+		lbf.registerBeanDefinition("independent", independent);
+		lbf.preInstantiateSingletons();
+
+		assertSame(Thread.currentThread(), lbf.getBean("autowired", LookupBean.class).initThread);
+		assertSame(Thread.currentThread(), lbf.getBean("dependent", LookupBean.class).initThread);
+		assertNotSame(Thread.currentThread(), lbf.getBean("independent", LookupBean.class).initThread);
+	}
+
+	@Test
+	public void testDestroySingletonsDuringParallelPreInstantiation() throws Exception {
+		RecordingBean.instantiated.clear();
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPreInstantiationParallelism(4);
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		RootBeanDefinition blocking = new RootBeanDefinition(LatchBean.class);
+		blocking.getPropertyValues().add("entered", entered).add("release", release);
+		blocking.setInitMethodName("init");
+		lbf.registerBeanDefinition("blocking", blocking);
+		RootBeanDefinition dependent = recordingBeanDefinition("dependent");
+		dependent.setDependsOn("blocking");
+		lbf.registerBeanDefinition("dependent", dependent);
+
+		Thread preInstantiation = new Thread(lbf::preInstantiateSingletons);
+		preInstantiation.start();
+		assertTrue(entered.await(1, TimeUnit.SECONDS));
+		Thread destruction = new Thread(lbf::destroySingletons);
+		destruction.start();
+		destruction.join(100);
+		assertTrue("Destruction should await the instantiation in progress", destruction.isAlive());
+
+		release.countDown();
+		destruction.join(1000);
+		preInstantiation.join(1000);
+		assertFalse(destruction.isAlive());
+		assertFalse(preInstantiation.isAlive());
+		assertFalse(lbf.containsSingleton("blocking"));
+		assertFalse(lbf.containsSingleton("dependent"));
+		assertFalse(RecordingBean.instantiated.contains("dependent"));
+	}
+
+	private static RootBeanDefinition recordingBeanDefinition(String name) {
+		RootBeanDefinition bd = new RootBeanDefinition(RecordingBean.class);
+		bd.getPropertyValues().add("name", name);
+		bd.setInitMethodName("init");
+		return bd;
+	}
+
 	@Test
 	public void testFactoryBeanDidNotCreatePrototype() {
 		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
@@ -3324,4 +3469,90 @@ public class DefaultListableBeanFactoryTests {
 		}
 	}
 
+
+	public static class RecordingBean {
+
+		static final List<String> instantiated = Collections.synchronizedList(new ArrayList<>());
+
+		private String name;
+
+		private Object dependency;
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public Object getDependency() {
+			return this.dependency;
+		}
+
+		public void setDependency(Object dependency) {
+			this.dependency = dependency;
+		}
+
+		public void init() {
+			instantiated.add(this.name);
+		}
+	}
+
+
+	public static class RecordingSmartInitializingSingleton implements SmartInitializingSingleton {
+
+		int instantiatedCount = -1;
+
+		@Override
+		public void afterSingletonsInstantiated() {
+			this.instantiatedCount = RecordingBean.instantiated.size();
+		}
+	}
+
+
+	public static class LatchBean {
+
+		private CountDownLatch entered;
+
+		private CountDownLatch release;
+
+		public void setEntered(CountDownLatch entered) {
+			this.entered = entered;
+		}
+
+		public void setRelease(CountDownLatch release) {
+			this.release = release;
+		}
+
+		public void init() throws InterruptedException {
+			this.entered.countDown();
+			this.release.await(1, TimeUnit.SECONDS);
+		}
+	}
+
+
+	public static class LookupBean implements BeanFactoryAware {
+
+		private BeanFactory beanFactory;
+
+		private String lookupName;
+
+		Object lookedUp;
+
+		Thread initThread;
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			this.beanFactory = beanFactory;
+		}
+
+		public void setLookupName(String lookupName) {
+			this.lookupName = lookupName;
+		}
+
+		public void init() {
+			this.initThread = Thread.currentThread();
+			if (this.lookupName != null) {
+				this.lookedUp = this.beanFactory.getBean(this.lookupName);
+			}
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,20 @@
 
 package org.springframework.beans.factory.support;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Test;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanCreationNotAllowedException;
+import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.tests.sample.beans.DerivedTestBean;
 import org.springframework.tests.sample.beans.TestBean;
@@ -101,4 +112,214 @@ public class DefaultSingletonBeanRegistryTests {
 		assertTrue(beanRegistry.isDependent("c", "c"));
 	}
 
+	@Test
+	public void testConcurrentCreationOfDifferentSingletons() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		CountDownLatch tb2Created = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> tb1 = executor.submit(() -> beanRegistry.getSingleton("tb1", () -> {
+				// Only completes if tb2 can be created while tb1 is still in creation
+				await(tb2Created);
+				return new TestBean("tb1");
+			}));
+			Future<Object> tb2 = executor.submit(() -> beanRegistry.getSingleton("tb2", () -> {
+				tb2Created.countDown();
+				return new TestBean("tb2");
+			}));
+			assertEquals("tb1", ((TestBean) tb1.get(10, TimeUnit.SECONDS)).getName());
+			assertEquals("tb2", ((TestBean) tb2.get(10, TimeUnit.SECONDS)).getName());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testConcurrentCreationOfSameSingleton() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		TestBean earlyReference = new TestBean("early");
+		AtomicInteger creationCount = new AtomicInteger();
+		CountDownLatch earlyReferenceExposed = new CountDownLatch(1);
+		CountDownLatch earlyReferenceRequested = new CountDownLatch(1);
+		ObjectFactory<Object> singletonFactory = () -> {
+			creationCount.incrementAndGet();
+			beanRegistry.addSingletonFactory("tb", () -> earlyReference);
+			earlyReferenceExposed.countDown();
+			await(earlyReferenceRequested);
+			return new TestBean("tb");
+		};
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> tb1 = executor.submit(() -> beanRegistry.getSingleton("tb", singletonFactory));
+			await(earlyReferenceExposed);
+			// The early reference is not exposed to other threads
+			assertNull(beanRegistry.getSingleton("tb"));
+			earlyReferenceRequested.countDown();
+			Future<Object> tb2 = executor.submit(() -> beanRegistry.getSingleton("tb", singletonFactory));
+			assertEquals("tb", ((TestBean) tb1.get(10, TimeUnit.SECONDS)).getName());
+			assertSame(tb1.get(), tb2.get(10, TimeUnit.SECONDS));
+			assertEquals(1, creationCount.get());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testCircularWaitResolvedThroughEarlyReference() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		TestBean earlyReference = new TestBean("early");
+		CountDownLatch tb1Exposed = new CountDownLatch(1);
+		CountDownLatch tb2Started = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> tb1 = executor.submit(() -> beanRegistry.getSingleton("tb1", () -> {
+				beanRegistry.addSingletonFactory("tb1", () -> earlyReference);
+				tb1Exposed.countDown();
+				await(tb2Started);
+				TestBean tb = new TestBean("tb1");
+				tb.setSpouse((TestBean) beanRegistry.getSingleton("tb2", TestBean::new));
+				return tb;
+			}));
+			Future<Object> tb2 = executor.submit(() -> beanRegistry.getSingleton("tb2", () -> {
+				tb2Started.countDown();
+				await(tb1Exposed);
+				TestBean tb = new TestBean("tb2");
+				tb.setSpouse((TestBean) beanRegistry.getSingleton("tb1", TestBean::new));
+				return tb;
+			}));
+			TestBean tb2Object = (TestBean) tb2.get(10, TimeUnit.SECONDS);
+			TestBean tb1Object = (TestBean) tb1.get(10, TimeUnit.SECONDS);
+			assertSame(tb2Object, tb1Object.getSpouse());
+			assertSame(earlyReference, tb2Object.getSpouse());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testUnresolvableCircularWait() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		CountDownLatch tb1Started = new CountDownLatch(1);
+		CountDownLatch tb2Started = new CountDownLatch(1);
+		AtomicInteger failureCount = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> tb1 = executor.submit(() -> beanRegistry.getSingleton("tb1", () -> {
+				tb1Started.countDown();
+				await(tb2Started);
+				return requestSingleton(beanRegistry, "tb2", failureCount);
+			}));
+			Future<Object> tb2 = executor.submit(() -> beanRegistry.getSingleton("tb2", () -> {
+				tb2Started.countDown();
+				await(tb1Started);
+				return requestSingleton(beanRegistry, "tb1", failureCount);
+			}));
+			tb1.get(10, TimeUnit.SECONDS);
+			tb2.get(10, TimeUnit.SECONDS);
+			assertEquals(1, failureCount.get());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testRegisterSingletonDuringCreation() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		CountDownLatch tbStarted = new CountDownLatch(1);
+		CountDownLatch tbRegistered = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Object> tb = executor.submit(() -> beanRegistry.getSingleton("tb", () -> {
+				tbStarted.countDown();
+				await(tbRegistered);
+				return new TestBean("tb");
+			}));
+			await(tbStarted);
+			try {
+				beanRegistry.registerSingleton("tb", new TestBean("other"));
+				fail("Should have thrown IllegalStateException");
+			}
+			catch (IllegalStateException ex) {
+				// expected
+			}
+			finally {
+				tbRegistered.countDown();
+			}
+			assertEquals("tb", ((TestBean) tb.get(10, TimeUnit.SECONDS)).getName());
+			assertSame(tb.get(), beanRegistry.getSingleton("tb"));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testDestroySingletonsDuringCreation() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		DerivedTestBean tb = new DerivedTestBean();
+		CountDownLatch tbStarted = new CountDownLatch(1);
+		CountDownLatch tbReleased = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> creation = executor.submit(() -> beanRegistry.getSingleton("tb", () -> {
+				beanRegistry.registerDisposableBean("tb", tb);
+				tbStarted.countDown();
+				await(tbReleased);
+				return tb;
+			}));
+			await(tbStarted);
+			Future<?> destruction = executor.submit(beanRegistry::destroySingletons);
+			try {
+				destruction.get(200, TimeUnit.MILLISECONDS);
+				fail("Should have waited for the singleton in creation");
+			}
+			catch (TimeoutException ex) {
+				// expected
+			}
+			finally {
+				tbReleased.countDown();
+			}
+			destruction.get(10, TimeUnit.SECONDS);
+			try {
+				creation.get(10, TimeUnit.SECONDS);
+				fail("Should have thrown BeanCreationNotAllowedException");
+			}
+			catch (ExecutionException ex) {
+				assertTrue(ex.getCause() instanceof BeanCreationNotAllowedException);
+			}
+			assertTrue(tb.wasDestroyed());
+			assertNull(beanRegistry.getSingleton("tb"));
+			assertEquals(0, beanRegistry.getSingletonCount());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+
+	private static Object requestSingleton(
+			DefaultSingletonBeanRegistry beanRegistry, String beanName, AtomicInteger failureCount) {
+
+		try {
+			return beanRegistry.getSingleton(beanName, TestBean::new);
+		}
+		catch (BeanCurrentlyInCreationException ex) {
+			failureCount.incrementAndGet();
+			return new TestBean();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+		}
+		catch (InterruptedException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
 }
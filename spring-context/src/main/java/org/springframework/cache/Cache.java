@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,8 @@
 package org.springframework.cache;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import org.springframework.lang.Nullable;
 
@@ -98,6 +100,61 @@ public interface Cache {
 	@Nullable
 	<T> T get(Object key, Callable<T> valueLoader);
 
+	/**
+	 * Return the value to which this cache maps the specified key,
+	 * wrapped in a {@link CompletableFuture}.
+	 * <p>Returns {@code null} if the cache contains no mapping for this key;
+	 * otherwise, the returned future completes with the cached value (which
+	 * may be {@code null} itself).
+	 * <p>The default implementation delegates to {@link #get(Object)}.
+	 * Implementations backed by a remote store may override this method
+	 * to perform the lookup without blocking the calling thread.
+	 * @param key the key whose associated value is to be returned
+	 * @return the value to which this cache maps the specified key, contained
+	 * within a {@link CompletableFuture}, or {@code null} if the cache contains
+	 * no mapping for this key
+	 * @since 5.0.12
+	 * @see #retrieve(Object, Supplier)
+	 */
+	@Nullable
+	default CompletableFuture<?> retrieve(Object key) {
+		ValueWrapper wrapper = get(key);
+		return (wrapper != null ? CompletableFuture.completedFuture(wrapper.get()) : null);
+	}
+
+	/**
+	 * Return the value to which this cache maps the specified key, obtaining
+	 * that value from {@code valueLoader} if necessary. This is the asynchronous
+	 * counterpart of {@link #get(Object, Callable)}: the returned future completes
+	 * with the cached value or, in case of a cache miss, with the value that the
+	 * future returned by the {@code valueLoader} completes with, which is
+	 * stored in this cache at that point.
+	 * <p>If possible, implementations should ensure that concurrent callers for
+	 * the same key share a single in-flight loading operation, so that the
+	 * specified {@code valueLoader} is only called once, without blocking any
+	 * of the callers. The default implementation does not do so: it calls the
+	 * {@code valueLoader} on every cache miss.
+	 * <p>If the {@code valueLoader} future completes exceptionally, the returned
+	 * future completes with the same exception and nothing gets cached.
+	 * @param key the key whose associated value is to be returned
+	 * @param valueLoader the loader returning a future for the value to cache
+	 * @return the value to which this cache maps the specified key,
+	 * contained within a {@link CompletableFuture}
+	 * @since 5.0.12
+	 * @see #retrieve(Object)
+	 */
+	@SuppressWarnings("unchecked")
+	default <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		CompletableFuture<?> cached = retrieve(key);
+		if (cached != null) {
+			return (CompletableFuture<T>) cached;
+		}
+		return valueLoader.get().thenApply(value -> {
+			put(key, value);
+			return value;
+		});
+	}
+
 	/**
 	 * Associate the specified value with the specified key in this cache.
 	 * <p>If the cache previously contained a mapping for this key, the old
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -42,6 +42,12 @@ import org.springframework.core.annotation.AliasFor;
  * that Java8's {@code Optional} return types are automatically handled and its
  * content is stored in the cache if present.
  *
+ * <p>Likewise, for a {@link java.util.concurrent.CompletableFuture} return type
+ * as well as for reactive types such as Reactor's {@code Mono} and {@code Flux},
+ * the value that the returned handle eventually resolves to is cached rather than
+ * the handle itself. In combination with {@link #sync}, concurrent invocations for
+ * the same key share a single in-flight invocation without blocking the callers.
+ *
  * <p>This annotation may be used as a <em>meta-annotation</em> to create custom
  * <em>composed annotations</em> with attribute overrides.
  *
@@ -176,6 +182,7 @@ public @interface Cacheable {
 	 * documentation for more details on the actual semantics.
 	 * @since 4.3
 	 * @see org.springframework.cache.Cache#get(Object, Callable)
+	 * @see org.springframework.cache.Cache#retrieve(Object, java.util.function.Supplier)
 	 */
 	boolean sync() default false;
 
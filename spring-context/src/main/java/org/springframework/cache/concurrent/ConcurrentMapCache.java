@@ -19,9 +19,14 @@ package org.springframework.cache.concurrent;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 import org.springframework.core.serializer.support.SerializationDelegate;
@@ -41,6 +46,17 @@ import org.springframework.util.Assert;
  * them with a predefined internal object. This behavior can be changed through the
  * {@link #ConcurrentMapCache(String, ConcurrentMap, boolean)} constructor.
  *
+ * <p>A cache may optionally be bounded to a maximum number of entries and/or
+ * expire entries a fixed duration after their creation or their last access,
+ * see {@link ConcurrentMapCacheManager#setMaximumSize},
+ * {@link ConcurrentMapCacheManager#setExpireAfterWrite} and
+ * {@link ConcurrentMapCacheManager#setExpireAfterAccess}. Reads remain lock-free
+ * in that case: expired entries are removed when encountered, and entries
+ * exceeding the maximum size are evicted after a write, approximating a
+ * least-recently-used policy by sampling a few entries at a time from a
+ * rotating position in the store (similar to a CLOCK hand). The maximum size
+ * may therefore be exceeded briefly under concurrent writes.
+ *
  * @author Costin Leau
  * @author Juergen Hoeller
  * @author Stephane Nicoll
@@ -48,6 +64,13 @@ import org.springframework.util.Assert;
  */
 public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 
+	/** Number of entries sampled per eviction. */
+	private static final int EVICTION_SAMPLE_SIZE = 8;
+
+	/** Every 64th write checks the next 64 entries for expiration. */
+	private static final int EXPIRATION_SWEEP_SIZE = 64;
+
+
 	private final String name;
 
 	private final ConcurrentMap<Object, Object> store;
@@ -55,6 +78,25 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	@Nullable
 	private final SerializationDelegate serialization;
 
+	private final long maximumSize;
+
+	private final long expireAfterWriteNanos;
+
+	private final long expireAfterAccessNanos;
+
+	private final boolean holdsEntries;
+
+	@Nullable
+	private final ConcurrentMapCacheStatistics statistics;
+
+	private final AtomicInteger writeCount = new AtomicInteger();
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	/** Rotating position for eviction and expiration, guarded by evictionLock. */
+	@Nullable
+	private Iterator<Map.Entry<Object, Object>> evictionHand;
+
 
 	/**
 	 * Create a new ConcurrentMapCache with the specified name.
@@ -102,12 +144,50 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	protected ConcurrentMapCache(String name, ConcurrentMap<Object, Object> store,
 			boolean allowNullValues, @Nullable SerializationDelegate serialization) {
 
+		this(name, store, allowNullValues, serialization, -1, null, null, false);
+	}
+
+	/**
+	 * Create a new ConcurrentMapCache with the specified name and the
+	 * given internal {@link ConcurrentMap} to use, applying the given
+	 * size bound and expiration settings.
+	 * <p>Note that a bounded or expiring cache keeps internal entry holders
+	 * rather than plain values in its {@link #getNativeCache() native store}.
+	 * @param name the name of the cache
+	 * @param store the ConcurrentMap to use as an internal store
+	 * @param allowNullValues whether to allow {@code null} values
+	 * (adapting them to an internal null holder value)
+	 * @param serialization the {@link SerializationDelegate} to use
+	 * to serialize cache entry or {@code null} to store the reference
+	 * @param maximumSize the maximum number of entries in the cache,
+	 * or {@code -1} for an unbounded cache
+	 * @param expireAfterWrite the duration after which an entry expires once
+	 * created or replaced, or {@code null} for no such expiration
+	 * @param expireAfterAccess the duration after which an entry expires once
+	 * last read or written, or {@code null} for no such expiration
+	 * @param statisticsEnabled whether to record {@link #getStatistics() statistics}
+	 * @since 5.0.12
+	 */
+	protected ConcurrentMapCache(String name, ConcurrentMap<Object, Object> store,
+			boolean allowNullValues, @Nullable SerializationDelegate serialization, long maximumSize,
+			@Nullable Duration expireAfterWrite, @Nullable Duration expireAfterAccess, boolean statisticsEnabled) {
+
 		super(allowNullValues);
 		Assert.notNull(name, "Name must not be null");
 		Assert.notNull(store, "Store must not be null");
+		Assert.isTrue(maximumSize >= -1, "Maximum size must be -1 (unbounded) or a non-negative number");
+		Assert.isTrue(expireAfterWrite == null || !expireAfterWrite.isNegative() && !expireAfterWrite.isZero(),
+				"Expire-after-write duration must be positive");
+		Assert.isTrue(expireAfterAccess == null || !expireAfterAccess.isNegative() && !expireAfterAccess.isZero(),
+				"Expire-after-access duration must be positive");
 		this.name = name;
 		this.store = store;
 		this.serialization = serialization;
+		this.maximumSize = maximumSize;
+		this.expireAfterWriteNanos = (expireAfterWrite != null ? expireAfterWrite.toNanos() : 0);
+		this.expireAfterAccessNanos = (expireAfterAccess != null ? expireAfterAccess.toNanos() : 0);
+		this.holdsEntries = (maximumSize >= 0 || isExpiring());
+		this.statistics = (statisticsEnabled ? new ConcurrentMapCacheStatistics() : null);
 	}
 
 
@@ -121,6 +201,17 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 		return (this.serialization != null);
 	}
 
+	/**
+	 * Return the statistics of this cache, or {@code null} if statistics
+	 * are not enabled.
+	 * @since 5.0.12
+	 * @see ConcurrentMapCacheManager#setStatisticsEnabled
+	 */
+	@Nullable
+	public final ConcurrentMapCacheStatistics getStatistics() {
+		return this.statistics;
+	}
+
 	@Override
 	public final String getName() {
 		return this.name;
@@ -134,33 +225,101 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	@Override
 	@Nullable
 	protected Object lookup(Object key) {
-		return this.store.get(key);
+		Object storeValue = getIfPresent(key, System.nanoTime());
+		if (this.statistics != null) {
+			if (storeValue != null) {
+				this.statistics.recordHit();
+			}
+			else {
+				this.statistics.recordMiss();
+			}
+		}
+		return storeValue;
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	@Nullable
 	public <T> T get(Object key, Callable<T> valueLoader) {
-		return (T) fromStoreValue(this.store.computeIfAbsent(key, r -> {
-			try {
-				return toStoreValue(valueLoader.call());
+		if (!this.holdsEntries && this.statistics == null) {
+			return (T) fromStoreValue(this.store.computeIfAbsent(key, k -> loadValue(key, valueLoader)));
+		}
+		// Lock-free read first, locking the key only on a cache miss
+		Object storeValue = lookup(key);
+		if (storeValue != null) {
+			return (T) fromStoreValue(storeValue);
+		}
+		if (!this.holdsEntries) {
+			return (T) fromStoreValue(this.store.computeIfAbsent(key, k -> loadValue(key, valueLoader)));
+		}
+		long now = System.nanoTime();
+		CacheEntry entry = (CacheEntry) this.store.compute(key, (k, existing) -> {
+			if (existing instanceof CacheEntry && !isExpired((CacheEntry) existing, now)) {
+				return existing;
 			}
-			catch (Throwable ex) {
-				throw new ValueRetrievalException(key, valueLoader, ex);
+			if (existing != null) {
+				recordEviction();
 			}
-		}));
+			return new CacheEntry(loadValue(key, valueLoader), now);
+		});
+		afterWrite();
+		return (T) fromStoreValue(entry.value);
+	}
+
+	private Object loadValue(Object key, Callable<?> valueLoader) {
+		Object storeValue;
+		try {
+			storeValue = toStoreValue(valueLoader.call());
+		}
+		catch (Throwable ex) {
+			throw new ValueRetrievalException(key, valueLoader, ex);
+		}
+		if (this.statistics != null) {
+			this.statistics.recordPut();
+		}
+		return storeValue;
 	}
 
 	@Override
 	public void put(Object key, @Nullable Object value) {
-		this.store.put(key, toStoreValue(value));
+		Object storeValue = toStoreValue(value);
+		this.store.put(key, (this.holdsEntries ? new CacheEntry(storeValue, System.nanoTime()) : storeValue));
+		if (this.statistics != null) {
+			this.statistics.recordPut();
+		}
+		afterWrite();
 	}
 
 	@Override
 	@Nullable
 	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
-		Object existing = this.store.putIfAbsent(key, toStoreValue(value));
-		return toValueWrapper(existing);
+		Object storeValue = toStoreValue(value);
+		if (!this.holdsEntries) {
+			Object existing = this.store.putIfAbsent(key, storeValue);
+			if (existing == null && this.statistics != null) {
+				this.statistics.recordPut();
+			}
+			return toValueWrapper(existing);
+		}
+		long now = System.nanoTime();
+		CacheEntry entry = new CacheEntry(storeValue, now);
+		while (true) {
+			Object existing = this.store.putIfAbsent(key, entry);
+			if (existing instanceof CacheEntry && !isExpired((CacheEntry) existing, now)) {
+				return toValueWrapper(((CacheEntry) existing).value);
+			}
+			// Absent, or an expired entry to be replaced
+			if (existing == null || this.store.replace(key, existing, entry)) {
+				if (existing != null) {
+					recordEviction();
+				}
+				if (this.statistics != null) {
+					this.statistics.recordPut();
+				}
+				afterWrite();
+				return null;
+			}
+		}
 	}
 
 	@Override
@@ -173,6 +332,141 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 		this.store.clear();
 	}
 
+	/**
+	 * Return the current store value for the given key, removing an expired entry.
+	 */
+	@Nullable
+	private Object getIfPresent(Object key, long now) {
+		Object storeValue = this.store.get(key);
+		if (!(storeValue instanceof CacheEntry)) {
+			return storeValue;
+		}
+		CacheEntry entry = (CacheEntry) storeValue;
+		if (isExpired(entry, now)) {
+			if (this.store.remove(key, entry)) {
+				recordEviction();
+			}
+			return null;
+		}
+		if (this.expireAfterAccessNanos > 0 || this.maximumSize >= 0) {
+			entry.accessTime = now;
+		}
+		return entry.value;
+	}
+
+	private boolean isExpiring() {
+		return (this.expireAfterWriteNanos > 0 || this.expireAfterAccessNanos > 0);
+	}
+
+	private boolean isExpired(CacheEntry entry, long now) {
+		return ((this.expireAfterWriteNanos > 0 && now - entry.writeTime >= this.expireAfterWriteNanos) ||
+				(this.expireAfterAccessNanos > 0 && now - entry.accessTime >= this.expireAfterAccessNanos));
+	}
+
+	private boolean exceedsMaximumSize() {
+		return (this.maximumSize >= 0 && this.store.size() > this.maximumSize);
+	}
+
+	/**
+	 * Apply the size bound and, every so often, remove expired entries that
+	 * have not been read since they expired. Skipped if another thread is
+	 * already evicting, since that thread keeps going while the cache is full.
+	 */
+	private void afterWrite() {
+		if (!this.holdsEntries) {
+			return;
+		}
+		boolean sweep = (isExpiring() && this.writeCount.incrementAndGet() % EXPIRATION_SWEEP_SIZE == 0);
+		if ((sweep || exceedsMaximumSize()) && this.evictionLock.tryLock()) {
+			try {
+				long now = System.nanoTime();
+				if (sweep) {
+					expireEntries(now);
+				}
+				while (exceedsMaximumSize()) {
+					if (!evictEntry(now)) {
+						break;
+					}
+				}
+			}
+			finally {
+				this.evictionLock.unlock();
+			}
+		}
+	}
+
+	private void expireEntries(long now) {
+		for (int i = 0; i < EXPIRATION_SWEEP_SIZE; i++) {
+			Map.Entry<Object, Object> mapEntry = nextEntry();
+			if (mapEntry == null) {
+				return;
+			}
+			Object value = mapEntry.getValue();
+			if (value instanceof CacheEntry && isExpired((CacheEntry) value, now) &&
+					this.store.remove(mapEntry.getKey(), value)) {
+				recordEviction();
+			}
+		}
+	}
+
+	/**
+	 * Evict an expired entry or else the least recently accessed entry
+	 * among a sample of entries.
+	 * @return whether a candidate was found
+	 */
+	private boolean evictEntry(long now) {
+		Map.Entry<Object, Object> candidate = null;
+		long candidateAccessTime = 0;
+		for (int i = 0; i < EVICTION_SAMPLE_SIZE; i++) {
+			Map.Entry<Object, Object> mapEntry = nextEntry();
+			if (mapEntry == null) {
+				break;
+			}
+			Object value = mapEntry.getValue();
+			if (value instanceof CacheEntry) {
+				CacheEntry entry = (CacheEntry) value;
+				if (isExpired(entry, now)) {
+					candidate = mapEntry;
+					break;
+				}
+				if (candidate == null || entry.accessTime - candidateAccessTime < 0) {
+					candidate = mapEntry;
+					candidateAccessTime = entry.accessTime;
+				}
+			}
+		}
+		if (candidate == null) {
+			return false;
+		}
+		if (this.store.remove(candidate.getKey(), candidate.getValue())) {
+			recordEviction();
+		}
+		return true;
+	}
+
+	/**
+	 * Advance the eviction hand, starting over at the end of the store.
+	 * @return the next store entry, or {@code null} if the store is empty
+	 */
+	@Nullable
+	private Map.Entry<Object, Object> nextEntry() {
+		Iterator<Map.Entry<Object, Object>> hand = this.evictionHand;
+		if (hand == null || !hand.hasNext()) {
+			hand = this.store.entrySet().iterator();
+			this.evictionHand = hand;
+			if (!hand.hasNext()) {
+				return null;
+			}
+		}
+		return hand.next();
+	}
+
+	private void recordEviction() {
+		if (this.statistics != null) {
+			this.statistics.recordEviction();
+		}
+	}
+
 	@Override
 	protected Object toStoreValue(@Nullable Object userValue) {
 		Object storeValue = super.toStoreValue(userValue);
@@ -227,4 +521,23 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 		}
 	}
 
+
+	/**
+	 * Holder for a store value in a bounded or expiring cache.
+	 */
+	private static final class CacheEntry {
+
+		final Object value;
+
+		final long writeTime;
+
+		volatile long accessTime;
+
+		CacheEntry(Object value, long writeTime) {
+			this.value = value;
+			this.writeTime = writeTime;
+			this.accessTime = writeTime;
+		}
+	}
+
 }
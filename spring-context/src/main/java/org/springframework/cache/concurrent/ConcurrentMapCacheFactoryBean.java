@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import org.springframework.beans.factory.BeanNameAware;
@@ -47,6 +49,16 @@ public class ConcurrentMapCacheFactoryBean
 
 	private boolean allowNullValues = true;
 
+	private long maximumSize = -1;
+
+	@Nullable
+	private Duration expireAfterWrite;
+
+	@Nullable
+	private Duration expireAfterAccess;
+
+	private boolean statisticsEnabled = false;
+
 	@Nullable
 	private ConcurrentMapCache cache;
 
@@ -77,6 +89,44 @@ public class ConcurrentMapCacheFactoryBean
 		this.allowNullValues = allowNullValues;
 	}
 
+	/**
+	 * Set the maximum number of entries in the cache, evicting entries that
+	 * have not been accessed recently once exceeded.
+	 * <p>Default is "-1", i.e. an unbounded cache.
+	 * @since 5.0.12
+	 */
+	public void setMaximumSize(long maximumSize) {
+		this.maximumSize = maximumSize;
+	}
+
+	/**
+	 * Set the duration after which an entry expires once created or replaced.
+	 * <p>Default is none.
+	 * @since 5.0.12
+	 */
+	public void setExpireAfterWrite(@Nullable Duration expireAfterWrite) {
+		this.expireAfterWrite = expireAfterWrite;
+	}
+
+	/**
+	 * Set the duration after which an entry expires once last read or written.
+	 * <p>Default is none.
+	 * @since 5.0.12
+	 */
+	public void setExpireAfterAccess(@Nullable Duration expireAfterAccess) {
+		this.expireAfterAccess = expireAfterAccess;
+	}
+
+	/**
+	 * Set whether to record hit, miss, put and eviction counts.
+	 * <p>Default is "false".
+	 * @since 5.0.12
+	 * @see ConcurrentMapCache#getStatistics()
+	 */
+	public void setStatisticsEnabled(boolean statisticsEnabled) {
+		this.statisticsEnabled = statisticsEnabled;
+	}
+
 	@Override
 	public void setBeanName(String beanName) {
 		if (!StringUtils.hasLength(this.name)) {
@@ -86,8 +136,9 @@ public class ConcurrentMapCacheFactoryBean
 
 	@Override
 	public void afterPropertiesSet() {
-		this.cache = (this.store != null ? new ConcurrentMapCache(this.name, this.store, this.allowNullValues) :
-				new ConcurrentMapCache(this.name, this.allowNullValues));
+		ConcurrentMap<Object, Object> store = (this.store != null ? this.store : new ConcurrentHashMap<>(256));
+		this.cache = new ConcurrentMapCache(this.name, store, this.allowNullValues, null,
+				this.maximumSize, this.expireAfterWrite, this.expireAfterAccess, this.statisticsEnabled);
 	}
 
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -28,6 +29,7 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.core.serializer.support.SerializationDelegate;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ObjectUtils;
 
 /**
  * {@link CacheManager} implementation that lazily builds {@link ConcurrentMapCache}
@@ -35,9 +37,9 @@ import org.springframework.lang.Nullable;
  * the set of cache names is pre-defined through {@link #setCacheNames}, with no
  * dynamic creation of further cache regions at runtime.
  *
- * <p>Note: This is by no means a sophisticated CacheManager; it comes with no
- * cache configuration options. However, it may be useful for testing or simple
- * caching scenarios. For advanced local caching needs, consider
+ * <p>Note: This is by no means a sophisticated CacheManager; it comes with basic
+ * size bound, expiration and statistics options only. However, it may be useful
+ * for testing or simple caching scenarios. For advanced local caching needs, consider
  * {@link org.springframework.cache.jcache.JCacheCacheManager},
  * {@link org.springframework.cache.ehcache.EhCacheCacheManager},
  * {@link org.springframework.cache.caffeine.CaffeineCacheManager}.
@@ -59,6 +61,16 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 	@Nullable
 	private SerializationDelegate serialization;
 
+	private long maximumSize = -1;
+
+	@Nullable
+	private Duration expireAfterWrite;
+
+	@Nullable
+	private Duration expireAfterAccess;
+
+	private boolean statisticsEnabled = false;
+
 
 	/**
 	 * Construct a dynamic ConcurrentMapCacheManager,
@@ -146,6 +158,104 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 		return this.storeByValue;
 	}
 
+	/**
+	 * Specify the maximum number of entries in each cache of this cache manager,
+	 * evicting entries that have not been accessed recently once exceeded.
+	 * <p>Default is "-1", i.e. unbounded caches.
+	 * <p>Note: A change of the maximum size will reset all existing caches,
+	 * if any, to reconfigure them with the new size bound.
+	 * @since 5.0.12
+	 * @see ConcurrentMapCache
+	 */
+	public void setMaximumSize(long maximumSize) {
+		if (maximumSize != this.maximumSize) {
+			this.maximumSize = maximumSize;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the maximum number of entries in each cache of this cache manager,
+	 * or {@code -1} if unbounded.
+	 * @since 5.0.12
+	 */
+	public long getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	/**
+	 * Specify the duration after which an entry expires once created or replaced
+	 * (time-to-live), for all caches in this cache manager.
+	 * <p>Default is none.
+	 * <p>Note: A change of the expiration setting will reset all existing caches,
+	 * if any, to reconfigure them with the new expiration.
+	 * @since 5.0.12
+	 */
+	public void setExpireAfterWrite(@Nullable Duration expireAfterWrite) {
+		if (!ObjectUtils.nullSafeEquals(expireAfterWrite, this.expireAfterWrite)) {
+			this.expireAfterWrite = expireAfterWrite;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the duration after which an entry expires once created or replaced,
+	 * if any.
+	 * @since 5.0.12
+	 */
+	@Nullable
+	public Duration getExpireAfterWrite() {
+		return this.expireAfterWrite;
+	}
+
+	/**
+	 * Specify the duration after which an entry expires once last read or written
+	 * (time-to-idle), for all caches in this cache manager.
+	 * <p>Default is none.
+	 * <p>Note: A change of the expiration setting will reset all existing caches,
+	 * if any, to reconfigure them with the new expiration.
+	 * @since 5.0.12
+	 */
+	public void setExpireAfterAccess(@Nullable Duration expireAfterAccess) {
+		if (!ObjectUtils.nullSafeEquals(expireAfterAccess, this.expireAfterAccess)) {
+			this.expireAfterAccess = expireAfterAccess;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the duration after which an entry expires once last read or written,
+	 * if any.
+	 * @since 5.0.12
+	 */
+	@Nullable
+	public Duration getExpireAfterAccess() {
+		return this.expireAfterAccess;
+	}
+
+	/**
+	 * Specify whether to record hit, miss, put and eviction counts for all caches
+	 * in this cache manager, as exposed by {@link ConcurrentMapCache#getStatistics()}.
+	 * <p>Default is "false".
+	 * <p>Note: A change of the statistics setting will reset all existing caches,
+	 * if any, to reconfigure them accordingly.
+	 * @since 5.0.12
+	 */
+	public void setStatisticsEnabled(boolean statisticsEnabled) {
+		if (statisticsEnabled != this.statisticsEnabled) {
+			this.statisticsEnabled = statisticsEnabled;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return whether this cache manager records statistics for its caches.
+	 * @since 5.0.12
+	 */
+	public boolean isStatisticsEnabled() {
+		return this.statisticsEnabled;
+	}
+
 	@Override
 	public void setBeanClassLoader(ClassLoader classLoader) {
 		this.serialization = new SerializationDelegate(classLoader);
@@ -190,9 +300,8 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 	 */
 	protected Cache createConcurrentMapCache(String name) {
 		SerializationDelegate actualSerialization = (isStoreByValue() ? this.serialization : null);
-		return new ConcurrentMapCache(name, new ConcurrentHashMap<>(256),
-				isAllowNullValues(), actualSerialization);
-
+		return new ConcurrentMapCache(name, new ConcurrentHashMap<>(256), isAllowNullValues(), actualSerialization,
+				this.maximumSize, this.expireAfterWrite, this.expireAfterAccess, this.statisticsEnabled);
 	}
 
 }
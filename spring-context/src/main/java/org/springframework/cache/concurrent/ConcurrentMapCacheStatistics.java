@@ -0,0 +1,112 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit, miss, put and eviction counters of a {@link ConcurrentMapCache},
+ * as exposed by {@link ConcurrentMapCache#getStatistics()} if enabled.
+ *
+ * <p>Counters are updated without locking and may be read at any time,
+ * reflecting the operations completed so far.
+ *
+ * @since 5.0.12
+ * @see ConcurrentMapCacheManager#setStatisticsEnabled
+ */
+public class ConcurrentMapCacheStatistics {
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder putCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+
+	/**
+	 * Return the number of lookups that found a cached value.
+	 */
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * Return the number of lookups that did not find a cached value.
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the total number of lookups.
+	 */
+	public long getRequestCount() {
+		return getHitCount() + getMissCount();
+	}
+
+	/**
+	 * Return the ratio of lookups that found a cached value,
+	 * or {@code 1.0} if there were no lookups yet.
+	 */
+	public double getHitRatio() {
+		long hits = getHitCount();
+		long requests = hits + getMissCount();
+		return (requests != 0 ? (double) hits / requests : 1.0);
+	}
+
+	/**
+	 * Return the number of values put into the cache, including values
+	 * loaded on a cache miss.
+	 */
+	public long getPutCount() {
+		return this.putCount.sum();
+	}
+
+	/**
+	 * Return the number of entries removed due to the maximum size of the cache
+	 * or due to their expiration, not counting explicit evictions.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.sum();
+	}
+
+	void recordHit() {
+		this.hitCount.increment();
+	}
+
+	void recordMiss() {
+		this.missCount.increment();
+	}
+
+	void recordPut() {
+		this.putCount.increment();
+	}
+
+	void recordEviction() {
+		this.evictionCount.increment();
+	}
+
+
+	@Override
+	public String toString() {
+		return "hits=" + getHitCount() + ", misses=" + getMissCount() + ", puts=" + getPutCount() +
+				", evictions=" + getEvictionCount();
+	}
+
+}
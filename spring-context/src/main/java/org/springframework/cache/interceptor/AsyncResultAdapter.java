@@ -0,0 +1,258 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cache.Cache;
+import org.springframework.core.ReactiveAdapter;
+import org.springframework.core.ReactiveAdapterRegistry;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Adapts cache operations to methods with an asynchronous return type, caching
+ * the value that the returned handle eventually resolves to rather than the
+ * handle itself.
+ *
+ * <p>Supports {@link CompletableFuture} and {@link CompletionStage} out of the box,
+ * as well as reactive types known to the {@link ReactiveAdapterRegistry} if
+ * Reactor is present. A single-value type such as {@code Mono} caches its value;
+ * a multi-value type such as {@code Flux} caches the {@link List} of its elements.
+ * A single-value type that completes without a value is not cached at all.
+ * Reactive results are lazy: the cached method is only invoked, and the cache
+ * only consulted, once the returned publisher is subscribed to.
+ *
+ * @see Cache#retrieve(Object, Supplier)
+ */
+abstract class AsyncResultAdapter {
+
+	private static final boolean reactorPresent =
+			ClassUtils.isPresent("reactor.core.publisher.Mono", AsyncResultAdapter.class.getClassLoader());
+
+	private static final Object NO_ADAPTER = new Object();
+
+	private static final Map<Class<?>, Object> adapterCache = new ConcurrentReferenceHashMap<>(64);
+
+
+	/**
+	 * Return the adapter for the given method return type.
+	 * @param returnType the declared return type of a cached method
+	 * @return the corresponding adapter, or {@code null} if the given type
+	 * does not represent an asynchronous result
+	 */
+	@Nullable
+	public static AsyncResultAdapter forReturnType(Class<?> returnType) {
+		Object adapter = adapterCache.get(returnType);
+		if (adapter == null) {
+			adapter = createAdapter(returnType);
+			adapterCache.put(returnType, adapter);
+		}
+		return (adapter != NO_ADAPTER ? (AsyncResultAdapter) adapter : null);
+	}
+
+	private static Object createAdapter(Class<?> returnType) {
+		if (returnType == CompletableFuture.class || returnType == CompletionStage.class) {
+			return new FutureResultAdapter();
+		}
+		if (reactorPresent) {
+			ReactiveAdapter adapter = ReactiveAdapterRegistry.getSharedInstance().getAdapter(returnType);
+			if (adapter != null && !adapter.isNoValue()) {
+				return new ReactiveResultAdapter(adapter);
+			}
+		}
+		return NO_ADAPTER;
+	}
+
+
+	/**
+	 * Turn a cached value into an asynchronous result of the adapted type.
+	 * @param cachedValue the value found in the cache
+	 * @return the asynchronous result to return to the caller
+	 */
+	public abstract Object fromCachedValue(@Nullable Object cachedValue);
+
+	/**
+	 * Arrange for the given action to be applied to the resolved value of the
+	 * given asynchronous result, once available.
+	 * @param result the asynchronous result returned by the cached method
+	 * @param action the action to apply to the resolved value
+	 * @param emptyAction the action to run instead if the result completes
+	 * without a value
+	 * @return the asynchronous result to return to the caller
+	 */
+	public abstract Object whenResolved(Object result, Consumer<Object> action, Runnable emptyAction);
+
+	/**
+	 * Retrieve the value for the given key from the given cache, invoking the
+	 * cached method on a cache miss and sharing its result with concurrent callers.
+	 * @param cache the cache to retrieve the value from
+	 * @param key the cache key
+	 * @param invoker the invoker for the cached method
+	 * @return the asynchronous result to return to the caller
+	 * @see Cache#retrieve(Object, Supplier)
+	 */
+	public abstract Object retrieve(Cache cache, Object key, Supplier<Object> invoker);
+
+
+	/**
+	 * Invoke the cached method, exposing its resolved value as a {@link CompletableFuture}.
+	 */
+	static CompletableFuture<Object> invoke(
+			Supplier<Object> invoker, Function<Object, CompletableFuture<Object>> converter) {
+		Object result;
+		try {
+			result = invoker.get();
+		}
+		catch (CacheOperationInvoker.ThrowableWrapper ex) {
+			CompletableFuture<Object> failure = new CompletableFuture<>();
+			failure.completeExceptionally(ex.getOriginal());
+			return failure;
+		}
+		return (result != null ? converter.apply(result) : CompletableFuture.completedFuture(null));
+	}
+
+
+	/**
+	 * Adapter for {@link CompletableFuture} and {@link CompletionStage} results.
+	 */
+	private static class FutureResultAdapter extends AsyncResultAdapter {
+
+		@Override
+		public Object fromCachedValue(@Nullable Object cachedValue) {
+			return CompletableFuture.completedFuture(cachedValue);
+		}
+
+		@Override
+		public Object whenResolved(Object result, Consumer<Object> action, Runnable emptyAction) {
+			// A future always resolves to a value, possibly null
+			return ((CompletionStage<?>) result).thenApply(value -> {
+				action.accept(value);
+				return value;
+			});
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Object retrieve(Cache cache, Object key, Supplier<Object> invoker) {
+			return cache.retrieve(key, () -> invoke(invoker,
+					result -> ((CompletionStage<Object>) result).toCompletableFuture()));
+		}
+	}
+
+
+	/**
+	 * Adapter for reactive types, using Reactor to resolve their values.
+	 */
+	private static class ReactiveResultAdapter extends AsyncResultAdapter {
+
+		private final ReactiveAdapter adapter;
+
+		public ReactiveResultAdapter(ReactiveAdapter adapter) {
+			this.adapter = adapter;
+		}
+
+		@Override
+		public Object fromCachedValue(@Nullable Object cachedValue) {
+			if (this.adapter.isMultiValue()) {
+				return this.adapter.fromPublisher(Flux.fromIterable(
+						cachedValue != null ? (Iterable<?>) cachedValue : Collections.emptyList()));
+			}
+			return this.adapter.fromPublisher(Mono.justOrEmpty(cachedValue));
+		}
+
+		@Override
+		public Object whenResolved(Object result, Consumer<Object> action, Runnable emptyAction) {
+			if (this.adapter.isMultiValue()) {
+				// Elements are emitted once the complete List is available for caching
+				return this.adapter.fromPublisher(Flux.from(this.adapter.toPublisher(result))
+						.collectList()
+						.doOnSuccess(action::accept)
+						.flatMapIterable(Function.identity()));
+			}
+			return this.adapter.fromPublisher(Mono.from(this.adapter.toPublisher(result))
+					.doOnSuccess(value -> {
+						if (value != null) {
+							action.accept(value);
+						}
+						else {
+							emptyAction.run();
+						}
+					}));
+		}
+
+		@Override
+		public Object retrieve(Cache cache, Object key, Supplier<Object> invoker) {
+			if (this.adapter.isMultiValue()) {
+				return this.adapter.fromPublisher(
+						retrieve(cache, key, invoker, publisher -> Flux.from(publisher).collectList())
+								.flatMapIterable(list -> (List<?>) list));
+			}
+			// An empty result fails the shared retrieval so that nothing gets cached,
+			// and is turned back into an empty result for each caller
+			return this.adapter.fromPublisher(
+					retrieve(cache, key, invoker, publisher -> Mono.from(publisher)
+							.switchIfEmpty(Mono.error(EmptyResultException.INSTANCE)))
+							.onErrorResume(EmptyResultException::isEmptyResult, ex -> Mono.empty()));
+		}
+
+		private Mono<Object> retrieve(Cache cache, Object key, Supplier<Object> invoker,
+				Function<Publisher<Object>, Mono<?>> resolver) {
+
+			// Neither consult the cache nor invoke the method before subscription
+			return Mono.defer(() -> Mono.fromFuture(cache.retrieve(key, () -> invoke(invoker,
+					result -> toFuture(resolver.apply(this.adapter.toPublisher(result)))))));
+		}
+
+		@SuppressWarnings("unchecked")
+		private static CompletableFuture<Object> toFuture(Mono<?> mono) {
+			return (CompletableFuture<Object>) mono.toFuture();
+		}
+	}
+
+
+	/**
+	 * Marker for a single-value reactive result that completed without a value.
+	 */
+	@SuppressWarnings("serial")
+	private static class EmptyResultException extends RuntimeException {
+
+		static final EmptyResultException INSTANCE = new EmptyResultException();
+
+		private EmptyResultException() {
+			super("Empty result", null, false, false);
+		}
+
+		static boolean isEmptyResult(Throwable ex) {
+			// The marker may arrive wrapped by a dependent CompletableFuture
+			return (ex instanceof EmptyResultException || ex.getCause() instanceof EmptyResultException);
+		}
+	}
+
+}
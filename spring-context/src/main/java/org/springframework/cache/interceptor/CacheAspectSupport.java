@@ -39,6 +39,7 @@ import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
 import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.expression.AnnotatedElementKey;
@@ -84,7 +85,7 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 	private final Map<CacheOperationCacheKey, CacheOperationMetadata> metadataCache = new ConcurrentHashMap<>(1024);
 
-	private final CacheOperationExpressionEvaluator evaluator = new CacheOperationExpressionEvaluator();
+	private CacheOperationExpressionEvaluator evaluator = new CacheOperationExpressionEvaluator();
 
 	@Nullable
 	private CacheOperationSource cacheOperationSource;
@@ -173,6 +174,11 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	@Override
 	public void setBeanFactory(BeanFactory beanFactory) {
 		this.beanFactory = beanFactory;
+		if (beanFactory instanceof ConfigurableBeanFactory) {
+			// Compile cache expressions against the ClassLoader of the application's beans
+			this.evaluator = new CacheOperationExpressionEvaluator(
+					((ConfigurableBeanFactory) beanFactory).getBeanClassLoader());
+		}
 	}
 
 
@@ -348,6 +354,11 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			if (isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
 				Object key = generateKey(context, CacheOperationExpressionEvaluator.NO_RESULT);
 				Cache cache = context.getCaches().iterator().next();
+				AsyncResultAdapter asyncAdapter = AsyncResultAdapter.forReturnType(method.getReturnType());
+				if (asyncAdapter != null) {
+					// Share a single in-flight invocation without blocking the caller
+					return asyncAdapter.retrieve(cache, key, () -> invokeOperation(invoker));
+				}
 				try {
 					return wrapCacheValue(method, cache.get(key, () -> unwrapReturnValue(invokeOperation(invoker))));
 				}
@@ -389,9 +400,24 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		else {
 			// Invoke the method if we don't have a cache hit
 			returnValue = invokeOperation(invoker);
+			AsyncResultAdapter asyncAdapter = AsyncResultAdapter.forReturnType(method.getReturnType());
+			if (asyncAdapter != null && returnValue != null) {
+				// Apply puts and late evictions once the asynchronous result is resolved,
+				// only evicting if it completes without a value to cache
+				return asyncAdapter.whenResolved(returnValue,
+						resolvedValue -> processResult(contexts, resolvedValue, new ArrayList<>(cachePutRequests)),
+						() -> processCacheEvicts(contexts.get(CacheEvictOperation.class), false, null));
+			}
 			cacheValue = unwrapReturnValue(returnValue);
 		}
 
+		processResult(contexts, cacheValue, cachePutRequests);
+		return returnValue;
+	}
+
+	private void processResult(CacheOperationContexts contexts, @Nullable Object cacheValue,
+			Collection<CachePutRequest> cachePutRequests) {
+
 		// Collect any explicit @CachePuts
 		collectPutRequests(contexts.get(CachePutOperation.class), cacheValue, cachePutRequests);
 
@@ -402,12 +428,14 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		// Process any late evictions
 		processCacheEvicts(contexts.get(CacheEvictOperation.class), false, cacheValue);
-
-		return returnValue;
 	}
 
 	@Nullable
 	private Object wrapCacheValue(Method method, @Nullable Object cacheValue) {
+		AsyncResultAdapter asyncAdapter = AsyncResultAdapter.forReturnType(method.getReturnType());
+		if (asyncAdapter != null) {
+			return asyncAdapter.fromCachedValue(cacheValue);
+		}
 		if (method.getReturnType() == Optional.class &&
 				(cacheValue == null || cacheValue.getClass() != Optional.class)) {
 			return Optional.ofNullable(cacheValue);
@@ -668,6 +696,12 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		private final Collection<String> cacheNames;
 
+		@Nullable
+		private EvaluationContext evaluationContext;
+
+		@Nullable
+		private Object evaluationContextResult;
+
 		public CacheOperationContext(CacheOperationMetadata metadata, Object[] args, Object target) {
 			this.metadata = metadata;
 			this.args = extractArgs(metadata.method, args);
@@ -744,8 +778,15 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		}
 
 		private EvaluationContext createEvaluationContext(@Nullable Object result) {
-			return evaluator.createEvaluationContext(this.caches, this.metadata.method, this.args,
-					this.target, this.metadata.targetClass, this.metadata.targetMethod, result, beanFactory);
+			// Reuse the context for the same result, e.g. for the condition and key of a cache hit
+			EvaluationContext evaluationContext = this.evaluationContext;
+			if (evaluationContext == null || result != this.evaluationContextResult) {
+				evaluationContext = evaluator.createEvaluationContext(this.caches, this.metadata.method, this.args,
+						this.target, this.metadata.targetClass, this.metadata.targetMethod, result, beanFactory);
+				this.evaluationContext = evaluationContext;
+				this.evaluationContextResult = result;
+			}
+			return evaluationContext;
 		}
 
 		protected Collection<? extends Cache> getCaches() {
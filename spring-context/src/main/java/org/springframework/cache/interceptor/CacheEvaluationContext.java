@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.cache.interceptor;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -44,7 +45,7 @@ import org.springframework.lang.Nullable;
  */
 class CacheEvaluationContext extends MethodBasedEvaluationContext {
 
-	private final Set<String> unavailableVariables = new HashSet<>(1);
+	private Set<String> unavailableVariables = Collections.emptySet();
 
 
 	CacheEvaluationContext(Object rootObject, Method method, Object[] arguments,
@@ -62,9 +63,20 @@ class CacheEvaluationContext extends MethodBasedEvaluationContext {
 	 * trying to use that variable should therefore fail to evaluate.
 	 */
 	public void addUnavailableVariable(String name) {
+		if (this.unavailableVariables.isEmpty()) {
+			this.unavailableVariables = new HashSet<>(1);
+		}
 		this.unavailableVariables.add(name);
 	}
 
+	/**
+	 * Return whether the specified variable has been marked as unavailable.
+	 * @see #addUnavailableVariable(String)
+	 */
+	public boolean isUnavailableVariable(String name) {
+		return this.unavailableVariables.contains(name);
+	}
+
 
 	/**
 	 * Load the param information only when needed.
@@ -26,8 +26,12 @@ import org.springframework.cache.Cache;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.context.expression.CachedExpressionEvaluator;
+import org.springframework.core.SpringProperties;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.lang.Nullable;
 
 /**
@@ -37,6 +41,13 @@ import org.springframework.lang.Nullable;
  * <p>Performs internal caching for performance reasons
  * using {@link AnnotatedElementKey}.
  *
+ * <p>Expressions are compiled in {@link SpelCompilerMode#MIXED} mode, i.e. once
+ * they have been interpreted a number of times, falling back to interpretation
+ * if a compiled expression fails, unless a compiler mode has been set explicitly
+ * through the "spring.expression.compiler.mode" property. Conditions evaluated
+ * before the result is available are always interpreted, since any reference
+ * to the result would fail their compiled form over and over again.
+ *
  * @author Costin Leau
  * @author Phillip Webb
  * @author Sam Brannen
@@ -60,6 +71,8 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 	 */
 	public static final String RESULT_VARIABLE = "result";
 
+	private static final String COMPILER_MODE_PROPERTY_NAME = "spring.expression.compiler.mode";
+
 
 	private final Map<ExpressionKey, Expression> keyCache = new ConcurrentHashMap<>(64);
 
@@ -67,6 +80,32 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 
 	private final Map<ExpressionKey, Expression> unlessCache = new ConcurrentHashMap<>(64);
 
+	private final InterpretingExpressionEvaluator interpretingEvaluator = new InterpretingExpressionEvaluator();
+
+
+	/**
+	 * Create a new instance, compiling expressions against the
+	 * thread context ClassLoader.
+	 */
+	public CacheOperationExpressionEvaluator() {
+		this(null);
+	}
+
+	/**
+	 * Create a new instance, compiling expressions against the given ClassLoader.
+	 * @param classLoader the ClassLoader to use as the basis for expression
+	 * compilation, or {@code null} for the thread context ClassLoader
+	 */
+	public CacheOperationExpressionEvaluator(@Nullable ClassLoader classLoader) {
+		super(new SpelExpressionParser(new SpelParserConfiguration(getCompilerMode(), classLoader)));
+	}
+
+	@Nullable
+	private static SpelCompilerMode getCompilerMode() {
+		// An explicitly configured compiler mode is applied by SpelParserConfiguration itself
+		return (SpringProperties.getProperty(COMPILER_MODE_PROPERTY_NAME) != null ? null : SpelCompilerMode.MIXED);
+	}
+
 
 	/**
 	 * Create an {@link EvaluationContext}.
@@ -105,8 +144,10 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 	}
 
 	public boolean condition(String conditionExpression, AnnotatedElementKey methodKey, EvaluationContext evalContext) {
-		return (Boolean.TRUE.equals(getExpression(this.conditionCache, methodKey, conditionExpression).getValue(
-				evalContext, Boolean.class)));
+		Expression expression = (isResultUnavailable(evalContext) ?
+				this.interpretingEvaluator.getCondition(methodKey, conditionExpression) :
+				getExpression(this.conditionCache, methodKey, conditionExpression));
+		return (Boolean.TRUE.equals(expression.getValue(evalContext, Boolean.class)));
 	}
 
 	public boolean unless(String unlessExpression, AnnotatedElementKey methodKey, EvaluationContext evalContext) {
@@ -114,6 +155,11 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 				evalContext, Boolean.class)));
 	}
 
+	private boolean isResultUnavailable(EvaluationContext evalContext) {
+		return (evalContext instanceof CacheEvaluationContext &&
+				((CacheEvaluationContext) evalContext).isUnavailableVariable(RESULT_VARIABLE));
+	}
+
 	/**
 	 * Clear all caches.
 	 */
@@ -121,6 +167,28 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 		this.keyCache.clear();
 		this.conditionCache.clear();
 		this.unlessCache.clear();
+		this.interpretingEvaluator.clear();
+	}
+
+
+	/**
+	 * Evaluator for expressions that are always interpreted.
+	 */
+	private static class InterpretingExpressionEvaluator extends CachedExpressionEvaluator {
+
+		private final Map<ExpressionKey, Expression> conditionCache = new ConcurrentHashMap<>(64);
+
+		InterpretingExpressionEvaluator() {
+			super(new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.OFF, null)));
+		}
+
+		Expression getCondition(AnnotatedElementKey methodKey, String conditionExpression) {
+			return getExpression(this.conditionCache, methodKey, conditionExpression);
+		}
+
+		void clear() {
+			this.conditionCache.clear();
+		}
 	}
 
 }
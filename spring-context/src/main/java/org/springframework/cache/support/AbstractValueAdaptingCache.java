@@ -16,6 +16,12 @@
 
 package org.springframework.cache.support;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 import org.springframework.cache.Cache;
 import org.springframework.lang.Nullable;
 
@@ -28,6 +34,11 @@ import org.springframework.lang.Nullable;
  * {@link NullValue#INSTANCE}, if configured to support {@code null} values
  * (as indicated by {@link #isAllowNullValues()}.
  *
+ * <p>Also provides asynchronous {@link #retrieve(Object, Supplier) retrieval}
+ * where concurrent callers for a missing key share a single in-flight load.
+ * Each caller receives its own dependent future, so completing or cancelling
+ * it does not affect the shared load or any other caller.
+ *
  * @author Juergen Hoeller
  * @since 4.2.2
  */
@@ -35,6 +46,8 @@ public abstract class AbstractValueAdaptingCache implements Cache {
 
 	private final boolean allowNullValues;
 
+	private final ConcurrentMap<Object, CompletableFuture<?>> pendingRetrievals = new ConcurrentHashMap<>(16);
+
 
 	/**
 	 * Create an {@code AbstractValueAdaptingCache} with the given setting.
@@ -71,6 +84,59 @@ public abstract class AbstractValueAdaptingCache implements Cache {
 		return (T) value;
 	}
 
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		Object storeValue = lookup(key);
+		return (storeValue != null ? CompletableFuture.completedFuture(fromStoreValue(storeValue)) : null);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		Object storeValue = lookup(key);
+		if (storeValue != null) {
+			return CompletableFuture.completedFuture((T) fromStoreValue(storeValue));
+		}
+		CompletableFuture<T> retrieval = new CompletableFuture<>();
+		CompletableFuture<?> pending = this.pendingRetrievals.putIfAbsent(key, retrieval);
+		if (pending != null) {
+			return ((CompletableFuture<T>) pending).thenApply(Function.identity());
+		}
+		// Re-check: a concurrent retrieval may have completed in the meantime
+		storeValue = lookup(key);
+		if (storeValue != null) {
+			this.pendingRetrievals.remove(key, retrieval);
+			retrieval.complete((T) fromStoreValue(storeValue));
+			return retrieval.thenApply(Function.identity());
+		}
+		try {
+			valueLoader.get().whenComplete((value, ex) -> {
+				Throwable failure = ex;
+				if (failure == null) {
+					try {
+						put(key, value);
+					}
+					catch (Throwable putEx) {
+						failure = putEx;
+					}
+				}
+				this.pendingRetrievals.remove(key, retrieval);
+				if (failure != null) {
+					retrieval.completeExceptionally(failure);
+				}
+				else {
+					retrieval.complete(value);
+				}
+			});
+		}
+		catch (Throwable ex) {
+			this.pendingRetrievals.remove(key, retrieval);
+			retrieval.completeExceptionally(ex);
+		}
+		return retrieval.thenApply(Function.identity());
+	}
+
 	/**
 	 * Perform an actual lookup in the underlying store.
 	 * @param key the key whose associated value is to be returned
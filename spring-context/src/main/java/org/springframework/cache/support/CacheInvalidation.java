@@ -0,0 +1,100 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.io.Serializable;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Notification that an entry, or all entries, of a named cache have changed,
+ * so that local copies of them need to be discarded.
+ *
+ * <p>Serializable for transport to other processes, provided that the cache
+ * key is serializable as well.
+ *
+ * @since 5.0.12
+ * @see CacheInvalidationChannel
+ * @see TwoLevelCacheManager
+ */
+@SuppressWarnings("serial")
+public final class CacheInvalidation implements Serializable {
+
+	private final String origin;
+
+	private final String cacheName;
+
+	@Nullable
+	private final Object key;
+
+
+	/**
+	 * Create a new CacheInvalidation.
+	 * @param origin an identifier for the publisher of this invalidation
+	 * @param cacheName the name of the affected cache
+	 * @param key the key of the affected entry, or {@code null} if all
+	 * entries of the cache are affected
+	 */
+	public CacheInvalidation(String origin, String cacheName, @Nullable Object key) {
+		Assert.notNull(origin, "Origin must not be null");
+		Assert.notNull(cacheName, "Cache name must not be null");
+		this.origin = origin;
+		this.cacheName = cacheName;
+		this.key = key;
+	}
+
+
+	/**
+	 * Return the identifier for the publisher of this invalidation.
+	 */
+	public String getOrigin() {
+		return this.origin;
+	}
+
+	/**
+	 * Return the name of the affected cache.
+	 */
+	public String getCacheName() {
+		return this.cacheName;
+	}
+
+	/**
+	 * Return the key of the affected entry, or {@code null} if all entries
+	 * of the cache are affected.
+	 * @see #isCacheWide()
+	 */
+	@Nullable
+	public Object getKey() {
+		return this.key;
+	}
+
+	/**
+	 * Return whether all entries of the cache are affected.
+	 */
+	public boolean isCacheWide() {
+		return (this.key == null);
+	}
+
+
+	@Override
+	public String toString() {
+		return "CacheInvalidation [cache '" + this.cacheName + "', " +
+				(this.key != null ? "key '" + this.key + "'" : "all entries") + ", origin '" + this.origin + "']";
+	}
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.function.Consumer;
+
+/**
+ * Channel for broadcasting {@link CacheInvalidation} notifications between
+ * the local caches of several processes sharing a common cache store.
+ *
+ * <p>Delivery is typically asynchronous and at-most-once: local copies may
+ * therefore briefly be stale after a change made by another process.
+ *
+ * @since 5.0.12
+ * @see LoopbackCacheInvalidationChannel
+ * @see TwoLevelCacheManager#setInvalidationChannel
+ */
+public interface CacheInvalidationChannel {
+
+	/**
+	 * Publish the given invalidation to all subscribers of this channel,
+	 * including those of the current process.
+	 * @param invalidation the invalidation to publish
+	 */
+	void publish(CacheInvalidation invalidation);
+
+	/**
+	 * Register a subscriber for all invalidations published to this channel.
+	 * @param subscriber the callback to invoke for each invalidation
+	 */
+	void subscribe(Consumer<CacheInvalidation> subscriber);
+
+}
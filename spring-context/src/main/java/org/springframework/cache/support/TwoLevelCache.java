@@ -0,0 +1,248 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Cache} that keeps a local copy of the entries of a shared, typically
+ * remote, cache, serving repeated lookups from the local cache without a round
+ * trip to the shared cache.
+ *
+ * <p>Modifications are applied to both caches and published through an optional
+ * {@link CacheInvalidationChannel}, for other processes to discard their local
+ * copies of the affected entries. Without a channel, this cache is only suitable
+ * for shared caches that are not modified elsewhere.
+ *
+ * <p>The local cache should be bounded, e.g. a Caffeine-backed cache with a
+ * maximum size, and should allow {@code null} values if the shared cache does.
+ *
+ * @since 5.0.12
+ * @see TwoLevelCacheManager
+ */
+public class TwoLevelCache implements Cache {
+
+	private final Cache localCache;
+
+	private final Cache sharedCache;
+
+	@Nullable
+	private final CacheInvalidationChannel invalidationChannel;
+
+	private final String origin;
+
+	private final AtomicLong invalidationCount = new AtomicLong();
+
+
+	/**
+	 * Create a new TwoLevelCache without invalidation channel.
+	 * @param localCache the local cache to serve lookups from
+	 * @param sharedCache the shared cache backing the local cache
+	 */
+	public TwoLevelCache(Cache localCache, Cache sharedCache) {
+		this(localCache, sharedCache, null, "");
+	}
+
+	/**
+	 * Create a new TwoLevelCache, publishing modifications to the given channel.
+	 * @param localCache the local cache to serve lookups from
+	 * @param sharedCache the shared cache backing the local cache
+	 * @param invalidationChannel the channel to publish modifications to
+	 * @param origin the identifier for published invalidations
+	 */
+	public TwoLevelCache(Cache localCache, Cache sharedCache,
+			@Nullable CacheInvalidationChannel invalidationChannel, String origin) {
+
+		Assert.notNull(localCache, "Local Cache must not be null");
+		Assert.notNull(sharedCache, "Shared Cache must not be null");
+		Assert.notNull(origin, "Origin must not be null");
+		this.localCache = localCache;
+		this.sharedCache = sharedCache;
+		this.invalidationChannel = invalidationChannel;
+		this.origin = origin;
+	}
+
+
+	/**
+	 * Return the local cache that lookups are served from.
+	 */
+	public Cache getLocalCache() {
+		return this.localCache;
+	}
+
+	/**
+	 * Return the shared cache backing the local cache.
+	 */
+	public Cache getSharedCache() {
+		return this.sharedCache;
+	}
+
+	@Override
+	public String getName() {
+		return this.sharedCache.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return this.sharedCache.getNativeCache();
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper get(Object key) {
+		ValueWrapper wrapper = this.localCache.get(key);
+		if (wrapper != null) {
+			return wrapper;
+		}
+		long invalidations = this.invalidationCount.get();
+		wrapper = this.sharedCache.get(key);
+		if (wrapper != null) {
+			putLocal(key, wrapper.get(), invalidations);
+		}
+		return wrapper;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, @Nullable Class<T> type) {
+		ValueWrapper wrapper = get(key);
+		Object value = (wrapper != null ? wrapper.get() : null);
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException(
+					"Cached value is not of required type [" + type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		ValueWrapper wrapper = this.localCache.get(key);
+		if (wrapper != null) {
+			return (T) wrapper.get();
+		}
+		long invalidations = this.invalidationCount.get();
+		T value = this.sharedCache.get(key, valueLoader);
+		putLocal(key, value, invalidations);
+		return value;
+	}
+
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		ValueWrapper wrapper = this.localCache.get(key);
+		if (wrapper != null) {
+			return CompletableFuture.completedFuture(wrapper.get());
+		}
+		long invalidations = this.invalidationCount.get();
+		CompletableFuture<?> future = this.sharedCache.retrieve(key);
+		return (future != null ? future.thenApply(value -> {
+			putLocal(key, value, invalidations);
+			return value;
+		}) : null);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		ValueWrapper wrapper = this.localCache.get(key);
+		if (wrapper != null) {
+			return CompletableFuture.completedFuture((T) wrapper.get());
+		}
+		long invalidations = this.invalidationCount.get();
+		return this.sharedCache.retrieve(key, valueLoader).thenApply(value -> {
+			putLocal(key, value, invalidations);
+			return value;
+		});
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		long invalidations = this.invalidationCount.get();
+		this.sharedCache.put(key, value);
+		putLocal(key, value, invalidations);
+		publish(key);
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		long invalidations = this.invalidationCount.get();
+		ValueWrapper existing = this.sharedCache.putIfAbsent(key, value);
+		if (existing != null) {
+			putLocal(key, existing.get(), invalidations);
+		}
+		else {
+			putLocal(key, value, invalidations);
+			publish(key);
+		}
+		return existing;
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.sharedCache.evict(key);
+		this.localCache.evict(key);
+		publish(key);
+	}
+
+	@Override
+	public void clear() {
+		this.sharedCache.clear();
+		this.localCache.clear();
+		publish(null);
+	}
+
+	/**
+	 * Discard the local copy of the specified entry, or of all entries,
+	 * e.g. in response to a {@link CacheInvalidation} from another process.
+	 * @param key the key of the entry to discard, or {@code null} for all entries
+	 */
+	public void invalidateLocal(@Nullable Object key) {
+		this.invalidationCount.incrementAndGet();
+		if (key != null) {
+			this.localCache.evict(key);
+		}
+		else {
+			this.localCache.clear();
+		}
+	}
+
+	private void putLocal(Object key, @Nullable Object value, long invalidations) {
+		this.localCache.put(key, value);
+		// Discard a copy that may have been read before a concurrent invalidation
+		if (this.invalidationCount.get() != invalidations) {
+			this.localCache.evict(key);
+		}
+	}
+
+	private void publish(@Nullable Object key) {
+		if (this.invalidationChannel != null) {
+			this.invalidationChannel.publish(new CacheInvalidation(this.origin, getName(), key));
+		}
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheManager} that composes the caches of a local {@link CacheManager},
+ * typically bounded and in-memory, with those of a shared {@link CacheManager},
+ * typically backed by a remote store, into {@link TwoLevelCache} instances.
+ *
+ * <p>Lookups are served from the local caches where possible, avoiding a round
+ * trip to the shared store for each of them. Modifications are published to the
+ * configured {@link CacheInvalidationChannel}, with every TwoLevelCacheManager
+ * subscribed to that channel discarding its local copies of the affected entries
+ * in response, unless the modification originated from itself.
+ *
+ * <p>Cache names are determined by the shared CacheManager. A cache without
+ * local counterpart, i.e. with the local CacheManager returning {@code null}
+ * for its name, is exposed as-is.
+ *
+ * @since 5.0.12
+ * @see #setInvalidationChannel
+ * @see LoopbackCacheInvalidationChannel
+ */
+public class TwoLevelCacheManager implements CacheManager, InitializingBean {
+
+	private final CacheManager localCacheManager;
+
+	private final CacheManager sharedCacheManager;
+
+	@Nullable
+	private CacheInvalidationChannel invalidationChannel;
+
+	private final String origin = UUID.randomUUID().toString();
+
+	private final ConcurrentMap<String, Cache> cacheMap = new ConcurrentHashMap<>(16);
+
+
+	/**
+	 * Create a new TwoLevelCacheManager for the given CacheManagers.
+	 * @param localCacheManager the CacheManager for the local caches
+	 * @param sharedCacheManager the CacheManager for the shared caches
+	 */
+	public TwoLevelCacheManager(CacheManager localCacheManager, CacheManager sharedCacheManager) {
+		Assert.notNull(localCacheManager, "Local CacheManager must not be null");
+		Assert.notNull(sharedCacheManager, "Shared CacheManager must not be null");
+		this.localCacheManager = localCacheManager;
+		this.sharedCacheManager = sharedCacheManager;
+	}
+
+
+	/**
+	 * Set the channel to publish modifications to and to receive modifications
+	 * made by other processes from.
+	 * <p>Default is none, which is only suitable for shared caches that are
+	 * not modified by any other process.
+	 */
+	public void setInvalidationChannel(@Nullable CacheInvalidationChannel invalidationChannel) {
+		this.invalidationChannel = invalidationChannel;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		if (this.invalidationChannel != null) {
+			this.invalidationChannel.subscribe(this::handleInvalidation);
+		}
+	}
+
+
+	@Override
+	@Nullable
+	public Cache getCache(String name) {
+		Cache cache = this.cacheMap.get(name);
+		if (cache == null) {
+			Cache sharedCache = this.sharedCacheManager.getCache(name);
+			if (sharedCache == null) {
+				return null;
+			}
+			Cache localCache = this.localCacheManager.getCache(name);
+			cache = (localCache != null ?
+					new TwoLevelCache(localCache, sharedCache, this.invalidationChannel, this.origin) : sharedCache);
+			Cache existing = this.cacheMap.putIfAbsent(name, cache);
+			if (existing != null) {
+				cache = existing;
+			}
+		}
+		return cache;
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return this.sharedCacheManager.getCacheNames();
+	}
+
+	/**
+	 * Discard local copies in response to a modification by another process.
+	 */
+	private void handleInvalidation(CacheInvalidation invalidation) {
+		if (this.origin.equals(invalidation.getOrigin())) {
+			return;
+		}
+		Cache cache = this.cacheMap.get(invalidation.getCacheName());
+		if (cache instanceof TwoLevelCache) {
+			((TwoLevelCache) cache).invalidateLocal(invalidation.getKey());
+		}
+	}
+
+}
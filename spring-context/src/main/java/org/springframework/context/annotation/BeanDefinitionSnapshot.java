@@ -0,0 +1,941 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.RuntimeBeanNameReference;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.beans.factory.support.ManagedList;
+import org.springframework.beans.factory.support.ManagedMap;
+import org.springframework.beans.factory.support.ManagedSet;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.core.SpringProperties;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.StandardAnnotationMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.SystemPropertyUtils;
+
+/**
+ * Pre-computed snapshot of the bean definitions derived from
+ * {@link Configuration @Configuration} class parsing and component scanning,
+ * stored in a compact binary format.
+ *
+ * <p>A snapshot is typically written at build time through
+ * {@link BeanDefinitionSnapshotGenerator} and placed at
+ * {@value #SNAPSHOT_RESOURCE_LOCATION} on the application classpath. On context
+ * refresh, {@link ConfigurationClassPostProcessor} registers the snapshot's bean
+ * definitions instead of parsing configuration classes and scanning the classpath,
+ * provided that the snapshot's checksum matches the current arrangement: the same
+ * initial configuration candidates, the same active profiles and the same
+ * bytecode for every class referenced by the snapshot.
+ *
+ * <p>Since the checksum does not cover {@link Environment} properties, a snapshot
+ * can only be created for configuration classes whose processing does not depend
+ * on them: {@link Conditional @Conditional} declarations other than
+ * {@link Profile @Profile} as well as placeholders in
+ * {@link ComponentScan @ComponentScan} base packages and
+ * {@link ImportResource @ImportResource} locations are rejected at the time of
+ * snapshot creation. Note that components which are added to scanned packages
+ * after the snapshot has been written will not be detected either. A snapshot is
+ * therefore meant to be regenerated as part of every application build.
+ *
+ * @since 5.0.12
+ * @see BeanDefinitionSnapshotGenerator
+ * @see ConfigurationClassPostProcessor
+ */
+public final class BeanDefinitionSnapshot {
+
+	/**
+	 * The location to look for a bean definition snapshot.
+	 */
+	public static final String SNAPSHOT_RESOURCE_LOCATION = "META-INF/spring.snapshot";
+
+	/**
+	 * System property that instructs Spring to ignore any bean definition snapshot,
+	 * i.e. to always parse configuration classes and scan the classpath.
+	 * <p>The default is "false", allowing for regular use of the snapshot.
+	 */
+	public static final String IGNORE_SNAPSHOT = "spring.snapshot.ignore";
+
+
+	private static final boolean shouldIgnoreSnapshot = SpringProperties.getFlag(IGNORE_SNAPSHOT);
+
+	private static final int MAGIC = 0x53504244;  // "SPBD"
+
+	private static final int VERSION = 1;
+
+	private static final byte NULL = 0;
+
+	private static final byte STRING = 1;
+
+	private static final byte BOOLEAN = 2;
+
+	private static final byte INTEGER = 3;
+
+	private static final byte LONG = 4;
+
+	private static final byte CLASS = 5;
+
+	private static final byte TYPED_STRING_VALUE = 6;
+
+	private static final byte BEAN_REFERENCE = 7;
+
+	private static final byte BEAN_NAME_REFERENCE = 8;
+
+	private static final byte LIST = 9;
+
+	private static final byte SET = 10;
+
+	private static final byte MAP = 11;
+
+	private static final byte BEAN_DEFINITION_HOLDER = 12;
+
+	private static final byte BEAN_DEFINITION = 13;
+
+	private static final Log logger = LogFactory.getLog(BeanDefinitionSnapshot.class);
+
+	private static final ThreadLocal<Boolean> currentlyRecording =
+			new NamedThreadLocal<>("Bean definition snapshot recording");
+
+
+	private final String checksum;
+
+	private final List<BeanDefinitionHolder> beanDefinitions;
+
+	private final Map<String, String> importingClasses;
+
+
+	private BeanDefinitionSnapshot(String checksum, List<BeanDefinitionHolder> beanDefinitions,
+			Map<String, String> importingClasses) {
+
+		this.checksum = checksum;
+		this.beanDefinitions = beanDefinitions;
+		this.importingClasses = importingClasses;
+	}
+
+
+	/**
+	 * Return the checksum that this snapshot has been computed for.
+	 */
+	public String getChecksum() {
+		return this.checksum;
+	}
+
+	/**
+	 * Return the bean definitions contained in this snapshot, including their aliases.
+	 */
+	public List<BeanDefinitionHolder> getBeanDefinitions() {
+		return Collections.unmodifiableList(this.beanDefinitions);
+	}
+
+	/**
+	 * Register the bean definitions contained in this snapshot with the given registry.
+	 * <p>Bean definitions that are already present in the registry (e.g. configuration
+	 * classes registered before the context refresh) are left as-is.
+	 * @param registry the registry to register the bean definitions with
+	 */
+	public void registerBeanDefinitions(BeanDefinitionRegistry registry) {
+		for (BeanDefinitionHolder holder : this.beanDefinitions) {
+			String beanName = holder.getBeanName();
+			if (!registry.containsBeanDefinition(beanName)) {
+				registry.registerBeanDefinition(beanName, holder.getBeanDefinition());
+				for (String alias : holder.getAliases()) {
+					registry.registerAlias(beanName, alias);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Write this snapshot to the given stream.
+	 * @param out the stream to write to (not closed by this method)
+	 * @throws IOException in case of I/O errors
+	 */
+	public void write(OutputStream out) throws IOException {
+		DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(StreamUtils.nonClosing(out)));
+		dos.writeInt(MAGIC);
+		dos.writeInt(VERSION);
+		dos.writeUTF(this.checksum);
+		dos.writeInt(this.beanDefinitions.size());
+		for (BeanDefinitionHolder holder : this.beanDefinitions) {
+			writeHolder(dos, holder);
+		}
+		dos.writeInt(this.importingClasses.size());
+		for (Map.Entry<String, String> entry : this.importingClasses.entrySet()) {
+			dos.writeUTF(entry.getKey());
+			dos.writeUTF(entry.getValue());
+		}
+		dos.flush();
+	}
+
+	/**
+	 * Read a snapshot from the given stream, resolving classes against the
+	 * default class loader.
+	 * @param in the stream to read from (not closed by this method)
+	 * @return the snapshot
+	 * @throws IOException in case of I/O errors or an unsupported format
+	 * @see #read(InputStream, ClassLoader)
+	 */
+	public static BeanDefinitionSnapshot read(InputStream in) throws IOException {
+		return read(in, null);
+	}
+
+	/**
+	 * Read a snapshot from the given stream.
+	 * @param in the stream to read from (not closed by this method)
+	 * @param classLoader the ClassLoader to resolve class values and target types
+	 * against (can be {@code null} to use the default)
+	 * @return the snapshot
+	 * @throws IOException in case of I/O errors or an unsupported format
+	 */
+	public static BeanDefinitionSnapshot read(InputStream in, @Nullable ClassLoader classLoader) throws IOException {
+		DataInputStream dis = new DataInputStream(new BufferedInputStream(StreamUtils.nonClosing(in)));
+		if (dis.readInt() != MAGIC) {
+			throw new IOException("Not a bean definition snapshot");
+		}
+		int version = dis.readInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported bean definition snapshot version: " + version);
+		}
+		String checksum = dis.readUTF();
+		int count = dis.readInt();
+		List<BeanDefinitionHolder> beanDefinitions = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			beanDefinitions.add(readHolder(dis, classLoader));
+		}
+		int importCount = dis.readInt();
+		Map<String, String> importingClasses = new LinkedHashMap<>(importCount);
+		for (int i = 0; i < importCount; i++) {
+			importingClasses.put(dis.readUTF(), dis.readUTF());
+		}
+		return new BeanDefinitionSnapshot(checksum, beanDefinitions, importingClasses);
+	}
+
+	/**
+	 * Load the snapshot from {@value #SNAPSHOT_RESOURCE_LOCATION}, using the given
+	 * class loader. If no snapshot is available, return {@code null}.
+	 * @param classLoader the ClassLoader to use for loading (can be {@code null} to use the default)
+	 * @return the snapshot to use or {@code null} if no snapshot was found
+	 * @throws IllegalStateException if the snapshot cannot be read
+	 */
+	@Nullable
+	public static BeanDefinitionSnapshot loadSnapshot(@Nullable ClassLoader classLoader) {
+		if (shouldIgnoreSnapshot) {
+			return null;
+		}
+		ClassLoader classLoaderToUse = (classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader());
+		InputStream is = (classLoaderToUse != null ?
+				classLoaderToUse.getResourceAsStream(SNAPSHOT_RESOURCE_LOCATION) :
+				ClassLoader.getSystemResourceAsStream(SNAPSHOT_RESOURCE_LOCATION));
+		if (is == null) {
+			return null;
+		}
+		try {
+			try {
+				BeanDefinitionSnapshot snapshot = read(is, classLoaderToUse);
+				if (logger.isDebugEnabled()) {
+					logger.debug("Loaded bean definition snapshot with " + snapshot.beanDefinitions.size() +
+							" bean definitions from " + SNAPSHOT_RESOURCE_LOCATION);
+				}
+				return snapshot;
+			}
+			finally {
+				is.close();
+			}
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Unable to load bean definition snapshot from location [" +
+					SNAPSHOT_RESOURCE_LOCATION + "]", ex);
+		}
+	}
+
+
+	/**
+	 * Specify whether configuration class processing on the current thread
+	 * is recording a snapshot, enforcing the checks below.
+	 * @see #checkCondition
+	 * @see #checkPlaceholders
+	 */
+	static void setRecording(boolean recording) {
+		if (recording) {
+			currentlyRecording.set(Boolean.TRUE);
+		}
+		else {
+			currentlyRecording.remove();
+		}
+	}
+
+	/**
+	 * Check whether the given condition can be evaluated while recording a snapshot:
+	 * only {@link Profile @Profile} conditions are covered by the checksum.
+	 * @param condition the condition about to be evaluated
+	 * @param metadata the metadata of the annotated class or method
+	 * @throws IllegalStateException if a snapshot is being recorded on the current
+	 * thread and the condition may depend on the environment
+	 */
+	static void checkCondition(Condition condition, AnnotatedTypeMetadata metadata) {
+		if (currentlyRecording.get() != null && !(condition instanceof ProfileCondition)) {
+			throw new IllegalStateException("Condition [" + condition.getClass().getName() + "] on " +
+					getDescription(metadata) + " is not supported in a bean definition snapshot: " +
+					"only @Profile conditions are covered by its checksum");
+		}
+	}
+
+	/**
+	 * Check whether the given value can be resolved against the environment
+	 * while recording a snapshot, i.e. whether it does not contain placeholders.
+	 * @param value the value about to be resolved
+	 * @param description the kind of value, for the exception message
+	 * @throws IllegalStateException if a snapshot is being recorded on the current
+	 * thread and the value contains a placeholder
+	 */
+	static void checkPlaceholders(String value, String description) {
+		if (currentlyRecording.get() != null && value.contains(SystemPropertyUtils.PLACEHOLDER_PREFIX)) {
+			throw new IllegalStateException("Placeholders in " + description + " [" + value +
+					"] are not supported in a bean definition snapshot");
+		}
+	}
+
+	/**
+	 * Capture a snapshot of the current state of the given registry.
+	 * @param registry the registry, after configuration class processing
+	 * @param configCandidates the initial configuration candidates
+	 * @param importRegistry the import registry populated during parsing
+	 * @param environment the environment to determine active profiles from
+	 * @param classLoader the ClassLoader to load class files from
+	 * @throws IllegalStateException if a bean definition is not representable in a snapshot
+	 */
+	static BeanDefinitionSnapshot capture(BeanDefinitionRegistry registry, List<BeanDefinitionHolder> configCandidates,
+			ImportRegistry importRegistry, Environment environment, @Nullable ClassLoader classLoader) {
+
+		List<BeanDefinitionHolder> beanDefinitions = new ArrayList<>();
+		Set<String> classNames = new LinkedHashSet<>();
+		for (String beanName : registry.getBeanDefinitionNames()) {
+			BeanDefinition bd = registry.getBeanDefinition(beanName);
+			beanDefinitions.add(new BeanDefinitionHolder(bd, beanName, registry.getAliases(beanName)));
+			collectClassNames(bd, classNames);
+		}
+
+		Map<String, String> importingClasses = new LinkedHashMap<>();
+		for (String className : classNames) {
+			AnnotationMetadata importingClass = importRegistry.getImportingClassFor(className);
+			if (importingClass != null) {
+				importingClasses.put(className, importingClass.getClassName());
+			}
+		}
+
+		String checksum = computeChecksum(configCandidates, environment, classNames, classLoader);
+		BeanDefinitionSnapshot snapshot = new BeanDefinitionSnapshot(checksum, beanDefinitions, importingClasses);
+		// Fail early for bean definitions that cannot be represented
+		for (BeanDefinitionHolder holder : beanDefinitions) {
+			checkRepresentable(holder);
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Determine whether this snapshot is applicable to the given arrangement.
+	 * @param configCandidates the initial configuration candidates
+	 * @param environment the environment to determine active profiles from
+	 * @param classLoader the ClassLoader to load class files from
+	 */
+	boolean matches(List<BeanDefinitionHolder> configCandidates, Environment environment,
+			@Nullable ClassLoader classLoader) {
+
+		Set<String> classNames = new LinkedHashSet<>();
+		for (BeanDefinitionHolder holder : this.beanDefinitions) {
+			collectClassNames(holder.getBeanDefinition(), classNames);
+		}
+		return this.checksum.equals(computeChecksum(configCandidates, environment, classNames, classLoader));
+	}
+
+	/**
+	 * Return an {@link ImportRegistry} for the import relationships recorded
+	 * in this snapshot, in order to support {@link ImportAware} configuration classes.
+	 * @param classLoader the ClassLoader to load importing classes with
+	 */
+	ImportRegistry getImportRegistry(@Nullable ClassLoader classLoader) {
+		return new SnapshotImportRegistry(this.importingClasses, classLoader);
+	}
+
+
+	private static String getDescription(AnnotatedTypeMetadata metadata) {
+		if (metadata instanceof MethodMetadata) {
+			MethodMetadata methodMetadata = (MethodMetadata) metadata;
+			return methodMetadata.getDeclaringClassName() + "." + methodMetadata.getMethodName() + "()";
+		}
+		if (metadata instanceof AnnotationMetadata) {
+			return ((AnnotationMetadata) metadata).getClassName();
+		}
+		return metadata.toString();
+	}
+
+	private static void checkRepresentable(BeanDefinitionHolder holder) {
+		try {
+			writeHolder(new DataOutputStream(new ByteArrayOutputStream()), holder);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static void collectClassNames(BeanDefinition bd, Set<String> classNames) {
+		if (bd.getBeanClassName() != null) {
+			classNames.add(bd.getBeanClassName());
+		}
+		if (bd instanceof RootBeanDefinition) {
+			BeanDefinitionHolder decorated = ((RootBeanDefinition) bd).getDecoratedDefinition();
+			if (decorated != null) {
+				collectClassNames(decorated.getBeanDefinition(), classNames);
+			}
+		}
+	}
+
+	private static String computeChecksum(List<BeanDefinitionHolder> configCandidates, Environment environment,
+			Set<String> classNames, @Nullable ClassLoader classLoader) {
+
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("MD5");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("Could not find MessageDigest with algorithm \"MD5\"", ex);
+		}
+
+		for (BeanDefinitionHolder candidate : configCandidates) {
+			update(digest, candidate.getBeanName());
+			update(digest, candidate.getBeanDefinition().getBeanClassName());
+		}
+		String[] profiles = environment.getActiveProfiles();
+		if (profiles.length == 0) {
+			profiles = environment.getDefaultProfiles();
+		}
+		for (String profile : new TreeSet<>(Arrays.asList(profiles))) {
+			update(digest, profile);
+		}
+
+		ClassLoader classLoaderToUse = (classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader());
+		for (String className : new TreeSet<>(classNames)) {
+			update(digest, className);
+			if (classLoaderToUse != null) {
+				InputStream is = classLoaderToUse.getResourceAsStream(ClassUtils.convertClassNameToResourcePath(
+						className) + ClassUtils.CLASS_FILE_SUFFIX);
+				if (is != null) {
+					try {
+						try {
+							digest.update(StreamUtils.copyToByteArray(is));
+						}
+						finally {
+							is.close();
+						}
+					}
+					catch (IOException ex) {
+						throw new IllegalStateException("Unable to read class file for [" + className + "]", ex);
+					}
+				}
+			}
+		}
+		return String.format("%032x", new BigInteger(1, digest.digest()));
+	}
+
+	private static void update(MessageDigest digest, @Nullable String value) {
+		digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+
+	private static void writeHolder(DataOutputStream out, BeanDefinitionHolder holder) throws IOException {
+		out.writeUTF(holder.getBeanName());
+		String[] aliases = holder.getAliases();
+		out.writeInt(aliases != null ? aliases.length : 0);
+		if (aliases != null) {
+			for (String alias : aliases) {
+				out.writeUTF(alias);
+			}
+		}
+		writeBeanDefinition(out, holder.getBeanName(), holder.getBeanDefinition());
+	}
+
+	private static BeanDefinitionHolder readHolder(DataInputStream in, @Nullable ClassLoader classLoader)
+			throws IOException {
+
+		String beanName = in.readUTF();
+		String[] aliases = new String[in.readInt()];
+		for (int i = 0; i < aliases.length; i++) {
+			aliases[i] = in.readUTF();
+		}
+		return new BeanDefinitionHolder(readBeanDefinition(in, classLoader), beanName, aliases);
+	}
+
+	private static void writeBeanDefinition(DataOutputStream out, String beanName, BeanDefinition bd)
+			throws IOException {
+
+		if (!(bd instanceof AbstractBeanDefinition)) {
+			throw new IllegalStateException("Bean definition '" + beanName + "' of type [" +
+					bd.getClass().getName() + "] is not supported in a snapshot");
+		}
+		AbstractBeanDefinition abd = (AbstractBeanDefinition) bd;
+		if (abd.getInstanceSupplier() != null) {
+			throw new IllegalStateException("Bean definition '" + beanName +
+					"' with an instance supplier is not supported in a snapshot");
+		}
+		if (abd.hasMethodOverrides()) {
+			throw new IllegalStateException("Bean definition '" + beanName +
+					"' with method overrides is not supported in a snapshot");
+		}
+		if (!abd.getQualifiers().isEmpty()) {
+			throw new IllegalStateException("Bean definition '" + beanName +
+					"' with qualifiers is not supported in a snapshot");
+		}
+
+		writeNullableString(out, abd.getBeanClassName());
+		writeNullableString(out, abd.getParentName());
+		writeNullableString(out, abd.getScope());
+		out.writeBoolean(abd.isAbstract());
+		out.writeBoolean(abd.isLazyInit());
+		out.writeBoolean(abd.isAutowireCandidate());
+		out.writeBoolean(abd.isPrimary());
+		out.writeBoolean(abd.isNonPublicAccessAllowed());
+		out.writeBoolean(abd.isLenientConstructorResolution());
+		out.writeBoolean(abd.isEnforceInitMethod());
+		out.writeBoolean(abd.isEnforceDestroyMethod());
+		out.writeBoolean(abd.isSynthetic());
+		out.writeInt(abd.getAutowireMode());
+		out.writeInt(abd.getDependencyCheck());
+		out.writeInt(abd.getRole());
+		String[] dependsOn = abd.getDependsOn();
+		out.writeInt(dependsOn != null ? dependsOn.length : 0);
+		if (dependsOn != null) {
+			for (String dependency : dependsOn) {
+				out.writeUTF(dependency);
+			}
+		}
+		writeNullableString(out, abd.getFactoryBeanName());
+		writeNullableString(out, abd.getFactoryMethodName());
+		writeNullableString(out, abd.getInitMethodName());
+		writeNullableString(out, abd.getDestroyMethodName());
+		writeNullableString(out, abd.getDescription());
+		writeNullableString(out, abd.getResourceDescription());
+
+		ConstructorArgumentValues cargs = abd.getConstructorArgumentValues();
+		out.writeInt(cargs.getIndexedArgumentValues().size());
+		for (Map.Entry<Integer, ConstructorArgumentValues.ValueHolder> entry :
+				cargs.getIndexedArgumentValues().entrySet()) {
+			out.writeInt(entry.getKey());
+			writeValueHolder(out, beanName, entry.getValue());
+		}
+		out.writeInt(cargs.getGenericArgumentValues().size());
+		for (ConstructorArgumentValues.ValueHolder valueHolder : cargs.getGenericArgumentValues()) {
+			writeValueHolder(out, beanName, valueHolder);
+		}
+
+		PropertyValue[] pvs = abd.getPropertyValues().getPropertyValues();
+		out.writeInt(pvs.length);
+		for (PropertyValue pv : pvs) {
+			out.writeUTF(pv.getName());
+			writeValue(out, beanName, pv.getValue());
+		}
+
+		String[] attributeNames = abd.attributeNames();
+		out.writeInt(attributeNames.length);
+		for (String attributeName : attributeNames) {
+			Object attribute = abd.getAttribute(attributeName);
+			if (!(attribute instanceof String || attribute instanceof Boolean ||
+					attribute instanceof Integer || attribute instanceof Long)) {
+				throw new IllegalStateException("Bean definition '" + beanName + "' attribute '" +
+						attributeName + "' of type [" + ObjectUtils.nullSafeClassName(attribute) +
+						"] is not supported in a snapshot");
+			}
+			out.writeUTF(attributeName);
+			writeValue(out, beanName, attribute);
+		}
+
+		if (abd instanceof RootBeanDefinition) {
+			RootBeanDefinition rbd = (RootBeanDefinition) abd;
+			Class<?> targetType = rbd.getTargetType();
+			writeNullableString(out, targetType != null ? targetType.getName() : null);
+			BeanDefinitionHolder decorated = rbd.getDecoratedDefinition();
+			out.writeBoolean(decorated != null);
+			if (decorated != null) {
+				writeHolder(out, decorated);
+			}
+		}
+		else {
+			writeNullableString(out, null);
+			out.writeBoolean(false);
+		}
+	}
+
+	private static AbstractBeanDefinition readBeanDefinition(DataInputStream in, @Nullable ClassLoader classLoader)
+			throws IOException {
+
+		String beanClassName = readNullableString(in);
+		String parentName = readNullableString(in);
+		AbstractBeanDefinition abd;
+		if (parentName != null) {
+			GenericBeanDefinition gbd = new GenericBeanDefinition();
+			gbd.setParentName(parentName);
+			abd = gbd;
+		}
+		else {
+			abd = new RootBeanDefinition();
+		}
+		abd.setBeanClassName(beanClassName);
+		abd.setScope(readNullableString(in));
+		abd.setAbstract(in.readBoolean());
+		abd.setLazyInit(in.readBoolean());
+		abd.setAutowireCandidate(in.readBoolean());
+		abd.setPrimary(in.readBoolean());
+		abd.setNonPublicAccessAllowed(in.readBoolean());
+		abd.setLenientConstructorResolution(in.readBoolean());
+		abd.setEnforceInitMethod(in.readBoolean());
+		abd.setEnforceDestroyMethod(in.readBoolean());
+		abd.setSynthetic(in.readBoolean());
+		abd.setAutowireMode(in.readInt());
+		abd.setDependencyCheck(in.readInt());
+		abd.setRole(in.readInt());
+		int dependsOnCount = in.readInt();
+		if (dependsOnCount > 0) {
+			String[] dependsOn = new String[dependsOnCount];
+			for (int i = 0; i < dependsOnCount; i++) {
+				dependsOn[i] = in.readUTF();
+			}
+			abd.setDependsOn(dependsOn);
+		}
+		abd.setFactoryBeanName(readNullableString(in));
+		abd.setFactoryMethodName(readNullableString(in));
+		abd.setInitMethodName(readNullableString(in));
+		abd.setDestroyMethodName(readNullableString(in));
+		abd.setDescription(readNullableString(in));
+		abd.setResourceDescription(readNullableString(in));
+
+		ConstructorArgumentValues cargs = abd.getConstructorArgumentValues();
+		int indexedCount = in.readInt();
+		for (int i = 0; i < indexedCount; i++) {
+			int index = in.readInt();
+			cargs.addIndexedArgumentValue(index, readValueHolder(in, classLoader));
+		}
+		int genericCount = in.readInt();
+		for (int i = 0; i < genericCount; i++) {
+			cargs.addGenericArgumentValue(readValueHolder(in, classLoader));
+		}
+
+		MutablePropertyValues pvs = abd.getPropertyValues();
+		int pvCount = in.readInt();
+		for (int i = 0; i < pvCount; i++) {
+			String name = in.readUTF();
+			pvs.add(name, readValue(in, classLoader));
+		}
+
+		int attributeCount = in.readInt();
+		for (int i = 0; i < attributeCount; i++) {
+			String name = in.readUTF();
+			abd.setAttribute(name, readValue(in, classLoader));
+		}
+
+		String targetTypeName = readNullableString(in);
+		BeanDefinitionHolder decorated = (in.readBoolean() ? readHolder(in, classLoader) : null);
+		if (abd instanceof RootBeanDefinition) {
+			RootBeanDefinition rbd = (RootBeanDefinition) abd;
+			if (targetTypeName != null) {
+				try {
+					rbd.setTargetType(ClassUtils.forName(targetTypeName, classLoader));
+				}
+				catch (ClassNotFoundException ex) {
+					// Leave target type to be determined from the bean class or factory method
+				}
+			}
+			rbd.setDecoratedDefinition(decorated);
+		}
+		return abd;
+	}
+
+	private static void writeValueHolder(DataOutputStream out, String beanName,
+			ConstructorArgumentValues.ValueHolder valueHolder) throws IOException {
+
+		writeValue(out, beanName, valueHolder.getValue());
+		writeNullableString(out, valueHolder.getType());
+		writeNullableString(out, valueHolder.getName());
+	}
+
+	private static ConstructorArgumentValues.ValueHolder readValueHolder(DataInputStream in,
+			@Nullable ClassLoader classLoader) throws IOException {
+
+		Object value = readValue(in, classLoader);
+		return new ConstructorArgumentValues.ValueHolder(value, readNullableString(in), readNullableString(in));
+	}
+
+	private static void writeValue(DataOutputStream out, String beanName, @Nullable Object value)
+			throws IOException {
+
+		if (value == null) {
+			out.writeByte(NULL);
+		}
+		else if (value instanceof String) {
+			out.writeByte(STRING);
+			out.writeUTF((String) value);
+		}
+		else if (value instanceof Boolean) {
+			out.writeByte(BOOLEAN);
+			out.writeBoolean((Boolean) value);
+		}
+		else if (value instanceof Integer) {
+			out.writeByte(INTEGER);
+			out.writeInt((Integer) value);
+		}
+		else if (value instanceof Long) {
+			out.writeByte(LONG);
+			out.writeLong((Long) value);
+		}
+		else if (value instanceof Class) {
+			out.writeByte(CLASS);
+			out.writeUTF(((Class<?>) value).getName());
+		}
+		else if (value instanceof TypedStringValue) {
+			TypedStringValue typedValue = (TypedStringValue) value;
+			out.writeByte(TYPED_STRING_VALUE);
+			writeNullableString(out, typedValue.getValue());
+			writeNullableString(out, typedValue.getTargetTypeName());
+			writeNullableString(out, typedValue.getSpecifiedTypeName());
+			out.writeBoolean(typedValue.isDynamic());
+		}
+		else if (value instanceof RuntimeBeanReference) {
+			RuntimeBeanReference reference = (RuntimeBeanReference) value;
+			out.writeByte(BEAN_REFERENCE);
+			out.writeUTF(reference.getBeanName());
+			out.writeBoolean(reference.isToParent());
+		}
+		else if (value instanceof RuntimeBeanNameReference) {
+			out.writeByte(BEAN_NAME_REFERENCE);
+			out.writeUTF(((RuntimeBeanNameReference) value).getBeanName());
+		}
+		else if (value instanceof ManagedList) {
+			ManagedList<?> list = (ManagedList<?>) value;
+			out.writeByte(LIST);
+			writeNullableString(out, list.getElementTypeName());
+			out.writeBoolean(list.isMergeEnabled());
+			out.writeInt(list.size());
+			for (Object element : list) {
+				writeValue(out, beanName, element);
+			}
+		}
+		else if (value instanceof ManagedSet) {
+			ManagedSet<?> set = (ManagedSet<?>) value;
+			out.writeByte(SET);
+			writeNullableString(out, set.getElementTypeName());
+			out.writeBoolean(set.isMergeEnabled());
+			out.writeInt(set.size());
+			for (Object element : set) {
+				writeValue(out, beanName, element);
+			}
+		}
+		else if (value instanceof ManagedMap) {
+			ManagedMap<?, ?> map = (ManagedMap<?, ?>) value;
+			out.writeByte(MAP);
+			writeNullableString(out, map.getKeyTypeName());
+			writeNullableString(out, map.getValueTypeName());
+			out.writeBoolean(map.isMergeEnabled());
+			out.writeInt(map.size());
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				writeValue(out, beanName, entry.getKey());
+				writeValue(out, beanName, entry.getValue());
+			}
+		}
+		else if (value instanceof BeanDefinitionHolder) {
+			out.writeByte(BEAN_DEFINITION_HOLDER);
+			writeHolder(out, (BeanDefinitionHolder) value);
+		}
+		else if (value instanceof BeanDefinition) {
+			out.writeByte(BEAN_DEFINITION);
+			writeBeanDefinition(out, beanName, (BeanDefinition) value);
+		}
+		else {
+			throw new IllegalStateException("Bean definition '" + beanName + "' value of type [" +
+					value.getClass().getName() + "] is not supported in a snapshot");
+		}
+	}
+
+	@Nullable
+	private static Object readValue(DataInputStream in, @Nullable ClassLoader classLoader) throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+			case NULL:
+				return null;
+			case STRING:
+				return in.readUTF();
+			case BOOLEAN:
+				return in.readBoolean();
+			case INTEGER:
+				return in.readInt();
+			case LONG:
+				return in.readLong();
+			case CLASS:
+				String className = in.readUTF();
+				try {
+					return ClassUtils.forName(className, classLoader);
+				}
+				catch (ClassNotFoundException ex) {
+					throw new IOException("Cannot resolve class [" + className + "] in snapshot", ex);
+				}
+			case TYPED_STRING_VALUE:
+				TypedStringValue typedValue = new TypedStringValue(readNullableString(in));
+				typedValue.setTargetTypeName(readNullableString(in));
+				typedValue.setSpecifiedTypeName(readNullableString(in));
+				if (in.readBoolean()) {
+					typedValue.setDynamic();
+				}
+				return typedValue;
+			case BEAN_REFERENCE:
+				String refName = in.readUTF();
+				return new RuntimeBeanReference(refName, in.readBoolean());
+			case BEAN_NAME_REFERENCE:
+				return new RuntimeBeanNameReference(in.readUTF());
+			case LIST:
+				ManagedList<Object> list = new ManagedList<>();
+				String listElementTypeName = readNullableString(in);
+				if (listElementTypeName != null) {
+					list.setElementTypeName(listElementTypeName);
+				}
+				list.setMergeEnabled(in.readBoolean());
+				int listSize = in.readInt();
+				for (int i = 0; i < listSize; i++) {
+					list.add(readValue(in, classLoader));
+				}
+				return list;
+			case SET:
+				ManagedSet<Object> set = new ManagedSet<>();
+				String setElementTypeName = readNullableString(in);
+				if (setElementTypeName != null) {
+					set.setElementTypeName(setElementTypeName);
+				}
+				set.setMergeEnabled(in.readBoolean());
+				int setSize = in.readInt();
+				for (int i = 0; i < setSize; i++) {
+					set.add(readValue(in, classLoader));
+				}
+				return set;
+			case MAP:
+				ManagedMap<Object, Object> map = new ManagedMap<>();
+				map.setKeyTypeName(readNullableString(in));
+				map.setValueTypeName(readNullableString(in));
+				map.setMergeEnabled(in.readBoolean());
+				int mapSize = in.readInt();
+				for (int i = 0; i < mapSize; i++) {
+					Object key = readValue(in, classLoader);
+					map.put(key, readValue(in, classLoader));
+				}
+				return map;
+			case BEAN_DEFINITION_HOLDER:
+				return readHolder(in, classLoader);
+			case BEAN_DEFINITION:
+				return readBeanDefinition(in, classLoader);
+			default:
+				throw new IOException("Unknown value type in snapshot: " + type);
+		}
+	}
+
+	private static void writeNullableString(DataOutputStream out, @Nullable String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	@Nullable
+	private static String readNullableString(DataInputStream in) throws IOException {
+		return (in.readBoolean() ? in.readUTF() : null);
+	}
+
+
+	/**
+	 * {@link ImportRegistry} backed by the import relationships recorded in a snapshot,
+	 * exposing importing classes through reflection-based {@link StandardAnnotationMetadata}.
+	 */
+	private static class SnapshotImportRegistry implements ImportRegistry {
+
+		private final Map<String, String> importingClasses;
+
+		@Nullable
+		private final ClassLoader classLoader;
+
+		public SnapshotImportRegistry(Map<String, String> importingClasses, @Nullable ClassLoader classLoader) {
+			this.importingClasses = new LinkedHashMap<>(importingClasses);
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		@Nullable
+		public AnnotationMetadata getImportingClassFor(String importedClass) {
+			String importingClass = this.importingClasses.get(importedClass);
+			if (importingClass == null) {
+				return null;
+			}
+			try {
+				return new StandardAnnotationMetadata(ClassUtils.forName(importingClass, this.classLoader), true);
+			}
+			catch (ClassNotFoundException ex) {
+				throw new IllegalStateException("Cannot load importing class [" + importingClass + "]", ex);
+			}
+		}
+
+		@Override
+		public void removeImportingClass(String importingClass) {
+			this.importingClasses.values().removeIf(importingClass::equals);
+		}
+	}
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Build-time generator for a {@link BeanDefinitionSnapshot}: processes the
+ * configuration classes registered with a not-yet-refreshed application context,
+ * without instantiating any beans, and captures the resulting bean definitions.
+ *
+ * <p>Can be invoked from a build script through its {@link #main} method, e.g.:
+ * <pre class="code">
+ * java org.springframework.context.annotation.BeanDefinitionSnapshotGenerator \
+ *     build/resources/main/META-INF/spring.snapshot com.example.AppConfig
+ * </pre>
+ *
+ * <p>Configuration classes contributing property sources through
+ * {@link org.springframework.context.annotation.PropertySource @PropertySource}
+ * are not supported since those would not be registered with the
+ * {@link org.springframework.core.env.Environment} when applying the snapshot.
+ * The same applies to conditions other than {@link Profile @Profile} and to
+ * placeholders in scanned packages or imported resource locations, which would
+ * not be re-evaluated against the environment when applying the snapshot.
+ *
+ * @since 5.0.12
+ * @see BeanDefinitionSnapshot
+ */
+public final class BeanDefinitionSnapshotGenerator {
+
+	private BeanDefinitionSnapshotGenerator() {
+	}
+
+
+	/**
+	 * Generate a snapshot for the configuration classes registered with the given
+	 * context. The context is expected to not have been refreshed yet.
+	 * @param context the context to process configuration classes for
+	 * @return the snapshot
+	 * @throws IllegalStateException if the bean definitions cannot be captured in a snapshot
+	 */
+	public static BeanDefinitionSnapshot generate(GenericApplicationContext context) {
+		ConfigurableEnvironment environment = context.getEnvironment();
+		Set<String> propertySourceNames = getPropertySourceNames(environment);
+
+		ConfigurationClassPostProcessor postProcessor = new ConfigurationClassPostProcessor();
+		ClassLoader classLoader = context.getClassLoader();
+		if (classLoader != null) {
+			postProcessor.setBeanClassLoader(classLoader);
+		}
+		postProcessor.setEnvironment(environment);
+		postProcessor.setResourceLoader(context);
+		postProcessor.setRecordBeanDefinitionSnapshot(true);
+		BeanDefinitionSnapshot.setRecording(true);
+		try {
+			postProcessor.processConfigBeanDefinitions(context.getDefaultListableBeanFactory());
+		}
+		finally {
+			BeanDefinitionSnapshot.setRecording(false);
+		}
+
+		Set<String> addedPropertySources = getPropertySourceNames(environment);
+		addedPropertySources.removeAll(propertySourceNames);
+		if (!addedPropertySources.isEmpty()) {
+			throw new IllegalStateException("Property sources " + addedPropertySources +
+					" contributed by configuration classes are not supported in a bean definition snapshot");
+		}
+
+		BeanDefinitionSnapshot snapshot = postProcessor.getRecordedBeanDefinitionSnapshot();
+		if (snapshot == null) {
+			throw new IllegalStateException("No configuration classes found in " + context);
+		}
+		return snapshot;
+	}
+
+	private static Set<String> getPropertySourceNames(ConfigurableEnvironment environment) {
+		Set<String> names = new LinkedHashSet<>();
+		for (PropertySource<?> propertySource : environment.getPropertySources()) {
+			names.add(propertySource.getName());
+		}
+		return names;
+	}
+
+	/**
+	 * Generate a snapshot for the given configuration classes and write it to the given file.
+	 * @param args the target file, followed by the fully-qualified names of the
+	 * configuration classes to process
+	 */
+	public static void main(String[] args) throws IOException, ClassNotFoundException {
+		if (args.length < 2) {
+			throw new IllegalArgumentException(
+					"Usage: BeanDefinitionSnapshotGenerator <target file> <configuration class>...");
+		}
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		for (int i = 1; i < args.length; i++) {
+			context.register(ClassUtils.forName(args[i], context.getClassLoader()));
+		}
+		BeanDefinitionSnapshot snapshot = generate(context);
+
+		File file = new File(args[0]);
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.exists() && !parent.mkdirs()) {
+			throw new IOException("Unable to create directory " + parent);
+		}
+		try (OutputStream out = new FileOutputStream(file)) {
+			snapshot.write(out);
+		}
+	}
+
+}
@@ -94,6 +94,7 @@ class ConditionEvaluator {
 		for (String[] conditionClasses : getConditionClasses(metadata)) {
 			for (String conditionClass : conditionClasses) {
 				Condition condition = getCondition(conditionClass, this.context.getClassLoader());
+				BeanDefinitionSnapshot.checkCondition(condition, metadata);
 				conditions.add(condition);
 			}
 		}
@@ -79,6 +79,10 @@ import static org.springframework.context.annotation.AnnotationConfigUtils.CONFI
  * their corresponding bean definitions registered before any other
  * {@link BeanFactoryPostProcessor} executes.
  *
+ * <p>As of 5.0.12, configuration class parsing and component scanning is skipped
+ * in favor of a pre-computed {@link BeanDefinitionSnapshot} if one is available
+ * on the classpath and up to date.
+ *
  * @author Chris Beams
  * @author Juergen Hoeller
  * @author Phillip Webb
@@ -118,6 +122,11 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 
 	private boolean localBeanNameGeneratorSet = false;
 
+	private boolean recordBeanDefinitionSnapshot = false;
+
+	@Nullable
+	private BeanDefinitionSnapshot recordedBeanDefinitionSnapshot;
+
 	/* Using short class names as default bean names */
 	private BeanNameGenerator componentScanBeanNameGenerator = new AnnotationBeanNameGenerator();
 
@@ -190,6 +199,24 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		this.importBeanNameGenerator = beanNameGenerator;
 	}
 
+	/**
+	 * Specify whether to record a {@link BeanDefinitionSnapshot} of the bean definitions
+	 * derived from configuration class processing, instead of applying an existing one.
+	 * @see BeanDefinitionSnapshotGenerator
+	 */
+	void setRecordBeanDefinitionSnapshot(boolean recordBeanDefinitionSnapshot) {
+		this.recordBeanDefinitionSnapshot = recordBeanDefinitionSnapshot;
+	}
+
+	/**
+	 * Return the {@link BeanDefinitionSnapshot} recorded during the last invocation
+	 * of {@link #processConfigBeanDefinitions}, if any.
+	 */
+	@Nullable
+	BeanDefinitionSnapshot getRecordedBeanDefinitionSnapshot() {
+		return this.recordedBeanDefinitionSnapshot;
+	}
+
 	@Override
 	public void setEnvironment(Environment environment) {
 		Assert.notNull(environment, "Environment must not be null");
@@ -305,6 +332,24 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 			this.environment = new StandardEnvironment();
 		}
 
+		// Skip parsing and scanning if an up-to-date bean definition snapshot is available
+		if (!this.recordBeanDefinitionSnapshot) {
+			BeanDefinitionSnapshot snapshot = BeanDefinitionSnapshot.loadSnapshot(this.beanClassLoader);
+			if (snapshot != null) {
+				if (snapshot.matches(configCandidates, this.environment, this.beanClassLoader)) {
+					snapshot.registerBeanDefinitions(registry);
+					if (sbr != null && !sbr.containsSingleton(IMPORT_REGISTRY_BEAN_NAME)) {
+						sbr.registerSingleton(IMPORT_REGISTRY_BEAN_NAME, snapshot.getImportRegistry(this.beanClassLoader));
+					}
+					return;
+				}
+				if (logger.isInfoEnabled()) {
+					logger.info("Ignoring outdated bean definition snapshot [" + BeanDefinitionSnapshot.SNAPSHOT_RESOURCE_LOCATION +
+							"]: checksum does not match current configuration classes and active profiles");
+				}
+			}
+		}
+
 		// Parse each @Configuration class
 		ConfigurationClassParser parser = new ConfigurationClassParser(
 				this.metadataReaderFactory, this.problemReporter, this.environment,
@@ -355,6 +400,11 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 			sbr.registerSingleton(IMPORT_REGISTRY_BEAN_NAME, parser.getImportRegistry());
 		}
 
+		if (this.recordBeanDefinitionSnapshot) {
+			this.recordedBeanDefinitionSnapshot = BeanDefinitionSnapshot.capture(
+					registry, configCandidates, parser.getImportRegistry(), this.environment, this.beanClassLoader);
+		}
+
 		if (this.metadataReaderFactory instanceof CachingMetadataReaderFactory) {
 			// Clear cache in externally provided MetadataReaderFactory; this is a no-op
 			// for a shared cache since it'll be cleared by the ApplicationContext.
@@ -18,6 +18,7 @@ package org.springframework.context.event;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -53,6 +54,11 @@ import org.springframework.util.ObjectUtils;
  * all events to all registered listeners, invoking them in the calling thread.
  * Alternative implementations could be more sophisticated in those respects.
  *
+ * <p>Listeners are retrieved without locking: registrations are published as an
+ * immutable snapshot on every change, and the matching listeners per event type
+ * are cached as a pre-sorted, read-only list unless they include non-singleton
+ * listener beans.
+ *
  * @author Juergen Hoeller
  * @author Stephane Nicoll
  * @since 1.2.3
@@ -64,6 +70,8 @@ public abstract class AbstractApplicationEventMulticaster
 
 	private final ListenerRetriever defaultRetriever = new ListenerRetriever(false);
 
+	private volatile ListenerRetriever registeredListeners = new ListenerRetriever(false);
+
 	final Map<ListenerCacheKey, ListenerRetriever> retrieverCache = new ConcurrentHashMap<>(64);
 
 	@Nullable
@@ -111,7 +119,7 @@ public abstract class AbstractApplicationEventMulticaster
 				this.defaultRetriever.applicationListeners.remove(singletonTarget);
 			}
 			this.defaultRetriever.applicationListeners.add(listener);
-			this.retrieverCache.clear();
+			registrationsChanged();
 		}
 	}
 
@@ -119,7 +127,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void addApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListenerBeans.add(listenerBeanName);
-			this.retrieverCache.clear();
+			registrationsChanged();
 		}
 	}
 
@@ -127,7 +135,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListener(ApplicationListener<?> listener) {
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListeners.remove(listener);
-			this.retrieverCache.clear();
+			registrationsChanged();
 		}
 	}
 
@@ -135,7 +143,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListenerBeans.remove(listenerBeanName);
-			this.retrieverCache.clear();
+			registrationsChanged();
 		}
 	}
 
@@ -144,10 +152,22 @@ public abstract class AbstractApplicationEventMulticaster
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListeners.clear();
 			this.defaultRetriever.applicationListenerBeans.clear();
-			this.retrieverCache.clear();
+			registrationsChanged();
 		}
 	}
 
+	/**
+	 * Publish a snapshot of the current registrations for lock-free retrieval,
+	 * and drop all cached retrievers. To be called with the retrieval mutex held.
+	 */
+	private void registrationsChanged() {
+		ListenerRetriever snapshot = new ListenerRetriever(false);
+		snapshot.applicationListeners.addAll(this.defaultRetriever.applicationListeners);
+		snapshot.applicationListenerBeans.addAll(this.defaultRetriever.applicationListenerBeans);
+		this.registeredListeners = snapshot;
+		this.retrieverCache.clear();
+	}
+
 
 	/**
 	 * Return a Collection containing all ApplicationListeners.
@@ -185,22 +205,22 @@ public abstract class AbstractApplicationEventMulticaster
 		if (this.beanClassLoader == null ||
 				(ClassUtils.isCacheSafe(event.getClass(), this.beanClassLoader) &&
 						(sourceType == null || ClassUtils.isCacheSafe(sourceType, this.beanClassLoader)))) {
-			// Fully synchronized building and caching of a ListenerRetriever
-			synchronized (this.retrievalMutex) {
-				retriever = this.retrieverCache.get(cacheKey);
-				if (retriever != null) {
-					return retriever.getApplicationListeners();
-				}
-				retriever = new ListenerRetriever(true);
-				Collection<ApplicationListener<?>> listeners =
-						retrieveApplicationListeners(eventType, sourceType, retriever);
-				this.retrieverCache.put(cacheKey, retriever);
-				return listeners;
+			// Lock-free building and caching of a ListenerRetriever,
+			// possibly computed more than once for concurrent cache misses
+			ListenerRetriever registered = this.registeredListeners;
+			retriever = new ListenerRetriever(true);
+			Collection<ApplicationListener<?>> listeners =
+					retrieveApplicationListeners(eventType, sourceType, registered, retriever);
+			this.retrieverCache.putIfAbsent(cacheKey, retriever);
+			if (this.registeredListeners != registered) {
+				// Registrations changed in the meantime -> don't keep a stale retriever
+				this.retrieverCache.remove(cacheKey, retriever);
 			}
+			return listeners;
 		}
 		else {
 			// No ListenerRetriever caching -> no synchronization necessary
-			return retrieveApplicationListeners(eventType, sourceType, null);
+			return retrieveApplicationListeners(eventType, sourceType, this.registeredListeners, null);
 		}
 	}
 
@@ -208,19 +228,16 @@ public abstract class AbstractApplicationEventMulticaster
 	 * Actually retrieve the application listeners for the given event and source type.
 	 * @param eventType the event type
 	 * @param sourceType the event source type
+	 * @param registered the snapshot of registered listeners to retrieve from
 	 * @param retriever the ListenerRetriever, if supposed to populate one (for caching purposes)
 	 * @return the pre-filtered list of application listeners for the given event and source type
 	 */
-	private Collection<ApplicationListener<?>> retrieveApplicationListeners(
-			ResolvableType eventType, @Nullable Class<?> sourceType, @Nullable ListenerRetriever retriever) {
+	private Collection<ApplicationListener<?>> retrieveApplicationListeners(ResolvableType eventType,
+			@Nullable Class<?> sourceType, ListenerRetriever registered, @Nullable ListenerRetriever retriever) {
 
 		List<ApplicationListener<?>> allListeners = new ArrayList<>();
-		Set<ApplicationListener<?>> listeners;
-		Set<String> listenerBeans;
-		synchronized (this.retrievalMutex) {
-			listeners = new LinkedHashSet<>(this.defaultRetriever.applicationListeners);
-			listenerBeans = new LinkedHashSet<>(this.defaultRetriever.applicationListenerBeans);
-		}
+		Set<ApplicationListener<?>> listeners = registered.applicationListeners;
+		Set<String> listenerBeans = registered.applicationListenerBeans;
 		for (ApplicationListener<?> listener : listeners) {
 			if (supportsEvent(listener, eventType, sourceType)) {
 				if (retriever != null) {
@@ -260,6 +277,7 @@ public abstract class AbstractApplicationEventMulticaster
 		if (retriever != null && retriever.applicationListenerBeans.isEmpty()) {
 			retriever.applicationListeners.clear();
 			retriever.applicationListeners.addAll(allListeners);
+			retriever.sortedListeners = Collections.unmodifiableList(new ArrayList<>(allListeners));
 		}
 		return allListeners;
 	}
@@ -362,6 +380,8 @@ public abstract class AbstractApplicationEventMulticaster
 	 * Helper class that encapsulates a specific set of target listeners,
 	 * allowing for efficient retrieval of pre-filtered listeners.
 	 * <p>An instance of this helper gets cached per event type and source type.
+	 * It holds a pre-sorted, read-only list of its listeners if all of them are
+	 * singletons, returning that list as-is for every event.
 	 */
 	private class ListenerRetriever {
 
@@ -371,11 +391,18 @@ public abstract class AbstractApplicationEventMulticaster
 
 		private final boolean preFiltered;
 
+		@Nullable
+		public volatile Collection<ApplicationListener<?>> sortedListeners;
+
 		public ListenerRetriever(boolean preFiltered) {
 			this.preFiltered = preFiltered;
 		}
 
 		public Collection<ApplicationListener<?>> getApplicationListeners() {
+			Collection<ApplicationListener<?>> sortedListeners = this.sortedListeners;
+			if (sortedListeners != null) {
+				return sortedListeners;
+			}
 			List<ApplicationListener<?>> allListeners = new ArrayList<>(
 					this.applicationListeners.size() + this.applicationListenerBeans.size());
 			allListeners.addAll(this.applicationListeners);
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link SimpleApplicationEventMulticaster} variant that delivers events
+ * asynchronously while preserving their publication order per listener.
+ *
+ * <p>Each listener gets its own queue of pending events, drained by at most one
+ * task at a time on the specified {@link #setTaskExecutor task executor}. A listener
+ * therefore never sees events concurrently or out of order, while different
+ * listeners still process their events in parallel. Each task delivers up to
+ * {@link #setBatchSize "batchSize"} events before handing the executor thread
+ * back, which avoids submitting a task per event and listener under high event
+ * rates without letting a busy listener monopolize a thread.
+ *
+ * <p>Events are delivered synchronously, as with {@link SimpleApplicationEventMulticaster},
+ * if no task executor has been specified.
+ *
+ * @since 5.0.12
+ * @see #setTaskExecutor
+ * @see #setErrorHandler
+ */
+public class OrderedAsyncApplicationEventMulticaster extends SimpleApplicationEventMulticaster {
+
+	private final Map<ApplicationListener<?>, ListenerQueue> listenerQueues = new ConcurrentHashMap<>(64);
+
+	private int batchSize = 64;
+
+
+	/**
+	 * Create a new OrderedAsyncApplicationEventMulticaster.
+	 */
+	public OrderedAsyncApplicationEventMulticaster() {
+	}
+
+	/**
+	 * Create a new OrderedAsyncApplicationEventMulticaster for the given BeanFactory.
+	 */
+	public OrderedAsyncApplicationEventMulticaster(BeanFactory beanFactory) {
+		super(beanFactory);
+	}
+
+
+	/**
+	 * Set the maximum number of events to deliver to a listener within a single
+	 * executor task, before submitting a new task for its remaining events.
+	 * <p>Default is 64.
+	 */
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "'batchSize' must be greater than 0");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Return the maximum number of events to deliver within a single task.
+	 */
+	public int getBatchSize() {
+		return this.batchSize;
+	}
+
+
+	@Override
+	public void multicastEvent(ApplicationEvent event, @Nullable ResolvableType eventType) {
+		Executor executor = getTaskExecutor();
+		if (executor == null) {
+			super.multicastEvent(event, eventType);
+			return;
+		}
+		ResolvableType type = (eventType != null ? eventType : ResolvableType.forInstance(event));
+		for (ApplicationListener<?> listener : getApplicationListeners(event, type)) {
+			enqueue(listener, event, executor);
+		}
+	}
+
+	private void enqueue(ApplicationListener<?> listener, ApplicationEvent event, Executor executor) {
+		while (true) {
+			ListenerQueue queue = this.listenerQueues.computeIfAbsent(listener, ListenerQueue::new);
+			if (queue.offer(event, executor)) {
+				return;
+			}
+			// Queue retired concurrently after draining its last event -> retry with a new one
+		}
+	}
+
+
+	/**
+	 * Pending events for a specific listener, drained by at most one task at a time.
+	 * An idle queue retires, i.e. gets removed from the queue map, so that queues do
+	 * not accumulate for listeners that are no longer in use (e.g. prototypes).
+	 */
+	private class ListenerQueue implements Runnable {
+
+		private final ApplicationListener<?> listener;
+
+		private final Queue<ApplicationEvent> events = new ArrayDeque<>();
+
+		@Nullable
+		private Executor executor;
+
+		private boolean scheduled;
+
+		private boolean retired;
+
+		public ListenerQueue(ApplicationListener<?> listener) {
+			this.listener = listener;
+		}
+
+		/**
+		 * Add the given event, scheduling a drain task unless one is pending already.
+		 * @return {@code false} if this queue has been retired and cannot accept events
+		 */
+		public boolean offer(ApplicationEvent event, Executor executor) {
+			synchronized (this) {
+				if (this.retired) {
+					return false;
+				}
+				this.events.add(event);
+				this.executor = executor;
+				if (this.scheduled) {
+					return true;
+				}
+				this.scheduled = true;
+			}
+			schedule(executor);
+			return true;
+		}
+
+		@Override
+		public void run() {
+			int remaining = getBatchSize();
+			try {
+				while (remaining-- > 0) {
+					ApplicationEvent event;
+					synchronized (this) {
+						event = this.events.poll();
+						if (event == null) {
+							this.scheduled = false;
+							this.retired = true;
+							listenerQueues.remove(this.listener, this);
+							return;
+						}
+					}
+					invokeListener(this.listener, event);
+				}
+			}
+			finally {
+				Executor executor;
+				synchronized (this) {
+					executor = (this.retired ? null : this.executor);
+				}
+				if (executor != null) {
+					// Batch exhausted or listener failed -> continue in a new task
+					schedule(executor);
+				}
+			}
+		}
+
+		private void schedule(Executor executor) {
+			try {
+				executor.execute(this);
+			}
+			catch (RuntimeException ex) {
+				synchronized (this) {
+					this.scheduled = false;
+				}
+				throw ex;
+			}
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -113,6 +113,13 @@ import org.springframework.core.Ordered;
  * manually call the {@code executor.initialize()} method as this will be invoked
  * automatically when the bean is initialized.
  *
+ * <p>On Java 21 and higher, a {@link org.springframework.core.task.VirtualThreadTaskExecutor}
+ * may be returned instead, running each asynchronous method on a virtual thread of
+ * its own rather than on a bounded pool of platform threads. Like any
+ * {@code SimpleAsyncTaskExecutor}, it accepts a
+ * {@link org.springframework.core.task.TaskDecorator} for propagating context
+ * such as the current request to the executing thread.
+ *
  * <p>For reference, the example above can be compared to the following Spring XML
  * configuration:
  *
@@ -153,6 +153,14 @@ public abstract class ExecutorConfigurationSupport extends CustomizableThreadFac
 		this.beanName = name;
 	}
 
+	/**
+	 * Return the bean name of this executor, if known.
+	 */
+	@Nullable
+	String getBeanName() {
+		return this.beanName;
+	}
+
 
 	/**
 	 * Calls {@code initialize()} after the container applied all property values.
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+/**
+ * Strategy interface for recording metrics about the tasks run by a
+ * {@link ThreadPoolTaskExecutor}, e.g. for publishing them to a monitoring
+ * system. Each executor identifies itself by name, which allows a single
+ * implementation to be shared across executors while keeping the metrics
+ * of every executor apart.
+ *
+ * <p>Implementations are called on the threads submitting and running tasks,
+ * so they need to be thread-safe and should return quickly.
+ *
+ * @since 5.0.12
+ * @see ThreadPoolTaskExecutor#setTaskExecutionMetrics
+ * @see TaskExecutionStatistics
+ */
+public interface TaskExecutionMetrics {
+
+	/**
+	 * Record the time a task has been waiting in the queue before execution.
+	 * @param executorName the name of the executor, i.e. its bean name
+	 * or its thread name prefix
+	 * @param waitTimeNanos the time between the task being submitted and
+	 * its execution starting, in nanoseconds
+	 */
+	void recordQueueWaitTime(String executorName, long waitTimeNanos);
+
+	/**
+	 * Record the time a task took to execute, successfully or not.
+	 * @param executorName the name of the executor, i.e. its bean name
+	 * or its thread name prefix
+	 * @param executionTimeNanos the execution time, in nanoseconds
+	 */
+	void recordExecutionTime(String executorName, long executionTimeNanos);
+
+	/**
+	 * Record that a task has been rejected, e.g. because the queue is full.
+	 * @param executorName the name of the executor, i.e. its bean name
+	 * or its thread name prefix
+	 * @see java.util.concurrent.RejectedExecutionHandler
+	 */
+	void recordRejection(String executorName);
+
+}
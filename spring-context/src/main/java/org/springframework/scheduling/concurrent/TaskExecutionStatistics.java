@@ -0,0 +1,244 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link TaskExecutionMetrics} implementation that keeps statistics in memory:
+ * histograms of queue wait times and execution times, along with the number of
+ * rejected tasks. Used by a {@link ThreadPoolTaskExecutor} with statistics
+ * enabled, which exposes the most relevant figures as bean properties, e.g.
+ * for monitoring through JMX.
+ *
+ * <p>Histograms have exponential buckets: bucket {@code i} counts the times
+ * of up to {@code 2^i} microseconds (and more than {@code 2^(i-1)}), with the
+ * last bucket counting all longer times. Percentiles are therefore
+ * approximations, reported as the upper bound of the matching bucket.
+ *
+ * <p>Executor names are ignored: an instance shared across executors
+ * aggregates the statistics of all of them.
+ *
+ * @since 5.0.12
+ * @see ThreadPoolTaskExecutor#setStatisticsEnabled
+ */
+public class TaskExecutionStatistics implements TaskExecutionMetrics {
+
+	/**
+	 * The number of buckets in each histogram.
+	 */
+	public static final int HISTOGRAM_BUCKET_COUNT = 32;
+
+
+	private final Histogram queueWaitTimes = new Histogram();
+
+	private final Histogram executionTimes = new Histogram();
+
+	private final LongAdder rejectionCount = new LongAdder();
+
+
+	@Override
+	public void recordQueueWaitTime(String executorName, long waitTimeNanos) {
+		this.queueWaitTimes.record(waitTimeNanos);
+	}
+
+	@Override
+	public void recordExecutionTime(String executorName, long executionTimeNanos) {
+		this.executionTimes.record(executionTimeNanos);
+	}
+
+	@Override
+	public void recordRejection(String executorName) {
+		this.rejectionCount.increment();
+	}
+
+
+	/**
+	 * Return the number of tasks that have been executed, successfully or not.
+	 */
+	public long getExecutionCount() {
+		return this.executionTimes.getCount();
+	}
+
+	/**
+	 * Return the number of tasks that have been rejected.
+	 */
+	public long getRejectionCount() {
+		return this.rejectionCount.sum();
+	}
+
+	/**
+	 * Return the average time tasks waited in the queue, in milliseconds.
+	 */
+	public double getAverageQueueWaitMillis() {
+		return this.queueWaitTimes.getAverageMillis();
+	}
+
+	/**
+	 * Return the maximum time a task waited in the queue, in milliseconds.
+	 */
+	public double getMaxQueueWaitMillis() {
+		return this.queueWaitTimes.getMaxMillis();
+	}
+
+	/**
+	 * Return the approximate queue wait time, in milliseconds, that the given
+	 * percentage of tasks did not exceed.
+	 * @param percentile the percentile, between 0 and 100, e.g. 99
+	 */
+	public double getQueueWaitMillisPercentile(double percentile) {
+		return this.queueWaitTimes.getPercentileMillis(percentile);
+	}
+
+	/**
+	 * Return the number of queue wait times in each histogram bucket.
+	 * @see #HISTOGRAM_BUCKET_COUNT
+	 */
+	public long[] getQueueWaitHistogram() {
+		return this.queueWaitTimes.getBucketCounts();
+	}
+
+	/**
+	 * Return the average execution time of tasks, in milliseconds.
+	 */
+	public double getAverageExecutionMillis() {
+		return this.executionTimes.getAverageMillis();
+	}
+
+	/**
+	 * Return the maximum execution time of a task, in milliseconds.
+	 */
+	public double getMaxExecutionMillis() {
+		return this.executionTimes.getMaxMillis();
+	}
+
+	/**
+	 * Return the approximate execution time, in milliseconds, that the given
+	 * percentage of tasks did not exceed.
+	 * @param percentile the percentile, between 0 and 100, e.g. 99
+	 */
+	public double getExecutionMillisPercentile(double percentile) {
+		return this.executionTimes.getPercentileMillis(percentile);
+	}
+
+	/**
+	 * Return the number of execution times in each histogram bucket.
+	 * @see #HISTOGRAM_BUCKET_COUNT
+	 */
+	public long[] getExecutionHistogram() {
+		return this.executionTimes.getBucketCounts();
+	}
+
+
+	@Override
+	public String toString() {
+		return "TaskExecutionStatistics [executions=" + getExecutionCount() +
+				", rejections=" + getRejectionCount() +
+				", averageQueueWaitMillis=" + getAverageQueueWaitMillis() +
+				", averageExecutionMillis=" + getAverageExecutionMillis() + "]";
+	}
+
+
+	private static double toMillis(long nanos) {
+		return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+
+	/**
+	 * Lock-free histogram with exponential buckets of microseconds.
+	 */
+	private static class Histogram {
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder totalNanos = new LongAdder();
+
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+		private final LongAdder[] buckets = new LongAdder[HISTOGRAM_BUCKET_COUNT];
+
+		Histogram() {
+			for (int i = 0; i < this.buckets.length; i++) {
+				this.buckets[i] = new LongAdder();
+			}
+		}
+
+		void record(long nanos) {
+			long value = Math.max(nanos, 0);
+			this.count.increment();
+			this.totalNanos.add(value);
+			this.maxNanos.accumulate(value);
+			this.buckets[bucketIndex(value)].increment();
+		}
+
+		long getCount() {
+			return this.count.sum();
+		}
+
+		double getAverageMillis() {
+			long count = this.count.sum();
+			return (count > 0 ? toMillis(this.totalNanos.sum()) / count : 0);
+		}
+
+		double getMaxMillis() {
+			return toMillis(this.maxNanos.get());
+		}
+
+		double getPercentileMillis(double percentile) {
+			Assert.isTrue(percentile >= 0 && percentile <= 100, "Percentile must be between 0 and 100");
+			long[] counts = getBucketCounts();
+			long total = 0;
+			for (long count : counts) {
+				total += count;
+			}
+			if (total == 0) {
+				return 0;
+			}
+			long threshold = (long) Math.ceil(total * percentile / 100);
+			long cumulative = 0;
+			for (int i = 0; i < counts.length - 1; i++) {
+				cumulative += counts[i];
+				if (cumulative >= threshold) {
+					return Math.min(toMillis(TimeUnit.MICROSECONDS.toNanos(1L << i)), getMaxMillis());
+				}
+			}
+			return getMaxMillis();
+		}
+
+		long[] getBucketCounts() {
+			long[] counts = new long[this.buckets.length];
+			for (int i = 0; i < counts.length; i++) {
+				counts[i] = this.buckets[i].sum();
+			}
+			return counts;
+		}
+
+		private static int bucketIndex(long nanos) {
+			long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+			if (micros <= 1) {
+				return 0;
+			}
+			int index = Long.SIZE - Long.numberOfLeadingZeros(micros - 1);
+			return Math.min(index, HISTOGRAM_BUCKET_COUNT - 1);
+		}
+	}
+
+}
@@ -29,6 +29,8 @@ import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.springframework.core.task.AsyncListenableTaskExecutor;
 import org.springframework.core.task.TaskDecorator;
@@ -37,6 +39,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.scheduling.SchedulingTaskExecutor;
 import org.springframework.util.Assert;
 import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.StringUtils;
 import org.springframework.util.concurrent.ListenableFuture;
 import org.springframework.util.concurrent.ListenableFutureTask;
 
@@ -48,6 +51,15 @@ import org.springframework.util.concurrent.ListenableFutureTask;
  * providing several useful attributes: "corePoolSize", "maxPoolSize", "keepAliveSeconds"
  * (all supporting updates at runtime); "poolSize", "activeCount" (for introspection only).
  *
+ * <p>With {@link #setStatisticsEnabled "statisticsEnabled"}, the executor also keeps
+ * {@link TaskExecutionStatistics} on queue wait times, execution times and rejected
+ * tasks, exposing attributes such as "averageQueueWaitMillis" and "rejectedTaskCount",
+ * e.g. to find out which of several executors is a latency bottleneck. The same
+ * figures may be published to a monitoring system through a custom
+ * {@link #setTaskExecutionMetrics TaskExecutionMetrics} implementation. In
+ * {@link #setAdaptiveCorePoolSize "adaptiveCorePoolSize"} mode, the core pool size
+ * is adjusted at runtime based on the observed queue wait times.
+ *
  * <p>The default configuration is a core pool size of 1, with unlimited max pool size
  * and unlimited queue capacity. This is roughly equivalent to
  * {@link java.util.concurrent.Executors#newSingleThreadExecutor()}, sharing a single
@@ -97,9 +109,28 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 	@Nullable
 	private TaskDecorator taskDecorator;
 
+	private boolean statisticsEnabled = false;
+
+	@Nullable
+	private TaskExecutionMetrics taskExecutionMetrics;
+
+	private boolean adaptiveCorePoolSize = false;
+
+	private long targetQueueWaitMillis = 100;
+
+	private long adaptiveIntervalMillis = 1000;
+
 	@Nullable
 	private ThreadPoolExecutor threadPoolExecutor;
 
+	@Nullable
+	private TaskExecutionStatistics statistics;
+
+	@Nullable
+	private AdaptiveCorePoolSizer corePoolSizer;
+
+	private String executorName = "";
+
 	// Runnable decorator to user-level FutureTask, if different
 	private final Map<Runnable, Object> decoratedTaskMap =
 			new ConcurrentReferenceHashMap<>(16, ConcurrentReferenceHashMap.ReferenceType.WEAK);
@@ -211,6 +242,79 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 		this.taskDecorator = taskDecorator;
 	}
 
+	/**
+	 * Specify whether to keep {@link TaskExecutionStatistics} for this executor,
+	 * exposed through {@link #getTaskExecutionStatistics()} as well as through
+	 * attributes of this executor such as "averageQueueWaitMillis".
+	 * <p>Default is "false", avoiding the overhead of timing every task.
+	 * @since 5.0.12
+	 */
+	public void setStatisticsEnabled(boolean statisticsEnabled) {
+		this.statisticsEnabled = statisticsEnabled;
+	}
+
+	/**
+	 * Specify a custom {@link TaskExecutionMetrics} implementation to record the
+	 * queue wait times, execution times and rejected tasks of this executor with,
+	 * e.g. for publishing them to a monitoring system. The executor identifies
+	 * itself by its bean name, if any, or by its thread name prefix otherwise.
+	 * @since 5.0.12
+	 */
+	public void setTaskExecutionMetrics(TaskExecutionMetrics taskExecutionMetrics) {
+		this.taskExecutionMetrics = taskExecutionMetrics;
+	}
+
+	/**
+	 * Specify whether to adjust the core pool size at runtime based on the time
+	 * tasks wait in the queue. In this mode, the core pool size grows towards the
+	 * {@link #setMaxPoolSize "maxPoolSize"} while the average queue wait time
+	 * exceeds the {@link #setTargetQueueWaitMillis "targetQueueWaitMillis"}, and
+	 * shrinks back towards the configured {@link #setCorePoolSize "corePoolSize"}
+	 * once it drops below half of the target. The average is taken over the tasks
+	 * started within each {@link #setAdaptiveIntervalMillis "adaptiveIntervalMillis"},
+	 * and is raised to the time the oldest queued task has been waiting so far.
+	 * The core pool size is evaluated whenever a task is submitted or started,
+	 * so it also grows while all threads are busy with long-running tasks.
+	 * <p>Default is "false". Consider setting a bounded "maxPoolSize" when
+	 * enabling this mode, in particular with an unbounded queue.
+	 * @since 5.0.12
+	 */
+	public void setAdaptiveCorePoolSize(boolean adaptiveCorePoolSize) {
+		this.adaptiveCorePoolSize = adaptiveCorePoolSize;
+	}
+
+	/**
+	 * Set the average queue wait time, in milliseconds, above which the core pool
+	 * size grows in {@link #setAdaptiveCorePoolSize "adaptiveCorePoolSize"} mode.
+	 * Default is 100.
+	 * <p><b>This setting can be modified at runtime, for example through JMX.</b>
+	 * @since 5.0.12
+	 */
+	public void setTargetQueueWaitMillis(long targetQueueWaitMillis) {
+		Assert.isTrue(targetQueueWaitMillis > 0, "'targetQueueWaitMillis' must be larger than 0");
+		this.targetQueueWaitMillis = targetQueueWaitMillis;
+	}
+
+	/**
+	 * Return the average queue wait time above which the core pool size grows
+	 * in {@link #setAdaptiveCorePoolSize "adaptiveCorePoolSize"} mode.
+	 * @since 5.0.12
+	 */
+	public long getTargetQueueWaitMillis() {
+		return this.targetQueueWaitMillis;
+	}
+
+	/**
+	 * Set the minimum interval between two adjustments of the core pool size in
+	 * {@link #setAdaptiveCorePoolSize "adaptiveCorePoolSize"} mode, in milliseconds.
+	 * Default is 1000.
+	 * @since 5.0.12
+	 */
+	public void setAdaptiveIntervalMillis(long adaptiveIntervalMillis) {
+		Assert.isTrue(adaptiveIntervalMillis >= 0, "'adaptiveIntervalMillis' must not be negative");
+		this.adaptiveIntervalMillis = adaptiveIntervalMillis;
+	}
+
 
 	/**
 	 * Note: This method exposes an {@link ExecutorService} to its base class
@@ -224,18 +328,38 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 
 		BlockingQueue<Runnable> queue = createQueue(this.queueCapacity);
 
+		String beanName = getBeanName();
+		this.executorName = (beanName != null ? beanName : StringUtils.trimTrailingCharacter(getThreadNamePrefix(), '-'));
+		this.statistics = (this.statisticsEnabled ? new TaskExecutionStatistics() : null);
+		this.corePoolSizer = (this.adaptiveCorePoolSize ? new AdaptiveCorePoolSizer() : null);
+		boolean instrumented = (this.statistics != null || this.taskExecutionMetrics != null ||
+				this.corePoolSizer != null);
+		if (instrumented) {
+			RejectedExecutionHandler handler = rejectedExecutionHandler;
+			rejectedExecutionHandler = (task, pool) -> {
+				recordRejection();
+				handler.rejectedExecution(task, pool);
+			};
+		}
+
 		ThreadPoolExecutor executor;
-		if (this.taskDecorator != null) {
+		if (this.taskDecorator != null || instrumented) {
 			executor = new ThreadPoolExecutor(
 					this.corePoolSize, this.maxPoolSize, this.keepAliveSeconds, TimeUnit.SECONDS,
 					queue, threadFactory, rejectedExecutionHandler) {
 				@Override
 				public void execute(Runnable command) {
-					Runnable decorated = taskDecorator.decorate(command);
+					Runnable decorated = (taskDecorator != null ? taskDecorator.decorate(command) : command);
+					if (instrumented) {
+						decorated = new InstrumentedTask(decorated);
+					}
 					if (decorated != command) {
 						decoratedTaskMap.put(decorated, command);
 					}
 					super.execute(decorated);
+					if (corePoolSizer != null) {
+						corePoolSizer.checkCorePoolSize();
+					}
 				}
 			};
 		}
@@ -306,6 +430,98 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 		return this.threadPoolExecutor.getActiveCount();
 	}
 
+	/**
+	 * Return the statistics of this executor, if enabled.
+	 * @since 5.0.12
+	 * @see #setStatisticsEnabled
+	 */
+	@Nullable
+	public TaskExecutionStatistics getTaskExecutionStatistics() {
+		return this.statistics;
+	}
+
+	/**
+	 * Return the number of tasks rejected by this executor,
+	 * or 0 if statistics are not enabled.
+	 * @since 5.0.12
+	 * @see #setStatisticsEnabled
+	 */
+	public long getRejectedTaskCount() {
+		return (this.statistics != null ? this.statistics.getRejectionCount() : 0);
+	}
+
+	/**
+	 * Return the average time tasks waited in the queue, in milliseconds,
+	 * or 0 if statistics are not enabled.
+	 * @since 5.0.12
+	 * @see #setStatisticsEnabled
+	 */
+	public double getAverageQueueWaitMillis() {
+		return (this.statistics != null ? this.statistics.getAverageQueueWaitMillis() : 0);
+	}
+
+	/**
+	 * Return the approximate queue wait time, in milliseconds, that the given
+	 * percentage of tasks did not exceed, or 0 if statistics are not enabled.
+	 * @param percentile the percentile, between 0 and 100, e.g. 99
+	 * @since 5.0.12
+	 * @see #setStatisticsEnabled
+	 */
+	public double getQueueWaitMillisPercentile(double percentile) {
+		return (this.statistics != null ? this.statistics.getQueueWaitMillisPercentile(percentile) : 0);
+	}
+
+	/**
+	 * Return the average execution time of tasks, in milliseconds,
+	 * or 0 if statistics are not enabled.
+	 * @since 5.0.12
+	 * @see #setStatisticsEnabled
+	 */
+	public double getAverageExecutionMillis() {
+		return (this.statistics != null ? this.statistics.getAverageExecutionMillis() : 0);
+	}
+
+	/**
+	 * Return the approximate execution time, in milliseconds, that the given
+	 * percentage of tasks did not exceed, or 0 if statistics are not enabled.
+	 * @param percentile the percentile, between 0 and 100, e.g. 99
+	 * @since 5.0.12
+	 * @see #setStatisticsEnabled
+	 */
+	public double getExecutionMillisPercentile(double percentile) {
+		return (this.statistics != null ? this.statistics.getExecutionMillisPercentile(percentile) : 0);
+	}
+
+	private void recordQueueWaitTime(long waitTimeNanos) {
+		if (this.statistics != null) {
+			this.statistics.recordQueueWaitTime(this.executorName, waitTimeNanos);
+		}
+		if (this.taskExecutionMetrics != null) {
+			this.taskExecutionMetrics.recordQueueWaitTime(this.executorName, waitTimeNanos);
+		}
+		if (this.corePoolSizer != null) {
+			this.corePoolSizer.recordQueueWaitTime(waitTimeNanos);
+		}
+	}
+
+	private void recordExecutionTime(long executionTimeNanos) {
+		if (this.statistics != null) {
+			this.statistics.recordExecutionTime(this.executorName, executionTimeNanos);
+		}
+		if (this.taskExecutionMetrics != null) {
+			this.taskExecutionMetrics.recordExecutionTime(this.executorName, executionTimeNanos);
+		}
+	}
+
+	private void recordRejection() {
+		if (this.statistics != null) {
+			this.statistics.recordRejection(this.executorName);
+		}
+		if (this.taskExecutionMetrics != null) {
+			this.taskExecutionMetrics.recordRejection(this.executorName);
+		}
+	}
+
 
 	@Override
 	public void execute(Runnable task) {
@@ -389,4 +605,105 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 		return true;
 	}
 
+
+	/**
+	 * Runnable wrapper recording the queue wait time and execution time of a task.
+	 */
+	private class InstrumentedTask implements Runnable {
+
+		private final Runnable task;
+
+		private final long submitTime = System.nanoTime();
+
+		InstrumentedTask(Runnable task) {
+			this.task = task;
+		}
+
+		@Override
+		public void run() {
+			long startTime = System.nanoTime();
+			recordQueueWaitTime(startTime - this.submitTime);
+			try {
+				this.task.run();
+			}
+			finally {
+				recordExecutionTime(System.nanoTime() - startTime);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return this.task.toString();
+		}
+	}
+
+
+	/**
+	 * Adjusts the core pool size of the executor based on the average queue wait
+	 * time of the tasks started within each interval, or on the wait time of the
+	 * oldest queued task if higher.
+	 */
+	private class AdaptiveCorePoolSizer {
+
+		private final LongAdder waitCount = new LongAdder();
+
+		private final LongAdder totalWaitNanos = new LongAdder();
+
+		private final AtomicLong lastAdjustmentTime = new AtomicLong(System.nanoTime());
+
+		void recordQueueWaitTime(long waitTimeNanos) {
+			this.waitCount.increment();
+			this.totalWaitNanos.add(waitTimeNanos);
+			checkCorePoolSize();
+		}
+
+		/**
+		 * Adjust the core pool size if the adaptive interval has elapsed.
+		 * Also called after each submission, since no queued task gets
+		 * started while all threads are busy.
+		 */
+		void checkCorePoolSize() {
+			long lastAdjustmentTime = this.lastAdjustmentTime.get();
+			long now = System.nanoTime();
+			if (now - lastAdjustmentTime >= TimeUnit.MILLISECONDS.toNanos(adaptiveIntervalMillis) &&
+					this.lastAdjustmentTime.compareAndSet(lastAdjustmentTime, now)) {
+				adjustCorePoolSize(now);
+			}
+		}
+
+		private void adjustCorePoolSize(long now) {
+			long count = this.waitCount.sumThenReset();
+			long totalWaitNanos = this.totalWaitNanos.sumThenReset();
+			long averageWaitNanos = (count > 0 ? totalWaitNanos / count : 0);
+			long targetWaitNanos = TimeUnit.MILLISECONDS.toNanos(targetQueueWaitMillis);
+			synchronized (poolSizeMonitor) {
+				ThreadPoolExecutor executor = threadPoolExecutor;
+				if (executor == null) {
+					return;
+				}
+				Runnable oldestTask = executor.getQueue().peek();
+				long waitNanos = (oldestTask instanceof InstrumentedTask ?
+						Math.max(averageWaitNanos, now - ((InstrumentedTask) oldestTask).submitTime) :
+						averageWaitNanos);
+				int currentSize = executor.getCorePoolSize();
+				int newSize = currentSize;
+				if (waitNanos > targetWaitNanos && currentSize < maxPoolSize) {
+					newSize = (int) Math.min((long) currentSize + Math.max(1, currentSize / 4), maxPoolSize);
+				}
+				else if (count > 0 && waitNanos < targetWaitNanos / 2 && currentSize > corePoolSize) {
+					// Only shrink based on tasks that actually got started within the interval
+					newSize = currentSize - 1;
+				}
+				if (newSize != currentSize) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Adjusting core pool size of executor '" + executorName + "' from " +
+								currentSize + " to " + newSize + " for queue wait time of " +
+								TimeUnit.NANOSECONDS.toMillis(waitNanos) + " ms");
+					}
+					executor.setCorePoolSize(newSize);
+				}
+			}
+		}
+	}
+
 }
@@ -47,6 +47,7 @@ public class ScheduledMethodRunnable implements Runnable {
 	public ScheduledMethodRunnable(Object target, Method method) {
 		this.target = target;
 		this.method = method;
+		ReflectionUtils.makeAccessible(method);
 	}
 
 	/**
@@ -59,6 +60,7 @@ public class ScheduledMethodRunnable implements Runnable {
 	public ScheduledMethodRunnable(Object target, String methodName) throws NoSuchMethodException {
 		this.target = target;
 		this.method = target.getClass().getMethod(methodName);
+		ReflectionUtils.makeAccessible(this.method);
 	}
 
 
@@ -80,7 +82,6 @@ public class ScheduledMethodRunnable implements Runnable {
 	@Override
 	public void run() {
 		try {
-			ReflectionUtils.makeAccessible(this.method);
 			this.method.invoke(this.target);
 		}
 		catch (InvocationTargetException ex) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.cache;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -211,6 +212,57 @@ public abstract class AbstractCacheTests<T extends Cache> {
 		results.forEach(r -> assertThat(r, is(1))); // Only one method got invoked
 	}
 
+	@Test
+	public void testCacheRetrieve() throws Exception {
+		T cache = getCache();
+
+		String key = createRandomKey();
+		assertNull(cache.retrieve(key));
+
+		cache.put(key, "existing");
+		assertEquals("existing", cache.retrieve(key).get());
+	}
+
+	@Test
+	public void testCacheRetrieveValueLoader() throws Exception {
+		T cache = getCache();
+
+		String key = createRandomKey();
+		CompletableFuture<String> loaded = new CompletableFuture<>();
+		CompletableFuture<String> value = cache.retrieve(key, () -> loaded);
+		assertFalse(value.isDone());
+		assertNull(cache.get(key));
+
+		loaded.complete("test");
+		assertEquals("test", value.get());
+		assertEquals("test", cache.get(key).get());
+	}
+
+	@Test
+	public void testCacheRetrieveValueLoaderNotInvokedWithHit() throws Exception {
+		T cache = getCache();
+
+		String key = createRandomKey();
+		cache.put(key, "existing");
+
+		CompletableFuture<Object> value = cache.retrieve(key, () -> {
+			throw new IllegalStateException("Should not have been invoked");
+		});
+		assertEquals("existing", value.get());
+	}
+
+	@Test
+	public void testCacheRetrieveValueLoaderFail() {
+		T cache = getCache();
+
+		String key = createRandomKey();
+		CompletableFuture<String> failed = new CompletableFuture<>();
+		failed.completeExceptionally(new UnsupportedOperationException("Expected exception"));
+		CompletableFuture<String> value = cache.retrieve(key, () -> failed);
+		assertTrue(value.isCompletedExceptionally());
+		assertNull(cache.get(key));
+	}
+
 	protected String createRandomKey() {
 		return UUID.randomUUID().toString();
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,17 @@
 
 package org.springframework.cache;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 
+import static org.junit.Assert.*;
+
 /**
  * @author Stephane Nicoll
  */
@@ -47,4 +52,60 @@ public abstract class AbstractValueAdaptingCacheTests<T extends AbstractValueAda
 		cache.put(key, null);
 	}
 
+	@Test
+	public void testCacheRetrieveSharesPendingValueLoader() throws Exception {
+		T cache = getCache();
+		AtomicInteger counter = new AtomicInteger();
+		CompletableFuture<Integer> loaded = new CompletableFuture<>();
+
+		String key = createRandomKey();
+		CompletableFuture<Integer> first = cache.retrieve(key, () -> {
+			counter.incrementAndGet();
+			return loaded;
+		});
+		CompletableFuture<Integer> second = cache.retrieve(key, () -> {
+			counter.incrementAndGet();
+			return CompletableFuture.completedFuture(2);
+		});
+		assertFalse(first.isDone());
+		assertFalse(second.isDone());
+
+		loaded.complete(1);
+		assertEquals(Integer.valueOf(1), first.get());
+		assertEquals(Integer.valueOf(1), second.get());
+		assertEquals(1, counter.get());
+		assertEquals(1, cache.get(key).get());
+	}
+
+	@Test
+	public void testCacheRetrieveIsolatesCallers() throws Exception {
+		T cache = getCache();
+		CompletableFuture<Integer> loaded = new CompletableFuture<>();
+
+		String key = createRandomKey();
+		CompletableFuture<Integer> first = cache.retrieve(key, () -> loaded);
+		CompletableFuture<Integer> second = cache.retrieve(key, () -> loaded);
+		first.cancel(true);
+		second.complete(3);
+		assertFalse(loaded.isDone());
+
+		CompletableFuture<Integer> third = cache.retrieve(key, () -> CompletableFuture.completedFuture(2));
+		assertFalse(third.isDone());
+		loaded.complete(1);
+		assertTrue(first.isCancelled());
+		assertEquals(Integer.valueOf(3), second.get());
+		assertEquals(Integer.valueOf(1), third.get());
+		assertEquals(1, cache.get(key).get());
+	}
+
+	@Test
+	public void testCacheRetrieveNullValueAllowNullFalse() {
+		T cache = getCache(false);
+		String key = createRandomKey();
+
+		CompletableFuture<Object> value = cache.retrieve(key, () -> CompletableFuture.completedFuture(null));
+		assertTrue(value.isCompletedExceptionally());
+		assertNull(cache.get(key));
+	}
+
 }
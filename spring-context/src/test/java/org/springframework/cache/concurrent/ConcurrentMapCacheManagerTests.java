@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
+
 import org.junit.Test;
 
 import org.springframework.cache.Cache;
@@ -131,4 +133,35 @@ public class ConcurrentMapCacheManagerTests {
 		assertNull(cache1x.get("key"));
 	}
 
+	@Test
+	public void testChangeSizeBoundAndExpiration() {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager("c1");
+		assertEquals(-1, cm.getMaximumSize());
+		Cache cache1 = cm.getCache("c1");
+		cache1.put("key", "value");
+
+		cm.setMaximumSize(1);
+		cm.setExpireAfterWrite(Duration.ofMinutes(10));
+		cm.setExpireAfterAccess(Duration.ofMinutes(1));
+		Cache cache1x = cm.getCache("c1");
+		assertTrue(cache1x != cache1);
+		assertNull(cache1x.get("key"));
+
+		cache1x.put("key1", "value1");
+		cache1x.put("key2", "value2");
+		assertEquals(1, ((ConcurrentMapCache) cache1x).getNativeCache().size());
+	}
+
+	@Test
+	public void testStatisticsEnabled() {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager();
+		assertFalse(cm.isStatisticsEnabled());
+		assertNull(((ConcurrentMapCache) cm.getCache("c1")).getStatistics());
+
+		cm.setStatisticsEnabled(true);
+		ConcurrentMapCache cache1 = (ConcurrentMapCache) cm.getCache("c1");
+		cache1.get("key");
+		assertEquals(1, cache1.getStatistics().getMissCount());
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -115,6 +116,129 @@ public class ConcurrentMapCacheTests
 		serializeCache.get(key);
 	}
 
+	@Test
+	public void testMaximumSizeEvictsLeastRecentlyAccessed() {
+		ConcurrentMapCache boundedCache = createCache(3, null, null);
+		boundedCache.put("a", "1");
+		boundedCache.put("b", "2");
+		boundedCache.put("c", "3");
+		assertEquals("1", boundedCache.get("a").get());
+
+		boundedCache.put("d", "4");
+		assertEquals(3, this.nativeCache.size());
+		assertNull(boundedCache.get("b"));
+		assertEquals("1", boundedCache.get("a").get());
+		assertEquals("3", boundedCache.get("c").get());
+		assertEquals("4", boundedCache.get("d").get());
+		assertEquals(1, boundedCache.getStatistics().getEvictionCount());
+	}
+
+	@Test
+	public void testMaximumSizeWithValueLoader() {
+		ConcurrentMapCache boundedCache = createCache(2, null, null);
+		for (int i = 0; i < 10; i++) {
+			int value = i;
+			assertEquals(Integer.valueOf(value), boundedCache.get(value, () -> value));
+		}
+		assertEquals(2, this.nativeCache.size());
+		assertEquals(8, boundedCache.getStatistics().getEvictionCount());
+	}
+
+	@Test
+	public void testExpireAfterWrite() throws InterruptedException {
+		ConcurrentMapCache expiringCache = createCache(-1, Duration.ofMillis(100), null);
+		expiringCache.put("a", "1");
+		assertEquals("1", expiringCache.get("a").get());
+
+		Thread.sleep(150);
+		assertNull(expiringCache.get("a"));
+		assertTrue(this.nativeCache.isEmpty());
+		assertEquals(1, expiringCache.getStatistics().getEvictionCount());
+	}
+
+	@Test
+	public void testExpireAfterAccess() throws InterruptedException {
+		ConcurrentMapCache expiringCache = createCache(-1, null, Duration.ofMillis(300));
+		expiringCache.put("a", "1");
+		Thread.sleep(200);
+		assertEquals("1", expiringCache.get("a").get());
+		Thread.sleep(200);
+		assertEquals("1", expiringCache.get("a").get());
+
+		Thread.sleep(400);
+		assertNull(expiringCache.get("a"));
+		assertTrue(this.nativeCache.isEmpty());
+	}
+
+	@Test
+	public void testPutIfAbsentReplacesExpiredEntry() throws InterruptedException {
+		ConcurrentMapCache expiringCache = createCache(-1, Duration.ofMillis(100), null);
+		assertNull(expiringCache.putIfAbsent("a", "1"));
+		assertEquals("1", expiringCache.putIfAbsent("a", "2").get());
+
+		Thread.sleep(150);
+		assertNull(expiringCache.putIfAbsent("a", "3"));
+		assertEquals("3", expiringCache.get("a").get());
+	}
+
+	@Test
+	public void testValueLoaderReplacesExpiredEntry() throws InterruptedException {
+		ConcurrentMapCache expiringCache = createCache(-1, Duration.ofMillis(100), null);
+		expiringCache.put("a", "1");
+		assertEquals("1", expiringCache.get("a", () -> "2"));
+
+		Thread.sleep(150);
+		assertEquals("3", expiringCache.get("a", () -> "3"));
+		assertEquals("3", expiringCache.get("a").get());
+	}
+
+	@Test
+	public void testExpirationSweepRemovesUnreadEntries() throws InterruptedException {
+		ConcurrentMapCache expiringCache = createCache(-1, Duration.ofMillis(100), null);
+		for (int i = 0; i < 10; i++) {
+			expiringCache.put(i, i);
+		}
+		Thread.sleep(150);
+		for (int i = 10; i < 64; i++) {
+			expiringCache.put(i, i);
+		}
+		assertEquals(54, this.nativeCache.size());
+		assertEquals(10, expiringCache.getStatistics().getEvictionCount());
+	}
+
+	@Test
+	public void testStatistics() {
+		ConcurrentMapCache statisticsCache = createCache(-1, null, null);
+		ConcurrentMapCacheStatistics statistics = statisticsCache.getStatistics();
+		assertNotNull(statistics);
+		assertEquals(1.0, statistics.getHitRatio(), 0.0);
+
+		statisticsCache.put("a", "1");
+		statisticsCache.get("a");
+		statisticsCache.get("b");
+		statisticsCache.get("a", String.class);
+		statisticsCache.get("c", () -> "3");
+		statisticsCache.putIfAbsent("a", "2");
+		assertEquals(2, statistics.getHitCount());
+		assertEquals(2, statistics.getMissCount());
+		assertEquals(4, statistics.getRequestCount());
+		assertEquals(0.5, statistics.getHitRatio(), 0.0);
+		assertEquals(2, statistics.getPutCount());
+		assertEquals(0, statistics.getEvictionCount());
+	}
+
+	@Test
+	public void testNoStatisticsByDefault() {
+		assertNull(this.cache.getStatistics());
+	}
+
+
+	private ConcurrentMapCache createCache(long maximumSize,
+			Duration expireAfterWrite, Duration expireAfterAccess) {
+
+		return new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true, null,
+				maximumSize, expireAfterWrite, expireAfterAccess, true);
+	}
 
 	private ConcurrentMapCache createCacheWithStoreByValue() {
 		return new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true,
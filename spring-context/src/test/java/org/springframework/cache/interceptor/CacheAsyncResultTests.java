@@ -0,0 +1,285 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for caching methods with an asynchronous return type, caching the
+ * resolved value rather than the {@link CompletableFuture} or reactive type.
+ */
+public class CacheAsyncResultTests {
+
+	private ConfigurableApplicationContext context;
+
+	private Cache cache;
+
+	private AsyncService service;
+
+
+	@Before
+	public void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.cache = this.context.getBean(CacheManager.class).getCache("test");
+		this.service = this.context.getBean(AsyncService.class);
+	}
+
+	@After
+	public void close() {
+		if (this.context != null) {
+			this.context.close();
+		}
+	}
+
+
+	@Test
+	public void completableFutureCachesResolvedValue() throws Exception {
+		CompletableFuture<Long> first = this.service.getFuture("1");
+		assertNull(this.cache.get("1"));
+
+		this.service.complete();
+		assertEquals(Long.valueOf(0), first.get());
+		assertEquals(0L, this.cache.get("1").get());
+
+		CompletableFuture<Long> second = this.service.getFuture("1");
+		assertTrue(second.isDone());
+		assertEquals(Long.valueOf(0), second.get());
+		assertEquals(1, this.service.getInvocations());
+	}
+
+	@Test
+	public void completableFutureUnlessEvaluatedAgainstResolvedValue() throws Exception {
+		CompletableFuture<Long> first = this.service.getFutureUnlessEven("1");
+		this.service.complete();
+		assertEquals(Long.valueOf(0), first.get());
+		assertNull(this.cache.get("1"));
+
+		CompletableFuture<Long> second = this.service.getFutureUnlessEven("1");
+		this.service.complete();
+		assertEquals(Long.valueOf(1), second.get());
+		assertEquals(1L, this.cache.get("1").get());
+	}
+
+	@Test
+	public void completableFutureFailureNotCached() throws Exception {
+		CompletableFuture<Long> first = this.service.getFuture("1");
+		this.service.fail();
+		assertTrue(first.isCompletedExceptionally());
+		assertNull(this.cache.get("1"));
+	}
+
+	@Test
+	public void completableFutureCachePut() throws Exception {
+		CompletableFuture<Long> first = this.service.putFuture("1");
+		this.service.complete();
+		assertEquals(Long.valueOf(0), first.get());
+		assertEquals(0L, this.cache.get("1").get());
+	}
+
+	@Test
+	public void completableFutureSyncSharesInvocation() throws Exception {
+		CompletableFuture<Long> first = this.service.getFutureSync("1");
+		CompletableFuture<Long> second = this.service.getFutureSync("1");
+		assertFalse(first.isDone());
+		assertFalse(second.isDone());
+		assertEquals(1, this.service.getInvocations());
+
+		this.service.complete();
+		assertEquals(Long.valueOf(0), first.get());
+		assertEquals(Long.valueOf(0), second.get());
+		assertEquals(0L, this.cache.get("1").get());
+
+		assertEquals(Long.valueOf(0), this.service.getFutureSync("1").get());
+		assertEquals(1, this.service.getInvocations());
+	}
+
+	@Test
+	public void monoCachesResolvedValue() {
+		assertEquals(Long.valueOf(0), this.service.getMono("1").block());
+		assertEquals(0L, this.cache.get("1").get());
+		assertEquals(Long.valueOf(0), this.service.getMono("1").block());
+		assertEquals(1, this.service.getInvocations());
+	}
+
+	@Test
+	public void fluxCachesResolvedValues() {
+		assertEquals(Arrays.asList(0L, 1L), this.service.getFlux("1").collectList().block());
+		assertEquals(Arrays.asList(0L, 1L), this.cache.get("1").get());
+		assertEquals(Arrays.asList(0L, 1L), this.service.getFlux("1").collectList().block());
+		assertEquals(1, this.service.getInvocations());
+	}
+
+	@Test
+	public void monoSyncCachesResolvedValue() {
+		assertEquals(Long.valueOf(0), this.service.getMonoSync("1").block());
+		assertEquals(0L, this.cache.get("1").get());
+		assertEquals(Long.valueOf(0), this.service.getMonoSync("1").block());
+		assertEquals(1, this.service.getInvocations());
+	}
+
+	@Test
+	public void monoSyncDefersInvocationUntilSubscription() {
+		Mono<Long> mono = this.service.getMonoSync("1");
+		assertEquals(0, this.service.getInvocations());
+		assertNull(this.cache.get("1"));
+
+		assertEquals(Long.valueOf(0), mono.block());
+		assertEquals(1, this.service.getInvocations());
+		assertEquals(0L, this.cache.get("1").get());
+	}
+
+	@Test
+	public void monoEmptyNotCached() {
+		assertNull(this.service.getEmptyMono("1").block());
+		assertNull(this.cache.get("1"));
+		assertNull(this.service.getEmptyMono("1").block());
+		assertEquals(2, this.service.getInvocations());
+	}
+
+	@Test
+	public void monoSyncEmptyNotCached() {
+		assertNull(this.service.getEmptyMonoSync("1").block());
+		assertNull(this.cache.get("1"));
+		assertNull(this.service.getEmptyMonoSync("1").block());
+		assertEquals(2, this.service.getInvocations());
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+			cacheManager.setAllowNullValues(false);
+			return cacheManager;
+		}
+
+		@Bean
+		public AsyncService asyncService() {
+			return new AsyncService();
+		}
+	}
+
+
+	@CacheConfig(cacheNames = "test")
+	public static class AsyncService {
+
+		private final AtomicLong counter = new AtomicLong();
+
+		private final AtomicLong invocations = new AtomicLong();
+
+		private final List<CompletableFuture<Long>> pending = new ArrayList<>();
+
+		@Cacheable
+		public CompletableFuture<Long> getFuture(String id) {
+			return pendingFuture();
+		}
+
+		@Cacheable(unless = "#result % 2 == 0")
+		public CompletableFuture<Long> getFutureUnlessEven(String id) {
+			return pendingFuture();
+		}
+
+		@CachePut(key = "#p0")
+		public CompletableFuture<Long> putFuture(String id) {
+			return pendingFuture();
+		}
+
+		@Cacheable(sync = true)
+		public CompletableFuture<Long> getFutureSync(String id) {
+			return pendingFuture();
+		}
+
+		@Cacheable
+		public Mono<Long> getMono(String id) {
+			this.invocations.incrementAndGet();
+			return Mono.fromCallable(this.counter::getAndIncrement);
+		}
+
+		@Cacheable
+		public Flux<Long> getFlux(String id) {
+			this.invocations.incrementAndGet();
+			return Flux.just(this.counter.getAndIncrement(), this.counter.getAndIncrement());
+		}
+
+		@Cacheable(sync = true)
+		public Mono<Long> getMonoSync(String id) {
+			this.invocations.incrementAndGet();
+			return Mono.fromCallable(this.counter::getAndIncrement);
+		}
+
+		@Cacheable
+		public Mono<Long> getEmptyMono(String id) {
+			this.invocations.incrementAndGet();
+			return Mono.empty();
+		}
+
+		@Cacheable(sync = true)
+		public Mono<Long> getEmptyMonoSync(String id) {
+			this.invocations.incrementAndGet();
+			return Mono.empty();
+		}
+
+		public long getInvocations() {
+			return this.invocations.get();
+		}
+
+		public void complete() {
+			this.pending.forEach(future -> future.complete(this.counter.getAndIncrement()));
+			this.pending.clear();
+		}
+
+		public void fail() {
+			this.pending.forEach(future -> future.completeExceptionally(new IllegalStateException("Expected")));
+			this.pending.clear();
+		}
+
+		private CompletableFuture<Long> pendingFuture() {
+			this.invocations.incrementAndGet();
+			CompletableFuture<Long> future = new CompletableFuture<>();
+			this.pending.add(future);
+			return future;
+		}
+	}
+
+}
@@ -16,10 +16,12 @@
 
 package org.springframework.cache.interceptor;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.Map;
 
 import org.junit.Test;
 
@@ -33,6 +35,8 @@ import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.context.support.StaticApplicationContext;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.util.ReflectionUtils;
 
@@ -140,10 +144,76 @@ public class ExpressionEvaluatorTests {
 		assertThat(value, is(String.class.getName()));
 	}
 
+	@Test
+	public void keyExpressionCompiledAfterRepeatedEvaluation() {
+		Method method = ReflectionUtils.findMethod(
+				AnnotatedClass.class, "multipleCaching", Object.class, Object.class);
+		AnnotatedElementKey key = new AnnotatedElementKey(method, AnnotatedClass.class);
+		for (int i = 0; i < 200; i++) {
+			EvaluationContext context = createEvaluationContext("a" + i, "b" + i);
+			assertEquals("a" + i, this.eval.key("#a", key, context));
+		}
+		assertTrue(isCompiled(getCachedExpression("keyCache", "#a")));
+
+		// Compiled against String arguments but still applicable to others
+		EvaluationContext context = createEvaluationContext(42, 43);
+		assertEquals(42, this.eval.key("#a", key, context));
+	}
+
+	@Test
+	public void conditionWithUnavailableReturnValueNotCompiled() {
+		Method method = ReflectionUtils.findMethod(
+				AnnotatedClass.class, "multipleCaching", Object.class, Object.class);
+		AnnotatedElementKey key = new AnnotatedElementKey(method, AnnotatedClass.class);
+		for (int i = 0; i < 200; i++) {
+			EvaluationContext context = createEvaluationContext("theResult");
+			assertTrue(this.eval.condition("#result != null", key, context));
+		}
+		assertTrue(isCompiled(getCachedExpression("conditionCache", "#result != null")));
+
+		EvaluationContext context = createEvaluationContext(CacheOperationExpressionEvaluator.RESULT_UNAVAILABLE);
+		try {
+			this.eval.condition("#result != null", key, context);
+			fail("Should have failed to evaluate expression, result not available");
+		}
+		catch (VariableNotAvailableException ex) {
+			assertEquals("wrong variable name", "result", ex.getName());
+		}
+		assertTrue(isCompiled(getCachedExpression("conditionCache", "#result != null")));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Expression getCachedExpression(String cacheFieldName, String expression) {
+		Field field = ReflectionUtils.findField(CacheOperationExpressionEvaluator.class, cacheFieldName);
+		ReflectionUtils.makeAccessible(field);
+		Map<?, Expression> cache = (Map<?, Expression>) ReflectionUtils.getField(field, this.eval);
+		for (Map.Entry<?, Expression> entry : cache.entrySet()) {
+			if (entry.getValue().getExpressionString().equals(expression)) {
+				return entry.getValue();
+			}
+		}
+		throw new IllegalStateException("No cached expression for '" + expression + "'");
+	}
+
+	private static boolean isCompiled(Expression expression) {
+		Field field = ReflectionUtils.findField(SpelExpression.class, "compiledAst");
+		ReflectionUtils.makeAccessible(field);
+		return (ReflectionUtils.getField(field, expression) != null);
+	}
+
 	private EvaluationContext createEvaluationContext(Object result) {
 		return createEvaluationContext(result, null);
 	}
 
+	private EvaluationContext createEvaluationContext(Object a, Object b) {
+		AnnotatedClass target = new AnnotatedClass();
+		Method method = ReflectionUtils.findMethod(
+				AnnotatedClass.class, "multipleCaching", Object.class, Object.class);
+		Collection<ConcurrentMapCache> caches = Collections.singleton(new ConcurrentMapCache("test"));
+		return this.eval.createEvaluationContext(caches, method, new Object[] {a, b},
+				target, target.getClass(), method, CacheOperationExpressionEvaluator.NO_RESULT, null);
+	}
+
 	private EvaluationContext createEvaluationContext(Object result, BeanFactory beanFactory) {
 		AnnotatedClass target = new AnnotatedClass();
 		Method method = ReflectionUtils.findMethod(
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link TwoLevelCacheManager}.
+ */
+public class TwoLevelCacheManagerTests {
+
+	private final ConcurrentMapCacheManager sharedCacheManager = new ConcurrentMapCacheManager("test");
+
+	private final LoopbackCacheInvalidationChannel invalidationChannel = new LoopbackCacheInvalidationChannel();
+
+	private final List<CacheInvalidation> invalidations = new ArrayList<>();
+
+	private Cache cache1;
+
+	private Cache cache2;
+
+
+	@Before
+	public void setup() {
+		this.invalidationChannel.subscribe(this.invalidations::add);
+		this.cache1 = createCacheManager().getCache("test");
+		this.cache2 = createCacheManager().getCache("test");
+	}
+
+	private TwoLevelCacheManager createCacheManager() {
+		TwoLevelCacheManager cacheManager =
+				new TwoLevelCacheManager(new ConcurrentMapCacheManager(), this.sharedCacheManager);
+		cacheManager.setInvalidationChannel(this.invalidationChannel);
+		cacheManager.afterPropertiesSet();
+		return cacheManager;
+	}
+
+
+	@Test
+	public void getCache() {
+		assertTrue(this.cache1 instanceof TwoLevelCache);
+		assertSame(this.sharedCacheManager.getCache("test"), ((TwoLevelCache) this.cache1).getSharedCache());
+	}
+
+	@Test
+	public void getCacheWithoutSharedCache() {
+		TwoLevelCacheManager cacheManager = createCacheManager();
+		assertNull(cacheManager.getCache("unknown"));
+		assertEquals(1, cacheManager.getCacheNames().size());
+		assertTrue(cacheManager.getCacheNames().contains("test"));
+	}
+
+	@Test
+	public void getCacheWithoutLocalCache() {
+		TwoLevelCacheManager cacheManager =
+				new TwoLevelCacheManager(new ConcurrentMapCacheManager("other"), this.sharedCacheManager);
+		assertSame(this.sharedCacheManager.getCache("test"), cacheManager.getCache("test"));
+	}
+
+	@Test
+	public void putInvalidatesOtherLocalCaches() {
+		this.cache1.put("key", "value1");
+		assertEquals("value1", this.cache2.get("key").get());
+
+		this.cache1.put("key", "value2");
+		assertEquals("value2", this.cache1.get("key").get());
+		assertEquals("value2", this.cache2.get("key").get());
+		assertEquals(2, this.invalidations.size());
+		assertEquals("test", this.invalidations.get(0).getCacheName());
+		assertEquals("key", this.invalidations.get(0).getKey());
+	}
+
+	@Test
+	public void evictInvalidatesOtherLocalCaches() {
+		this.cache1.put("key", "value");
+		assertEquals("value", this.cache2.get("key").get());
+
+		this.cache1.evict("key");
+		assertNull(this.cache2.get("key"));
+	}
+
+	@Test
+	public void clearInvalidatesOtherLocalCaches() {
+		this.cache1.put("key1", "value1");
+		this.cache1.put("key2", "value2");
+		assertEquals("value1", this.cache2.get("key1").get());
+		assertEquals("value2", this.cache2.get("key2").get());
+
+		this.cache1.clear();
+		assertNull(this.cache2.get("key1"));
+		assertNull(this.cache2.get("key2"));
+		assertTrue(this.invalidations.get(this.invalidations.size() - 1).isCacheWide());
+	}
+
+	@Test
+	public void ownInvalidationsIgnored() {
+		this.cache1.put("key", "value");
+		assertEquals("value", ((TwoLevelCache) this.cache1).getLocalCache().get("key").get());
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cache.AbstractCacheTests;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.lang.Nullable;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link TwoLevelCache}.
+ */
+public class TwoLevelCacheTests extends AbstractCacheTests<TwoLevelCache> {
+
+	private ConcurrentMap<Object, Object> nativeCache;
+
+	private ConcurrentMapCache localCache;
+
+	private ConcurrentMapCache sharedCache;
+
+	private TwoLevelCache cache;
+
+
+	@Before
+	public void setup() {
+		this.nativeCache = new ConcurrentHashMap<>();
+		this.localCache = new ConcurrentMapCache(CACHE_NAME);
+		this.sharedCache = new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true);
+		this.cache = new TwoLevelCache(this.localCache, this.sharedCache);
+	}
+
+	@Override
+	protected TwoLevelCache getCache() {
+		return this.cache;
+	}
+
+	@Override
+	protected Object getNativeCache() {
+		return this.nativeCache;
+	}
+
+
+	@Test
+	public void lookupPopulatesLocalCache() {
+		this.sharedCache.put("key", "value");
+		assertNull(this.localCache.get("key"));
+
+		assertEquals("value", this.cache.get("key").get());
+		assertEquals("value", this.localCache.get("key").get());
+
+		this.sharedCache.evict("key");
+		assertEquals("value", this.cache.get("key").get());
+	}
+
+	@Test
+	public void modificationsAppliedToBothCaches() {
+		this.cache.put("key", "value");
+		assertEquals("value", this.localCache.get("key").get());
+		assertEquals("value", this.sharedCache.get("key").get());
+
+		this.cache.evict("key");
+		assertNull(this.localCache.get("key"));
+		assertNull(this.sharedCache.get("key"));
+
+		this.cache.put("key", "value");
+		this.cache.clear();
+		assertNull(this.localCache.get("key"));
+		assertNull(this.sharedCache.get("key"));
+	}
+
+	@Test
+	public void invalidateLocal() {
+		this.cache.put("key1", "value1");
+		this.cache.put("key2", "value2");
+
+		this.cache.invalidateLocal("key1");
+		assertNull(this.localCache.get("key1"));
+		assertEquals("value2", this.localCache.get("key2").get());
+		assertEquals("value1", this.sharedCache.get("key1").get());
+
+		this.cache.invalidateLocal(null);
+		assertNull(this.localCache.get("key2"));
+		assertEquals("value2", this.sharedCache.get("key2").get());
+	}
+
+	@Test
+	public void invalidationDuringPutDiscardsLocalCopy() {
+		ConcurrentMapCache sharedCache = new ConcurrentMapCache(CACHE_NAME) {
+			@Override
+			public void put(Object key, @Nullable Object value) {
+				super.put(key, value);
+				// Simulate an invalidation from another process arriving concurrently
+				TwoLevelCacheTests.this.cache.invalidateLocal(key);
+			}
+		};
+		this.cache = new TwoLevelCache(this.localCache, sharedCache);
+
+		this.cache.put("key", "value");
+		assertNull(this.localCache.get("key"));
+		assertEquals("value", sharedCache.get("key").get());
+		assertEquals("value", this.cache.get("key").get());
+		assertEquals("value", this.localCache.get("key").get());
+	}
+
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.OverridingClassLoader;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BeanDefinitionSnapshot} and {@link BeanDefinitionSnapshotGenerator}.
+ *
+ * @since 5.0.12
+ */
+public class BeanDefinitionSnapshotTests {
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+
+	@Test
+	public void generateAndReadSnapshot() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.register(ImportingConfig.class);
+		BeanDefinitionSnapshot snapshot = BeanDefinitionSnapshotGenerator.generate(context);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		snapshot.write(out);
+		BeanDefinitionSnapshot read = BeanDefinitionSnapshot.read(new ByteArrayInputStream(out.toByteArray()));
+
+		assertEquals(snapshot.getChecksum(), read.getChecksum());
+		assertEquals(snapshot.getBeanDefinitions().size(), read.getBeanDefinitions().size());
+		BeanDefinitionHolder testBean = findHolder(read, "testBean");
+		assertArrayEquals(new String[] {"alias"}, testBean.getAliases());
+		BeanDefinition bd = testBean.getBeanDefinition();
+		assertEquals("beanDefinitionSnapshotTests.ImportingConfig", bd.getFactoryBeanName());
+		assertEquals("testBean", bd.getFactoryMethodName());
+		assertTrue(bd.isLazyInit());
+		assertTrue(bd.isPrimary());
+		assertEquals(BeanDefinition.SCOPE_PROTOTYPE, bd.getScope());
+	}
+
+	@Test
+	public void readSnapshotWithClassLoader() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		RootBeanDefinition rbd = new RootBeanDefinition(TestBean.class);
+		rbd.setTargetType(TestBean.class);
+		rbd.getPropertyValues().add("someObject", TestBean.class);
+		context.registerBeanDefinition("classBean", rbd);
+		BeanDefinitionSnapshot snapshot = BeanDefinitionSnapshotGenerator.generate(context);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		snapshot.write(out);
+		ClassLoader classLoader = new OverridingClassLoader(getClass().getClassLoader());
+		BeanDefinitionSnapshot read =
+				BeanDefinitionSnapshot.read(new ByteArrayInputStream(out.toByteArray()), classLoader);
+
+		RootBeanDefinition bd = (RootBeanDefinition) findHolder(read, "classBean").getBeanDefinition();
+		Class<?> classValue = (Class<?>) bd.getPropertyValues().get("someObject");
+		assertEquals(TestBean.class.getName(), classValue.getName());
+		assertSame(classLoader, classValue.getClassLoader());
+		assertSame(classLoader, bd.getTargetType().getClassLoader());
+	}
+
+	@Test
+	public void refreshWithSnapshot() throws Exception {
+		AnnotationConfigApplicationContext generationContext = new AnnotationConfigApplicationContext();
+		generationContext.register(ImportingConfig.class);
+		ClassLoader classLoader = writeSnapshot(BeanDefinitionSnapshotGenerator.generate(generationContext));
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setClassLoader(classLoader);
+		context.register(ImportingConfig.class);
+		context.refresh();
+
+		// Bean definitions stem from the snapshot rather than from configuration class parsing
+		assertFalse(context.getBeanDefinition("testBean") instanceof AnnotatedBeanDefinition);
+		assertEquals("test", context.getBean("alias", TestBean.class).getName());
+		assertNotSame(context.getBean("testBean"), context.getBean("testBean"));
+		assertSame(context.getBean("importedBean"), context.getBean(ImportedConfig.class).importedBean());
+
+		AnnotationMetadata importMetadata = context.getBean(ImportedConfig.class).importMetadata;
+		assertNotNull(importMetadata);
+		assertEquals(ImportingConfig.class.getName(), importMetadata.getClassName());
+		assertEquals("snapshot", importMetadata.getAnnotationAttributes(EnableImported.class.getName()).get("value"));
+		context.close();
+	}
+
+	@Test
+	public void refreshWithOutdatedSnapshot() throws Exception {
+		AnnotationConfigApplicationContext generationContext = new AnnotationConfigApplicationContext();
+		generationContext.register(ImportingConfig.class);
+		ClassLoader classLoader = writeSnapshot(BeanDefinitionSnapshotGenerator.generate(generationContext));
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setClassLoader(classLoader);
+		context.getEnvironment().setActiveProfiles("other");
+		context.register(ImportingConfig.class);
+		context.refresh();
+
+		// Different active profiles: configuration classes have been parsed regularly
+		assertTrue(context.getBeanDefinition("testBean") instanceof AnnotatedBeanDefinition);
+		assertEquals("test", context.getBean("alias", TestBean.class).getName());
+		context.close();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void generateWithPropertySource() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.register(PropertySourceConfig.class);
+		BeanDefinitionSnapshotGenerator.generate(context);
+	}
+
+	@Test
+	public void generateWithProfileCondition() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.register(ProfileConfig.class);
+		BeanDefinitionSnapshot snapshot = BeanDefinitionSnapshotGenerator.generate(context);
+
+		// Inactive profile: skipped at generation time, covered by the checksum
+		findHolder(snapshot, "beanDefinitionSnapshotTests.ProfileConfig");
+		for (BeanDefinitionHolder holder : snapshot.getBeanDefinitions()) {
+			assertNotEquals("devBean", holder.getBeanName());
+		}
+	}
+
+	@Test
+	public void generateWithCustomCondition() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.register(ConditionalConfig.class);
+		try {
+			BeanDefinitionSnapshotGenerator.generate(context);
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			assertTrue(ex.getMessage().contains(NeverCondition.class.getName()));
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void generateWithComponentScanPlaceholder() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.register(PlaceholderComponentScanConfig.class);
+		BeanDefinitionSnapshotGenerator.generate(context);
+	}
+
+	@Test
+	public void generateAfterRejectedSnapshot() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.register(ConditionalConfig.class);
+		try {
+			BeanDefinitionSnapshotGenerator.generate(context);
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			// expected
+		}
+
+		// Regular processing on the same thread is not affected by the snapshot checks
+		AnnotationConfigApplicationContext regularContext = new AnnotationConfigApplicationContext(ConditionalConfig.class);
+		assertFalse(regularContext.containsBean("testBean"));
+		regularContext.close();
+	}
+
+
+	private ClassLoader writeSnapshot(BeanDefinitionSnapshot snapshot) throws Exception {
+		File root = this.temporaryFolder.newFolder();
+		File file = new File(root, BeanDefinitionSnapshot.SNAPSHOT_RESOURCE_LOCATION);
+		assertTrue(file.getParentFile().mkdirs());
+		try (OutputStream out = new FileOutputStream(file)) {
+			snapshot.write(out);
+		}
+		return new URLClassLoader(new URL[] {root.toURI().toURL()}, getClass().getClassLoader());
+	}
+
+	private static BeanDefinitionHolder findHolder(BeanDefinitionSnapshot snapshot, String beanName) {
+		for (BeanDefinitionHolder holder : snapshot.getBeanDefinitions()) {
+			if (holder.getBeanName().equals(beanName)) {
+				return holder;
+			}
+		}
+		throw new AssertionError("No bean definition named '" + beanName + "' in snapshot");
+	}
+
+
+	@Target(ElementType.TYPE)
+	@Retention(RetentionPolicy.RUNTIME)
+	@Import(ImportedConfig.class)
+	@interface EnableImported {
+
+		String value();
+	}
+
+
+	@Configuration
+	@EnableImported("snapshot")
+	static class ImportingConfig {
+
+		@Bean({"testBean", "alias"})
+		@Lazy
+		@Primary
+		@Scope(BeanDefinition.SCOPE_PROTOTYPE)
+		public TestBean testBean() {
+			return new TestBean("test");
+		}
+	}
+
+
+	@Configuration
+	static class ImportedConfig implements ImportAware {
+
+		AnnotationMetadata importMetadata;
+
+		@Override
+		public void setImportMetadata(AnnotationMetadata importMetadata) {
+			this.importMetadata = importMetadata;
+		}
+
+		@Bean
+		public TestBean importedBean() {
+			return new TestBean("imported");
+		}
+	}
+
+
+	@Configuration
+	@PropertySource("classpath:org/springframework/context/annotation/p1.properties")
+	static class PropertySourceConfig {
+	}
+
+
+	@Configuration
+	static class ProfileConfig {
+
+		@Bean
+		@Profile("dev")
+		public TestBean devBean() {
+			return new TestBean("dev");
+		}
+	}
+
+
+	@Configuration
+	static class ConditionalConfig {
+
+		@Bean
+		@Conditional(NeverCondition.class)
+		public TestBean testBean() {
+			return new TestBean("test");
+		}
+	}
+
+
+	static class NeverCondition implements Condition {
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			return false;
+		}
+	}
+
+
+	@Configuration
+	@ComponentScan("${scan.package:org.springframework.context.annotation.componentscan.simple}")
+	static class PlaceholderComponentScanConfig {
+	}
+
+}
@@ -16,6 +16,10 @@
 
 package org.springframework.context.event;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -190,6 +194,28 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		assertEquals(2, listener1.seenEvents.size());
 	}
 
+	@Test
+	public void orderedListenersFromCachedSnapshot() {
+		MyOrderedListener1 listener1 = new MyOrderedListener1();
+		MyOrderedListener2 listener2 = new MyOrderedListener2(listener1);
+
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.addApplicationListener(listener2);
+		smc.addApplicationListener(listener1);
+
+		MyEvent event = new MyEvent(this);
+		ResolvableType eventType = ResolvableType.forInstance(event);
+		Collection<ApplicationListener<?>> listeners = smc.getApplicationListeners(event, eventType);
+		assertEquals(Arrays.asList(listener1, listener2), new ArrayList<>(listeners));
+		Collection<ApplicationListener<?>> cachedListeners = smc.getApplicationListeners(event, eventType);
+		assertEquals(Arrays.asList(listener1, listener2), new ArrayList<>(cachedListeners));
+		assertSame(cachedListeners, smc.getApplicationListeners(event, eventType));
+
+		smc.removeApplicationListener(listener2);
+		assertEquals(Collections.singletonList(listener1),
+				new ArrayList<>(smc.getApplicationListeners(event, eventType)));
+	}
+
 	@Test
 	public void orderedListenersWithAnnotation() {
 		MyOrderedListener3 listener1 = new MyOrderedListener3();
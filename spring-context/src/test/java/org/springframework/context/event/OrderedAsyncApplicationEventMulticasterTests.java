@@ -0,0 +1,170 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link OrderedAsyncApplicationEventMulticaster}.
+ */
+public class OrderedAsyncApplicationEventMulticasterTests {
+
+	@Test
+	public void eventsDeliveredInOrderPerListener() throws Exception {
+		int eventCount = 2000;
+		CountDownLatch latch = new CountDownLatch(2 * eventCount);
+		RecordingListener listener1 = new RecordingListener(latch);
+		RecordingListener listener2 = new RecordingListener(latch);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			OrderedAsyncApplicationEventMulticaster multicaster = new OrderedAsyncApplicationEventMulticaster();
+			multicaster.setTaskExecutor(executor);
+			multicaster.setBatchSize(16);
+			multicaster.addApplicationListener(listener1);
+			multicaster.addApplicationListener(listener2);
+
+			for (int i = 0; i < eventCount; i++) {
+				multicaster.multicastEvent(new PayloadApplicationEvent<>(this, i));
+			}
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		List<Integer> expected = new ArrayList<>(eventCount);
+		for (int i = 0; i < eventCount; i++) {
+			expected.add(i);
+		}
+		assertEquals(expected, listener1.payloads);
+		assertEquals(expected, listener2.payloads);
+		assertFalse(listener1.concurrentInvocation.get());
+		assertFalse(listener2.concurrentInvocation.get());
+	}
+
+	@Test
+	public void eventsDeliveredInBatches() {
+		List<Runnable> tasks = new LinkedList<>();
+		RecordingListener listener = new RecordingListener(new CountDownLatch(0));
+
+		OrderedAsyncApplicationEventMulticaster multicaster = new OrderedAsyncApplicationEventMulticaster();
+		multicaster.setTaskExecutor(tasks::add);
+		multicaster.setBatchSize(3);
+		multicaster.addApplicationListener(listener);
+
+		for (int i = 0; i < 7; i++) {
+			multicaster.multicastEvent(new PayloadApplicationEvent<>(this, i));
+		}
+		assertEquals(1, tasks.size());
+		assertTrue(listener.payloads.isEmpty());
+
+		tasks.remove(0).run();
+		assertEquals(3, listener.payloads.size());
+		assertEquals(1, tasks.size());
+		tasks.remove(0).run();
+		tasks.remove(0).run();
+		assertEquals(7, listener.payloads.size());
+		assertTrue(tasks.isEmpty());
+
+		multicaster.multicastEvent(new PayloadApplicationEvent<>(this, 7));
+		assertEquals(1, tasks.size());
+		tasks.remove(0).run();
+		assertEquals(8, listener.payloads.size());
+	}
+
+	@Test
+	public void listenerFailureDoesNotStopDelivery() {
+		List<Runnable> tasks = new LinkedList<>();
+		List<Throwable> errors = new ArrayList<>();
+		RecordingListener listener = new RecordingListener(new CountDownLatch(0));
+		ApplicationListener<PayloadApplicationEvent<Integer>> failingListener = event -> {
+			if (event.getPayload() == 1) {
+				throw new IllegalStateException("Expected");
+			}
+		};
+
+		OrderedAsyncApplicationEventMulticaster multicaster = new OrderedAsyncApplicationEventMulticaster();
+		multicaster.setTaskExecutor(tasks::add);
+		multicaster.setErrorHandler(errors::add);
+		multicaster.addApplicationListener(failingListener);
+		multicaster.addApplicationListener(listener);
+
+		for (int i = 0; i < 3; i++) {
+			multicaster.multicastEvent(new PayloadApplicationEvent<>(this, i));
+		}
+		while (!tasks.isEmpty()) {
+			tasks.remove(0).run();
+		}
+		assertEquals(1, errors.size());
+		assertEquals("Expected", errors.get(0).getMessage());
+		assertEquals(3, listener.payloads.size());
+	}
+
+	@Test
+	public void eventsDeliveredSynchronouslyWithoutTaskExecutor() {
+		RecordingListener listener = new RecordingListener(new CountDownLatch(0));
+		OrderedAsyncApplicationEventMulticaster multicaster = new OrderedAsyncApplicationEventMulticaster();
+		multicaster.addApplicationListener(listener);
+
+		multicaster.multicastEvent(new PayloadApplicationEvent<>(this, 1));
+		assertEquals(Collections.singletonList(1), listener.payloads);
+	}
+
+
+	private static class RecordingListener implements ApplicationListener<PayloadApplicationEvent<Integer>> {
+
+		private final List<Integer> payloads = Collections.synchronizedList(new ArrayList<>());
+
+		private final AtomicInteger activeInvocations = new AtomicInteger();
+
+		private final AtomicBoolean concurrentInvocation = new AtomicBoolean();
+
+		private final CountDownLatch latch;
+
+		public RecordingListener(CountDownLatch latch) {
+			this.latch = latch;
+		}
+
+		@Override
+		public void onApplicationEvent(PayloadApplicationEvent<Integer> event) {
+			if (this.activeInvocations.incrementAndGet() > 1) {
+				this.concurrentInvocation.set(true);
+			}
+			this.payloads.add(event.getPayload());
+			this.activeInvocations.decrementAndGet();
+			this.latch.countDown();
+		}
+	}
+
+}
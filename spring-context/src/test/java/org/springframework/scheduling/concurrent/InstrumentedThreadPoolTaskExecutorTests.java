@@ -0,0 +1,226 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ThreadPoolTaskExecutor} with statistics, custom
+ * {@link TaskExecutionMetrics} and adaptive core pool size enabled.
+ */
+public class InstrumentedThreadPoolTaskExecutorTests extends AbstractSchedulingTaskExecutorTests {
+
+	private final TestTaskExecutionMetrics metrics = new TestTaskExecutionMetrics();
+
+	private ThreadPoolTaskExecutor instrumentedExecutor;
+
+
+	@Override
+	protected AsyncListenableTaskExecutor buildExecutor() {
+		this.instrumentedExecutor = new ThreadPoolTaskExecutor();
+		this.instrumentedExecutor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+		this.instrumentedExecutor.setMaxPoolSize(1);
+		this.instrumentedExecutor.setStatisticsEnabled(true);
+		this.instrumentedExecutor.setTaskExecutionMetrics(this.metrics);
+		this.instrumentedExecutor.setAdaptiveCorePoolSize(true);
+		this.instrumentedExecutor.afterPropertiesSet();
+		return this.instrumentedExecutor;
+	}
+
+
+	@Test
+	public void recordStatistics() throws Exception {
+		Future<?> first = this.instrumentedExecutor.submit(() -> sleep(20));
+		Future<?> second = this.instrumentedExecutor.submit(() -> {});
+		first.get(1, TimeUnit.SECONDS);
+		second.get(1, TimeUnit.SECONDS);
+		awaitExecutions(2);
+
+		TaskExecutionStatistics statistics = this.instrumentedExecutor.getTaskExecutionStatistics();
+		assertNotNull(statistics);
+		assertEquals(2, statistics.getExecutionCount());
+		assertEquals(0, statistics.getRejectionCount());
+		assertTrue(statistics.getMaxExecutionMillis() >= 20);
+		assertTrue(statistics.getMaxQueueWaitMillis() >= 10);
+		assertTrue(this.instrumentedExecutor.getAverageQueueWaitMillis() >= 5);
+		assertTrue(this.instrumentedExecutor.getExecutionMillisPercentile(100) >= 20);
+		assertEquals(2, sum(statistics.getExecutionHistogram()));
+		assertEquals(2, sum(statistics.getQueueWaitHistogram()));
+
+		assertEquals(2, this.metrics.queueWaitTimes.size());
+		assertEquals("test", this.metrics.executorNames.get(0));
+	}
+
+	@Test
+	public void recordRejection() throws Exception {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setBeanName("rejectingExecutor");
+		executor.setMaxPoolSize(1);
+		executor.setQueueCapacity(0);
+		executor.setStatisticsEnabled(true);
+		executor.setTaskExecutionMetrics(this.metrics);
+		executor.afterPropertiesSet();
+		try {
+			CountDownLatch latch = new CountDownLatch(1);
+			executor.execute(() -> await(latch));
+			try {
+				executor.execute(() -> {});
+				fail("TaskRejectedException expected");
+			}
+			catch (TaskRejectedException ex) {
+				// expected
+			}
+			latch.countDown();
+
+			assertEquals(1, executor.getRejectedTaskCount());
+			assertEquals(1, this.metrics.rejections.size());
+			assertEquals("rejectingExecutor", this.metrics.rejections.get(0));
+		}
+		finally {
+			executor.destroy();
+		}
+	}
+
+	@Test
+	public void adaptCorePoolSize() throws Exception {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setMaxPoolSize(4);
+		executor.setAdaptiveCorePoolSize(true);
+		executor.setTargetQueueWaitMillis(5);
+		executor.setAdaptiveIntervalMillis(0);
+		executor.afterPropertiesSet();
+		try {
+			CountDownLatch latch = new CountDownLatch(1);
+			Future<?> blocking = executor.submit(() -> await(latch));
+			Future<?> waiting = executor.submit(() -> {});
+			sleep(50);
+			latch.countDown();
+			blocking.get(1, TimeUnit.SECONDS);
+			waiting.get(1, TimeUnit.SECONDS);
+			assertEquals(2, executor.getThreadPoolExecutor().getCorePoolSize());
+
+			for (int i = 0; i < 10 && executor.getThreadPoolExecutor().getCorePoolSize() > 1; i++) {
+				executor.submit(() -> {}).get(1, TimeUnit.SECONDS);
+			}
+			assertEquals(1, executor.getThreadPoolExecutor().getCorePoolSize());
+			assertEquals(1, executor.getCorePoolSize());
+		}
+		finally {
+			executor.destroy();
+		}
+	}
+
+	@Test
+	public void adaptCorePoolSizeWhileAllThreadsBlocked() throws Exception {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setMaxPoolSize(4);
+		executor.setAdaptiveCorePoolSize(true);
+		executor.setTargetQueueWaitMillis(5);
+		executor.setAdaptiveIntervalMillis(0);
+		executor.afterPropertiesSet();
+		try {
+			CountDownLatch latch = new CountDownLatch(1);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				futures.add(executor.submit(() -> await(latch)));
+				sleep(20);
+			}
+			// The single initial thread never picks up a queued task: growth stems from submissions
+			assertTrue(executor.getThreadPoolExecutor().getCorePoolSize() > 1);
+			assertTrue(executor.getActiveCount() > 1);
+
+			latch.countDown();
+			for (Future<?> future : futures) {
+				future.get(1, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			executor.destroy();
+		}
+	}
+
+	private void awaitExecutions(int count) throws InterruptedException {
+		TaskExecutionStatistics statistics = this.instrumentedExecutor.getTaskExecutionStatistics();
+		for (int i = 0; i < 100 && statistics.getExecutionCount() < count; i++) {
+			Thread.sleep(10);
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(1, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static long sum(long[] counts) {
+		long sum = 0;
+		for (long count : counts) {
+			sum += count;
+		}
+		return sum;
+	}
+
+
+	private static class TestTaskExecutionMetrics implements TaskExecutionMetrics {
+
+		private final List<String> executorNames = new CopyOnWriteArrayList<>();
+
+		private final List<Long> queueWaitTimes = new CopyOnWriteArrayList<>();
+
+		private final List<String> rejections = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void recordQueueWaitTime(String executorName, long waitTimeNanos) {
+			this.executorNames.add(executorName);
+			this.queueWaitTimes.add(waitTimeNanos);
+		}
+
+		@Override
+		public void recordExecutionTime(String executorName, long executionTimeNanos) {
+		}
+
+		@Override
+		public void recordRejection(String executorName) {
+			this.rejections.add(executorName);
+		}
+	}
+
+}
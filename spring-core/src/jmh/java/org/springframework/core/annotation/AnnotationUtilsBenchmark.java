@@ -0,0 +1,163 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark for {@link AnnotationUtils} and {@link AnnotatedElementUtils}
+ * lookups against composed annotations with {@link AliasFor} overrides,
+ * on both classes and (interface-declared) methods.
+ *
+ * @since 5.0.12
+ */
+@BenchmarkMode(Mode.Throughput)
+public class AnnotationUtilsBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public Class<?> annotatedClass;
+
+		public Method annotatedMethod;
+
+		public Method inheritedMethod;
+
+		@Setup(Level.Trial)
+		public void setup() throws Exception {
+			this.annotatedClass = AnnotatedService.class;
+			this.annotatedMethod = AnnotatedService.class.getMethod("handle");
+			this.inheritedMethod = AnnotatedService.class.getMethod("process");
+		}
+	}
+
+
+	@Benchmark
+	public void findAnnotationOnClass(BenchmarkState state, Blackhole bh) {
+		bh.consume(AnnotationUtils.findAnnotation(state.annotatedClass, Component.class));
+	}
+
+	@Benchmark
+	public void findAnnotationOnInheritedMethod(BenchmarkState state, Blackhole bh) {
+		bh.consume(AnnotationUtils.findAnnotation(state.inheritedMethod, Handler.class));
+	}
+
+	@Benchmark
+	public void getAnnotationAttributes(BenchmarkState state, Blackhole bh) {
+		Component component = AnnotationUtils.findAnnotation(state.annotatedClass, Component.class);
+		bh.consume(AnnotationUtils.getAnnotationAttributes(component));
+	}
+
+	@Benchmark
+	public void findMergedAnnotationOnClass(BenchmarkState state, Blackhole bh) {
+		bh.consume(AnnotatedElementUtils.findMergedAnnotation(state.annotatedClass, Component.class));
+	}
+
+	@Benchmark
+	public void findMergedAnnotationOnMethod(BenchmarkState state, Blackhole bh) {
+		bh.consume(AnnotatedElementUtils.findMergedAnnotation(state.annotatedMethod, Handler.class));
+	}
+
+	@Benchmark
+	public void hasAnnotationOnClass(BenchmarkState state, Blackhole bh) {
+		bh.consume(AnnotatedElementUtils.hasAnnotation(state.annotatedClass, Component.class));
+	}
+
+
+	@Target({ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Component {
+
+		String value() default "";
+	}
+
+
+	@Target({ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+	@Retention(RetentionPolicy.RUNTIME)
+	@Component
+	public @interface Service {
+
+		@AliasFor(annotation = Component.class)
+		String value() default "";
+	}
+
+
+	@Target(ElementType.TYPE)
+	@Retention(RetentionPolicy.RUNTIME)
+	@Service
+	public @interface TransactionalService {
+
+		@AliasFor(annotation = Service.class)
+		String name() default "";
+	}
+
+
+	@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Handler {
+
+		@AliasFor("path")
+		String value() default "";
+
+		@AliasFor("value")
+		String path() default "";
+	}
+
+
+	@Target(ElementType.METHOD)
+	@Retention(RetentionPolicy.RUNTIME)
+	@Handler
+	public @interface GetHandler {
+
+		@AliasFor(annotation = Handler.class)
+		String path() default "";
+	}
+
+
+	public interface ServiceContract {
+
+		@Handler("/process")
+		void process();
+	}
+
+
+	@TransactionalService(name = "annotatedService")
+	public static class AnnotatedService implements ServiceContract {
+
+		@GetHandler(path = "/handle")
+		public void handle() {
+		}
+
+		@Override
+		public void process() {
+		}
+	}
+
+}
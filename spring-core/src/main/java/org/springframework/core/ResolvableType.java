@@ -19,8 +19,10 @@ package org.springframework.core;
 import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -93,6 +95,12 @@ public class ResolvableType implements Serializable {
 	private static final ConcurrentReferenceHashMap<ResolvableType, ResolvableType> cache =
 			new ConcurrentReferenceHashMap<>(256);
 
+	private static final ConcurrentReferenceHashMap<Class<?>, ResolvableType> classCache =
+			new ConcurrentReferenceHashMap<>(256);
+
+	private static final ConcurrentReferenceHashMap<MemberKey, ResolvableType> memberCache =
+			new ConcurrentReferenceHashMap<>(256);
+
 
 	/**
 	 * The underlying Java type being managed.
@@ -132,6 +140,13 @@ public class ResolvableType implements Serializable {
 	@Nullable
 	private volatile ResolvableType[] generics;
 
+	/**
+	 * The canonical type for the same declaring member to share resolution state
+	 * with, or {@code null} if not derived from a canonical type.
+	 */
+	@Nullable
+	private final transient ResolvableType canonicalType;
+
 
 	/**
 	 * Private constructor used to create a new {@link ResolvableType} for cache key purposes,
@@ -146,6 +161,7 @@ public class ResolvableType implements Serializable {
 		this.componentType = null;
 		this.hash = calculateHashCode();
 		this.resolved = null;
+		this.canonicalType = null;
 	}
 
 	/**
@@ -162,6 +178,7 @@ public class ResolvableType implements Serializable {
 		this.componentType = null;
 		this.hash = hash;
 		this.resolved = resolveClass();
+		this.canonicalType = null;
 	}
 
 	/**
@@ -177,6 +194,7 @@ public class ResolvableType implements Serializable {
 		this.componentType = componentType;
 		this.hash = null;
 		this.resolved = resolveClass();
+		this.canonicalType = null;
 	}
 
 	/**
@@ -191,6 +209,21 @@ public class ResolvableType implements Serializable {
 		this.variableResolver = null;
 		this.componentType = null;
 		this.hash = null;
+		this.canonicalType = null;
+	}
+
+	/**
+	 * Private constructor used to create a new {@link ResolvableType} for a specific
+	 * type provider, sharing the resolution state of the given canonical type.
+	 */
+	private ResolvableType(ResolvableType canonicalType, TypeProvider typeProvider) {
+		this.type = canonicalType.type;
+		this.typeProvider = typeProvider;
+		this.variableResolver = canonicalType.variableResolver;
+		this.componentType = canonicalType.componentType;
+		this.hash = canonicalType.hash;
+		this.resolved = canonicalType.resolved;
+		this.canonicalType = canonicalType;
 	}
 
 
@@ -455,7 +488,8 @@ public class ResolvableType implements Serializable {
 		}
 		ResolvableType superType = this.superType;
 		if (superType == null) {
-			superType = forType(SerializableTypeWrapper.forGenericSuperclass(resolved), asVariableResolver());
+			superType = (this.canonicalType != null ? this.canonicalType.getSuperType() :
+					forType(SerializableTypeWrapper.forGenericSuperclass(resolved), asVariableResolver()));
 			this.superType = superType;
 		}
 		return superType;
@@ -474,7 +508,8 @@ public class ResolvableType implements Serializable {
 		}
 		ResolvableType[] interfaces = this.interfaces;
 		if (interfaces == null) {
-			interfaces = forTypes(SerializableTypeWrapper.forGenericInterfaces(resolved), asVariableResolver());
+			interfaces = (this.canonicalType != null ? this.canonicalType.getInterfaces() :
+					forTypes(SerializableTypeWrapper.forGenericInterfaces(resolved), asVariableResolver()));
 			this.interfaces = interfaces;
 		}
 		return interfaces;
@@ -673,7 +708,10 @@ public class ResolvableType implements Serializable {
 		}
 		ResolvableType[] generics = this.generics;
 		if (generics == null) {
-			if (this.type instanceof Class) {
+			if (this.canonicalType != null) {
+				generics = this.canonicalType.getGenerics();
+			}
+			else if (this.type instanceof Class) {
 				Class<?> typeClass = (Class<?>) this.type;
 				generics = forTypes(SerializableTypeWrapper.forTypeParameters(typeClass), this.variableResolver);
 			}
@@ -964,7 +1002,16 @@ public class ResolvableType implements Serializable {
 	 * @see #forClassWithGenerics(Class, Class...)
 	 */
 	public static ResolvableType forClass(@Nullable Class<?> clazz) {
-		return new ResolvableType(clazz);
+		Class<?> key = (clazz != null ? clazz : Object.class);
+		ResolvableType type = classCache.get(key);
+		if (type == null) {
+			type = new ResolvableType(key);
+			ResolvableType existing = classCache.putIfAbsent(key, type);
+			if (existing != null) {
+				type = existing;
+			}
+		}
+		return type;
 	}
 
 	/**
@@ -1084,7 +1131,7 @@ public class ResolvableType implements Serializable {
 	 */
 	public static ResolvableType forField(Field field) {
 		Assert.notNull(field, "Field must not be null");
-		return forType(null, new FieldTypeProvider(field), null);
+		return forMember(field, 0, null, new FieldTypeProvider(field));
 	}
 
 	/**
@@ -1099,8 +1146,7 @@ public class ResolvableType implements Serializable {
 	 */
 	public static ResolvableType forField(Field field, Class<?> implementationClass) {
 		Assert.notNull(field, "Field must not be null");
-		ResolvableType owner = forType(implementationClass).as(field.getDeclaringClass());
-		return forType(null, new FieldTypeProvider(field), owner.asVariableResolver());
+		return forMember(field, 0, implementationClass, new FieldTypeProvider(field));
 	}
 
 	/**
@@ -1130,7 +1176,7 @@ public class ResolvableType implements Serializable {
 	 */
 	public static ResolvableType forField(Field field, int nestingLevel) {
 		Assert.notNull(field, "Field must not be null");
-		return forType(null, new FieldTypeProvider(field), null).getNested(nestingLevel);
+		return forMember(field, 0, null, new FieldTypeProvider(field)).getNested(nestingLevel);
 	}
 
 	/**
@@ -1147,8 +1193,7 @@ public class ResolvableType implements Serializable {
 	 */
 	public static ResolvableType forField(Field field, int nestingLevel, @Nullable Class<?> implementationClass) {
 		Assert.notNull(field, "Field must not be null");
-		ResolvableType owner = forType(implementationClass).as(field.getDeclaringClass());
-		return forType(null, new FieldTypeProvider(field), owner.asVariableResolver()).getNested(nestingLevel);
+		return forMember(field, 0, implementationClass, new FieldTypeProvider(field)).getNested(nestingLevel);
 	}
 
 	/**
@@ -1264,8 +1309,9 @@ public class ResolvableType implements Serializable {
 			@Nullable ResolvableType implementationType) {
 
 		Assert.notNull(methodParameter, "MethodParameter must not be null");
-		implementationType = (implementationType != null ? implementationType :
-				forType(methodParameter.getContainingClass()));
+		if (implementationType == null) {
+			return forMethodParameter(methodParameter, (Type) null);
+		}
 		ResolvableType owner = implementationType.as(methodParameter.getDeclaringClass());
 		return forType(null, new MethodParameterTypeProvider(methodParameter), owner.asVariableResolver()).
 				getNested(methodParameter.getNestingLevel(), methodParameter.typeIndexesPerLevel);
@@ -1281,6 +1327,10 @@ public class ResolvableType implements Serializable {
 	 */
 	public static ResolvableType forMethodParameter(MethodParameter methodParameter, @Nullable Type targetType) {
 		Assert.notNull(methodParameter, "MethodParameter must not be null");
+		if (targetType == null) {
+			return forMethodParameterMember(methodParameter, new MethodParameterTypeProvider(methodParameter)).
+					getNested(methodParameter.getNestingLevel(), methodParameter.typeIndexesPerLevel);
+		}
 		ResolvableType owner = forType(methodParameter.getContainingClass()).as(methodParameter.getDeclaringClass());
 		return forType(targetType, new MethodParameterTypeProvider(methodParameter), owner.asVariableResolver()).
 				getNested(methodParameter.getNestingLevel(), methodParameter.typeIndexesPerLevel);
@@ -1294,9 +1344,77 @@ public class ResolvableType implements Serializable {
 	 */
 	static void resolveMethodParameter(MethodParameter methodParameter) {
 		Assert.notNull(methodParameter, "MethodParameter must not be null");
-		ResolvableType owner = forType(methodParameter.getContainingClass()).as(methodParameter.getDeclaringClass());
-		methodParameter.setParameterType(
-				forType(null, new MethodParameterTypeProvider(methodParameter), owner.asVariableResolver()).resolve());
+		methodParameter.setParameterType(forMethodParameterMember(methodParameter, null).resolve());
+	}
+
+	/**
+	 * Return a {@link ResolvableType} for the top-level type of the given {@link MethodParameter},
+	 * resolved against its containing class.
+	 * @param methodParameter the source method parameter
+	 * @param typeProvider the type provider to expose, or {@code null} to return the canonical type
+	 */
+	private static ResolvableType forMethodParameterMember(
+			MethodParameter methodParameter, @Nullable TypeProvider typeProvider) {
+
+		Executable executable = methodParameter.getExecutable();
+		int parameterIndex = methodParameter.getParameterIndex();
+		MemberKey key = new MemberKey(executable, parameterIndex, methodParameter.getContainingClass());
+		ResolvableType canonicalType = memberCache.get(key);
+		if (canonicalType == null) {
+			// Resolve against a private MethodParameter copy: the given one may be mutable
+			MethodParameter canonicalParameter = MethodParameter.forExecutable(executable, parameterIndex);
+			canonicalType = getCanonicalType(key, new MethodParameterTypeProvider(canonicalParameter));
+		}
+		if (canonicalType.typeProvider != null &&
+				!ObjectUtils.nullSafeEquals(canonicalType.typeProvider.getType(), methodParameter.getGenericParameterType())) {
+			// MethodParameter subclass exposing a custom generic parameter type
+			ResolvableType owner = forClass(key.implementationClass).as(methodParameter.getDeclaringClass());
+			return forType(null, (typeProvider != null ? typeProvider : new MethodParameterTypeProvider(methodParameter)),
+					owner.asVariableResolver());
+		}
+		return (typeProvider != null && canonicalType != NONE ?
+				new ResolvableType(canonicalType, typeProvider) : canonicalType);
+	}
+
+	/**
+	 * Return a {@link ResolvableType} for the given declaring member, sharing the
+	 * resolution state (resolved class, supertype, interfaces and generics) of a
+	 * canonical instance per member and implementation class.
+	 * @param member the declaring field, method or constructor
+	 * @param parameterIndex the parameter index (-1 for a method return type,
+	 * 0 for a field)
+	 * @param implementationClass the implementation class to resolve type variables
+	 * against, or {@code null} for none
+	 * @param typeProvider the type provider to expose
+	 * @return a {@link ResolvableType} for the given member
+	 */
+	private static ResolvableType forMember(Member member, int parameterIndex,
+			@Nullable Class<?> implementationClass, TypeProvider typeProvider) {
+
+		ResolvableType canonicalType =
+				getCanonicalType(new MemberKey(member, parameterIndex, implementationClass), typeProvider);
+		return (canonicalType != NONE ? new ResolvableType(canonicalType, typeProvider) : NONE);
+	}
+
+	/**
+	 * Return the canonical {@link ResolvableType} for the given member key,
+	 * creating it through the given type provider if necessary.
+	 */
+	private static ResolvableType getCanonicalType(MemberKey key, TypeProvider typeProvider) {
+		ResolvableType canonicalType = memberCache.get(key);
+		if (canonicalType == null) {
+			VariableResolver variableResolver = null;
+			if (key.implementationClass != null) {
+				variableResolver = forClass(key.implementationClass).as(
+						key.member.getDeclaringClass()).asVariableResolver();
+			}
+			canonicalType = forType(null, typeProvider, variableResolver);
+			ResolvableType existing = memberCache.putIfAbsent(key, canonicalType);
+			if (existing != null) {
+				canonicalType = existing;
+			}
+		}
+		return canonicalType;
 	}
 
 	/**
@@ -1387,9 +1505,12 @@ public class ResolvableType implements Serializable {
 			return NONE;
 		}
 
-		// For simple Class references, build the wrapper right away -
+		// For simple Class references, use the canonical wrapper or build it right away -
 		// no expensive resolution necessary, so not worth caching...
 		if (type instanceof Class) {
+			if (typeProvider == null && variableResolver == null) {
+				return forClass((Class<?>) type);
+			}
 			return new ResolvableType(type, typeProvider, variableResolver, (ResolvableType) null);
 		}
 
@@ -1413,6 +1534,8 @@ public class ResolvableType implements Serializable {
 	 */
 	public static void clearCache() {
 		cache.clear();
+		classCache.clear();
+		memberCache.clear();
 		SerializableTypeWrapper.cache.clear();
 	}
 
@@ -1485,6 +1608,44 @@ public class ResolvableType implements Serializable {
 	}
 
 
+	/**
+	 * Cache key for canonical member types.
+	 */
+	private static final class MemberKey {
+
+		private final Member member;
+
+		private final int parameterIndex;
+
+		@Nullable
+		private final Class<?> implementationClass;
+
+		public MemberKey(Member member, int parameterIndex, @Nullable Class<?> implementationClass) {
+			this.member = member;
+			this.parameterIndex = parameterIndex;
+			this.implementationClass = implementationClass;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof MemberKey)) {
+				return false;
+			}
+			MemberKey otherKey = (MemberKey) other;
+			return (this.member.equals(otherKey.member) && this.parameterIndex == otherKey.parameterIndex &&
+					this.implementationClass == otherKey.implementationClass);
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.member.hashCode() * 31 + this.parameterIndex);
+		}
+	}
+
+
 	private static final class SyntheticParameterizedType implements ParameterizedType, Serializable {
 
 		private final Type rawType;
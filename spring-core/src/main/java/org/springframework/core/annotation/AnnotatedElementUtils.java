@@ -18,6 +18,8 @@ package org.springframework.core.annotation;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -28,10 +30,12 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import org.springframework.core.BridgeMethodResolver;
 import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
@@ -86,6 +90,13 @@ import org.springframework.util.MultiValueMap;
  * search algorithm manually traverses type and method hierarchies and thereby
  * implicitly supports annotation inheritance without a need for {@code @Inherited}.
  *
+ * <h3>Caching</h3>
+ * <p>Merged annotations and merged annotation attributes found on classes and
+ * class members are cached, with each caller receiving a copy of any mutable
+ * result. Searches through annotation hierarchies skip meta-annotations which
+ * are known not to declare the annotation type that we're searching for.
+ * The caches may be reset through {@link AnnotationUtils#clearCache()}.
+ *
  * @author Phillip Webb
  * @author Juergen Hoeller
  * @author Sam Brannen
@@ -107,6 +118,21 @@ public class AnnotatedElementUtils {
 
 	private static final Processor<Boolean> alwaysTrueAnnotationProcessor = new AlwaysTrueBooleanAnnotationProcessor();
 
+	private static final int FIND_SEMANTICS = 1;
+
+	private static final int CLASS_VALUES_AS_STRING = 2;
+
+	private static final int NESTED_ANNOTATIONS_AS_MAP = 4;
+
+	private static final int SYNTHESIZED = 8;
+
+	private static final int ALL_ANNOTATIONS = 16;
+
+	private static final Object NOT_FOUND = new Object();
+
+	private static final Map<MergedAnnotationCacheKey, Object> mergedAnnotationCache =
+			new ConcurrentReferenceHashMap<>(256);
+
 
 	/**
 	 * Build an adapted {@link AnnotatedElement} for the given annotations,
@@ -301,10 +327,13 @@ public class AnnotatedElementUtils {
 	public static AnnotationAttributes getMergedAnnotationAttributes(
 			AnnotatedElement element, Class<? extends Annotation> annotationType) {
 
-		AnnotationAttributes attributes = searchWithGetSemantics(element, annotationType, null,
-				new MergedAnnotationAttributesProcessor());
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, false, false);
-		return attributes;
+		AnnotationAttributes attributes = getCachedResult(element, annotationType, 0, () -> {
+			AnnotationAttributes result = searchWithGetSemantics(element, annotationType, null,
+					new MergedAnnotationAttributesProcessor());
+			AnnotationUtils.postProcessAnnotationAttributes(element, result, false, false);
+			return result;
+		});
+		return copyAnnotationAttributes(attributes);
 	}
 
 	/**
@@ -360,10 +389,14 @@ public class AnnotatedElementUtils {
 	public static AnnotationAttributes getMergedAnnotationAttributes(AnnotatedElement element,
 			String annotationName, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 
-		AnnotationAttributes attributes = searchWithGetSemantics(element, null, annotationName,
-				new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
-		return attributes;
+		int searchFlags = getSearchFlags(classValuesAsString, nestedAnnotationsAsMap);
+		AnnotationAttributes attributes = getCachedResult(element, annotationName, searchFlags, () -> {
+			AnnotationAttributes result = searchWithGetSemantics(element, null, annotationName,
+					new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
+			AnnotationUtils.postProcessAnnotationAttributes(element, result, classValuesAsString, nestedAnnotationsAsMap);
+			return result;
+		});
+		return copyAnnotationAttributes(attributes);
 	}
 
 	/**
@@ -386,15 +419,17 @@ public class AnnotatedElementUtils {
 	 */
 	@Nullable
 	public static <A extends Annotation> A getMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
-		// Shortcut: directly present on the element, with no merging needed?
-		A annotation = element.getDeclaredAnnotation(annotationType);
-		if (annotation != null) {
-			return AnnotationUtils.synthesizeAnnotation(annotation, element);
-		}
+		return getCachedResult(element, annotationType, SYNTHESIZED, () -> {
+			// Shortcut: directly present on the element, with no merging needed?
+			A annotation = element.getDeclaredAnnotation(annotationType);
+			if (annotation != null) {
+				return AnnotationUtils.synthesizeAnnotation(annotation, element);
+			}
 
-		// Exhaustive retrieval of merged annotation attributes...
-		AnnotationAttributes attributes = getMergedAnnotationAttributes(element, annotationType);
-		return (attributes != null ? AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element) : null);
+			// Exhaustive retrieval of merged annotation attributes...
+			AnnotationAttributes attributes = getMergedAnnotationAttributes(element, annotationType);
+			return (attributes != null ? AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element) : null);
+		});
 	}
 
 	/**
@@ -418,9 +453,12 @@ public class AnnotatedElementUtils {
 	 * @see #findAllMergedAnnotations(AnnotatedElement, Class)
 	 */
 	public static <A extends Annotation> Set<A> getAllMergedAnnotations(AnnotatedElement element, Class<A> annotationType) {
-		MergedAnnotationAttributesProcessor processor = new MergedAnnotationAttributesProcessor(false, false, true);
-		searchWithGetSemantics(element, annotationType, null, processor);
-		return postProcessAndSynthesizeAggregatedResults(element, annotationType, processor.getAggregatedResults());
+		Set<A> annotations = getCachedResult(element, annotationType, SYNTHESIZED | ALL_ANNOTATIONS, () -> {
+			MergedAnnotationAttributesProcessor processor = new MergedAnnotationAttributesProcessor(false, false, true);
+			searchWithGetSemantics(element, annotationType, null, processor);
+			return postProcessAndSynthesizeAggregatedResults(element, annotationType, processor.getAggregatedResults());
+		});
+		return new LinkedHashSet<>(annotations);
 	}
 
 	/**
@@ -604,10 +642,14 @@ public class AnnotatedElementUtils {
 	public static AnnotationAttributes findMergedAnnotationAttributes(AnnotatedElement element,
 			Class<? extends Annotation> annotationType, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 
-		AnnotationAttributes attributes = searchWithFindSemantics(element, annotationType, null,
-				new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
-		return attributes;
+		int searchFlags = FIND_SEMANTICS | getSearchFlags(classValuesAsString, nestedAnnotationsAsMap);
+		AnnotationAttributes attributes = getCachedResult(element, annotationType, searchFlags, () -> {
+			AnnotationAttributes result = searchWithFindSemantics(element, annotationType, null,
+					new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
+			AnnotationUtils.postProcessAnnotationAttributes(element, result, classValuesAsString, nestedAnnotationsAsMap);
+			return result;
+		});
+		return copyAnnotationAttributes(attributes);
 	}
 
 	/**
@@ -641,10 +683,14 @@ public class AnnotatedElementUtils {
 	public static AnnotationAttributes findMergedAnnotationAttributes(AnnotatedElement element,
 			String annotationName, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 
-		AnnotationAttributes attributes = searchWithFindSemantics(element, null, annotationName,
-				new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
-		return attributes;
+		int searchFlags = FIND_SEMANTICS | getSearchFlags(classValuesAsString, nestedAnnotationsAsMap);
+		AnnotationAttributes attributes = getCachedResult(element, annotationName, searchFlags, () -> {
+			AnnotationAttributes result = searchWithFindSemantics(element, null, annotationName,
+					new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
+			AnnotationUtils.postProcessAnnotationAttributes(element, result, classValuesAsString, nestedAnnotationsAsMap);
+			return result;
+		});
+		return copyAnnotationAttributes(attributes);
 	}
 
 	/**
@@ -667,15 +713,17 @@ public class AnnotatedElementUtils {
 	 */
 	@Nullable
 	public static <A extends Annotation> A findMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
-		// Shortcut: directly present on the element, with no merging needed?
-		A annotation = element.getDeclaredAnnotation(annotationType);
-		if (annotation != null) {
-			return AnnotationUtils.synthesizeAnnotation(annotation, element);
-		}
+		return getCachedResult(element, annotationType, FIND_SEMANTICS | SYNTHESIZED, () -> {
+			// Shortcut: directly present on the element, with no merging needed?
+			A annotation = element.getDeclaredAnnotation(annotationType);
+			if (annotation != null) {
+				return AnnotationUtils.synthesizeAnnotation(annotation, element);
+			}
 
-		// Exhaustive retrieval of merged annotation attributes...
-		AnnotationAttributes attributes = findMergedAnnotationAttributes(element, annotationType, false, false);
-		return (attributes != null ? AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element) : null);
+			// Exhaustive retrieval of merged annotation attributes...
+			AnnotationAttributes attributes = findMergedAnnotationAttributes(element, annotationType, false, false);
+			return (attributes != null ? AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element) : null);
+		});
 	}
 
 	/**
@@ -698,9 +746,13 @@ public class AnnotatedElementUtils {
 	 * @see #getAllMergedAnnotations(AnnotatedElement, Class)
 	 */
 	public static <A extends Annotation> Set<A> findAllMergedAnnotations(AnnotatedElement element, Class<A> annotationType) {
-		MergedAnnotationAttributesProcessor processor = new MergedAnnotationAttributesProcessor(false, false, true);
-		searchWithFindSemantics(element, annotationType, null, processor);
-		return postProcessAndSynthesizeAggregatedResults(element, annotationType, processor.getAggregatedResults());
+		int searchFlags = FIND_SEMANTICS | SYNTHESIZED | ALL_ANNOTATIONS;
+		Set<A> annotations = getCachedResult(element, annotationType, searchFlags, () -> {
+			MergedAnnotationAttributesProcessor processor = new MergedAnnotationAttributesProcessor(false, false, true);
+			searchWithFindSemantics(element, annotationType, null, processor);
+			return postProcessAndSynthesizeAggregatedResults(element, annotationType, processor.getAggregatedResults());
+		});
+		return new LinkedHashSet<>(annotations);
 	}
 
 	/**
@@ -943,7 +995,8 @@ public class AnnotatedElementUtils {
 		// Recursively search in meta-annotations
 		for (Annotation annotation : annotations) {
 			Class<? extends Annotation> currentAnnotationType = annotation.annotationType();
-			if (hasSearchableMetaAnnotations(currentAnnotationType, annotationType, annotationName)) {
+			if (hasSearchableMetaAnnotations(currentAnnotationType, annotationType, annotationName,
+					containerType, processor)) {
 				T result = searchWithGetSemantics(currentAnnotationType, annotationType,
 						annotationName, containerType, processor, visited, metaDepth + 1);
 				if (result != null) {
@@ -1080,7 +1133,8 @@ public class AnnotatedElementUtils {
 					// Recursively search in meta-annotations
 					for (Annotation annotation : annotations) {
 						Class<? extends Annotation> currentAnnotationType = annotation.annotationType();
-						if (hasSearchableMetaAnnotations(currentAnnotationType, annotationType, annotationName)) {
+						if (hasSearchableMetaAnnotations(currentAnnotationType, annotationType, annotationName,
+								containerType, processor)) {
 							T result = searchWithFindSemantics(currentAnnotationType, annotationType, annotationName,
 									containerType, processor, visited, metaDepth + 1);
 							if (result != null) {
@@ -1209,10 +1263,13 @@ public class AnnotatedElementUtils {
 	/**
 	 * Determine whether the current annotation type is generally expected to have
 	 * meta-annotations of the specified annotation type that we're searching for,
-	 * explicitly excluding some common cases that would never deliver any results.
+	 * explicitly excluding some common cases that would never deliver any results
+	 * as well as annotation hierarchies known not to contain the annotation type
+	 * (or its repeatable container type) unless the processor processes all annotations.
 	 */
 	private static boolean hasSearchableMetaAnnotations(Class<? extends Annotation> currentAnnotationType,
-			@Nullable Class<?> annotationType, @Nullable String annotationName) {
+			@Nullable Class<?> annotationType, @Nullable String annotationName,
+			@Nullable Class<?> containerType, Processor<?> processor) {
 
 		if (AnnotationUtils.isInJavaLangAnnotationPackage(currentAnnotationType)) {
 			return false;
@@ -1223,7 +1280,13 @@ public class AnnotatedElementUtils {
 			return ((annotationType != null && annotationType.getName().startsWith("java")) ||
 					(annotationName != null && annotationName.startsWith("java")));
 		}
-		return true;
+		if (processor.alwaysProcesses() || (annotationType == null && annotationName == null)) {
+			return true;
+		}
+		Set<String> metaAnnotationTypes = AnnotationUtils.getMetaAnnotationTypeNames(currentAnnotationType);
+		return (metaAnnotationTypes == null ||
+				metaAnnotationTypes.contains(annotationType != null ? annotationType.getName() : annotationName) ||
+				(containerType != null && metaAnnotationTypes.contains(containerType.getName())));
 	}
 
 	/**
@@ -1307,6 +1370,123 @@ public class AnnotatedElementUtils {
 		return annotations;
 	}
 
+	private static int getSearchFlags(boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
+		return ((classValuesAsString ? CLASS_VALUES_AS_STRING : 0) |
+				(nestedAnnotationsAsMap ? NESTED_ANNOTATIONS_AS_MAP : 0));
+	}
+
+	/**
+	 * Obtain the result of the given search from the merged annotation cache,
+	 * performing the search if necessary. Only searches on classes and class
+	 * members are cached, since other annotated elements are typically transient.
+	 * @param element the annotated element
+	 * @param annotationType the annotation type (or its name) to search for
+	 * @param searchFlags the search flags, identifying the kind of search
+	 * @param search the actual search to perform
+	 * @return the search result (potentially {@code null})
+	 * @since 5.0.12
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private static <T> T getCachedResult(AnnotatedElement element, Object annotationType, int searchFlags,
+			Supplier<T> search) {
+
+		if (!(element instanceof Class || element instanceof Member)) {
+			return search.get();
+		}
+		MergedAnnotationCacheKey cacheKey = new MergedAnnotationCacheKey(element, annotationType, searchFlags);
+		Object result = mergedAnnotationCache.get(cacheKey);
+		if (result == null) {
+			result = search.get();
+			mergedAnnotationCache.put(cacheKey, (result != null ? result : NOT_FOUND));
+		}
+		return (result != NOT_FOUND ? (T) result : null);
+	}
+
+	/**
+	 * Create a copy of the given (cached) merged annotation attributes,
+	 * including nested attributes and array values.
+	 */
+	@Nullable
+	private static AnnotationAttributes copyAnnotationAttributes(@Nullable AnnotationAttributes attributes) {
+		if (attributes == null) {
+			return null;
+		}
+		AnnotationAttributes copy = new AnnotationAttributes(attributes);
+		for (Map.Entry<String, Object> entry : copy.entrySet()) {
+			entry.setValue(copyAttributeValue(entry.getValue()));
+		}
+		return copy;
+	}
+
+	private static Object copyAttributeValue(Object value) {
+		if (value instanceof AnnotationAttributes) {
+			return copyAnnotationAttributes((AnnotationAttributes) value);
+		}
+		if (value.getClass().isArray()) {
+			int length = Array.getLength(value);
+			Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+			for (int i = 0; i < length; i++) {
+				Object element = Array.get(value, i);
+				Array.set(copy, i, (element instanceof AnnotationAttributes ?
+						copyAnnotationAttributes((AnnotationAttributes) element) : element));
+			}
+			return copy;
+		}
+		return value;
+	}
+
+	/**
+	 * Clear the internal merged annotation cache.
+	 * @since 5.0.12
+	 * @see AnnotationUtils#clearCache()
+	 */
+	static void clearCache() {
+		mergedAnnotationCache.clear();
+	}
+
+
+	/**
+	 * Cache key for the merged annotation cache.
+	 */
+	private static final class MergedAnnotationCacheKey {
+
+		private final AnnotatedElement element;
+
+		private final Object annotationType;
+
+		private final int searchFlags;
+
+		public MergedAnnotationCacheKey(AnnotatedElement element, Object annotationType, int searchFlags) {
+			this.element = element;
+			this.annotationType = annotationType;
+			this.searchFlags = searchFlags;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof MergedAnnotationCacheKey)) {
+				return false;
+			}
+			MergedAnnotationCacheKey otherKey = (MergedAnnotationCacheKey) other;
+			return (this.element.equals(otherKey.element) && this.annotationType.equals(otherKey.annotationType) &&
+					this.searchFlags == otherKey.searchFlags);
+		}
+
+		@Override
+		public int hashCode() {
+			return ((this.element.hashCode() * 29 + this.annotationType.hashCode()) * 29 + this.searchFlags);
+		}
+
+		@Override
+		public String toString() {
+			return "@" + this.annotationType + " on " + this.element + " [" + this.searchFlags + "]";
+		}
+	}
+
 
 	/**
 	 * Callback interface that is used to process annotations during a search.
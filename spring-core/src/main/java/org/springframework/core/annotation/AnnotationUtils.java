@@ -143,6 +143,9 @@ public abstract class AnnotationUtils {
 	private static final Map<Method, AliasDescriptor> aliasDescriptorCache =
 			new ConcurrentReferenceHashMap<>(256);
 
+	private static final Map<Class<? extends Annotation>, Set<String>> metaAnnotationTypesCache =
+			new ConcurrentReferenceHashMap<>(256);
+
 	@Nullable
 	private static transient Log logger;
 
@@ -663,6 +666,48 @@ public abstract class AnnotationUtils {
 		return annotatedMethods;
 	}
 
+	/**
+	 * Determine the names of all annotation types declared as meta-annotations
+	 * within the annotation hierarchy above the given annotation type, excluding
+	 * the core JDK {@code java.lang.annotation} types.
+	 * @param annotationType the annotation type to introspect
+	 * @return the cached set of meta-annotation type names, or {@code null}
+	 * if the annotation hierarchy could not be fully introspected
+	 * @since 5.0.12
+	 */
+	@Nullable
+	static Set<String> getMetaAnnotationTypeNames(Class<? extends Annotation> annotationType) {
+		Set<String> metaAnnotationTypes = metaAnnotationTypesCache.get(annotationType);
+		if (metaAnnotationTypes != null) {
+			return metaAnnotationTypes;
+		}
+		metaAnnotationTypes = new HashSet<>();
+		try {
+			collectMetaAnnotationTypeNames(annotationType, metaAnnotationTypes, new HashSet<>());
+		}
+		catch (Throwable ex) {
+			handleIntrospectionFailure(annotationType, ex);
+			return null;
+		}
+		metaAnnotationTypes = Collections.unmodifiableSet(metaAnnotationTypes);
+		metaAnnotationTypesCache.put(annotationType, metaAnnotationTypes);
+		return metaAnnotationTypes;
+	}
+
+	private static void collectMetaAnnotationTypeNames(Class<? extends Annotation> annotationType,
+			Set<String> metaAnnotationTypes, Set<Class<?>> visited) {
+
+		if (visited.add(annotationType)) {
+			for (Annotation metaAnnotation : annotationType.getDeclaredAnnotations()) {
+				Class<? extends Annotation> metaAnnotationType = metaAnnotation.annotationType();
+				if (!isInJavaLangAnnotationPackage(metaAnnotationType)) {
+					metaAnnotationTypes.add(metaAnnotationType.getName());
+					collectMetaAnnotationTypeNames(metaAnnotationType, metaAnnotationTypes, visited);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Determine whether the specified method has searchable annotations,
 	 * i.e. not just {@code java.lang} or {@code org.springframework.lang}
@@ -1962,6 +2007,8 @@ public abstract class AnnotationUtils {
 		attributeAliasesCache.clear();
 		attributeMethodsCache.clear();
 		aliasDescriptorCache.clear();
+		metaAnnotationTypesCache.clear();
+		AnnotatedElementUtils.clearCache();
 	}
 
 
@@ -0,0 +1,412 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Extension of {@link DefaultDataBufferFactory} that recycles the memory of
+ * released buffers. Allocated buffers implement {@link PooledDataBuffer} and
+ * return their underlying {@link ByteBuffer} to the pool once their reference
+ * count drops to zero, e.g. through {@link DataBufferUtils#release(DataBuffer)}.
+ *
+ * <p>Memory is organized in power-of-two size classes from 64 bytes up to a
+ * maximum pooled capacity (64 KB by default); larger buffers are allocated
+ * without pooling. For each size class, released buffers are kept in a bounded
+ * arena shared across threads and owned by this factory, so that pooled memory
+ * becomes eligible for garbage collection along with the factory. Buffers that
+ * do not fit into the arena are left to the garbage collector.
+ *
+ * <p>Pooling is strictly opt-in: this factory is primarily intended for runtimes
+ * without Netty's pooled allocator, e.g. to be set explicitly on the
+ * {@code ServletHttpHandlerAdapter} or the {@code UndertowHttpHandlerAdapter} in
+ * {@code spring-web}, where it also applies to the buffers allocated by
+ * {@link org.springframework.core.codec.Encoder encoders} writing to the response.
+ *
+ * <p><strong>Note:</strong> unlike with {@link DefaultDataBufferFactory}, where
+ * releasing a buffer has no effect, a buffer must not be accessed after it has
+ * been released, since its memory may be handed out to another buffer at that
+ * point. Code that reads a buffer after passing it to
+ * {@link DataBufferUtils#release(DataBuffer)} silently reads recycled data.
+ * The {@link #setDebug debug mode} helps to detect such code in tests.
+ *
+ * @since 5.0.12
+ * @see NettyDataBufferFactory
+ */
+public class PooledDataBufferFactory extends DefaultDataBufferFactory {
+
+	/**
+	 * The default capacity of the largest pooled size class.
+	 * @see #PooledDataBufferFactory(boolean, int, int)
+	 */
+	public static final int DEFAULT_MAX_POOLED_CAPACITY = 64 * 1024;
+
+	/**
+	 * The default number of buffers kept per size class in the shared arena.
+	 * @see #PooledDataBufferFactory(boolean, int, int)
+	 */
+	public static final int DEFAULT_ARENA_SIZE = 64;
+
+	/**
+	 * The value that released memory is overwritten with in debug mode.
+	 * @see #setDebug
+	 */
+	public static final byte POISON = (byte) 0xDE;
+
+	private static final int MIN_POOLED_CAPACITY = 64;
+
+	private static final int MIN_POOLED_CAPACITY_SHIFT = Integer.numberOfTrailingZeros(MIN_POOLED_CAPACITY);
+
+
+	private final boolean preferDirect;
+
+	private final int maxPooledCapacity;
+
+	private final List<BlockingQueue<ByteBuffer>> arenas;
+
+	private volatile boolean debug;
+
+	private final AtomicInteger outstandingBufferCount = new AtomicInteger();
+
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory} with default settings.
+	 */
+	public PooledDataBufferFactory() {
+		this(false);
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory}, indicating whether direct
+	 * buffers should be pooled.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 */
+	public PooledDataBufferFactory(boolean preferDirect) {
+		this(preferDirect, DEFAULT_MAX_POOLED_CAPACITY, DEFAULT_ARENA_SIZE);
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory} with the given pool settings.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 * @param maxPooledCapacity the capacity of the largest size class, which must
+	 * be a power of two of at least 64; larger buffers are not pooled
+	 * @param arenaSize the maximum number of buffers kept per size class in the
+	 * pool shared across threads
+	 */
+	public PooledDataBufferFactory(boolean preferDirect, int maxPooledCapacity, int arenaSize) {
+		super(preferDirect);
+		Assert.isTrue(maxPooledCapacity >= MIN_POOLED_CAPACITY && Integer.bitCount(maxPooledCapacity) == 1,
+				"'maxPooledCapacity' must be a power of two larger than or equal to " + MIN_POOLED_CAPACITY);
+		Assert.isTrue(arenaSize > 0, "'arenaSize' must be larger than 0");
+		this.preferDirect = preferDirect;
+		this.maxPooledCapacity = maxPooledCapacity;
+		int sizeClassCount = sizeClassIndex(maxPooledCapacity) + 1;
+		this.arenas = new ArrayList<>(sizeClassCount);
+		for (int i = 0; i < sizeClassCount; i++) {
+			this.arenas.add(new ArrayBlockingQueue<>(arenaSize));
+		}
+	}
+
+
+	/**
+	 * Enable or disable debug mode, meant for tests. In debug mode, released
+	 * memory is overwritten with {@link #POISON} so that access after release
+	 * becomes apparent, and buffers allocated are counted until their release,
+	 * see {@link #getOutstandingBufferCount()}.
+	 * <p>By default this is set to {@code false}.
+	 */
+	public void setDebug(boolean debug) {
+		this.debug = debug;
+	}
+
+	/**
+	 * Whether debug mode is enabled.
+	 */
+	public boolean isDebug() {
+		return this.debug;
+	}
+
+	/**
+	 * Return the number of buffers allocated in {@link #setDebug debug mode} that
+	 * have not been released yet, e.g. to detect leaks at the end of a test.
+	 */
+	public int getOutstandingBufferCount() {
+		return this.outstandingBufferCount.get();
+	}
+
+
+	@Override
+	public DefaultDataBuffer allocateBuffer(int initialCapacity) {
+		ByteBuffer segment = acquire(initialCapacity);
+		ByteBuffer byteBuffer = (segment != null ? segment : allocateUnpooled(initialCapacity));
+		boolean tracked = this.debug;
+		if (tracked) {
+			this.outstandingBufferCount.incrementAndGet();
+		}
+		return new PooledByteBufferDataBuffer(this, segment, byteBuffer, tracked);
+	}
+
+	/**
+	 * Take a memory segment of the size class for the given capacity from the pool,
+	 * limited to that capacity, or return {@code null} if the capacity exceeds the
+	 * largest size class.
+	 */
+	@Nullable
+	private ByteBuffer acquire(int capacity) {
+		if (capacity > this.maxPooledCapacity) {
+			return null;
+		}
+		int index = sizeClassIndex(capacity);
+		ByteBuffer segment = this.arenas.get(index).poll();
+		if (segment == null) {
+			segment = allocateUnpooled(MIN_POOLED_CAPACITY << index);
+		}
+		((Buffer) segment).clear().limit(capacity);
+		return segment;
+	}
+
+	/**
+	 * Return the given memory segment to the pool.
+	 */
+	private void release(ByteBuffer segment) {
+		if (this.debug) {
+			poison(segment);
+		}
+		this.arenas.get(sizeClassIndex(segment.capacity())).offer(segment);
+	}
+
+	/**
+	 * Callback from a buffer once its reference count has dropped to zero.
+	 */
+	private void released(PooledByteBufferDataBuffer dataBuffer) {
+		ByteBuffer segment = dataBuffer.segment;
+		dataBuffer.segment = null;
+		List<ByteBuffer> retiredSegments = dataBuffer.retiredSegments;
+		dataBuffer.retiredSegments = null;
+		if (retiredSegments != null) {
+			retiredSegments.forEach(this::release);
+		}
+		if (segment != null) {
+			release(segment);
+		}
+		else if (this.debug) {
+			poison(dataBuffer.getNativeBuffer().duplicate());
+		}
+		if (dataBuffer.tracked) {
+			this.outstandingBufferCount.decrementAndGet();
+		}
+	}
+
+	private static void poison(ByteBuffer byteBuffer) {
+		((Buffer) byteBuffer).clear();
+		for (int i = 0; i < byteBuffer.capacity(); i++) {
+			byteBuffer.put(i, POISON);
+		}
+	}
+
+	private ByteBuffer allocateUnpooled(int capacity) {
+		return (this.preferDirect ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
+	}
+
+	private static int sizeClassIndex(int capacity) {
+		if (capacity <= MIN_POOLED_CAPACITY) {
+			return 0;
+		}
+		return (Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1)) - MIN_POOLED_CAPACITY_SHIFT;
+	}
+
+
+	@Override
+	public String toString() {
+		return "PooledDataBufferFactory (preferDirect=" + this.preferDirect +
+				", maxPooledCapacity=" + this.maxPooledCapacity + ")";
+	}
+
+
+	private static InputStream releasingInputStream(InputStream inputStream, PooledDataBuffer dataBuffer) {
+		return new FilterInputStream(inputStream) {
+			private boolean closed;
+			@Override
+			public void close() throws IOException {
+				if (!this.closed) {
+					this.closed = true;
+					dataBuffer.release();
+				}
+			}
+		};
+	}
+
+
+	/**
+	 * {@link DefaultDataBuffer} backed by a memory segment of the pool, if any,
+	 * which is returned to the pool once the reference count drops to zero.
+	 */
+	private static class PooledByteBufferDataBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+		private final PooledDataBufferFactory pool;
+
+		@Nullable
+		private ByteBuffer segment;
+
+		private final boolean tracked;
+
+		private final AtomicInteger refCount = new AtomicInteger(1);
+
+		private volatile boolean sliced;
+
+		/** Segments replaced while slices were around, released along with this buffer */
+		@Nullable
+		private List<ByteBuffer> retiredSegments;
+
+		PooledByteBufferDataBuffer(PooledDataBufferFactory pool, @Nullable ByteBuffer segment,
+				ByteBuffer byteBuffer, boolean tracked) {
+
+			super(pool, byteBuffer);
+			this.pool = pool;
+			this.segment = segment;
+			this.tracked = tracked;
+		}
+
+		@Override
+		ByteBuffer allocate(int capacity, boolean direct) {
+			ByteBuffer segment = this.pool.acquire(capacity);
+			this.segment = segment;
+			return (segment != null ? segment.slice() : super.allocate(capacity, direct));
+		}
+
+		@Override
+		public DefaultDataBuffer capacity(int newCapacity) {
+			ByteBuffer oldSegment = this.segment;
+			super.capacity(newCapacity);
+			if (oldSegment != null && oldSegment != this.segment) {
+				if (this.sliced) {
+					// Slices still wrap the old segment: keep it until the shared reference count drops to zero
+					if (this.retiredSegments == null) {
+						this.retiredSegments = new ArrayList<>(2);
+					}
+					this.retiredSegments.add(oldSegment);
+				}
+				else {
+					this.pool.release(oldSegment);
+				}
+			}
+			return this;
+		}
+
+		@Override
+		public DefaultDataBuffer slice(int index, int length) {
+			this.sliced = true;
+			return new SlicedPooledDataBuffer(this, super.slice(index, length).getNativeBuffer(), length);
+		}
+
+		@Override
+		public InputStream asInputStream(boolean releaseOnClose) {
+			InputStream inputStream = super.asInputStream(releaseOnClose);
+			return (releaseOnClose ? releasingInputStream(inputStream, this) : inputStream);
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			int refCount;
+			do {
+				refCount = this.refCount.get();
+				if (refCount <= 0) {
+					throw new IllegalStateException("Cannot retain released data buffer");
+				}
+			}
+			while (!this.refCount.compareAndSet(refCount, refCount + 1));
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			int refCount;
+			do {
+				refCount = this.refCount.get();
+				if (refCount <= 0) {
+					throw new IllegalStateException("Data buffer has already been released");
+				}
+			}
+			while (!this.refCount.compareAndSet(refCount, refCount - 1));
+			if (refCount > 1) {
+				return false;
+			}
+			this.pool.released(this);
+			return true;
+		}
+	}
+
+
+	/**
+	 * Slice of a {@link PooledByteBufferDataBuffer}, sharing its memory
+	 * as well as its reference count. The memory stays valid until the
+	 * reference count drops to zero, even if the parent buffer grows in
+	 * the meantime.
+	 */
+	private static class SlicedPooledDataBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+		private final PooledByteBufferDataBuffer parent;
+
+		SlicedPooledDataBuffer(PooledByteBufferDataBuffer parent, ByteBuffer byteBuffer, int length) {
+			super(parent.pool, byteBuffer);
+			this.parent = parent;
+			writePosition(length);
+		}
+
+		@Override
+		public DefaultDataBuffer capacity(int newCapacity) {
+			throw new UnsupportedOperationException("Changing the capacity of a sliced buffer is not supported");
+		}
+
+		@Override
+		public DefaultDataBuffer slice(int index, int length) {
+			return new SlicedPooledDataBuffer(this.parent, super.slice(index, length).getNativeBuffer(), length);
+		}
+
+		@Override
+		public InputStream asInputStream(boolean releaseOnClose) {
+			InputStream inputStream = super.asInputStream(releaseOnClose);
+			return (releaseOnClose ? releasingInputStream(inputStream, this) : inputStream);
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			this.parent.retain();
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			return this.parent.release();
+		}
+	}
+
+}
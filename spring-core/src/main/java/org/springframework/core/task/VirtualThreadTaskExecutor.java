@@ -0,0 +1,124 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link SimpleAsyncTaskExecutor} variant that fires up a new virtual thread
+ * for each task, as available on Java 21 and higher. Since virtual threads are
+ * cheap to create and do not hold on to an OS thread while blocked, e.g. on
+ * JDBC or other I/O calls, there is no need to pool them.
+ *
+ * <p>Thread names are derived from the "threadNamePrefix" as usual, whereas the
+ * thread priority, daemon flag and thread group settings do not apply to virtual
+ * threads. Concurrency is unlimited by default but may be limited through the
+ * "concurrencyLimit" bean property, e.g. to protect a downstream resource.
+ *
+ * <p>This executor may also serve as a {@link ThreadFactory}, e.g. for the
+ * worker threads of a {@code ThreadPoolTaskScheduler} running {@code @Scheduled}
+ * methods, or be set as the executor for {@code @Async} methods and for
+ * asynchronous request processing in Spring MVC.
+ *
+ * @since 5.0.12
+ * @see #setConcurrencyLimit
+ * @see #setTaskDecorator
+ */
+@SuppressWarnings("serial")
+public class VirtualThreadTaskExecutor extends SimpleAsyncTaskExecutor implements ThreadFactory {
+
+	private static final String NOT_SUPPORTED_MESSAGE =
+			"Virtual threads not supported on this JVM: Java 21 or higher required";
+
+	@Nullable
+	private static final ThreadFactory virtualThreadFactory = createVirtualThreadFactory();
+
+
+	/**
+	 * Create a new VirtualThreadTaskExecutor with default thread name prefix.
+	 * @throws IllegalStateException if virtual threads are not supported
+	 * on the current JVM
+	 */
+	public VirtualThreadTaskExecutor() {
+		Assert.state(isVirtualThreadsSupported(), NOT_SUPPORTED_MESSAGE);
+	}
+
+	/**
+	 * Create a new VirtualThreadTaskExecutor with the given thread name prefix.
+	 * @param threadNamePrefix the prefix to use for the names of newly created threads
+	 * @throws IllegalStateException if virtual threads are not supported
+	 * on the current JVM
+	 */
+	public VirtualThreadTaskExecutor(String threadNamePrefix) {
+		super(threadNamePrefix);
+		Assert.state(isVirtualThreadsSupported(), NOT_SUPPORTED_MESSAGE);
+	}
+
+
+	/**
+	 * Create a new virtual thread for the given task, named according to the
+	 * "threadNamePrefix" of this executor.
+	 * @see #nextThreadName()
+	 */
+	@Override
+	public Thread newThread(Runnable runnable) {
+		return createThread(runnable);
+	}
+
+	@Override
+	public Thread createThread(Runnable runnable) {
+		Thread thread = getVirtualThreadFactory().newThread(runnable);
+		thread.setName(nextThreadName());
+		return thread;
+	}
+
+
+	/**
+	 * Return whether virtual threads are supported on the current JVM.
+	 */
+	public static boolean isVirtualThreadsSupported() {
+		return (virtualThreadFactory != null);
+	}
+
+	private static ThreadFactory getVirtualThreadFactory() {
+		Assert.state(virtualThreadFactory != null, NOT_SUPPORTED_MESSAGE);
+		return virtualThreadFactory;
+	}
+
+	@Nullable
+	private static ThreadFactory createVirtualThreadFactory() {
+		Method ofVirtual = ClassUtils.getMethodIfAvailable(Thread.class, "ofVirtual");
+		if (ofVirtual == null) {
+			return null;
+		}
+		try {
+			Object builder = ofVirtual.invoke(null);
+			Method factory = ClassUtils.getMethod(ofVirtual.getReturnType(), "factory");
+			return (ThreadFactory) factory.invoke(builder);
+		}
+		catch (Throwable ex) {
+			// Virtual threads present as a preview feature but not enabled
+			return null;
+		}
+	}
+
+}
@@ -1252,6 +1252,70 @@ public class ResolvableTypeTests {
 		assertThat(deserializedNone, sameInstance(ResolvableType.NONE));
 	}
 
+	@Test
+	public void forFieldSharesResolvedGenerics() throws Exception {
+		Field field = Fields.class.getField("stringList");
+		ResolvableType type1 = ResolvableType.forField(field);
+		ResolvableType type2 = ResolvableType.forField(field);
+		assertEquals(type1, type2);
+		assertSame(type1.getGeneric(), type2.getGeneric());
+		assertSame(type1.getSuperType(), type2.getSuperType());
+		assertEquals(String.class, type2.getGeneric().resolve());
+	}
+
+	@Test
+	public void forFieldWithImplementationClassSharesResolvedGenerics() throws Exception {
+		Field field = Fields.class.getField("parameterizedType");
+		ResolvableType type1 = ResolvableType.forField(field, TypedFields.class);
+		ResolvableType type2 = ResolvableType.forField(field, TypedFields.class);
+		assertSame(type1.getGeneric(), type2.getGeneric());
+		assertEquals(String.class, type1.getGeneric().resolve());
+		assertNull(ResolvableType.forField(field, Fields.class).getGeneric().resolve());
+	}
+
+	@Test
+	public void forMethodParameterSharesResolvedGenericsAndKeepsSource() throws Exception {
+		Method method = Methods.class.getMethod("charSequenceParameter", List.class);
+		MethodParameter methodParameter1 = new MethodParameter(method, 0);
+		MethodParameter methodParameter2 = new MethodParameter(method, 0);
+		ResolvableType type1 = ResolvableType.forMethodParameter(methodParameter1);
+		ResolvableType type2 = ResolvableType.forMethodParameter(methodParameter2);
+		assertSame(methodParameter1, type1.getSource());
+		assertSame(methodParameter2, type2.getSource());
+		assertSame(type1.getGeneric(), type2.getGeneric());
+		assertEquals(CharSequence.class, type2.getGeneric().resolve());
+	}
+
+	@Test
+	public void forMethodParameterWithCustomGenericParameterType() throws Exception {
+		Method method = Methods.class.getMethod("charSequenceParameter", List.class);
+		ResolvableType.forMethodParameter(new MethodParameter(method, 0));
+		MethodParameter methodParameter = new MethodParameter(method, 0) {
+			@Override
+			public Type getGenericParameterType() {
+				return ResolvableType.forClassWithGenerics(List.class, String.class).getType();
+			}
+		};
+		ResolvableType type = ResolvableType.forMethodParameter(methodParameter);
+		assertSame(methodParameter, type.getSource());
+		assertEquals(String.class, type.getGeneric().resolve());
+	}
+
+	@Test
+	public void forClassIsCanonical() throws Exception {
+		assertSame(ResolvableType.forClass(ExtendsList.class), ResolvableType.forClass(ExtendsList.class));
+		assertSame(ResolvableType.forClass(ExtendsList.class).getSuperType(),
+				ResolvableType.forType(ExtendsList.class).getSuperType());
+	}
+
+	@Test
+	public void serializeSharedType() throws Exception {
+		Field field = Fields.class.getField("charSequenceList");
+		ResolvableType.forField(field);
+		ResolvableType deserialized = testSerialization(ResolvableType.forField(field));
+		assertEquals(CharSequence.class, deserialized.getGeneric().resolve());
+	}
+
 	@Test
 	public void canResolveVoid() throws Exception {
 		ResolvableType type = ResolvableType.forClass(void.class);
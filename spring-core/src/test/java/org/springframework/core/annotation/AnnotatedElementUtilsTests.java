@@ -643,6 +643,43 @@ public class AnnotatedElementUtilsTests {
 		assertEquals("TX qualifier via synthesized annotation.", "aliasForQualifier", annotation.qualifier());
 	}
 
+	@Test
+	public void findMergedAnnotationIsCached() {
+		Class<?> element = AliasedTransactionalComponentClass.class;
+		AliasedTransactional annotation = findMergedAnnotation(element, AliasedTransactional.class);
+		assertSame(annotation, findMergedAnnotation(element, AliasedTransactional.class));
+
+		AnnotationUtils.clearCache();
+		AliasedTransactional recreated = findMergedAnnotation(element, AliasedTransactional.class);
+		assertNotSame(annotation, recreated);
+		assertEquals(annotation, recreated);
+	}
+
+	@Test
+	public void findMergedAnnotationAttributesReturnsIndependentCopies() {
+		AnnotationAttributes attributes = AnnotatedElementUtils.findMergedAnnotationAttributes(
+				TestComponentScanClass.class, ComponentScan.class, false, true);
+		attributes.getStringArray("value")[0] = "modified";
+		attributes.getAnnotationArray("excludeFilters")[0].put("pattern", "modified");
+		attributes.remove("basePackages");
+
+		attributes = AnnotatedElementUtils.findMergedAnnotationAttributes(
+				TestComponentScanClass.class, ComponentScan.class, false, true);
+		assertArrayEquals(new String[] {"com.example.app.test"}, attributes.getStringArray("value"));
+		assertArrayEquals(new String[] {"com.example.app.test"}, attributes.getStringArray("basePackages"));
+		assertEquals("*Test", attributes.getAnnotationArray("excludeFilters")[0].getString("pattern"));
+	}
+
+	@Test
+	public void getMetaAnnotationTypeNamesForComposedAnnotation() {
+		Set<String> names = AnnotationUtils.getMetaAnnotationTypeNames(TransactionalComponent.class);
+		assertEquals(3, names.size());
+		assertTrue(names.contains(TX_NAME));
+		assertTrue(names.contains(Component.class.getName()));
+		assertTrue(names.contains(Indexed.class.getName()));
+		assertTrue(AnnotationUtils.getMetaAnnotationTypeNames(Transactional.class).isEmpty());
+	}
+
 	@Test
 	public void findMergedAnnotationForMultipleMetaAnnotationsWithClashingAttributeNames() {
 		String[] xmlLocations = asArray("test.xml");
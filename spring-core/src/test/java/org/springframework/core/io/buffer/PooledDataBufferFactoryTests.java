@@ -0,0 +1,225 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link PooledDataBufferFactory}.
+ */
+public class PooledDataBufferFactoryTests {
+
+	private final PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory(false, 1024, 2);
+
+
+	@Test
+	public void allocatePooledBuffer() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+
+		assertTrue(buffer instanceof PooledDataBuffer);
+		assertEquals(100, buffer.capacity());
+		assertEquals(0, buffer.readableByteCount());
+		release(buffer);
+	}
+
+	@Test
+	public void reuseReleasedMemory() {
+		DefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		byte[] memory = buffer.getNativeBuffer().array();
+		release(buffer);
+
+		DefaultDataBuffer other = this.bufferFactory.allocateBuffer(128);
+		assertSame(memory, other.getNativeBuffer().array());
+		assertEquals(0, other.readableByteCount());
+		release(other);
+
+		// Different size class
+		other = this.bufferFactory.allocateBuffer(129);
+		assertNotSame(memory, other.getNativeBuffer().array());
+		release(other);
+	}
+
+	@Test
+	public void reuseReleasedMemoryAcrossThreads() throws Exception {
+		DefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		byte[] memory = buffer.getNativeBuffer().array();
+		Thread thread = new Thread(() -> release(buffer));
+		thread.start();
+		thread.join();
+
+		DefaultDataBuffer other = this.bufferFactory.allocateBuffer(100);
+		assertSame(memory, other.getNativeBuffer().array());
+		release(other);
+	}
+
+	@Test
+	public void doNotPoolLargeBuffers() {
+		DefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(2048);
+		byte[] memory = buffer.getNativeBuffer().array();
+		assertEquals(2048, buffer.capacity());
+		release(buffer);
+
+		DefaultDataBuffer other = this.bufferFactory.allocateBuffer(2048);
+		assertNotSame(memory, other.getNativeBuffer().array());
+		release(other);
+	}
+
+	@Test
+	public void increaseCapacity() {
+		DefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(4);
+		byte[] memory = buffer.getNativeBuffer().array();
+		buffer.write("abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.UTF_8));
+		assertTrue(buffer.capacity() >= 26);
+		assertEquals("abcdefghijklmnopqrstuvwxyz", toString(buffer));
+		release(buffer);
+
+		// Memory of both the previous and the current size class returned to the pool
+		DefaultDataBuffer other = this.bufferFactory.allocateBuffer(4);
+		assertSame(memory, other.getNativeBuffer().array());
+		release(other);
+	}
+
+	@Test
+	public void sliceSharesReferenceCount() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(8);
+		buffer.write(new byte[] {'a', 'b', 'c'});
+		DataBuffer slice = buffer.slice(1, 2);
+		assertTrue(slice instanceof PooledDataBuffer);
+		assertEquals("bc", toString(slice));
+
+		DataBufferUtils.retain(slice);
+		assertFalse(release(buffer));
+		assertTrue(release(slice));
+	}
+
+	@Test
+	public void increaseCapacityWithOutstandingSlice() {
+		DefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(4);
+		byte[] memory = buffer.getNativeBuffer().array();
+		buffer.write(new byte[] {'a', 'b', 'c', 'd'});
+		DataBuffer slice = buffer.slice(0, 4);
+		DataBufferUtils.retain(slice);
+
+		buffer.write("efghijklmnopqrstuvwxyz".getBytes(StandardCharsets.UTF_8));
+		DefaultDataBuffer other = this.bufferFactory.allocateBuffer(4);
+		assertNotSame(memory, other.getNativeBuffer().array());
+		other.write(new byte[] {'w', 'x', 'y', 'z'});
+		assertEquals("abcd", toString(slice));
+
+		// Previous memory only returned to the pool once the slice is released as well
+		assertFalse(release(buffer));
+		assertTrue(release(slice));
+		DefaultDataBuffer reused = this.bufferFactory.allocateBuffer(4);
+		assertSame(memory, reused.getNativeBuffer().array());
+		release(reused);
+		release(other);
+	}
+
+	@Test
+	public void releaseOnInputStreamClose() throws Exception {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(8);
+		buffer.write(new byte[] {'a'});
+		InputStream inputStream = buffer.asInputStream(true);
+		assertEquals('a', inputStream.read());
+		inputStream.close();
+		inputStream.close();
+
+		try {
+			release(buffer);
+			fail("IllegalStateException expected");
+		}
+		catch (IllegalStateException ex) {
+			// expected
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void retainReleasedBuffer() {
+		PooledDataBuffer buffer = (PooledDataBuffer) this.bufferFactory.allocateBuffer(8);
+		buffer.release();
+		buffer.retain();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void releaseReleasedBuffer() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(8);
+		release(buffer);
+		release(buffer);
+	}
+
+	@Test
+	public void debugPoisonsReleasedMemory() {
+		this.bufferFactory.setDebug(true);
+		DefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(8);
+		buffer.write(new byte[] {'a', 'b'});
+		byte[] memory = buffer.getNativeBuffer().array();
+		release(buffer);
+
+		// Access after release reads poisoned rather than recycled data
+		assertEquals(PooledDataBufferFactory.POISON, buffer.read());
+		for (byte b : memory) {
+			assertEquals(PooledDataBufferFactory.POISON, b);
+		}
+
+		DefaultDataBuffer large = this.bufferFactory.allocateBuffer(2048);
+		large.write(new byte[] {'a'});
+		release(large);
+		assertEquals(PooledDataBufferFactory.POISON, large.read());
+	}
+
+	@Test
+	public void debugCountsOutstandingBuffers() {
+		this.bufferFactory.setDebug(true);
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(8);
+		DataBuffer large = this.bufferFactory.allocateBuffer(2048);
+		DataBuffer slice = buffer.slice(0, 4);
+		DataBufferUtils.retain(slice);
+		assertEquals(2, this.bufferFactory.getOutstandingBufferCount());
+
+		release(buffer);
+		release(large);
+		assertEquals("Leak expected: slice still retained", 1, this.bufferFactory.getOutstandingBufferCount());
+
+		release(slice);
+		assertEquals(0, this.bufferFactory.getOutstandingBufferCount());
+	}
+
+	@Test
+	public void noOutstandingBuffersCountedWithoutDebug() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(8);
+		assertEquals(0, this.bufferFactory.getOutstandingBufferCount());
+		release(buffer);
+		assertEquals(0, this.bufferFactory.getOutstandingBufferCount());
+	}
+
+
+	private static boolean release(DataBuffer buffer) {
+		return DataBufferUtils.release(buffer);
+	}
+
+	private static String toString(DataBuffer buffer) {
+		byte[] bytes = new byte[buffer.readableByteCount()];
+		buffer.read(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
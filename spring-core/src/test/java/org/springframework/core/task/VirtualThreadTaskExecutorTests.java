@@ -0,0 +1,62 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import org.springframework.util.ReflectionUtils;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+/**
+ * Unit tests for {@link VirtualThreadTaskExecutor}.
+ */
+public class VirtualThreadTaskExecutorTests {
+
+	@Test
+	public void executeOnVirtualThread() throws Exception {
+		assumeTrue(VirtualThreadTaskExecutor.isVirtualThreadsSupported());
+
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("virtual-");
+		Future<Thread> future = executor.submit(Thread::currentThread);
+		Thread thread = future.get();
+
+		assertTrue(thread.getName().startsWith("virtual-"));
+		assertEquals(Boolean.TRUE,
+				ReflectionUtils.invokeMethod(Thread.class.getMethod("isVirtual"), thread));
+	}
+
+	@Test
+	public void newThreadIsNotStarted() {
+		assumeTrue(VirtualThreadTaskExecutor.isVirtualThreadsSupported());
+
+		Thread thread = new VirtualThreadTaskExecutor("virtual-").newThread(() -> {});
+		assertEquals("virtual-1", thread.getName());
+		assertEquals(Thread.State.NEW, thread.getState());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void virtualThreadsNotSupported() {
+		assumeFalse(VirtualThreadTaskExecutor.isVirtualThreadsSupported());
+
+		new VirtualThreadTaskExecutor();
+	}
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Benchmark for {@link JdbcTemplate} row mapping against an embedded
+ * HSQL database, comparing a hand-written {@link RowMapper} with
+ * {@link BeanPropertyRowMapper} and {@link ColumnMapRowMapper}.
+ *
+ * @since 5.0.12
+ */
+@BenchmarkMode(Mode.Throughput)
+public class JdbcTemplateBenchmark {
+
+	private static final String QUERY = "SELECT id, name, active, score FROM item";
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"10", "1000"})
+		public int rowCount;
+
+		public EmbeddedDatabase database;
+
+		public JdbcTemplate jdbcTemplate;
+
+		public RowMapper<Item> beanPropertyRowMapper = new BeanPropertyRowMapper<>(Item.class);
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.database = new EmbeddedDatabaseBuilder().generateUniqueName(true)
+					.setType(EmbeddedDatabaseType.HSQL).build();
+			this.jdbcTemplate = new JdbcTemplate(this.database);
+			this.jdbcTemplate.execute("CREATE TABLE item (id BIGINT PRIMARY KEY, " +
+					"name VARCHAR(50), active BOOLEAN, score DOUBLE)");
+			for (int i = 0; i < this.rowCount; i++) {
+				this.jdbcTemplate.update("INSERT INTO item VALUES (?, ?, ?, ?)",
+						i, "name-" + i, (i % 2 == 0), i * 1.5d);
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			this.database.shutdown();
+		}
+	}
+
+
+	@Benchmark
+	public List<Item> queryWithRowMapper(BenchmarkState state) {
+		return state.jdbcTemplate.query(QUERY, (rs, rowNum) -> {
+			Item item = new Item();
+			item.setId(rs.getLong(1));
+			item.setName(rs.getString(2));
+			item.setActive(rs.getBoolean(3));
+			item.setScore(rs.getDouble(4));
+			return item;
+		});
+	}
+
+	@Benchmark
+	public List<Item> queryWithBeanPropertyRowMapper(BenchmarkState state) {
+		return state.jdbcTemplate.query(QUERY, state.beanPropertyRowMapper);
+	}
+
+	@Benchmark
+	public Object queryForList(BenchmarkState state) {
+		return state.jdbcTemplate.queryForList(QUERY);
+	}
+
+
+	public static class Item {
+
+		private long id;
+
+		private String name;
+
+		private boolean active;
+
+		private double score;
+
+		public long getId() {
+			return this.id;
+		}
+
+		public void setId(long id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public boolean isActive() {
+			return this.active;
+		}
+
+		public void setActive(boolean active) {
+			this.active = active;
+		}
+
+		public double getScore() {
+			return this.score;
+		}
+
+		public void setScore(double score) {
+			this.score = score;
+		}
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+/**
+ * Callback interface for tracking the progress of a streaming batch update,
+ * invoked by {@link JdbcTemplate} after each chunk has been sent to the database.
+ *
+ * <p>Useful for logging the progress of long-running bulk loads, or for
+ * collecting the update counts of each chunk without keeping them in memory
+ * for the entire batch.
+ *
+ * @since 5.0.12
+ * @see JdbcOperations#batchUpdate(String, java.util.Iterator, int, ParameterizedPreparedStatementSetter, BatchProgressListener)
+ */
+@FunctionalInterface
+public interface BatchProgressListener {
+
+	/**
+	 * Called after a chunk of the batch has been executed.
+	 * @param updateCounts the numbers of rows affected by each statement in the
+	 * chunk, possibly {@link java.sql.Statement#SUCCESS_NO_INFO}
+	 * @param totalStatements the total number of statements executed so far,
+	 * including this chunk
+	 */
+	void batchExecuted(int[] updateCounts, long totalStatements);
+
+}
@@ -16,15 +16,19 @@
 
 package org.springframework.jdbc.core;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 /**
  * Interface specifying a basic set of JDBC operations.
@@ -938,6 +942,70 @@ public interface JdbcOperations {
 	<T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
 			ParameterizedPreparedStatementSetter<T> pss) throws DataAccessException;
 
+	/**
+	 * Execute a batch using the supplied SQL statement with the arguments supplied
+	 * by the given Iterator, sending them to the database in chunks of the given size.
+	 * <p>Arguments are consumed lazily and update counts are not retained, so this
+	 * is suitable for bulk loads too large to hold in memory. Note that many JDBC
+	 * drivers can further rewrite a batch of inserts into multi-row {@code VALUES}
+	 * statements when configured accordingly, e.g. through MySQL's
+	 * {@code rewriteBatchedStatements} or PostgreSQL's {@code reWriteBatchedInserts}
+	 * connection property.
+	 * @param sql the SQL statement to execute
+	 * @param batchArgs the Iterator supplying the arguments for each statement
+	 * @param batchSize the number of statements per chunk
+	 * @param pss ParameterizedPreparedStatementSetter to use
+	 * @param listener a listener to notify after each chunk, or {@code null} if none
+	 * @return the total number of statements executed
+	 * @throws DataAccessException if there is any problem issuing the update
+	 * <p>The default implementation collects each chunk into a List and delegates
+	 * to {@link #batchUpdate(String, Collection, int, ParameterizedPreparedStatementSetter)}.
+	 * @since 5.0.12
+	 */
+	default <T> long batchUpdate(String sql, Iterator<T> batchArgs, int batchSize,
+			ParameterizedPreparedStatementSetter<T> pss, @Nullable BatchProgressListener listener)
+			throws DataAccessException {
+
+		Assert.notNull(batchArgs, "Batch arguments must not be null");
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+		List<T> chunk = new ArrayList<>(batchSize);
+		long total = 0;
+		while (batchArgs.hasNext()) {
+			chunk.add(batchArgs.next());
+			if (chunk.size() == batchSize || !batchArgs.hasNext()) {
+				int[][] updateCounts = batchUpdate(sql, chunk, batchSize, pss);
+				total += chunk.size();
+				if (listener != null) {
+					listener.batchExecuted(updateCounts.length > 0 ? updateCounts[0] : new int[0], total);
+				}
+				chunk.clear();
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Execute a batch using the supplied SQL statement with the arguments supplied
+	 * by the given Stream, sending them to the database in chunks of the given size.
+	 * <p>The Stream is consumed lazily but not closed by this method.
+	 * @param sql the SQL statement to execute
+	 * @param batchArgs the Stream supplying the arguments for each statement
+	 * @param batchSize the number of statements per chunk
+	 * @param pss ParameterizedPreparedStatementSetter to use
+	 * @param listener a listener to notify after each chunk, or {@code null} if none
+	 * @return the total number of statements executed
+	 * @throws DataAccessException if there is any problem issuing the update
+	 * @since 5.0.12
+	 * @see #batchUpdate(String, Iterator, int, ParameterizedPreparedStatementSetter, BatchProgressListener)
+	 */
+	default <T> long batchUpdate(String sql, Stream<T> batchArgs, int batchSize,
+			ParameterizedPreparedStatementSetter<T> pss, @Nullable BatchProgressListener listener)
+			throws DataAccessException {
+
+		Assert.notNull(batchArgs, "Batch arguments must not be null");
+		return batchUpdate(sql, batchArgs.iterator(), batchSize, pss, listener);
+	}
+
 
 	//-------------------------------------------------------------------------
 	// Methods dealing with callable statements
@@ -29,9 +29,11 @@ import java.sql.SQLException;
 import java.sql.SQLWarning;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -1022,6 +1024,57 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return result;
 	}
 
+	@Override
+	public <T> long batchUpdate(String sql, final Iterator<T> batchArgs, final int batchSize,
+			final ParameterizedPreparedStatementSetter<T> pss, @Nullable final BatchProgressListener listener)
+			throws DataAccessException {
+
+		Assert.notNull(batchArgs, "Batch arguments must not be null");
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executing streaming SQL batch update [" + sql + "] with a batch size of " + batchSize);
+		}
+		Long result = execute(sql, (PreparedStatementCallback<Long>) ps -> {
+			try {
+				boolean batchSupported = JdbcUtils.supportsBatchUpdates(ps.getConnection());
+				int[] updateCounts = (batchSupported ? null : new int[batchSize]);
+				long total = 0;
+				int n = 0;
+				while (batchArgs.hasNext()) {
+					pss.setValues(ps, batchArgs.next());
+					if (batchSupported) {
+						ps.addBatch();
+					}
+					else {
+						updateCounts[n] = ps.executeUpdate();
+					}
+					n++;
+					if (n == batchSize || !batchArgs.hasNext()) {
+						int[] chunkCounts = (batchSupported ? ps.executeBatch() :
+								(n == batchSize ? updateCounts.clone() : Arrays.copyOf(updateCounts, n)));
+						total += n;
+						if (logger.isDebugEnabled()) {
+							logger.debug("Sent SQL batch update chunk with " + n + " items, " + total + " in total");
+						}
+						if (listener != null) {
+							listener.batchExecuted(chunkCounts, total);
+						}
+						n = 0;
+					}
+				}
+				return total;
+			}
+			finally {
+				if (pss instanceof ParameterDisposer) {
+					((ParameterDisposer) pss).cleanupParameters();
+				}
+			}
+		});
+
+		Assert.state(result != null, "No result count");
+		return result;
+	}
+
 	//-------------------------------------------------------------------------
 	// Methods dealing with callable statements
 	//-------------------------------------------------------------------------
@@ -18,10 +18,17 @@ package org.springframework.jdbc.core.namedparam;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchProgressListener;
 import org.springframework.jdbc.core.BatchUpdateUtils;
 import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.lang.Nullable;
 
 /**
  * Generic utility methods for working with JDBC batch statements using named parameters.
@@ -33,6 +40,12 @@ import org.springframework.jdbc.core.JdbcOperations;
  */
 public class NamedParameterBatchUpdateUtils extends BatchUpdateUtils {
 
+	/**
+	 * Execute a batch update. The actual SQL statement is derived once, from the
+	 * first set of arguments: collection-valued parameters must therefore expand
+	 * to the same number of placeholders for every set of arguments, otherwise an
+	 * {@link InvalidDataAccessApiUsageException} is thrown.
+	 */
 	public static int[] executeBatchUpdateWithNamedParameters(
 			final ParsedSql parsedSql, final SqlParameterSource[] batchArgs, JdbcOperations jdbcOperations) {
 
@@ -40,13 +53,16 @@ public class NamedParameterBatchUpdateUtils extends BatchUpdateUtils {
 			return new int[0];
 		}
 
-		String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, batchArgs[0]);
+		final String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, batchArgs[0]);
+		final int[] placeholderCounts = getPlaceholderCounts(
+				NamedParameterUtils.buildValueArray(parsedSql, batchArgs[0], null));
 		return jdbcOperations.batchUpdate(
 				sqlToUse,
 				new BatchPreparedStatementSetter() {
 					@Override
 					public void setValues(PreparedStatement ps, int i) throws SQLException {
 						Object[] values = NamedParameterUtils.buildValueArray(parsedSql, batchArgs[i], null);
+						checkPlaceholderCounts(parsedSql, values, placeholderCounts, sqlToUse);
 						int[] columnTypes = NamedParameterUtils.buildSqlTypeArray(parsedSql, batchArgs[i]);
 						setStatementParameters(values, ps, columnTypes);
 					}
@@ -57,4 +73,93 @@ public class NamedParameterBatchUpdateUtils extends BatchUpdateUtils {
 				});
 	}
 
+	/**
+	 * Execute a streaming batch update, consuming the given Iterator in chunks
+	 * of the given size. The actual SQL statement is derived once, from the
+	 * first set of arguments: collection-valued parameters must therefore expand
+	 * to the same number of placeholders for every set of arguments, otherwise an
+	 * {@link InvalidDataAccessApiUsageException} is thrown before the affected
+	 * chunk is executed. Chunks executed before are not rolled back, unless
+	 * running within a transaction.
+	 * @since 5.0.12
+	 * @see JdbcOperations#batchUpdate(String, Iterator, int, org.springframework.jdbc.core.ParameterizedPreparedStatementSetter, BatchProgressListener)
+	 */
+	public static long executeBatchUpdateWithNamedParameters(final ParsedSql parsedSql,
+			final Iterator<? extends SqlParameterSource> batchArgs, int batchSize,
+			@Nullable BatchProgressListener listener, JdbcOperations jdbcOperations) {
+
+		if (!batchArgs.hasNext()) {
+			return 0;
+		}
+
+		final SqlParameterSource firstArgs = batchArgs.next();
+		final String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, firstArgs);
+		final int[] placeholderCounts = getPlaceholderCounts(
+				NamedParameterUtils.buildValueArray(parsedSql, firstArgs, null));
+		Iterator<SqlParameterSource> allArgs = new Iterator<SqlParameterSource>() {
+			@Nullable
+			private SqlParameterSource pending = firstArgs;
+			@Override
+			public boolean hasNext() {
+				return (this.pending != null || batchArgs.hasNext());
+			}
+			@Override
+			public SqlParameterSource next() {
+				SqlParameterSource next = this.pending;
+				if (next != null) {
+					this.pending = null;
+					return next;
+				}
+				return batchArgs.next();
+			}
+		};
+		return jdbcOperations.batchUpdate(sqlToUse, allArgs, batchSize, (ps, paramSource) -> {
+			Object[] values = NamedParameterUtils.buildValueArray(parsedSql, paramSource, null);
+			checkPlaceholderCounts(parsedSql, values, placeholderCounts, sqlToUse);
+			int[] columnTypes = NamedParameterUtils.buildSqlTypeArray(parsedSql, paramSource);
+			setStatementParameters(values, ps, columnTypes);
+		}, listener);
+	}
+
+	/**
+	 * Determine the number of placeholders that each parameter value expands to,
+	 * in line with {@link NamedParameterUtils#substituteNamedParameters(ParsedSql, SqlParameterSource)}.
+	 */
+	private static int[] getPlaceholderCounts(Object[] values) {
+		int[] placeholderCounts = new int[values.length];
+		for (int i = 0; i < values.length; i++) {
+			placeholderCounts[i] = getPlaceholderCount(values[i]);
+		}
+		return placeholderCounts;
+	}
+
+	private static int getPlaceholderCount(@Nullable Object value) {
+		if (value instanceof SqlParameterValue) {
+			value = ((SqlParameterValue) value).getValue();
+		}
+		if (!(value instanceof Collection)) {
+			return 1;
+		}
+		int count = 0;
+		for (Object entryItem : (Collection<?>) value) {
+			count += (entryItem instanceof Object[] ? ((Object[]) entryItem).length : 1);
+		}
+		return count;
+	}
+
+	private static void checkPlaceholderCounts(
+			ParsedSql parsedSql, Object[] values, int[] placeholderCounts, String sqlToUse) {
+
+		for (int i = 0; i < values.length; i++) {
+			int count = getPlaceholderCount(values[i]);
+			if (count != placeholderCounts[i]) {
+				List<String> paramNames = parsedSql.getParameterNames();
+				throw new InvalidDataAccessApiUsageException("Batch arguments expand parameter '" +
+						paramNames.get(i) + "' to " + count + " placeholder(s) instead of " +
+						placeholderCounts[i] + " as in the statement derived from the first set of arguments: " +
+						sqlToUse);
+			}
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,13 @@
 
 package org.springframework.jdbc.core.namedparam;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchProgressListener;
 import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.PreparedStatementCallback;
 import org.springframework.jdbc.core.ResultSetExtractor;
@@ -28,6 +31,7 @@ import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 /**
  * Interface specifying a basic set of JDBC operations allowing the use
@@ -509,4 +513,44 @@ public interface NamedParameterJdbcOperations {
 	 */
 	int[] batchUpdate(String sql, SqlParameterSource[] batchArgs);
 
+	/**
+	 * Execute a batch using the supplied SQL statement with the arguments supplied
+	 * by the given Iterator, sending them to the database in chunks of the given size.
+	 * <p>Arguments are consumed lazily and update counts are not retained, so this
+	 * is suitable for bulk loads too large to hold in memory.
+	 * <p>The actual SQL statement is derived from the first set of arguments, so a
+	 * collection-valued parameter must expand to the same number of placeholders
+	 * for every set of arguments.
+	 * @param sql the SQL statement to execute
+	 * @param batchArgs the Iterator supplying the {@link SqlParameterSource} for each statement
+	 * @param batchSize the number of statements per chunk
+	 * @param listener a listener to notify after each chunk, or {@code null} if none
+	 * @return the total number of statements executed
+	 * @throws DataAccessException if there is any problem issuing the update
+	 * <p>The default implementation collects each chunk into an array and delegates
+	 * to {@link #batchUpdate(String, SqlParameterSource[])}.
+	 * @since 5.0.12
+	 * @see JdbcOperations#batchUpdate(String, Iterator, int, org.springframework.jdbc.core.ParameterizedPreparedStatementSetter, BatchProgressListener)
+	 */
+	default long batchUpdate(String sql, Iterator<? extends SqlParameterSource> batchArgs, int batchSize,
+			@Nullable BatchProgressListener listener) throws DataAccessException {
+
+		Assert.notNull(batchArgs, "Batch arguments must not be null");
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+		List<SqlParameterSource> chunk = new ArrayList<>(batchSize);
+		long total = 0;
+		while (batchArgs.hasNext()) {
+			chunk.add(batchArgs.next());
+			if (chunk.size() == batchSize || !batchArgs.hasNext()) {
+				int[] updateCounts = batchUpdate(sql, chunk.toArray(new SqlParameterSource[0]));
+				total += chunk.size();
+				if (listener != null) {
+					listener.batchExecuted(updateCounts, total);
+				}
+				chunk.clear();
+			}
+		}
+		return total;
+	}
+
 }
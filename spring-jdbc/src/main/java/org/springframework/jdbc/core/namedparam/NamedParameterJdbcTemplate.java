@@ -16,6 +16,7 @@
 
 package org.springframework.jdbc.core.namedparam;
 
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +25,7 @@ import javax.sql.DataSource;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.BatchProgressListener;
 import org.springframework.jdbc.core.ColumnMapRowMapper;
 import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -356,6 +358,14 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 				getParsedSql(sql), batchArgs, getJdbcOperations());
 	}
 
+	@Override
+	public long batchUpdate(String sql, Iterator<? extends SqlParameterSource> batchArgs, int batchSize,
+			@Nullable BatchProgressListener listener) {
+
+		return NamedParameterBatchUpdateUtils.executeBatchUpdateWithNamedParameters(
+				getParsedSql(sql), batchArgs, batchSize, listener, getJdbcOperations());
+	}
+
 
 	/**
 	 * Build a {@link PreparedStatementCreator} based on the given SQL and named parameters.
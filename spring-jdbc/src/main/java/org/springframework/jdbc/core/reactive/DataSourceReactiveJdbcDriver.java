@@ -0,0 +1,298 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.reactive;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.ParameterDisposer;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ReactiveJdbcDriver} implementation that adapts a regular, blocking JDBC
+ * {@link DataSource}: all JDBC calls are performed on the given {@link Scheduler},
+ * keeping them off the threads of the calling reactive pipeline.
+ *
+ * <p>The {@code Scheduler} is expected to be bounded, e.g. created through
+ * {@code Schedulers.newParallel(name, n)} with {@code n} in line with the
+ * maximum size of the connection pool, since each JDBC call blocks one of its
+ * threads. All JDBC calls of a session are performed on a single worker of the
+ * {@code Scheduler}, i.e. sequentially on one thread, since JDBC connections are
+ * not meant to be used from several threads. Query results are fetched row by row
+ * as requested by the subscriber, so a slow consumer does not cause the full
+ * result set to be buffered.
+ *
+ * <p>Connections are obtained from the {@code DataSource} per session, with
+ * transactions managed on the connection directly in the same way as by
+ * {@link org.springframework.jdbc.datasource.DataSourceTransactionManager}.
+ * A session does not participate in thread-bound Spring transactions.
+ *
+ * @since 5.0.12
+ * @see ReactiveJdbcTemplate#ReactiveJdbcTemplate(DataSource, Scheduler)
+ */
+public class DataSourceReactiveJdbcDriver implements ReactiveJdbcDriver {
+
+	private final DataSource dataSource;
+
+	private final Scheduler scheduler;
+
+
+	/**
+	 * Create a new {@code DataSourceReactiveJdbcDriver} for the given DataSource.
+	 * @param dataSource the JDBC DataSource to obtain connections from
+	 * @param scheduler the bounded Scheduler to perform blocking JDBC calls on
+	 */
+	public DataSourceReactiveJdbcDriver(DataSource dataSource, Scheduler scheduler) {
+		Assert.notNull(dataSource, "DataSource must not be null");
+		Assert.notNull(scheduler, "Scheduler must not be null");
+		this.dataSource = dataSource;
+		this.scheduler = scheduler;
+	}
+
+
+	/**
+	 * Return the JDBC DataSource that this driver obtains connections from.
+	 */
+	public DataSource getDataSource() {
+		return this.dataSource;
+	}
+
+	/**
+	 * Return the Scheduler that blocking JDBC calls are performed on.
+	 */
+	public Scheduler getScheduler() {
+		return this.scheduler;
+	}
+
+
+	@Override
+	public Mono<ReactiveJdbcSession> openSession() {
+		return Mono.defer(() -> {
+			Scheduler sessionScheduler = Schedulers.single(this.scheduler);
+			return Mono.fromCallable(() -> (ReactiveJdbcSession) new DataSourceSession(
+					DataSourceUtils.getConnection(this.dataSource), sessionScheduler))
+					.subscribeOn(sessionScheduler)
+					.doOnError(ex -> sessionScheduler.dispose());
+		});
+	}
+
+
+	private static void cleanupParameters(Object... parameterSources) {
+		for (Object parameterSource : parameterSources) {
+			if (parameterSource instanceof ParameterDisposer) {
+				((ParameterDisposer) parameterSource).cleanupParameters();
+			}
+		}
+	}
+
+
+	/**
+	 * Session on a JDBC Connection obtained from the DataSource, using the
+	 * connection on a single worker of the driver's Scheduler only.
+	 */
+	private class DataSourceSession implements ReactiveJdbcSession {
+
+		private final Connection connection;
+
+		private final Scheduler sessionScheduler;
+
+		private final AtomicBoolean closed = new AtomicBoolean();
+
+		private boolean mustRestoreAutoCommit;
+
+		@Nullable
+		private Integer previousIsolationLevel;
+
+		DataSourceSession(Connection connection, Scheduler sessionScheduler) {
+			this.connection = connection;
+			this.sessionScheduler = sessionScheduler;
+		}
+
+		@Override
+		public <T> Flux<T> query(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss,
+				RowMapper<T> rowMapper, int fetchSize) {
+
+			return Flux.<T, Cursor>generate(
+					() -> openCursor(psc, pss, fetchSize),
+					(cursor, sink) -> nextRow(cursor, sink, rowMapper),
+					cursor -> {
+						JdbcUtils.closeResultSet(cursor.resultSet);
+						JdbcUtils.closeStatement(cursor.statement);
+						cleanupParameters(psc, pss);
+					})
+					.subscribeOn(this.sessionScheduler)
+					.cancelOn(this.sessionScheduler);
+		}
+
+		private Cursor openCursor(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss,
+				int fetchSize) throws SQLException {
+
+			PreparedStatement ps = psc.createPreparedStatement(this.connection);
+			try {
+				if (fetchSize != -1) {
+					ps.setFetchSize(fetchSize);
+				}
+				if (pss != null) {
+					pss.setValues(ps);
+				}
+				return new Cursor(ps, ps.executeQuery());
+			}
+			catch (SQLException | RuntimeException ex) {
+				JdbcUtils.closeStatement(ps);
+				cleanupParameters(psc, pss);
+				throw ex;
+			}
+		}
+
+		private <T> Cursor nextRow(Cursor cursor, SynchronousSink<T> sink, RowMapper<T> rowMapper) {
+			try {
+				if (cursor.resultSet.next()) {
+					T row = rowMapper.mapRow(cursor.resultSet, cursor.rowNum++);
+					if (row != null) {
+						sink.next(row);
+					}
+					else {
+						sink.error(new IllegalStateException(
+								"RowMapper returned null for row " + (cursor.rowNum - 1) + ": not supported in a Flux"));
+					}
+				}
+				else {
+					sink.complete();
+				}
+			}
+			catch (Throwable ex) {
+				sink.error(ex);
+			}
+			return cursor;
+		}
+
+		@Override
+		public Mono<Integer> update(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss) {
+			return execute(con -> {
+				PreparedStatement ps = psc.createPreparedStatement(con);
+				try {
+					if (pss != null) {
+						pss.setValues(ps);
+					}
+					return ps.executeUpdate();
+				}
+				finally {
+					JdbcUtils.closeStatement(ps);
+					cleanupParameters(psc, pss);
+				}
+			});
+		}
+
+		@Override
+		public <T> Mono<T> execute(ConnectionCallback<T> action) {
+			return Mono.defer(() -> {
+				try {
+					return Mono.justOrEmpty(action.doInConnection(this.connection));
+				}
+				catch (SQLException ex) {
+					return Mono.error(ex);
+				}
+			}).subscribeOn(this.sessionScheduler);
+		}
+
+		@Override
+		public Mono<Void> beginTransaction(TransactionDefinition definition) {
+			return execute(con -> {
+				this.previousIsolationLevel = DataSourceUtils.prepareConnectionForTransaction(con, definition);
+				if (con.getAutoCommit()) {
+					this.mustRestoreAutoCommit = true;
+					con.setAutoCommit(false);
+				}
+				return null;
+			});
+		}
+
+		@Override
+		public Mono<Void> commitTransaction() {
+			return execute(con -> {
+				con.commit();
+				return null;
+			});
+		}
+
+		@Override
+		public Mono<Void> rollbackTransaction() {
+			return execute(con -> {
+				con.rollback();
+				return null;
+			});
+		}
+
+		@Override
+		public Mono<Void> close() {
+			return Mono.defer(() -> {
+				if (!this.closed.compareAndSet(false, true)) {
+					return Mono.empty();
+				}
+				return this.<Void>execute(con -> {
+					try {
+						if (this.mustRestoreAutoCommit) {
+							con.setAutoCommit(true);
+						}
+						DataSourceUtils.resetConnectionAfterTransaction(con, this.previousIsolationLevel);
+					}
+					finally {
+						DataSourceUtils.releaseConnection(con, dataSource);
+					}
+					return null;
+				}).doFinally(signal -> this.sessionScheduler.dispose());
+			});
+		}
+	}
+
+
+	/**
+	 * State of a query in progress.
+	 */
+	private static class Cursor {
+
+		final PreparedStatement statement;
+
+		final ResultSet resultSet;
+
+		int rowNum;
+
+		Cursor(PreparedStatement statement, ResultSet resultSet) {
+			this.statement = statement;
+			this.resultSet = resultSet;
+		}
+	}
+
+}
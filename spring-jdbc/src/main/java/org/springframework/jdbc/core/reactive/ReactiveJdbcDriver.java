@@ -0,0 +1,42 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.reactive;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Driver SPI for {@link ReactiveJdbcTemplate}: provides sessions, each of which
+ * represents a connection to the database that statements are executed against.
+ *
+ * <p>Implementations may adapt a truly non-blocking database driver or, as
+ * {@link DataSourceReactiveJdbcDriver} does, a regular JDBC
+ * {@link javax.sql.DataSource} on a dedicated set of threads.
+ *
+ * @since 5.0.12
+ * @see ReactiveJdbcSession
+ */
+public interface ReactiveJdbcDriver {
+
+	/**
+	 * Open a new session, i.e. obtain a connection to the database.
+	 * <p>The caller is responsible for {@link ReactiveJdbcSession#close() closing}
+	 * the session once done with it.
+	 * @return a {@code Mono} emitting the session once available
+	 */
+	Mono<ReactiveJdbcSession> openSession();
+
+}
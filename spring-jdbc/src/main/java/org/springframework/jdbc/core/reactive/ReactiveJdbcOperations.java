@@ -0,0 +1,197 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.reactive;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Interface specifying a basic set of reactive JDBC operations, returning
+ * {@link Flux} and {@link Mono} results instead of blocking the caller.
+ * Implemented by {@link ReactiveJdbcTemplate}.
+ *
+ * <p>All results are lazy: statements are executed once the returned
+ * {@code Publisher} is subscribed to, with errors signalled as
+ * {@link org.springframework.dao.DataAccessException DataAccessExceptions}.
+ * SQL statements may either use positional {@code ?} placeholders or named
+ * {@code :name} parameters, depending on the variant of the operation.
+ *
+ * @since 5.0.12
+ * @see ReactiveJdbcTemplate
+ * @see org.springframework.jdbc.core.JdbcOperations
+ */
+public interface ReactiveJdbcOperations {
+
+	/**
+	 * Execute a JDBC data access operation, implemented as callback action
+	 * working on a JDBC Connection.
+	 * @param action the callback object that specifies the action
+	 * @return the result of the action, or an empty {@code Mono} if the action
+	 * returned {@code null}
+	 */
+	<T> Mono<T> execute(ConnectionCallback<T> action);
+
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a list of
+	 * arguments to bind to the query, mapping each row to a result object via
+	 * a RowMapper. Rows are fetched as requested by the subscriber.
+	 * @param sql the SQL query to execute
+	 * @param rowMapper the callback that maps each row to a non-null object
+	 * @param args arguments to bind to the query
+	 * @return the mapped rows
+	 */
+	<T> Flux<T> query(String sql, RowMapper<T> rowMapper, @Nullable Object... args);
+
+	/**
+	 * Query given SQL with named parameters, mapping each row to a result object
+	 * via a RowMapper. Rows are fetched as requested by the subscriber.
+	 * @param sql the SQL query to execute
+	 * @param paramSource container of arguments to bind to the query
+	 * @param rowMapper the callback that maps each row to a non-null object
+	 * @return the mapped rows
+	 */
+	<T> Flux<T> query(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper);
+
+	/**
+	 * Query given SQL with named parameters, mapping each row to a result object
+	 * via a RowMapper. Rows are fetched as requested by the subscriber.
+	 * @param sql the SQL query to execute
+	 * @param paramMap map of parameters to bind to the query
+	 * @param rowMapper the callback that maps each row to a non-null object
+	 * @return the mapped rows
+	 */
+	<T> Flux<T> query(String sql, Map<String, ?> paramMap, RowMapper<T> rowMapper);
+
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a list of
+	 * arguments to bind to the query, expecting at most one result row.
+	 * @param sql the SQL query to execute
+	 * @param rowMapper the callback that maps the row to a non-null object
+	 * @param args arguments to bind to the query
+	 * @return the mapped row, or an empty {@code Mono} if the query returned no row;
+	 * an {@link org.springframework.dao.IncorrectResultSizeDataAccessException}
+	 * is signalled if the query returned more than one row
+	 */
+	<T> Mono<T> queryForObject(String sql, RowMapper<T> rowMapper, @Nullable Object... args);
+
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a list of
+	 * arguments to bind to the query, expecting at most one result row with a
+	 * single column.
+	 * @param sql the SQL query to execute
+	 * @param requiredType the type that the result object is expected to match
+	 * @param args arguments to bind to the query
+	 * @return the result object, or an empty {@code Mono} if the query returned no row
+	 * or a SQL NULL value; an
+	 * {@link org.springframework.dao.IncorrectResultSizeDataAccessException}
+	 * is signalled if the query returned more than one row
+	 */
+	<T> Mono<T> queryForObject(String sql, Class<T> requiredType, @Nullable Object... args);
+
+	/**
+	 * Query given SQL with named parameters, expecting at most one result row.
+	 * @param sql the SQL query to execute
+	 * @param paramSource container of arguments to bind to the query
+	 * @param rowMapper the callback that maps the row to a non-null object
+	 * @return the mapped row, or an empty {@code Mono} if the query returned no row;
+	 * an {@link org.springframework.dao.IncorrectResultSizeDataAccessException}
+	 * is signalled if the query returned more than one row
+	 */
+	<T> Mono<T> queryForObject(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper);
+
+	/**
+	 * Issue a single SQL update operation (such as an insert, update or delete
+	 * statement) via a prepared statement, binding the given arguments.
+	 * @param sql the SQL containing bind parameters
+	 * @param args arguments to bind to the query
+	 * @return the number of rows affected
+	 */
+	Mono<Integer> update(String sql, @Nullable Object... args);
+
+	/**
+	 * Issue a single SQL update operation (such as an insert, update or delete
+	 * statement) with named parameters.
+	 * @param sql the SQL containing named parameters
+	 * @param paramSource container of arguments to bind to the query
+	 * @return the number of rows affected
+	 */
+	Mono<Integer> update(String sql, SqlParameterSource paramSource);
+
+	/**
+	 * Issue a single SQL update operation (such as an insert, update or delete
+	 * statement) with named parameters.
+	 * @param sql the SQL containing named parameters
+	 * @param paramMap map of parameters to bind to the query
+	 * @return the number of rows affected
+	 */
+	Mono<Integer> update(String sql, Map<String, ?> paramMap);
+
+	/**
+	 * Issue a batch update via a prepared statement, binding each of the arguments
+	 * emitted by the given Publisher. Arguments are requested in chunks of the given
+	 * size, each chunk being sent to the database as one JDBC batch before the next
+	 * chunk is requested, all on the same connection.
+	 * @param sql the SQL containing bind parameters
+	 * @param batchArgs the Publisher emitting the arguments for each statement
+	 * @param batchSize the number of statements per chunk
+	 * @param pss the callback that sets the values of each argument
+	 * @return the total number of statements executed
+	 * @see org.springframework.jdbc.core.JdbcOperations#batchUpdate(String, java.util.Iterator, int, ParameterizedPreparedStatementSetter, org.springframework.jdbc.core.BatchProgressListener)
+	 */
+	<T> Mono<Long> batchUpdate(String sql, Publisher<T> batchArgs, int batchSize,
+			ParameterizedPreparedStatementSetter<T> pss);
+
+	/**
+	 * Execute the given action within a transaction with default settings.
+	 * @param action the callback that performs its operations against the given,
+	 * transaction-bound {@code ReactiveJdbcOperations}
+	 * @return the results of the action
+	 * @see #inTransaction(TransactionDefinition, Function)
+	 */
+	<T> Flux<T> inTransaction(Function<ReactiveJdbcOperations, ? extends Publisher<T>> action);
+
+	/**
+	 * Execute the given action within a transaction as described by the given
+	 * definition. Operations performed against the {@code ReactiveJdbcOperations}
+	 * passed to the action share a single connection; the transaction commits
+	 * when the action's {@code Publisher} completes, and rolls back on error or
+	 * cancellation.
+	 * <p>Propagation behaviors are applied with regard to an enclosing transaction
+	 * of this operations instance, if any, as with
+	 * {@link org.springframework.jdbc.datasource.DataSourceTransactionManager};
+	 * nested transactions (savepoints) are not supported. The transaction timeout
+	 * is applied to the action's {@code Publisher} as a whole.
+	 * @param definition the transaction definition
+	 * @param action the callback that performs its operations against the given
+	 * {@code ReactiveJdbcOperations}
+	 * @return the results of the action
+	 */
+	<T> Flux<T> inTransaction(TransactionDefinition definition,
+			Function<ReactiveJdbcOperations, ? extends Publisher<T>> action);
+
+}
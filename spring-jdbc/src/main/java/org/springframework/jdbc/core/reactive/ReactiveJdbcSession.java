@@ -0,0 +1,96 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.reactive;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * A connection to the database as provided by a {@link ReactiveJdbcDriver}.
+ *
+ * <p>Operations on a session are expected to be invoked sequentially, i.e. the
+ * {@code Publisher} returned by one operation completes before the next operation
+ * is subscribed to. Errors are signalled as raw {@link java.sql.SQLException
+ * SQLExceptions} (or {@link org.springframework.dao.DataAccessException
+ * DataAccessExceptions}), with {@link ReactiveJdbcTemplate} translating the former.
+ *
+ * @since 5.0.12
+ * @see ReactiveJdbcDriver#openSession()
+ */
+public interface ReactiveJdbcSession {
+
+	/**
+	 * Execute a query and map each row of the result set to an element.
+	 * <p>Rows are expected to be fetched from the result set on demand only,
+	 * as requested by the subscriber, and the result set and statement to be
+	 * closed on completion, error or cancellation.
+	 * @param psc the callback that creates the {@code PreparedStatement}
+	 * @param pss the callback that sets values on the {@code PreparedStatement},
+	 * or {@code null} if values are set by the {@code PreparedStatementCreator} itself
+	 * @param rowMapper the callback that maps each row to an element
+	 * @param fetchSize the fetch size hint for the result set, or -1 for the driver default
+	 * @return the mapped rows
+	 */
+	<T> Flux<T> query(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss,
+			RowMapper<T> rowMapper, int fetchSize);
+
+	/**
+	 * Execute an insert, update or delete statement.
+	 * @param psc the callback that creates the {@code PreparedStatement}
+	 * @param pss the callback that sets values on the {@code PreparedStatement},
+	 * or {@code null} if values are set by the {@code PreparedStatementCreator} itself
+	 * @return the number of rows affected
+	 */
+	Mono<Integer> update(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss);
+
+	/**
+	 * Execute an arbitrary data access operation on the underlying JDBC Connection.
+	 * @param action the callback that specifies the action
+	 * @return the result of the action, or an empty {@code Mono} for {@code null}
+	 */
+	<T> Mono<T> execute(ConnectionCallback<T> action);
+
+	/**
+	 * Begin a transaction with the given isolation level and read-only flag.
+	 * @param definition the transaction definition
+	 */
+	Mono<Void> beginTransaction(TransactionDefinition definition);
+
+	/**
+	 * Commit the current transaction.
+	 */
+	Mono<Void> commitTransaction();
+
+	/**
+	 * Roll back the current transaction.
+	 */
+	Mono<Void> rollbackTransaction();
+
+	/**
+	 * Close this session, resetting the state of the connection after a transaction
+	 * (if any) and releasing the connection.
+	 */
+	Mono<Void> close();
+
+}
@@ -0,0 +1,568 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.reactive;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.ParameterDisposer;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.NestedTransactionNotSupportedException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.util.Assert;
+
+/**
+ * Reactive counterpart of {@link org.springframework.jdbc.core.JdbcTemplate}:
+ * executes SQL queries and updates against a {@link ReactiveJdbcDriver},
+ * exposing results as {@link Flux} and {@link Mono} and translating
+ * {@link SQLException SQLExceptions} into Spring's
+ * {@link DataAccessException} hierarchy.
+ *
+ * <p>Supports positional {@code ?} placeholders as well as named parameters
+ * in the style of {@link org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate},
+ * and programmatic transactions through {@link #inTransaction(TransactionDefinition, Function)}.
+ * Query results are fetched from the database as requested by the subscriber.
+ *
+ * <p>Each operation outside of a transaction obtains a session from the driver,
+ * i.e. a connection, for the duration of that operation only.
+ *
+ * <p>This class is thread-safe once configured.
+ *
+ * @since 5.0.12
+ * @see ReactiveJdbcDriver
+ * @see DataSourceReactiveJdbcDriver
+ */
+public class ReactiveJdbcTemplate implements ReactiveJdbcOperations {
+
+	/** Default maximum number of entries for this template's SQL cache: 256 */
+	public static final int DEFAULT_CACHE_LIMIT = 256;
+
+	private static final Log logger = LogFactory.getLog(ReactiveJdbcTemplate.class);
+
+
+	private final ReactiveJdbcDriver driver;
+
+	/** The session of the transaction that this template is bound to, if any */
+	@Nullable
+	private final ReactiveJdbcSession session;
+
+	@Nullable
+	private volatile SQLExceptionTranslator exceptionTranslator;
+
+	private int fetchSize = -1;
+
+	private volatile int cacheLimit = DEFAULT_CACHE_LIMIT;
+
+	/** Cache of original SQL String to ParsedSql representation */
+	private final Map<String, ParsedSql> parsedSqlCache;
+
+
+	/**
+	 * Create a new {@code ReactiveJdbcTemplate} for the given DataSource,
+	 * performing blocking JDBC calls on the given Scheduler.
+	 * @param dataSource the JDBC DataSource to access
+	 * @param scheduler the bounded Scheduler to perform blocking JDBC calls on
+	 * @see DataSourceReactiveJdbcDriver
+	 */
+	public ReactiveJdbcTemplate(DataSource dataSource, Scheduler scheduler) {
+		this(new DataSourceReactiveJdbcDriver(dataSource, scheduler));
+	}
+
+	/**
+	 * Create a new {@code ReactiveJdbcTemplate} for the given driver.
+	 * @param driver the driver to obtain sessions from
+	 */
+	@SuppressWarnings("serial")
+	public ReactiveJdbcTemplate(ReactiveJdbcDriver driver) {
+		Assert.notNull(driver, "ReactiveJdbcDriver must not be null");
+		this.driver = driver;
+		this.session = null;
+		this.parsedSqlCache = new LinkedHashMap<String, ParsedSql>(DEFAULT_CACHE_LIMIT, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ParsedSql> eldest) {
+				return size() > getCacheLimit();
+			}
+		};
+	}
+
+	/**
+	 * Create a copy of the given template, bound to the given session or to none.
+	 */
+	private ReactiveJdbcTemplate(ReactiveJdbcTemplate template, @Nullable ReactiveJdbcSession session) {
+		this.driver = template.driver;
+		this.session = session;
+		this.exceptionTranslator = template.exceptionTranslator;
+		this.fetchSize = template.fetchSize;
+		this.cacheLimit = template.cacheLimit;
+		this.parsedSqlCache = template.parsedSqlCache;
+	}
+
+
+	/**
+	 * Return the driver that this template obtains sessions from.
+	 */
+	public ReactiveJdbcDriver getDriver() {
+		return this.driver;
+	}
+
+	/**
+	 * Set the exception translator for this template.
+	 * <p>The default is a {@link SQLErrorCodeSQLExceptionTranslator} for the
+	 * DataSource of a {@link DataSourceReactiveJdbcDriver}, and a
+	 * {@link SQLStateSQLExceptionTranslator} for any other driver.
+	 */
+	public void setExceptionTranslator(SQLExceptionTranslator exceptionTranslator) {
+		this.exceptionTranslator = exceptionTranslator;
+	}
+
+	/**
+	 * Return the exception translator for this template, creating a default
+	 * one if none has been set.
+	 */
+	public SQLExceptionTranslator getExceptionTranslator() {
+		SQLExceptionTranslator exceptionTranslator = this.exceptionTranslator;
+		if (exceptionTranslator != null) {
+			return exceptionTranslator;
+		}
+		synchronized (this) {
+			exceptionTranslator = this.exceptionTranslator;
+			if (exceptionTranslator == null) {
+				if (this.driver instanceof DataSourceReactiveJdbcDriver) {
+					exceptionTranslator = new SQLErrorCodeSQLExceptionTranslator(
+							((DataSourceReactiveJdbcDriver) this.driver).getDataSource());
+				}
+				else {
+					exceptionTranslator = new SQLStateSQLExceptionTranslator();
+				}
+				this.exceptionTranslator = exceptionTranslator;
+			}
+			return exceptionTranslator;
+		}
+	}
+
+	/**
+	 * Set the fetch size for this template, as a hint to the driver for the
+	 * number of rows to fetch from the database per round trip.
+	 * <p>Default is -1, indicating to use the JDBC driver's default configuration.
+	 * @see java.sql.Statement#setFetchSize
+	 */
+	public void setFetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Return the fetch size specified for this template.
+	 */
+	public int getFetchSize() {
+		return this.fetchSize;
+	}
+
+	/**
+	 * Specify the maximum number of entries for this template's SQL cache.
+	 * Default is 256.
+	 */
+	public void setCacheLimit(int cacheLimit) {
+		this.cacheLimit = cacheLimit;
+	}
+
+	/**
+	 * Return the maximum number of entries for this template's SQL cache.
+	 */
+	public int getCacheLimit() {
+		return this.cacheLimit;
+	}
+
+
+	//-------------------------------------------------------------------------
+	// Implementation of ReactiveJdbcOperations
+	//-------------------------------------------------------------------------
+
+	@Override
+	public <T> Mono<T> execute(ConnectionCallback<T> action) {
+		Assert.notNull(action, "Callback object must not be null");
+		return withSession(session -> session.execute(action))
+				.onErrorMap(SQLException.class, ex -> translateException("ConnectionCallback", null, ex))
+				.singleOrEmpty();
+	}
+
+	@Override
+	public <T> Flux<T> query(String sql, RowMapper<T> rowMapper, @Nullable Object... args) {
+		return query(new SimplePreparedStatementCreator(sql), new ArgumentPreparedStatementSetter(args), rowMapper);
+	}
+
+	@Override
+	public <T> Flux<T> query(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper) {
+		return query(getPreparedStatementCreator(sql, paramSource), null, rowMapper);
+	}
+
+	@Override
+	public <T> Flux<T> query(String sql, Map<String, ?> paramMap, RowMapper<T> rowMapper) {
+		return query(sql, new MapSqlParameterSource(paramMap), rowMapper);
+	}
+
+	@Override
+	public <T> Mono<T> queryForObject(String sql, RowMapper<T> rowMapper, @Nullable Object... args) {
+		return singleResult(query(sql, rowMapper, args));
+	}
+
+	@Override
+	public <T> Mono<T> queryForObject(String sql, Class<T> requiredType, @Nullable Object... args) {
+		RowMapper<T> rowMapper = new SingleColumnRowMapper<>(requiredType);
+		RowMapper<Optional<T>> optionalRowMapper = (rs, rowNum) -> Optional.ofNullable(rowMapper.mapRow(rs, rowNum));
+		return singleResult(query(sql, optionalRowMapper, args)).flatMap(Mono::justOrEmpty);
+	}
+
+	@Override
+	public <T> Mono<T> queryForObject(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper) {
+		return singleResult(query(sql, paramSource, rowMapper));
+	}
+
+	@Override
+	public Mono<Integer> update(String sql, @Nullable Object... args) {
+		return update(new SimplePreparedStatementCreator(sql), new ArgumentPreparedStatementSetter(args));
+	}
+
+	@Override
+	public Mono<Integer> update(String sql, SqlParameterSource paramSource) {
+		return update(getPreparedStatementCreator(sql, paramSource), null);
+	}
+
+	@Override
+	public Mono<Integer> update(String sql, Map<String, ?> paramMap) {
+		return update(sql, new MapSqlParameterSource(paramMap));
+	}
+
+	@Override
+	public <T> Mono<Long> batchUpdate(String sql, Publisher<T> batchArgs, int batchSize,
+			ParameterizedPreparedStatementSetter<T> pss) {
+
+		Assert.notNull(sql, "SQL must not be null");
+		Assert.notNull(batchArgs, "Batch arguments must not be null");
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+		Assert.notNull(pss, "ParameterizedPreparedStatementSetter must not be null");
+		return withSession(session -> Flux.from(batchArgs)
+				.buffer(batchSize)
+				.concatMap(chunk -> session.execute(con -> executeBatch(con, sql, chunk, pss))))
+				.onErrorMap(SQLException.class, ex -> translateException("PreparedStatementCallback", sql, ex))
+				.doFinally(signal -> {
+					if (pss instanceof ParameterDisposer) {
+						((ParameterDisposer) pss).cleanupParameters();
+					}
+				})
+				.reduce(0L, Long::sum);
+	}
+
+	@Override
+	public <T> Flux<T> inTransaction(Function<ReactiveJdbcOperations, ? extends Publisher<T>> action) {
+		return inTransaction(new DefaultTransactionDefinition(), action);
+	}
+
+	@Override
+	public <T> Flux<T> inTransaction(TransactionDefinition definition,
+			Function<ReactiveJdbcOperations, ? extends Publisher<T>> action) {
+
+		Assert.notNull(definition, "TransactionDefinition must not be null");
+		Assert.notNull(action, "Callback object must not be null");
+		int propagation = definition.getPropagationBehavior();
+
+		if (this.session != null) {
+			// Existing transaction found -> check propagation behavior to find out how to behave.
+			switch (propagation) {
+				case TransactionDefinition.PROPAGATION_NEVER:
+					return Flux.error(new IllegalTransactionStateException(
+							"Existing transaction found for transaction marked with propagation 'never'"));
+				case TransactionDefinition.PROPAGATION_NOT_SUPPORTED:
+					return Flux.defer(() -> action.apply(new ReactiveJdbcTemplate(this, null)));
+				case TransactionDefinition.PROPAGATION_REQUIRES_NEW:
+					return doInTransaction(definition, action);
+				case TransactionDefinition.PROPAGATION_NESTED:
+					return Flux.error(new NestedTransactionNotSupportedException(
+							"Nested transactions (savepoints) are not supported by ReactiveJdbcTemplate"));
+				default:
+					return Flux.defer(() -> action.apply(this));
+			}
+		}
+
+		// No existing transaction found -> check propagation behavior to find out how to proceed.
+		switch (propagation) {
+			case TransactionDefinition.PROPAGATION_MANDATORY:
+				return Flux.error(new IllegalTransactionStateException(
+						"No existing transaction found for transaction marked with propagation 'mandatory'"));
+			case TransactionDefinition.PROPAGATION_SUPPORTS:
+			case TransactionDefinition.PROPAGATION_NOT_SUPPORTED:
+			case TransactionDefinition.PROPAGATION_NEVER:
+				return Flux.defer(() -> action.apply(this));
+			default:
+				return doInTransaction(definition, action);
+		}
+	}
+
+	private <T> Flux<T> doInTransaction(TransactionDefinition definition,
+			Function<ReactiveJdbcOperations, ? extends Publisher<T>> action) {
+
+		return this.driver.openSession().flatMapMany(session -> {
+			ReactiveJdbcTemplate transactionalTemplate = new ReactiveJdbcTemplate(this, session);
+			Flux<T> result = session.beginTransaction(definition)
+					.onErrorMap(ex -> new CannotCreateTransactionException(
+							"Could not begin JDBC transaction", ex))
+					.thenMany(Flux.defer(() -> action.apply(transactionalTemplate)));
+			if (definition.getTimeout() != TransactionDefinition.TIMEOUT_DEFAULT) {
+				result = result.timeout(Duration.ofSeconds(definition.getTimeout()))
+						.onErrorMap(TimeoutException.class, ex -> new TransactionTimedOutException(
+								"Transaction timed out after " + definition.getTimeout() + " seconds"));
+			}
+			result = result
+					.concatWith(session.commitTransaction()
+							.onErrorMap(ex -> new TransactionSystemException("Could not commit JDBC transaction", ex))
+							.then(Mono.empty()))
+					.onErrorResume(ex -> session.rollbackTransaction()
+							.onErrorResume(rollbackEx -> {
+								logger.error("Application exception overridden by rollback exception", ex);
+								return Mono.error(new TransactionSystemException(
+										"Could not roll back JDBC transaction", rollbackEx));
+							})
+							.then(Mono.error(ex)));
+			return usingSession(session, result, session.rollbackTransaction());
+		});
+	}
+
+
+	/**
+	 * Query using a prepared statement, mapping each row via a RowMapper.
+	 * @param psc the callback that creates the {@code PreparedStatement}
+	 * @param pss the callback that sets values on the {@code PreparedStatement}, if any
+	 * @param rowMapper the callback that maps each row to a non-null object
+	 * @return the mapped rows
+	 */
+	protected <T> Flux<T> query(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss,
+			RowMapper<T> rowMapper) {
+
+		Assert.notNull(rowMapper, "RowMapper must not be null");
+		return withSession(session -> session.query(psc, pss, rowMapper, getFetchSize()))
+				.onErrorMap(SQLException.class, ex -> translateException("PreparedStatementCallback", getSql(psc), ex));
+	}
+
+	/**
+	 * Issue an update using a prepared statement.
+	 * @param psc the callback that creates the {@code PreparedStatement}
+	 * @param pss the callback that sets values on the {@code PreparedStatement}, if any
+	 * @return the number of rows affected
+	 */
+	protected Mono<Integer> update(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss) {
+		return withSession(session -> session.update(psc, pss))
+				.onErrorMap(SQLException.class, ex -> translateException("PreparedStatementCallback", getSql(psc), ex))
+				.singleOrEmpty();
+	}
+
+	/**
+	 * Apply the given action to the session of the current transaction, if any,
+	 * or to a session obtained from the driver for the duration of the action.
+	 */
+	private <T> Flux<T> withSession(Function<ReactiveJdbcSession, ? extends Publisher<T>> action) {
+		ReactiveJdbcSession session = this.session;
+		if (session != null) {
+			return Flux.defer(() -> action.apply(session));
+		}
+		return this.driver.openSession().flatMapMany(newSession ->
+				usingSession(newSession, Flux.defer(() -> action.apply(newSession)), Mono.empty()));
+	}
+
+	/**
+	 * Close the given session once the given result terminates: on completion,
+	 * the result completes once the session has been closed, propagating an
+	 * error from closing the session, if any. On error or cancellation, errors
+	 * from closing the session are logged.
+	 * @param session the session to close
+	 * @param result the result of the operations on the session
+	 * @param beforeCancelClose the action to perform on the session before
+	 * closing it in case of cancellation
+	 */
+	private <T> Flux<T> usingSession(ReactiveJdbcSession session, Flux<T> result, Mono<Void> beforeCancelClose) {
+		return result
+				.onErrorResume(ex -> closeSession(session, Mono.empty())
+						.onErrorResume(closeEx -> {
+							logger.debug("Could not close JDBC session", closeEx);
+							return Mono.empty();
+						})
+						.then(Mono.error(ex)))
+				.concatWith(closeSession(session, Mono.empty()).then(Mono.empty()))
+				.doOnCancel(() -> closeSession(session, beforeCancelClose)
+						.subscribe(null, ex -> logger.debug("Could not close JDBC session", ex)));
+	}
+
+	private Mono<Void> closeSession(ReactiveJdbcSession session, Mono<Void> beforeClose) {
+		return beforeClose.onErrorResume(ex -> {
+			logger.debug("Could not roll back JDBC transaction", ex);
+			return Mono.empty();
+		}).then(session.close());
+	}
+
+	private static <T> Long executeBatch(Connection con, String sql, List<T> chunk,
+			ParameterizedPreparedStatementSetter<T> pss) throws SQLException {
+
+		PreparedStatement ps = con.prepareStatement(sql);
+		try {
+			if (JdbcUtils.supportsBatchUpdates(con)) {
+				for (T arg : chunk) {
+					pss.setValues(ps, arg);
+					ps.addBatch();
+				}
+				ps.executeBatch();
+			}
+			else {
+				for (T arg : chunk) {
+					pss.setValues(ps, arg);
+					ps.executeUpdate();
+				}
+			}
+			return (long) chunk.size();
+		}
+		finally {
+			JdbcUtils.closeStatement(ps);
+		}
+	}
+
+	private static <T> Mono<T> singleResult(Flux<T> results) {
+		return results.take(2).collectList().flatMap(list -> {
+			if (list.size() > 1) {
+				return Mono.error(new IncorrectResultSizeDataAccessException(1));
+			}
+			return (list.isEmpty() ? Mono.empty() : Mono.just(list.get(0)));
+		});
+	}
+
+	/**
+	 * Build a {@link PreparedStatementCreator} based on the given SQL and named parameters.
+	 * @param sql the SQL statement to execute
+	 * @param paramSource container of arguments to bind
+	 * @return the corresponding {@link PreparedStatementCreator}
+	 * @see org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate#getPreparedStatementCreator
+	 */
+	protected PreparedStatementCreator getPreparedStatementCreator(String sql, SqlParameterSource paramSource) {
+		ParsedSql parsedSql = getParsedSql(sql);
+		String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource);
+		List<SqlParameter> declaredParameters = NamedParameterUtils.buildSqlParameterList(parsedSql, paramSource);
+		PreparedStatementCreatorFactory pscf = new PreparedStatementCreatorFactory(sqlToUse, declaredParameters);
+		Object[] params = NamedParameterUtils.buildValueArray(parsedSql, paramSource, null);
+		return pscf.newPreparedStatementCreator(params);
+	}
+
+	/**
+	 * Obtain a parsed representation of the given SQL statement.
+	 * <p>The default implementation uses an LRU cache with an upper limit of 256 entries.
+	 * @param sql the original SQL statement
+	 * @return a representation of the parsed SQL statement
+	 */
+	protected ParsedSql getParsedSql(String sql) {
+		if (getCacheLimit() <= 0) {
+			return NamedParameterUtils.parseSqlStatement(sql);
+		}
+		synchronized (this.parsedSqlCache) {
+			ParsedSql parsedSql = this.parsedSqlCache.get(sql);
+			if (parsedSql == null) {
+				parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+				this.parsedSqlCache.put(sql, parsedSql);
+			}
+			return parsedSql;
+		}
+	}
+
+	/**
+	 * Translate the given {@link SQLException} into a generic {@link DataAccessException}.
+	 * @param task readable text describing the task being attempted
+	 * @param sql SQL query or update that caused the problem (may be {@code null})
+	 * @param ex the offending {@code SQLException}
+	 * @return a DataAccessException wrapping the {@code SQLException} (never {@code null})
+	 * @see #getExceptionTranslator()
+	 */
+	protected DataAccessException translateException(String task, @Nullable String sql, SQLException ex) {
+		DataAccessException dae = getExceptionTranslator().translate(task, sql, ex);
+		return (dae != null ? dae : new UncategorizedSQLException(task, sql, ex));
+	}
+
+	@Nullable
+	private static String getSql(Object sqlProvider) {
+		return (sqlProvider instanceof SqlProvider ? ((SqlProvider) sqlProvider).getSql() : null);
+	}
+
+
+	/**
+	 * Simple adapter for PreparedStatementCreator, allowing to use a plain SQL statement.
+	 */
+	private static class SimplePreparedStatementCreator implements PreparedStatementCreator, SqlProvider {
+
+		private final String sql;
+
+		public SimplePreparedStatementCreator(String sql) {
+			Assert.notNull(sql, "SQL must not be null");
+			this.sql = sql;
+		}
+
+		@Override
+		public PreparedStatement createPreparedStatement(Connection con) throws SQLException {
+			return con.prepareStatement(this.sql);
+		}
+
+		@Override
+		public String getSql() {
+			return this.sql;
+		}
+	}
+
+}
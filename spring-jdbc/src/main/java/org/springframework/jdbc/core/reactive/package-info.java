@@ -0,0 +1,15 @@
+/**
+ * Reactive variant of the JDBC template, returning {@code Flux} and {@code Mono}
+ * results for use in non-blocking applications.
+ *
+ * <p>ReactiveJdbcTemplate reuses the core JDBC abstractions such as RowMapper,
+ * named parameter parsing and SQLExceptionTranslator. Statement execution is
+ * delegated to a pluggable ReactiveJdbcDriver, with DataSourceReactiveJdbcDriver
+ * adapting a regular JDBC DataSource through a bounded Reactor Scheduler.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.jdbc.core.reactive;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
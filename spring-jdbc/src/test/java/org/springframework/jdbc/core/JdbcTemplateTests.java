@@ -28,10 +28,12 @@ import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 import javax.sql.DataSource;
 
 import org.junit.Before;
@@ -785,6 +787,104 @@ public class JdbcTemplateTests {
 		verify(this.connection, atLeastOnce()).close();
 	}
 
+	@Test
+	public void testBatchUpdateWithIterator() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		final List<Integer> ids = Arrays.asList(100, 200, 300);
+		final int[] rowsAffected1 = new int[] {1, 2};
+		final int[] rowsAffected2 = new int[] {3};
+
+		given(this.preparedStatement.executeBatch()).willReturn(rowsAffected1, rowsAffected2);
+		mockDatabaseMetaData(true);
+
+		ParameterizedPreparedStatementSetter<Integer> setter = (ps, argument) -> ps.setInt(1, argument.intValue());
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+		List<int[]> reportedRowsAffected = new ArrayList<>();
+		List<Long> reportedTotals = new ArrayList<>();
+
+		long total = template.batchUpdate(sql, ids.iterator(), 2, setter, (updateCounts, totalStatements) -> {
+			reportedRowsAffected.add(updateCounts);
+			reportedTotals.add(totalStatements);
+		});
+		assertEquals(3, total);
+		assertEquals(Arrays.asList(rowsAffected1, rowsAffected2), reportedRowsAffected);
+		assertEquals(Arrays.asList(2L, 3L), reportedTotals);
+
+		verify(this.preparedStatement, times(3)).addBatch();
+		verify(this.preparedStatement, times(2)).executeBatch();
+		verify(this.preparedStatement).setInt(1, ids.get(0));
+		verify(this.preparedStatement).setInt(1, ids.get(1));
+		verify(this.preparedStatement).setInt(1, ids.get(2));
+		verify(this.preparedStatement).close();
+		verify(this.connection, atLeastOnce()).close();
+	}
+
+	@Test
+	public void testBatchUpdateWithStreamAndNoBatchSupport() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+
+		given(this.preparedStatement.executeUpdate()).willReturn(1, 2, 3);
+		mockDatabaseMetaData(false);
+
+		ParameterizedPreparedStatementSetter<Integer> setter = (ps, argument) -> ps.setInt(1, argument.intValue());
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+		List<int[]> reportedRowsAffected = new ArrayList<>();
+
+		long total = template.batchUpdate(sql, Stream.of(100, 200, 300), 2, setter,
+				(updateCounts, totalStatements) -> reportedRowsAffected.add(updateCounts));
+		assertEquals(3, total);
+		assertEquals(2, reportedRowsAffected.size());
+		assertArrayEquals(new int[] {1, 2}, reportedRowsAffected.get(0));
+		assertArrayEquals(new int[] {3}, reportedRowsAffected.get(1));
+
+		verify(this.preparedStatement, never()).addBatch();
+		verify(this.preparedStatement, times(3)).executeUpdate();
+		verify(this.preparedStatement).close();
+		verify(this.connection, atLeastOnce()).close();
+	}
+
+	@Test
+	public void testBatchUpdateWithEmptyIterator() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		mockDatabaseMetaData(true);
+
+		ParameterizedPreparedStatementSetter<Integer> setter = (ps, argument) -> ps.setInt(1, argument.intValue());
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+
+		assertEquals(0, template.batchUpdate(sql, Collections.<Integer>emptyIterator(), 2, setter, null));
+		verify(this.preparedStatement, never()).executeBatch();
+		verify(this.preparedStatement).close();
+	}
+
+	@Test
+	public void testBatchUpdateWithStreamDefaultMethod() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		ParameterizedPreparedStatementSetter<Integer> setter = (ps, argument) -> ps.setInt(1, argument.intValue());
+		JdbcOperations operations = mock(JdbcOperations.class, CALLS_REAL_METHODS);
+		List<List<Integer>> chunks = new ArrayList<>();
+		willAnswer(invocation -> {
+			Collection<Integer> chunk = invocation.getArgument(1);
+			chunks.add(new ArrayList<>(chunk));
+			int[] updateCounts = new int[chunk.size()];
+			Arrays.fill(updateCounts, 1);
+			return new int[][] {updateCounts};
+		}).given(operations).batchUpdate(eq(sql), anyCollection(), eq(2), same(setter));
+		List<int[]> reportedRowsAffected = new ArrayList<>();
+		List<Long> reportedTotals = new ArrayList<>();
+
+		long total = operations.batchUpdate(sql, Stream.of(100, 200, 300), 2, setter,
+				(updateCounts, totalStatements) -> {
+					reportedRowsAffected.add(updateCounts);
+					reportedTotals.add(totalStatements);
+				});
+		assertEquals(3, total);
+		assertEquals(Arrays.asList(Arrays.asList(100, 200), Collections.singletonList(300)), chunks);
+		assertEquals(2, reportedRowsAffected.size());
+		assertArrayEquals(new int[] {1, 1}, reportedRowsAffected.get(0));
+		assertArrayEquals(new int[] {1}, reportedRowsAffected.get(1));
+		assertEquals(Arrays.asList(2L, 3L), reportedTotals);
+	}
+
 	@Test
 	public void testCouldNotGetConnectionForOperationOrExceptionTranslator() throws SQLException {
 		SQLException sqlException = new SQLException("foo", "07xxx");
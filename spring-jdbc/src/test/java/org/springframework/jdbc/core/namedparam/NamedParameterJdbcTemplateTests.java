@@ -22,6 +22,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -36,6 +37,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.jdbc.Customer;
 import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -468,6 +470,75 @@ public class NamedParameterJdbcTemplateTests {
 		verify(connection, atLeastOnce()).close();
 	}
 
+	@Test
+	public void testBatchUpdateWithSqlParameterSourceIterator() throws Exception {
+		List<SqlParameterSource> ids = Arrays.asList(new MapSqlParameterSource("id", 100),
+				new MapSqlParameterSource("id", 200), new MapSqlParameterSource("id", 300));
+		final int[] rowsAffected1 = new int[] {1, 2};
+		final int[] rowsAffected2 = new int[] {3};
+
+		given(preparedStatement.executeBatch()).willReturn(rowsAffected1, rowsAffected2);
+		given(connection.getMetaData()).willReturn(databaseMetaData);
+		namedParameterTemplate = new NamedParameterJdbcTemplate(new JdbcTemplate(dataSource, false));
+		List<Long> reportedTotals = new ArrayList<>();
+
+		long total = namedParameterTemplate.batchUpdate(
+				"UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = :id", ids.iterator(), 2,
+				(updateCounts, totalStatements) -> reportedTotals.add(totalStatements));
+		assertEquals(3, total);
+		assertEquals(Arrays.asList(2L, 3L), reportedTotals);
+		verify(connection).prepareStatement("UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?");
+		verify(preparedStatement).setObject(1, 100);
+		verify(preparedStatement).setObject(1, 200);
+		verify(preparedStatement).setObject(1, 300);
+		verify(preparedStatement, times(3)).addBatch();
+		verify(preparedStatement, times(2)).executeBatch();
+		verify(preparedStatement, atLeastOnce()).close();
+		verify(connection, atLeastOnce()).close();
+	}
+
+	@Test
+	public void testBatchUpdateWithSqlParameterSourceIteratorDefaultMethod() throws Exception {
+		String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = :id";
+		List<SqlParameterSource> ids = Arrays.asList(new MapSqlParameterSource("id", 100),
+				new MapSqlParameterSource("id", 200), new MapSqlParameterSource("id", 300));
+		NamedParameterJdbcOperations operations = mock(NamedParameterJdbcOperations.class, CALLS_REAL_METHODS);
+		List<List<SqlParameterSource>> chunks = new ArrayList<>();
+		willAnswer(invocation -> {
+			SqlParameterSource[] chunk = invocation.getArgument(1);
+			chunks.add(Arrays.asList(chunk));
+			return new int[chunk.length];
+		}).given(operations).batchUpdate(eq(sql), any(SqlParameterSource[].class));
+		List<Long> reportedTotals = new ArrayList<>();
+
+		long total = operations.batchUpdate(sql, ids.iterator(), 2,
+				(updateCounts, totalStatements) -> reportedTotals.add(totalStatements));
+		assertEquals(3, total);
+		assertEquals(Arrays.asList(ids.subList(0, 2), ids.subList(2, 3)), chunks);
+		assertEquals(Arrays.asList(2L, 3L), reportedTotals);
+	}
+
+	@Test
+	public void testBatchUpdateWithSqlParameterSourceIteratorAndMismatchingCollection() throws Exception {
+		List<SqlParameterSource> ids = Arrays.asList(new MapSqlParameterSource("ids", Arrays.asList(100, 101)),
+				new MapSqlParameterSource("ids", Arrays.asList(200, 201, 202)));
+
+		given(connection.getMetaData()).willReturn(databaseMetaData);
+		namedParameterTemplate = new NamedParameterJdbcTemplate(new JdbcTemplate(dataSource, false));
+
+		thrown.expect(InvalidDataAccessApiUsageException.class);
+		thrown.expectMessage("'ids'");
+		try {
+			namedParameterTemplate.batchUpdate(
+					"UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID IN (:ids)", ids.iterator(), 2, null);
+		}
+		finally {
+			verify(connection).prepareStatement("UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID IN (?, ?)");
+			verify(preparedStatement, times(1)).addBatch();
+			verify(preparedStatement, never()).executeBatch();
+		}
+	}
+
 	@Test
 	public void testBatchUpdateWithSqlParameterSourcePlusTypeInfo() throws Exception {
 		SqlParameterSource[] ids = new SqlParameterSource[2];
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.reactive;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import static org.junit.Assert.*;
+
+/**
+ * Integration tests for {@link ReactiveJdbcTemplate} on an embedded H2 database.
+ */
+public class ReactiveJdbcTemplateTests {
+
+	private static final RowMapper<String> NAME_MAPPER = (rs, rowNum) -> rs.getString("name");
+
+
+	private EmbeddedDatabase database;
+
+	private Scheduler scheduler;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private ReactiveJdbcTemplate template;
+
+
+	@Before
+	public void setup() {
+		this.database = new EmbeddedDatabaseBuilder()
+				.generateUniqueName(true)
+				.setType(EmbeddedDatabaseType.H2)
+				.build();
+		this.jdbcTemplate = new JdbcTemplate(this.database);
+		this.jdbcTemplate.execute("CREATE TABLE person (id INT PRIMARY KEY, name VARCHAR(50))");
+		this.jdbcTemplate.update("INSERT INTO person VALUES (1, 'Juergen')");
+		this.jdbcTemplate.update("INSERT INTO person VALUES (2, 'Rossen')");
+		this.jdbcTemplate.update("INSERT INTO person VALUES (3, 'Sam')");
+
+		this.scheduler = Schedulers.newParallel("jdbc", 2);
+		this.template = new ReactiveJdbcTemplate(this.database, this.scheduler);
+	}
+
+	@After
+	public void shutdown() {
+		this.scheduler.dispose();
+		this.database.shutdown();
+	}
+
+
+	@Test
+	public void query() {
+		StepVerifier.create(this.template.query("SELECT name FROM person WHERE id > ? ORDER BY id", NAME_MAPPER, 1))
+				.expectNext("Rossen", "Sam")
+				.verifyComplete();
+	}
+
+	@Test
+	public void queryWithBackpressure() {
+		StepVerifier.create(this.template.query("SELECT name FROM person ORDER BY id", NAME_MAPPER), 1)
+				.expectNext("Juergen")
+				.thenRequest(1)
+				.expectNext("Rossen")
+				.thenCancel()
+				.verify();
+	}
+
+	@Test
+	public void queryWithNamedParameters() {
+		MapSqlParameterSource params = new MapSqlParameterSource("name", "Sam");
+		StepVerifier.create(this.template.query("SELECT name FROM person WHERE name <> :name ORDER BY id",
+				params, NAME_MAPPER))
+				.expectNext("Juergen", "Rossen")
+				.verifyComplete();
+	}
+
+	@Test
+	public void queryForObject() {
+		StepVerifier.create(this.template.queryForObject("SELECT name FROM person WHERE id = ?", NAME_MAPPER, 2))
+				.expectNext("Rossen")
+				.verifyComplete();
+		StepVerifier.create(this.template.queryForObject("SELECT name FROM person WHERE id = ?", NAME_MAPPER, 4))
+				.verifyComplete();
+		StepVerifier.create(this.template.queryForObject("SELECT name FROM person", NAME_MAPPER))
+				.verifyError(IncorrectResultSizeDataAccessException.class);
+	}
+
+	@Test
+	public void queryForObjectWithRequiredType() {
+		StepVerifier.create(this.template.queryForObject("SELECT COUNT(*) FROM person", Integer.class))
+				.expectNext(3)
+				.verifyComplete();
+	}
+
+	@Test
+	public void update() {
+		StepVerifier.create(this.template.update("UPDATE person SET name = ? WHERE id > ?", "Stephane", 1))
+				.expectNext(2)
+				.verifyComplete();
+		assertEquals(Integer.valueOf(2), this.jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM person WHERE name = 'Stephane'", Integer.class));
+	}
+
+	@Test
+	public void updateWithNamedParameters() {
+		StepVerifier.create(this.template.update("DELETE FROM person WHERE name = :name",
+				Collections.singletonMap("name", "Sam")))
+				.expectNext(1)
+				.verifyComplete();
+	}
+
+	@Test
+	public void batchUpdate() {
+		Flux<Integer> ids = Flux.range(4, 5);
+		StepVerifier.create(this.template.batchUpdate("INSERT INTO person VALUES (?, ?)", ids, 2,
+				(ps, id) -> {
+					ps.setInt(1, id);
+					ps.setString(2, "Person " + id);
+				}))
+				.expectNext(5L)
+				.verifyComplete();
+		assertEquals(Integer.valueOf(8), this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM person", Integer.class));
+	}
+
+	@Test
+	public void batchUpdateWithDuplicateKey() {
+		StepVerifier.create(this.template.batchUpdate("INSERT INTO person VALUES (?, 'Duplicate')",
+				Flux.just(4, 1), 10, (ps, id) -> ps.setInt(1, id)))
+				.verifyError(DuplicateKeyException.class);
+	}
+
+	@Test
+	public void badSqlGrammar() {
+		StepVerifier.create(this.template.query("SELECT name FROM unknown", NAME_MAPPER))
+				.verifyError(BadSqlGrammarException.class);
+	}
+
+	@Test
+	public void transactionCommit() {
+		StepVerifier.create(this.template.inTransaction(operations ->
+				operations.update("INSERT INTO person VALUES (4, 'Arjen')")
+						.thenMany(operations.query("SELECT name FROM person WHERE id = 4", NAME_MAPPER))))
+				.expectNext("Arjen")
+				.verifyComplete();
+		assertEquals(Integer.valueOf(4), this.jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM person", Integer.class));
+	}
+
+	@Test
+	public void transactionRollback() {
+		StepVerifier.create(this.template.inTransaction(operations ->
+				operations.update("INSERT INTO person VALUES (4, 'Arjen')")
+						.then(Mono.error(new IllegalStateException("rollback")))))
+				.verifyError(IllegalStateException.class);
+		assertEquals(Integer.valueOf(3), this.jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM person", Integer.class));
+	}
+
+	@Test
+	public void transactionOnSingleThread() {
+		StepVerifier.create(this.template.inTransaction(operations -> Flux.range(0, 4)
+				.concatMap(i -> operations.execute(con -> Thread.currentThread())))
+				.distinct())
+				.expectNextCount(1)
+				.verifyComplete();
+	}
+
+	@Test
+	public void sessionClosedBeforeCompletion() {
+		ReactiveJdbcDriver driver = this.template.getDriver();
+		AtomicBoolean closed = new AtomicBoolean();
+		ReactiveJdbcTemplate template = new ReactiveJdbcTemplate(() -> driver.openSession().map(session ->
+				(ReactiveJdbcSession) Proxy.newProxyInstance(getClass().getClassLoader(),
+						new Class<?>[] {ReactiveJdbcSession.class}, (proxy, method, args) -> {
+							Object result = method.invoke(session, args);
+							if (method.getName().equals("close")) {
+								return ((Mono<?>) result).doOnSuccess(value -> closed.set(true));
+							}
+							return result;
+						})));
+		StepVerifier.create(template.update("DELETE FROM person WHERE id = ?", 1))
+				.expectNext(1)
+				.verifyComplete();
+		assertTrue(closed.get());
+	}
+
+	@Test
+	public void transactionWithMandatoryPropagation() {
+		DefaultTransactionDefinition definition =
+				new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_MANDATORY);
+		StepVerifier.create(this.template.inTransaction(definition, operations ->
+				operations.inTransaction(definition, nested -> nested.update("DELETE FROM person"))))
+				.verifyError(IllegalTransactionStateException.class);
+
+		StepVerifier.create(this.template.inTransaction(operations ->
+				operations.inTransaction(definition, nested -> nested.update("DELETE FROM person"))))
+				.expectNext(3)
+				.verifyComplete();
+	}
+
+}
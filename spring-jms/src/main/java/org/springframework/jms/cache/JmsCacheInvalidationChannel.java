@@ -0,0 +1,128 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jms.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageListener;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cache.support.CacheInvalidation;
+import org.springframework.cache.support.CacheInvalidationChannel;
+import org.springframework.jms.core.JmsOperations;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.jms.support.converter.SimpleMessageConverter;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheInvalidationChannel} that publishes invalidations to a JMS
+ * destination, typically a topic, and receives them as a {@link MessageListener}.
+ *
+ * <p>Each process needs to register this channel as the listener of a message
+ * listener container for the same destination, e.g. a
+ * {@link org.springframework.jms.listener.DefaultMessageListenerContainer} with
+ * "pubSubDomain" set to {@code true}. The given {@link JmsOperations} need to be
+ * configured for the same kind of destination.
+ *
+ * <p>Invalidations are sent as JMS ObjectMessages by default, requiring the
+ * cache keys to be serializable. A custom {@link MessageConverter} may be
+ * specified for a different message format.
+ *
+ * @since 5.0.12
+ * @see org.springframework.cache.support.TwoLevelCacheManager#setInvalidationChannel
+ */
+public class JmsCacheInvalidationChannel implements CacheInvalidationChannel, MessageListener {
+
+	private static final Log logger = LogFactory.getLog(JmsCacheInvalidationChannel.class);
+
+	private final JmsOperations jmsOperations;
+
+	private final String destinationName;
+
+	private MessageConverter messageConverter = new SimpleMessageConverter();
+
+	private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+
+	/**
+	 * Create a new JmsCacheInvalidationChannel.
+	 * @param jmsOperations the JMS operations to publish invalidations with
+	 * @param destinationName the name of the destination to publish invalidations to
+	 */
+	public JmsCacheInvalidationChannel(JmsOperations jmsOperations, String destinationName) {
+		Assert.notNull(jmsOperations, "JmsOperations must not be null");
+		Assert.hasText(destinationName, "Destination name must not be empty");
+		this.jmsOperations = jmsOperations;
+		this.destinationName = destinationName;
+	}
+
+
+	/**
+	 * Set the converter to create messages from invalidations and vice versa.
+	 * <p>Default is a {@link SimpleMessageConverter}.
+	 */
+	public void setMessageConverter(MessageConverter messageConverter) {
+		Assert.notNull(messageConverter, "MessageConverter must not be null");
+		this.messageConverter = messageConverter;
+	}
+
+	/**
+	 * Return the converter to create messages from invalidations and vice versa.
+	 */
+	public MessageConverter getMessageConverter() {
+		return this.messageConverter;
+	}
+
+
+	@Override
+	public void publish(CacheInvalidation invalidation) {
+		this.jmsOperations.send(this.destinationName,
+				session -> this.messageConverter.toMessage(invalidation, session));
+	}
+
+	@Override
+	public void subscribe(Consumer<CacheInvalidation> subscriber) {
+		this.subscribers.add(subscriber);
+	}
+
+	@Override
+	public void onMessage(Message message) {
+		Object payload;
+		try {
+			payload = this.messageConverter.fromMessage(message);
+		}
+		catch (JMSException ex) {
+			throw JmsUtils.convertJmsAccessException(ex);
+		}
+		if (!(payload instanceof CacheInvalidation)) {
+			if (logger.isWarnEnabled()) {
+				logger.warn("Ignoring unexpected message payload: " + payload);
+			}
+			return;
+		}
+		for (Consumer<CacheInvalidation> subscriber : this.subscribers) {
+			subscriber.accept((CacheInvalidation) payload);
+		}
+	}
+
+}
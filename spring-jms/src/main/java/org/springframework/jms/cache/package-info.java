@@ -0,0 +1,10 @@
+/**
+ * Support for keeping the local caches of several processes coherent
+ * through JMS, for use with a two-level cache setup.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.jms.cache;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jms.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.jms.JMSException;
+import javax.jms.ObjectMessage;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.cache.support.CacheInvalidation;
+import org.springframework.jms.core.JmsOperations;
+import org.springframework.jms.core.MessageCreator;
+
+import static org.junit.Assert.*;
+import static org.mockito.BDDMockito.*;
+
+/**
+ * Unit tests for {@link JmsCacheInvalidationChannel}.
+ */
+public class JmsCacheInvalidationChannelTests {
+
+	private final JmsOperations jmsOperations = mock(JmsOperations.class);
+
+	private final JmsCacheInvalidationChannel channel =
+			new JmsCacheInvalidationChannel(this.jmsOperations, "cacheInvalidations");
+
+
+	@Test
+	public void publish() throws JMSException {
+		CacheInvalidation invalidation = new CacheInvalidation("origin", "test", "key");
+		this.channel.publish(invalidation);
+
+		ArgumentCaptor<MessageCreator> messageCreator = ArgumentCaptor.forClass(MessageCreator.class);
+		verify(this.jmsOperations).send(eq("cacheInvalidations"), messageCreator.capture());
+
+		Session session = mock(Session.class);
+		ObjectMessage message = mock(ObjectMessage.class);
+		given(session.createObjectMessage(invalidation)).willReturn(message);
+		assertSame(message, messageCreator.getValue().createMessage(session));
+	}
+
+	@Test
+	public void onMessage() throws JMSException {
+		List<CacheInvalidation> received = new ArrayList<>();
+		this.channel.subscribe(received::add);
+
+		CacheInvalidation invalidation = new CacheInvalidation("origin", "test", null);
+		ObjectMessage message = mock(ObjectMessage.class);
+		given(message.getObject()).willReturn(invalidation);
+		this.channel.onMessage(message);
+
+		assertEquals(1, received.size());
+		assertSame(invalidation, received.get(0));
+		assertTrue(received.get(0).isCacheWide());
+	}
+
+	@Test
+	public void onMessageWithUnexpectedPayload() throws JMSException {
+		List<CacheInvalidation> received = new ArrayList<>();
+		this.channel.subscribe(received::add);
+
+		TextMessage message = mock(TextMessage.class);
+		given(message.getText()).willReturn("test");
+		this.channel.onMessage(message);
+
+		assertTrue(received.isEmpty());
+	}
+
+}
@@ -22,14 +22,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.core.MethodClassKey;
 import org.springframework.core.MethodParameter;
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.handler.HandlerMethod;
 
 /**
  * Resolves method parameters by delegating to a list of registered
  * {@link HandlerMethodArgumentResolver}. Previously resolved method parameters are cached
- * for faster lookups.
+ * for faster lookups, as are the resolvers for all parameters of a given handler method.
  *
  * @author Rossen Stoyanchev
  * @author Juergen Hoeller
@@ -42,12 +44,16 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 	private final Map<MethodParameter, HandlerMethodArgumentResolver> argumentResolverCache =
 			new ConcurrentHashMap<>(256);
 
+	private final Map<MethodClassKey, HandlerMethodArgumentResolver[]> handlerMethodResolverCache =
+			new ConcurrentHashMap<>(256);
+
 
 	/**
 	 * Add the given {@link HandlerMethodArgumentResolver}.
 	 */
 	public HandlerMethodArgumentResolverComposite addResolver(HandlerMethodArgumentResolver argumentResolver) {
 		this.argumentResolvers.add(argumentResolver);
+		this.handlerMethodResolverCache.clear();
 		return this;
 	}
 
@@ -60,6 +66,7 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 			for (HandlerMethodArgumentResolver resolver : resolvers) {
 				this.argumentResolvers.add(resolver);
 			}
+			this.handlerMethodResolverCache.clear();
 		}
 		return this;
 	}
@@ -74,6 +81,7 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 			for (HandlerMethodArgumentResolver resolver : argumentResolvers) {
 				this.argumentResolvers.add(resolver);
 			}
+			this.handlerMethodResolverCache.clear();
 		}
 		return this;
 	}
@@ -90,6 +98,7 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 	 */
 	public void clear() {
 		this.argumentResolvers.clear();
+		this.handlerMethodResolverCache.clear();
 	}
 
 
@@ -116,6 +125,27 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 		return resolver.resolveArgument(parameter, message);
 	}
 
+	/**
+	 * Find the registered {@link HandlerMethodArgumentResolver} for each parameter of the
+	 * given handler method, computed once per method and bean type.
+	 * @return the resolvers in parameter order, with {@code null} for a parameter that
+	 * is not supported by any registered resolver (not to be modified)
+	 * @since 5.0.12
+	 */
+	HandlerMethodArgumentResolver[] getArgumentResolvers(HandlerMethod handlerMethod) {
+		MethodClassKey cacheKey = new MethodClassKey(handlerMethod.getMethod(), handlerMethod.getBeanType());
+		HandlerMethodArgumentResolver[] result = this.handlerMethodResolverCache.get(cacheKey);
+		if (result == null) {
+			MethodParameter[] parameters = handlerMethod.getMethodParameters();
+			result = new HandlerMethodArgumentResolver[parameters.length];
+			for (int i = 0; i < parameters.length; i++) {
+				result[i] = getArgumentResolver(parameters[i]);
+			}
+			this.handlerMethodResolverCache.put(cacheKey, result);
+		}
+		return result;
+	}
+
 	/**
 	 * Find a registered {@link HandlerMethodArgumentResolver} that supports the given method parameter.
 	 */
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -83,6 +83,15 @@ public class SimpMessageHeaderAccessor extends NativeMessageHeaderAccessor {
 	 */
 	public static final String IGNORE_ERROR = "simpIgnoreError";
 
+	/**
+	 * A header for internal use with messages that a broker sends to multiple
+	 * subscribers, identifying the messages created from the same message so
+	 * that the parts they have in common can be encoded only once.
+	 * @since 5.0.12
+	 * @see org.springframework.messaging.simp.stomp.StompEncoder
+	 */
+	public static final String BROADCAST_ID_HEADER = "simpBroadcastId";
+
 
 	/**
 	 * A constructor for creating new message headers.
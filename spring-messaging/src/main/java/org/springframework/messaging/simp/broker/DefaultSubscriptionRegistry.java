@@ -16,15 +16,20 @@
 
 package org.springframework.messaging.simp.broker;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
@@ -55,6 +60,11 @@ import org.springframework.util.StringUtils;
  * header on subscription messages with Spring EL expressions evaluated against
  * the headers to filter out messages in addition to destination matching.
  *
+ * <p>As of 5.0.12, subscribed destinations are indexed in a prefix tree over
+ * their path segments, so that resolving the subscriptions for a destination
+ * takes time proportional to the depth of the destination rather than to the
+ * number of sessions. Subscription updates do not hold a global lock.
+ *
  * @author Rossen Stoyanchev
  * @author Sebastien Deleuze
  * @author Juergen Hoeller
@@ -72,6 +82,8 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 
 	private PathMatcher pathMatcher = new AntPathMatcher();
 
+	private volatile DestinationIndex destinationIndex = new DestinationIndex(this.pathMatcher);
+
 	private volatile int cacheLimit = DEFAULT_CACHE_LIMIT;
 
 	@Nullable
@@ -91,6 +103,14 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 	 */
 	public void setPathMatcher(PathMatcher pathMatcher) {
 		this.pathMatcher = pathMatcher;
+		DestinationIndex destinationIndex = new DestinationIndex(pathMatcher);
+		for (SessionSubscriptionInfo info : this.subscriptionRegistry.getAllSubscriptions()) {
+			for (String destination : info.getDestinations()) {
+				destinationIndex.addSubscriber(destination, info);
+			}
+		}
+		this.destinationIndex = destinationIndex;
+		this.destinationCache.clear();
 	}
 
 	/**
@@ -148,7 +168,9 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 			String sessionId, String subsId, String destination, Message<?> message) {
 
 		Expression expression = getSelectorExpression(message.getHeaders());
-		this.subscriptionRegistry.addSubscription(sessionId, subsId, destination, expression);
+		SessionSubscriptionInfo info =
+				this.subscriptionRegistry.addSubscription(sessionId, subsId, destination, expression);
+		this.destinationIndex.addSubscriber(destination, info);
 		this.destinationCache.updateAfterNewSubscription(destination, sessionId, subsId);
 	}
 
@@ -181,7 +203,8 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 		if (info != null) {
 			String destination = info.removeSubscription(subsId);
 			if (destination != null) {
-				this.destinationCache.updateAfterRemovedSubscription(sessionId, subsId);
+				this.destinationIndex.removeSubscriber(destination, info, false);
+				this.destinationCache.updateAfterRemovedSubscription(destination, sessionId, subsId);
 			}
 		}
 	}
@@ -190,6 +213,9 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 	public void unregisterAllSubscriptions(String sessionId) {
 		SessionSubscriptionInfo info = this.subscriptionRegistry.removeSubscriptions(sessionId);
 		if (info != null) {
+			for (String destination : info.getDestinations()) {
+				this.destinationIndex.removeSubscriber(destination, info, true);
+			}
 			this.destinationCache.updateAfterRemovedSession(info);
 		}
 	}
@@ -242,13 +268,20 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 
 	@Override
 	public String toString() {
-		return "DefaultSubscriptionRegistry[" + this.destinationCache + ", " + this.subscriptionRegistry + "]";
+		return "DefaultSubscriptionRegistry[" + this.destinationCache + ", " + this.destinationIndex + ", " +
+				this.subscriptionRegistry + "]";
 	}
 
 
 	/**
 	 * A cache for destinations previously resolved via
 	 * {@link DefaultSubscriptionRegistry#findSubscriptionsInternal(String, Message)}.
+	 * <p>Cached subscriptions are never modified but replaced on update, so that
+	 * they are safe to iterate. Updates apply to cached destinations individually,
+	 * without holding a lock for the cache as a whole: a destination is marked as
+	 * pending while its subscriptions are resolved, and updates concurrent with
+	 * the resolution remove the mark, preventing an outdated result from being
+	 * cached.
 	 */
 	private class DestinationCache {
 
@@ -256,109 +289,437 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 		private final Map<String, LinkedMultiValueMap<String, String>> accessCache =
 				new ConcurrentHashMap<>(DEFAULT_CACHE_LIMIT);
 
-		/** Map from destination -> <sessionId, subscriptionId> with locking */
-		@SuppressWarnings("serial")
-		private final Map<String, LinkedMultiValueMap<String, String>> updateCache =
-				new LinkedHashMap<String, LinkedMultiValueMap<String, String>>(DEFAULT_CACHE_LIMIT, 0.75f, true) {
-					@Override
-					protected boolean removeEldestEntry(Map.Entry<String, LinkedMultiValueMap<String, String>> eldest) {
-						if (size() > getCacheLimit()) {
-							accessCache.remove(eldest.getKey());
-							return true;
-						}
-						else {
-							return false;
-						}
-					}
-				};
+		/** Cached destinations in insertion order, for eviction once the cache limit is exceeded */
+		private final Queue<String> cacheEvictionQueue = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger cacheSize = new AtomicInteger();
 
 
 		public LinkedMultiValueMap<String, String> getSubscriptions(String destination, Message<?> message) {
 			LinkedMultiValueMap<String, String> result = this.accessCache.get(destination);
-			if (result == null) {
-				synchronized (this.updateCache) {
-					result = new LinkedMultiValueMap<>();
-					for (SessionSubscriptionInfo info : subscriptionRegistry.getAllSubscriptions()) {
-						for (String destinationPattern : info.getDestinations()) {
-							if (getPathMatcher().match(destinationPattern, destination)) {
-								for (Subscription sub : info.getSubscriptions(destinationPattern)) {
-									result.add(info.sessionId, sub.getId());
-								}
-							}
-						}
-					}
-					if (!result.isEmpty()) {
-						this.updateCache.put(destination, result.deepCopy());
-						this.accessCache.put(destination, result);
-					}
-				}
+			if (result != null && !(result instanceof PendingSubscriptions)) {
+				return result;
+			}
+			PendingSubscriptions pending = new PendingSubscriptions();
+			if (result != null || this.accessCache.putIfAbsent(destination, pending) != null) {
+				// Resolution in progress on another thread
+				return destinationIndex.findSubscriptions(destination);
+			}
+			result = destinationIndex.findSubscriptions(destination);
+			if (result.isEmpty()) {
+				this.accessCache.remove(destination, pending);
+			}
+			else if (this.accessCache.replace(destination, pending, result)) {
+				this.cacheEvictionQueue.add(destination);
+				this.cacheSize.incrementAndGet();
+				ensureCacheLimit();
 			}
 			return result;
 		}
 
+		private void ensureCacheLimit() {
+			while (this.cacheSize.get() > getCacheLimit()) {
+				String destination = this.cacheEvictionQueue.poll();
+				if (destination == null) {
+					return;
+				}
+				evict(destination);
+			}
+		}
+
+		private void evict(String destination) {
+			LinkedMultiValueMap<String, String> subscriptions = this.accessCache.remove(destination);
+			if (subscriptions != null && !(subscriptions instanceof PendingSubscriptions)) {
+				this.cacheSize.decrementAndGet();
+			}
+		}
+
 		public void updateAfterNewSubscription(String destination, String sessionId, String subsId) {
-			synchronized (this.updateCache) {
-				this.updateCache.forEach((cachedDestination, subscriptions) -> {
-					if (getPathMatcher().match(destination, cachedDestination)) {
-						// Subscription id's may also be populated via getSubscriptions()
-						List<String> subsForSession = subscriptions.get(sessionId);
-						if (subsForSession == null || !subsForSession.contains(subsId)) {
-							subscriptions.add(sessionId, subsId);
-							this.accessCache.put(cachedDestination, subscriptions.deepCopy());
+			updateCachedSubscriptions(matching(destination), subscriptions -> {
+				// Subscription id's may also be populated via getSubscriptions()
+				List<String> subsForSession = subscriptions.get(sessionId);
+				if (subsForSession != null && subsForSession.contains(subsId)) {
+					return subscriptions;
+				}
+				LinkedMultiValueMap<String, String> updated = subscriptions.deepCopy();
+				updated.add(sessionId, subsId);
+				return updated;
+			});
+		}
+
+		public void updateAfterRemovedSubscription(String destination, String sessionId, String subsId) {
+			updateCachedSubscriptions(matching(destination), subscriptions -> {
+				List<String> subsForSession = subscriptions.get(sessionId);
+				if (subsForSession == null || !subsForSession.contains(subsId)) {
+					return subscriptions;
+				}
+				LinkedMultiValueMap<String, String> updated = subscriptions.deepCopy();
+				subsForSession = updated.get(sessionId);
+				subsForSession.remove(subsId);
+				if (subsForSession.isEmpty()) {
+					updated.remove(sessionId);
+				}
+				return updated;
+			});
+		}
+
+		public void updateAfterRemovedSession(SessionSubscriptionInfo info) {
+			List<String> destinationPatterns = new ArrayList<>(info.getDestinations());
+			if (destinationPatterns.isEmpty()) {
+				return;
+			}
+			updateCachedSubscriptions(destination -> {
+				for (String destinationPattern : destinationPatterns) {
+					if (getPathMatcher().match(destinationPattern, destination)) {
+						return true;
+					}
+				}
+				return false;
+			}, subscriptions -> {
+				if (!subscriptions.containsKey(info.getSessionId())) {
+					return subscriptions;
+				}
+				LinkedMultiValueMap<String, String> updated = subscriptions.deepCopy();
+				updated.remove(info.getSessionId());
+				return updated;
+			});
+		}
+
+		private Predicate<String> matching(String destinationPattern) {
+			return destination -> getPathMatcher().match(destinationPattern, destination);
+		}
+
+		/**
+		 * Apply the given update to the subscriptions of each cached destination
+		 * accepted by the given filter, evicting destinations left without
+		 * subscriptions.
+		 */
+		private void updateCachedSubscriptions(Predicate<String> destinationFilter,
+				UnaryOperator<LinkedMultiValueMap<String, String>> update) {
+
+			for (String destination : this.accessCache.keySet()) {
+				if (destinationFilter.test(destination)) {
+					this.accessCache.computeIfPresent(destination, (key, subscriptions) -> {
+						if (subscriptions instanceof PendingSubscriptions) {
+							// Being resolved: the result may not reflect this update
+							return null;
+						}
+						LinkedMultiValueMap<String, String> updated = update.apply(subscriptions);
+						if (updated.isEmpty()) {
+							this.cacheSize.decrementAndGet();
+							this.cacheEvictionQueue.remove(key);
+							return null;
 						}
+						return updated;
+					});
+				}
+			}
+		}
+
+		public void clear() {
+			for (String destination : this.accessCache.keySet()) {
+				evict(destination);
+			}
+			this.cacheEvictionQueue.clear();
+		}
+
+		@Override
+		public String toString() {
+			return "cache[" + this.accessCache.size() + " destination(s)]";
+		}
+	}
+
+
+	/**
+	 * Marker for a destination in the {@link DestinationCache} whose
+	 * subscriptions are being resolved, equal to itself only.
+	 */
+	@SuppressWarnings("serial")
+	private static final class PendingSubscriptions extends LinkedMultiValueMap<String, String> {
+
+		@Override
+		public boolean equals(Object other) {
+			return (this == other);
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(this);
+		}
+	}
+
+
+	/**
+	 * Index of subscribed destinations, organized as a prefix tree over their
+	 * path segments: literal segments are indexed by value, segments with
+	 * wildcards or template variables match any single segment, and
+	 * {@code "**"} matches the rest of the destination.
+	 * <p>The index yields candidate destination patterns in time proportional
+	 * to the depth of a destination, which are then checked through the
+	 * {@link PathMatcher}. It requires an {@link AntPathMatcher} with "/" or "."
+	 * as separator; for any other {@code PathMatcher} all subscribed
+	 * destinations are candidates.
+	 * <p>The prefix tree is modified under a lock and read without locking.
+	 * Nodes are created for subscribed destinations only, and unlinked again
+	 * once no subscribed destination remains at or below them.
+	 */
+	private static class DestinationIndex {
+
+		private static final String CATCH_ALL_SEGMENT = "**";
+
+		private final PathMatcher pathMatcher;
+
+		@Nullable
+		private final String pathSeparator;
+
+		private final IndexNode root = new IndexNode();
+
+		private final Object treeMonitor = new Object();
+
+		/** Map from destination -> sessions with subscriptions to the destination */
+		private final ConcurrentMap<String, Set<SessionSubscriptionInfo>> subscribers = new ConcurrentHashMap<>();
+
+		public DestinationIndex(PathMatcher pathMatcher) {
+			this.pathMatcher = pathMatcher;
+			this.pathSeparator = determinePathSeparator(pathMatcher);
+		}
+
+		/**
+		 * Determine the path separator of an {@code AntPathMatcher}, provided that
+		 * it does not trim tokens, or return {@code null} if not applicable.
+		 */
+		@Nullable
+		private static String determinePathSeparator(PathMatcher pathMatcher) {
+			if (pathMatcher instanceof AntPathMatcher) {
+				for (String separator : new String[] {"/", "."}) {
+					if (pathMatcher.match("a" + separator + "*", "a" + separator + "b") &&
+							!pathMatcher.match("a*", "a" + separator + "b") &&
+							!pathMatcher.match("a" + separator + "b", "a" + separator + " b")) {
+						return separator;
 					}
-				});
+				}
 			}
+			return null;
 		}
 
-		public void updateAfterRemovedSubscription(String sessionId, String subsId) {
-			synchronized (this.updateCache) {
-				Set<String> destinationsToRemove = new HashSet<>();
-				this.updateCache.forEach((destination, sessionMap) -> {
-					List<String> subscriptions = sessionMap.get(sessionId);
-					if (subscriptions != null) {
-						subscriptions.remove(subsId);
-						if (subscriptions.isEmpty()) {
-							sessionMap.remove(sessionId);
-						}
-						if (sessionMap.isEmpty()) {
-							destinationsToRemove.add(destination);
-						}
-						else {
-							this.accessCache.put(destination, sessionMap.deepCopy());
-						}
+		public void addSubscriber(String destination, SessionSubscriptionInfo info) {
+			this.subscribers.compute(destination, (key, sessions) -> {
+				if (sessions == null) {
+					sessions = ConcurrentHashMap.newKeySet();
+					addDestination(destination);
+				}
+				sessions.add(info);
+				return sessions;
+			});
+		}
+
+		/**
+		 * Remove the given session as subscriber to the given destination.
+		 * @param force whether to remove the session even if it still has
+		 * subscriptions to the destination
+		 */
+		public void removeSubscriber(String destination, SessionSubscriptionInfo info, boolean force) {
+			this.subscribers.computeIfPresent(destination, (key, sessions) -> {
+				if (force || info.getSubscriptions(destination) == null) {
+					sessions.remove(info);
+					if (sessions.isEmpty()) {
+						removeDestination(destination);
+						return null;
 					}
-				});
-				for (String destination : destinationsToRemove) {
-					this.updateCache.remove(destination);
-					this.accessCache.remove(destination);
 				}
+				return sessions;
+			});
+		}
+
+		private void addDestination(String destination) {
+			synchronized (this.treeMonitor) {
+				if (this.pathSeparator == null) {
+					this.root.destinations.add(destination);
+					return;
+				}
+				IndexNode node = this.root;
+				for (String segment : tokenize(destination, this.pathSeparator)) {
+					if (CATCH_ALL_SEGMENT.equals(segment)) {
+						node.catchAllDestinations.add(destination);
+						return;
+					}
+					node = (isWildcardSegment(segment) ? node.getWildcardChild() : node.getLiteralChild(segment));
+				}
+				node.destinations.add(destination);
 			}
 		}
 
-		public void updateAfterRemovedSession(SessionSubscriptionInfo info) {
-			synchronized (this.updateCache) {
-				Set<String> destinationsToRemove = new HashSet<>();
-				this.updateCache.forEach((destination, sessionMap) -> {
-					if (sessionMap.remove(info.getSessionId()) != null) {
-						if (sessionMap.isEmpty()) {
-							destinationsToRemove.add(destination);
-						}
-						else {
-							this.accessCache.put(destination, sessionMap.deepCopy());
+		private void removeDestination(String destination) {
+			synchronized (this.treeMonitor) {
+				if (this.pathSeparator == null) {
+					this.root.destinations.remove(destination);
+				}
+				else {
+					removeDestination(this.root, tokenize(destination, this.pathSeparator), 0, destination);
+				}
+			}
+		}
+
+		/**
+		 * Remove the given destination below the given node, following existing
+		 * nodes only and unlinking child nodes that are left empty.
+		 * @return whether the given node is empty after the removal
+		 */
+		private boolean removeDestination(IndexNode node, String[] segments, int index, String destination) {
+			if (index == segments.length) {
+				node.destinations.remove(destination);
+			}
+			else if (CATCH_ALL_SEGMENT.equals(segments[index])) {
+				node.catchAllDestinations.remove(destination);
+			}
+			else if (isWildcardSegment(segments[index])) {
+				IndexNode child = node.wildcardChild;
+				if (child != null && removeDestination(child, segments, index + 1, destination)) {
+					node.wildcardChild = null;
+				}
+			}
+			else {
+				IndexNode child = node.literalChildren.get(segments[index]);
+				if (child != null && removeDestination(child, segments, index + 1, destination)) {
+					node.literalChildren.remove(segments[index], child);
+				}
+			}
+			return node.isEmpty();
+		}
+
+		public LinkedMultiValueMap<String, String> findSubscriptions(String destination) {
+			Set<String> candidates = new LinkedHashSet<>();
+			if (this.pathSeparator == null) {
+				candidates.addAll(this.root.destinations);
+			}
+			else {
+				collectCandidates(this.root, tokenize(destination, this.pathSeparator), 0,
+						destination.endsWith(this.pathSeparator), candidates);
+			}
+			LinkedMultiValueMap<String, String> result = new LinkedMultiValueMap<>();
+			for (String destinationPattern : candidates) {
+				if (this.pathMatcher.match(destinationPattern, destination)) {
+					Set<SessionSubscriptionInfo> sessions = this.subscribers.get(destinationPattern);
+					if (sessions != null) {
+						for (SessionSubscriptionInfo info : sessions) {
+							Set<Subscription> subscriptions = info.getSubscriptions(destinationPattern);
+							if (subscriptions != null) {
+								for (Subscription sub : subscriptions) {
+									result.add(info.getSessionId(), sub.getId());
+								}
+							}
 						}
 					}
-				});
-				for (String destination : destinationsToRemove) {
-					this.updateCache.remove(destination);
-					this.accessCache.remove(destination);
 				}
 			}
+			return result;
+		}
+
+		private void collectCandidates(IndexNode node, String[] segments, int index,
+				boolean trailingSeparator, Set<String> candidates) {
+
+			candidates.addAll(node.catchAllDestinations);
+			if (index == segments.length) {
+				candidates.addAll(node.destinations);
+				IndexNode wildcardChild = node.wildcardChild;
+				if (trailingSeparator && wildcardChild != null) {
+					// "/topic/*" matching "/topic/"
+					candidates.addAll(wildcardChild.destinations);
+				}
+				return;
+			}
+			IndexNode literalChild = node.literalChildren.get(segments[index]);
+			if (literalChild != null) {
+				collectCandidates(literalChild, segments, index + 1, trailingSeparator, candidates);
+			}
+			IndexNode wildcardChild = node.wildcardChild;
+			if (wildcardChild != null) {
+				collectCandidates(wildcardChild, segments, index + 1, trailingSeparator, candidates);
+			}
+		}
+
+		private static boolean isWildcardSegment(String segment) {
+			return (segment.indexOf('*') != -1 || segment.indexOf('?') != -1 || segment.indexOf('{') != -1);
+		}
+
+		private static String[] tokenize(String destination, String pathSeparator) {
+			String[] segments = StringUtils.tokenizeToStringArray(destination, pathSeparator, false, true);
+			for (int i = 0; i < segments.length; i++) {
+				// The PathMatcher may be case-insensitive
+				segments[i] = toLowerCase(segments[i]);
+			}
+			return segments;
+		}
+
+		private static String toLowerCase(String segment) {
+			char[] chars = null;
+			for (int i = 0; i < segment.length(); i++) {
+				char c = segment.charAt(i);
+				char lowerCase = Character.toLowerCase(c);
+				if (c != lowerCase) {
+					if (chars == null) {
+						chars = segment.toCharArray();
+					}
+					chars[i] = lowerCase;
+				}
+			}
+			return (chars != null ? new String(chars) : segment);
 		}
 
 		@Override
 		public String toString() {
-			return "cache[" + this.accessCache.size() + " destination(s)]";
+			int nodeCount;
+			synchronized (this.treeMonitor) {
+				nodeCount = this.root.getNodeCount();
+			}
+			return "index[" + this.subscribers.size() + " destination(s), " + nodeCount + " node(s)]";
+		}
+	}
+
+
+	/**
+	 * Node of the {@link DestinationIndex}, modified under the lock of the
+	 * index and safe for concurrent reads.
+	 */
+	private static class IndexNode {
+
+		private final ConcurrentMap<String, IndexNode> literalChildren = new ConcurrentHashMap<>(4);
+
+		@Nullable
+		private volatile IndexNode wildcardChild;
+
+		private final Set<String> destinations = ConcurrentHashMap.newKeySet(2);
+
+		private final Set<String> catchAllDestinations = ConcurrentHashMap.newKeySet(2);
+
+		public IndexNode getLiteralChild(String segment) {
+			return this.literalChildren.computeIfAbsent(segment, key -> new IndexNode());
+		}
+
+		public IndexNode getWildcardChild() {
+			IndexNode child = this.wildcardChild;
+			if (child == null) {
+				child = new IndexNode();
+				this.wildcardChild = child;
+			}
+			return child;
+		}
+
+		public boolean isEmpty() {
+			return (this.destinations.isEmpty() && this.catchAllDestinations.isEmpty() &&
+					this.literalChildren.isEmpty() && this.wildcardChild == null);
+		}
+
+		public int getNodeCount() {
+			int count = 1;
+			for (IndexNode child : this.literalChildren.values()) {
+				count += child.getNodeCount();
+			}
+			IndexNode wildcardChild = this.wildcardChild;
+			if (wildcardChild != null) {
+				count += wildcardChild.getNodeCount();
+			}
+			return count;
 		}
 	}
 
@@ -19,9 +19,11 @@ package org.springframework.messaging.simp.broker;
 import java.security.Principal;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
@@ -51,6 +53,8 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 
 	private static final byte[] EMPTY_PAYLOAD = new byte[0];
 
+	private static final AtomicLong broadcastIdCounter = new AtomicLong();
+
 
 	@Nullable
 	private PathMatcher pathMatcher;
@@ -383,34 +387,51 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 		if (!subscriptions.isEmpty() && logger.isDebugEnabled()) {
 			logger.debug("Broadcasting to " + subscriptions.size() + " sessions.");
 		}
+		Long broadcastId = (isBroadcast(subscriptions) ? broadcastIdCounter.incrementAndGet() : null);
 		long now = System.currentTimeMillis();
 		subscriptions.forEach((sessionId, subscriptionIds) -> {
-			for (String subscriptionId : subscriptionIds) {
-				SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
-				initHeaders(headerAccessor);
-				headerAccessor.setSessionId(sessionId);
-				headerAccessor.setSubscriptionId(subscriptionId);
-				headerAccessor.copyHeadersIfAbsent(message.getHeaders());
-				Object payload = message.getPayload();
-				Message<?> reply = MessageBuilder.createMessage(payload, headerAccessor.getMessageHeaders());
-				try {
-					getClientOutboundChannel().send(reply);
-				}
-				catch (Throwable ex) {
-					if (logger.isErrorEnabled()) {
-						logger.error("Failed to send " + message, ex);
+			try {
+				for (String subscriptionId : subscriptionIds) {
+					SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+					initHeaders(headerAccessor);
+					headerAccessor.setSessionId(sessionId);
+					headerAccessor.setSubscriptionId(subscriptionId);
+					if (broadcastId != null) {
+						headerAccessor.setHeader(SimpMessageHeaderAccessor.BROADCAST_ID_HEADER, broadcastId);
 					}
-				}
-				finally {
-					SessionInfo info = this.sessions.get(sessionId);
-					if (info != null) {
-						info.setLastWriteTime(now);
+					headerAccessor.copyHeadersIfAbsent(message.getHeaders());
+					Object payload = message.getPayload();
+					Message<?> reply = MessageBuilder.createMessage(payload, headerAccessor.getMessageHeaders());
+					try {
+						getClientOutboundChannel().send(reply);
 					}
+					catch (Throwable ex) {
+						if (logger.isErrorEnabled()) {
+							logger.error("Failed to send " + message, ex);
+						}
+					}
+				}
+			}
+			finally {
+				SessionInfo info = this.sessions.get(sessionId);
+				if (info != null) {
+					info.setLastWriteTime(now);
 				}
 			}
 		});
 	}
 
+	private static boolean isBroadcast(MultiValueMap<String, String> subscriptions) {
+		int count = 0;
+		for (List<String> subscriptionIds : subscriptions.values()) {
+			count += subscriptionIds.size();
+			if (count > 1) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public String toString() {
 		return "SimpleBrokerMessageHandler [" + this.subscriptionRegistry + "]";
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -40,6 +41,12 @@ import org.springframework.util.Assert;
 /**
  * An encoder for STOMP frames.
  *
+ * <p>MESSAGE frames sent by a broker to multiple subscribers, as indicated by
+ * the {@link SimpMessageHeaderAccessor#BROADCAST_ID_HEADER} header, are encoded
+ * in parts: the command, headers, and body they have in common are encoded once
+ * and shared across subscribers, with only the "subscription" and "message-id"
+ * headers encoded for each frame.
+ *
  * @author Andy Wilkinson
  * @author Rossen Stoyanchev
  * @since 4.0
@@ -55,6 +62,12 @@ public class StompEncoder  {
 
 	private static final int HEADER_KEY_CACHE_LIMIT = 32;
 
+	private static final int SHARED_FRAME_CACHE_LIMIT = 8;
+
+	private static final byte[] MESSAGE_COMMAND = (StompCommand.MESSAGE + "\n").getBytes(StandardCharsets.UTF_8);
+
+	private static final byte[] CONTENT_LENGTH = "content-length:".getBytes(StandardCharsets.UTF_8);
+
 
 	private final Map<String, byte[]> headerKeyAccessCache = new ConcurrentHashMap<>(HEADER_KEY_CACHE_LIMIT);
 
@@ -73,6 +86,23 @@ public class StompEncoder  {
 				}
 			};
 
+	private final Map<Object, SharedFrame> sharedFrameAccessCache = new ConcurrentHashMap<>(SHARED_FRAME_CACHE_LIMIT);
+
+	@SuppressWarnings("serial")
+	private final Map<Object, SharedFrame> sharedFrameUpdateCache =
+			new LinkedHashMap<Object, SharedFrame>(SHARED_FRAME_CACHE_LIMIT, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Object, SharedFrame> eldest) {
+					if (size() > SHARED_FRAME_CACHE_LIMIT) {
+						sharedFrameAccessCache.remove(eldest.getKey());
+						return true;
+					}
+					else {
+						return false;
+					}
+				}
+			};
+
 
 	/**
 	 * Encodes the given STOMP {@code message} into a {@code byte[]}
@@ -93,6 +123,11 @@ public class StompEncoder  {
 		Assert.notNull(headers, "'headers' is required");
 		Assert.notNull(payload, "'payload' is required");
 
+		Object broadcastId = headers.get(SimpMessageHeaderAccessor.BROADCAST_ID_HEADER);
+		if (broadcastId != null && StompCommand.MESSAGE.equals(StompHeaderAccessor.getCommand(headers))) {
+			return encodeBroadcastMessage(broadcastId, headers, payload);
+		}
+
 		try {
 			ByteArrayOutputStream baos = new ByteArrayOutputStream(128 + payload.length);
 			DataOutputStream output = new DataOutputStream(baos);
@@ -123,12 +158,98 @@ public class StompEncoder  {
 		}
 	}
 
+	private byte[] encodeBroadcastMessage(Object broadcastId, Map<String, Object> headers, byte[] payload) {
+		Map<String, List<String>> nativeHeaders = getNativeHeaders(headers);
+		if (logger.isTraceEnabled()) {
+			logger.trace("Encoding STOMP MESSAGE, headers=" + nativeHeaders);
+		}
+
+		try {
+			SharedFrame sharedFrame = getSharedFrame(broadcastId, nativeHeaders, payload);
+			ByteArrayOutputStream baos = new ByteArrayOutputStream(sharedFrame.size() + 128);
+			DataOutputStream output = new DataOutputStream(baos);
+			output.write(sharedFrame.headers);
+			if (nativeHeaders != null) {
+				writeHeader(StompHeaderAccessor.STOMP_SUBSCRIPTION_HEADER, nativeHeaders, output);
+				writeHeader(StompHeaderAccessor.STOMP_MESSAGE_ID_HEADER, nativeHeaders, output);
+			}
+			output.write(sharedFrame.contentLengthAndBody);
+			return baos.toByteArray();
+		}
+		catch (IOException ex) {
+			throw new StompConversionException("Failed to encode STOMP frame, headers=" + headers,  ex);
+		}
+	}
+
+	private SharedFrame getSharedFrame(Object broadcastId, @Nullable Map<String, List<String>> nativeHeaders,
+			byte[] payload) throws IOException {
+
+		SharedFrame sharedFrame = this.sharedFrameAccessCache.get(broadcastId);
+		if (sharedFrame != null && sharedFrame.matches(nativeHeaders, payload)) {
+			return sharedFrame;
+		}
+		sharedFrame = encodeSharedFrame(nativeHeaders, payload);
+		synchronized (this.sharedFrameUpdateCache) {
+			this.sharedFrameAccessCache.put(broadcastId, sharedFrame);
+			this.sharedFrameUpdateCache.put(broadcastId, sharedFrame);
+		}
+		return sharedFrame;
+	}
+
+	private SharedFrame encodeSharedFrame(@Nullable Map<String, List<String>> nativeHeaders, byte[] payload)
+			throws IOException {
+
+		Map<String, List<String>> sharedHeaders = new LinkedHashMap<>();
+		ByteArrayOutputStream baos = new ByteArrayOutputStream(128);
+		DataOutputStream output = new DataOutputStream(baos);
+		output.write(MESSAGE_COMMAND);
+		if (nativeHeaders != null) {
+			for (Entry<String, List<String>> entry : nativeHeaders.entrySet()) {
+				if (!isSharedHeader(entry.getKey())) {
+					continue;
+				}
+				sharedHeaders.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+				writeHeader(entry.getKey(), nativeHeaders, output);
+			}
+		}
+		byte[] headers = baos.toByteArray();
+
+		baos = new ByteArrayOutputStream(32 + payload.length);
+		output = new DataOutputStream(baos);
+		output.write(CONTENT_LENGTH);
+		output.write(Integer.toString(payload.length).getBytes(StandardCharsets.UTF_8));
+		output.write(LF);
+		output.write(LF);
+		writeBody(payload, output);
+		output.write((byte) 0);
+
+		return new SharedFrame(sharedHeaders, payload, headers, baos.toByteArray());
+	}
+
+	private static boolean isSharedHeader(String name) {
+		return (!"content-length".equals(name) && !StompHeaderAccessor.STOMP_SUBSCRIPTION_HEADER.equals(name) &&
+				!StompHeaderAccessor.STOMP_MESSAGE_ID_HEADER.equals(name));
+	}
+
+	private void writeHeader(String name, Map<String, List<String>> nativeHeaders, DataOutputStream output)
+			throws IOException {
+
+		List<String> values = nativeHeaders.get(name);
+		if (values != null) {
+			byte[] encodedKey = encodeHeaderKey(name, true);
+			for (String value : values) {
+				output.write(encodedKey);
+				output.write(COLON);
+				output.write(encodeHeaderValue(value, true));
+				output.write(LF);
+			}
+		}
+	}
+
 	private void writeHeaders(StompCommand command, Map<String, Object> headers, byte[] payload,
 			DataOutputStream output) throws IOException {
 
-		@SuppressWarnings("unchecked")
-		Map<String,List<String>> nativeHeaders =
-				(Map<String, List<String>>) headers.get(NativeMessageHeaderAccessor.NATIVE_HEADERS);
+		Map<String,List<String>> nativeHeaders = getNativeHeaders(headers);
 
 		if (logger.isTraceEnabled()) {
 			logger.trace("Encoding STOMP " + command + ", headers=" + nativeHeaders);
@@ -168,6 +289,12 @@ public class StompEncoder  {
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private static Map<String, List<String>> getNativeHeaders(Map<String, Object> headers) {
+		return (Map<String, List<String>>) headers.get(NativeMessageHeaderAccessor.NATIVE_HEADERS);
+	}
+
 	private byte[] encodeHeaderKey(String input, boolean escape) {
 		String inputToUse = (escape ? escape(input) : input);
 		if (this.headerKeyAccessCache.containsKey(inputToUse)) {
@@ -232,4 +359,56 @@ public class StompEncoder  {
 		output.write(payload);
 	}
 
+
+	/**
+	 * The encoded parts of a MESSAGE frame shared across subscribers, along
+	 * with the headers and payload they were encoded from.
+	 */
+	private static class SharedFrame {
+
+		private final Map<String, List<String>> sharedHeaders;
+
+		private final byte[] payload;
+
+		private final byte[] headers;
+
+		private final byte[] contentLengthAndBody;
+
+		SharedFrame(Map<String, List<String>> sharedHeaders, byte[] payload, byte[] headers,
+				byte[] contentLengthAndBody) {
+
+			this.sharedHeaders = sharedHeaders;
+			this.payload = payload;
+			this.headers = headers;
+			this.contentLengthAndBody = contentLengthAndBody;
+		}
+
+		int size() {
+			return this.headers.length + this.contentLengthAndBody.length;
+		}
+
+		/**
+		 * Whether this frame was encoded from the given payload and the same
+		 * shared headers, which may have been modified for a subscriber,
+		 * e.g. by a channel interceptor.
+		 */
+		boolean matches(@Nullable Map<String, List<String>> nativeHeaders, byte[] payload) {
+			if (payload != this.payload) {
+				return false;
+			}
+			int count = 0;
+			if (nativeHeaders != null) {
+				for (Entry<String, List<String>> entry : nativeHeaders.entrySet()) {
+					if (isSharedHeader(entry.getKey())) {
+						if (!entry.getValue().equals(this.sharedHeaders.get(entry.getKey()))) {
+							return false;
+						}
+						count++;
+					}
+				}
+			}
+			return (count == this.sharedHeaders.size());
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.MultiValueMap;
 
 import static org.junit.Assert.assertEquals;
@@ -131,6 +132,74 @@ public class DefaultSubscriptionRegistryTests {
 		assertEquals(Collections.singletonList(subsId), actual.get(sessId));
 	}
 
+	@Test
+	public void registerSubscriptionWithCatchAllDestinationPattern() {
+		this.registry.registerSubscription(subscribeMessage("sess01", "subs01", "/topic/**"));
+		this.registry.registerSubscription(subscribeMessage("sess01", "subs02", "/topic/*/IBM"));
+		this.registry.registerSubscription(subscribeMessage("sess02", "subs01", "/queue/**"));
+
+		MultiValueMap<String, String> actual = this.registry.findSubscriptions(createMessage("/topic/NASDAQ/IBM"));
+		assertEquals(1, actual.size());
+		assertEquals(Arrays.asList("subs01", "subs02"), actual.get("sess01"));
+
+		actual = this.registry.findSubscriptions(createMessage("/topic"));
+		assertEquals(1, actual.size());
+		assertEquals(Collections.singletonList("subs01"), actual.get("sess01"));
+
+		actual = this.registry.findSubscriptions(createMessage("/topic/NASDAQ/IBM/options"));
+		assertEquals(1, actual.size());
+		assertEquals(Collections.singletonList("subs01"), actual.get("sess01"));
+	}
+
+	@Test
+	public void registerSubscriptionWithDotSeparatedDestinations() {
+		this.registry.setPathMatcher(new AntPathMatcher("."));
+		this.registry.registerSubscription(subscribeMessage("sess01", "subs01", "price.stock.*.IBM"));
+		this.registry.registerSubscription(subscribeMessage("sess02", "subs01", "price.stock.NASDAQ.IBM"));
+		this.registry.registerSubscription(subscribeMessage("sess03", "subs01", "price.stock.NASDAQ.*"));
+
+		MultiValueMap<String, String> actual = this.registry.findSubscriptions(createMessage("price.stock.NASDAQ.IBM"));
+		assertEquals(3, actual.size());
+
+		actual = this.registry.findSubscriptions(createMessage("price.stock.NYSE.IBM"));
+		assertEquals(1, actual.size());
+		assertEquals(Collections.singletonList("subs01"), actual.get("sess01"));
+
+		actual = this.registry.findSubscriptions(createMessage("price.stock.NASDAQ"));
+		assertEquals(0, actual.size());
+	}
+
+	@Test
+	public void pruneIndexAfterUnsubscribe() {
+		for (int i = 0; i < 10; i++) {
+			this.registry.registerSubscription(subscribeMessage("sess01", "subs" + i, "/user/" + i + "/queue/*"));
+		}
+		this.registry.registerSubscription(subscribeMessage("sess02", "subs01", "/user/1/queue/a"));
+		assertTrue(this.registry.toString(), this.registry.toString().contains("index[11 destination(s), 33 node(s)]"));
+
+		for (int i = 0; i < 10; i++) {
+			this.registry.unregisterSubscription(unsubscribeMessage("sess01", "subs" + i));
+		}
+		assertTrue(this.registry.toString(), this.registry.toString().contains("index[1 destination(s), 5 node(s)]"));
+		assertEquals(1, this.registry.findSubscriptions(createMessage("/user/1/queue/a")).size());
+
+		this.registry.unregisterAllSubscriptions("sess02");
+		assertTrue(this.registry.toString(), this.registry.toString().contains("index[0 destination(s), 1 node(s)]"));
+	}
+
+	@Test
+	public void setPathMatcherAfterRegistration() {
+		this.registry.registerSubscription(subscribeMessage("sess01", "subs01", "price.stock.*"));
+		assertEquals(0, this.registry.findSubscriptions(createMessage("PRICE.STOCK.IBM")).size());
+
+		AntPathMatcher pathMatcher = new AntPathMatcher(".");
+		pathMatcher.setCaseSensitive(false);
+		this.registry.setPathMatcher(pathMatcher);
+		MultiValueMap<String, String> actual = this.registry.findSubscriptions(createMessage("PRICE.STOCK.IBM"));
+		assertEquals(1, actual.size());
+		assertEquals(Collections.singletonList("subs01"), actual.get("sess01"));
+	}
+
 	@Test  // SPR-11657
 	public void registerSubscriptionsWithSimpleAndPatternDestinations() {
 		String sess1 = "sess01";
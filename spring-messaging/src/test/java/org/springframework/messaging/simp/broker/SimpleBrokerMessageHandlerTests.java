@@ -100,6 +100,27 @@ public class SimpleBrokerMessageHandlerTests {
 		assertTrue(messageCaptured("sess2", "sub3", "/bar"));
 	}
 
+	@Test
+	public void publishToMultipleSubscriptionsWithBroadcastId() {
+		this.messageHandler.start();
+
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess1", "sub1", "/foo"));
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess1", "sub2", "/foo"));
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess2", "sub1", "/foo"));
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess2", "sub2", "/bar"));
+
+		this.messageHandler.handleMessage(createMessage("/foo", "message1"));
+		this.messageHandler.handleMessage(createMessage("/bar", "message2"));
+
+		verify(this.clientOutboundChannel, times(4)).send(this.messageCaptor.capture());
+		List<Message<?>> messages = this.messageCaptor.getAllValues();
+		Object broadcastId = messages.get(0).getHeaders().get(SimpMessageHeaderAccessor.BROADCAST_ID_HEADER);
+		assertNotNull(broadcastId);
+		assertEquals(broadcastId, messages.get(1).getHeaders().get(SimpMessageHeaderAccessor.BROADCAST_ID_HEADER));
+		assertEquals(broadcastId, messages.get(2).getHeaders().get(SimpMessageHeaderAccessor.BROADCAST_ID_HEADER));
+		assertNull(messages.get(3).getHeaders().get(SimpMessageHeaderAccessor.BROADCAST_ID_HEADER));
+	}
+
 	@Test
 	public void subscribeDisconnectPublish() {
 		String sess1 = "sess1";
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package org.springframework.messaging.simp.stomp;
 import org.junit.Test;
 
 import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.support.MessageBuilder;
 
 import static org.junit.Assert.assertEquals;
@@ -88,4 +89,44 @@ public class StompEncoderTests {
 				new String(encoder.encode(frame)));
 	}
 
+	@Test
+	public void encodeBroadcastFrames() {
+		byte[] payload = "Message body".getBytes();
+
+		assertEquals("MESSAGE\ndestination:/foo\na:alpha\\c\nsubscription:sub1\nmessage-id:1\n" +
+				"content-length:12\n\nMessage body\0",
+				new String(encoder.encode(createBroadcastFrame(1L, "sub1", "1", payload))));
+		assertEquals("MESSAGE\ndestination:/foo\na:alpha\\c\nsubscription:sub2\nmessage-id:2\n" +
+				"content-length:12\n\nMessage body\0",
+				new String(encoder.encode(createBroadcastFrame(1L, "sub2", "2", payload))));
+	}
+
+	@Test
+	public void encodeBroadcastFramesWithModifiedHeaders() {
+		byte[] payload = "Message body".getBytes();
+		encoder.encode(createBroadcastFrame(1L, "sub1", "1", payload));
+
+		StompHeaderAccessor headers = StompHeaderAccessor.wrap(createBroadcastFrame(1L, "sub2", "2", payload));
+		headers.addNativeHeader("b", "bravo");
+		Message<byte[]> frame = MessageBuilder.createMessage(payload, headers.getMessageHeaders());
+		assertEquals("MESSAGE\ndestination:/foo\na:alpha\\c\nb:bravo\nsubscription:sub2\nmessage-id:2\n" +
+				"content-length:12\n\nMessage body\0", new String(encoder.encode(frame)));
+
+		assertEquals("MESSAGE\ndestination:/foo\na:alpha\\c\nsubscription:sub3\nmessage-id:3\n" +
+				"content-length:5\n\nOther\0",
+				new String(encoder.encode(createBroadcastFrame(1L, "sub3", "3", "Other".getBytes()))));
+	}
+
+	private Message<byte[]> createBroadcastFrame(Object broadcastId, String subscriptionId, String messageId,
+			byte[] payload) {
+
+		StompHeaderAccessor headers = StompHeaderAccessor.create(StompCommand.MESSAGE);
+		headers.setDestination("/foo");
+		headers.addNativeHeader("a", "alpha:");
+		headers.setSubscriptionId(subscriptionId);
+		headers.setMessageId(messageId);
+		headers.setHeader(SimpMessageHeaderAccessor.BROADCAST_ID_HEADER, broadcastId);
+		return MessageBuilder.createMessage(payload, headers.getMessageHeaders());
+	}
+
 }
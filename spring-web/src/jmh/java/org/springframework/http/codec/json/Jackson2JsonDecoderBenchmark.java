@@ -0,0 +1,158 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+
+/**
+ * Benchmark for {@link Jackson2JsonDecoder}, decoding a JSON array
+ * into a stream of elements as well as into a single list.
+ *
+ * @since 5.0.12
+ */
+@BenchmarkMode(Mode.Throughput)
+public class Jackson2JsonDecoderBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"10", "1000"})
+		public int elementCount;
+
+		@Param({"8192"})
+		public int chunkSize;
+
+		public Jackson2JsonDecoder decoder = new Jackson2JsonDecoder();
+
+		public DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+		public List<byte[]> chunks;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			StringBuilder json = new StringBuilder("[");
+			for (int i = 0; i < this.elementCount; i++) {
+				if (i > 0) {
+					json.append(',');
+				}
+				json.append("{\"id\":").append(i).append(",\"name\":\"name-").append(i)
+						.append("\",\"active\":").append(i % 2 == 0).append(",\"score\":").append(i * 1.5d)
+						.append(",\"tags\":[\"a\",\"b\",\"c\"]}");
+			}
+			json.append(']');
+			byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+
+			this.chunks = new ArrayList<>();
+			for (int offset = 0; offset < bytes.length; offset += this.chunkSize) {
+				int length = Math.min(this.chunkSize, bytes.length - offset);
+				byte[] chunk = new byte[length];
+				System.arraycopy(bytes, offset, chunk, 0, length);
+				this.chunks.add(chunk);
+			}
+		}
+
+		public Flux<DataBuffer> input() {
+			return Flux.fromIterable(this.chunks).map(this.bufferFactory::wrap);
+		}
+	}
+
+
+	@Benchmark
+	public List<Object> decodeToFlux(BenchmarkState state) {
+		return state.decoder.decode(state.input(), ResolvableType.forClass(Item.class),
+				MediaType.APPLICATION_JSON, Collections.emptyMap()).collectList().block();
+	}
+
+	@Benchmark
+	public Object decodeToMono(BenchmarkState state) {
+		return state.decoder.decodeToMono(state.input(), ResolvableType.forClassWithGenerics(List.class, Item.class),
+				MediaType.APPLICATION_JSON, Collections.emptyMap()).block();
+	}
+
+
+	public static class Item {
+
+		private long id;
+
+		private String name;
+
+		private boolean active;
+
+		private double score;
+
+		private List<String> tags;
+
+		public long getId() {
+			return this.id;
+		}
+
+		public void setId(long id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public boolean isActive() {
+			return this.active;
+		}
+
+		public void setActive(boolean active) {
+			this.active = active;
+		}
+
+		public double getScore() {
+			return this.score;
+		}
+
+		public void setScore(double score) {
+			this.score = score;
+		}
+
+		public List<String> getTags() {
+			return this.tags;
+		}
+
+		public void setTags(List<String> tags) {
+			this.tags = tags;
+		}
+	}
+
+}
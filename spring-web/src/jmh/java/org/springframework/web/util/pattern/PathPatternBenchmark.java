@@ -0,0 +1,111 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Benchmark for {@link PathPattern} matching against a set of typical
+ * request mapping patterns, with {@link AntPathMatcher} as a baseline.
+ *
+ * @since 5.0.12
+ */
+@BenchmarkMode(Mode.Throughput)
+public class PathPatternBenchmark {
+
+	private static final String[] PATTERNS = {
+			"/", "/resources/**", "/api/users", "/api/users/{id}", "/api/users/{id}/orders",
+			"/api/users/{id}/orders/{orderId}", "/api/products/{category}/*.json",
+			"/api/search/{*remaining}", "/static/{file:[a-z]+}.css", "/admin/**/settings"};
+
+	private static final String[] PATHS = {
+			"/", "/resources/css/main.css", "/api/users", "/api/users/42", "/api/users/42/orders",
+			"/api/users/42/orders/1234", "/api/products/books/list.json", "/api/search/a/b/c",
+			"/static/main.css", "/admin/system/security/settings", "/not/matching/anything"};
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public List<PathPattern> pathPatterns = new ArrayList<>();
+
+		public List<PathContainer> parsedPaths = new ArrayList<>();
+
+		public AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+		@Setup(Level.Trial)
+		public void setup() {
+			PathPatternParser parser = new PathPatternParser();
+			for (String pattern : PATTERNS) {
+				this.pathPatterns.add(parser.parse(pattern));
+			}
+			for (String path : PATHS) {
+				this.parsedPaths.add(PathContainer.parsePath(path));
+			}
+		}
+	}
+
+
+	@Benchmark
+	public void parsePatterns(Blackhole bh) {
+		PathPatternParser parser = new PathPatternParser();
+		for (String pattern : PATTERNS) {
+			bh.consume(parser.parse(pattern));
+		}
+	}
+
+	@Benchmark
+	public void matchPathPatterns(BenchmarkState state, Blackhole bh) {
+		for (PathContainer path : state.parsedPaths) {
+			for (PathPattern pattern : state.pathPatterns) {
+				bh.consume(pattern.matches(path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void matchAndExtractPathPatterns(BenchmarkState state, Blackhole bh) {
+		for (PathContainer path : state.parsedPaths) {
+			for (PathPattern pattern : state.pathPatterns) {
+				bh.consume(pattern.matchAndExtract(path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void matchAntPathMatcher(BenchmarkState state, Blackhole bh) {
+		for (String path : PATHS) {
+			for (String pattern : PATTERNS) {
+				bh.consume(state.antPathMatcher.match(pattern, path));
+			}
+		}
+	}
+
+}
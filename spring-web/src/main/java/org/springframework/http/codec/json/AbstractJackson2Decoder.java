@@ -61,6 +61,10 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 	 */
 	private final JsonFactory jsonFactory;
 
+	private int maxInMemorySize = -1;
+
+	private long maxInputSize = -1;
+
 
 	/**
 	 * Constructor with a Jackson {@link ObjectMapper} to use.
@@ -72,6 +76,51 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 	}
 
 
+	/**
+	 * Set the maximum number of bytes to buffer for a single decoded value:
+	 * each element of a top-level JSON array when {@link #decode decoding} to a
+	 * stream of elements, or the entire document when
+	 * {@link #decodeToMono decoding} to a single value. Input that exceeds the
+	 * limit results in a {@link DecodingException}, rather than being held in
+	 * memory in full.
+	 * <p>By default this is set to -1, i.e. no limit.
+	 * @param byteCount the maximum number of bytes to buffer, or -1 for no limit
+	 * @since 5.0.12
+	 */
+	public void setMaxInMemorySize(int byteCount) {
+		this.maxInMemorySize = byteCount;
+	}
+
+	/**
+	 * Return the {@link #setMaxInMemorySize configured} byte count limit.
+	 * @since 5.0.12
+	 */
+	public int getMaxInMemorySize() {
+		return this.maxInMemorySize;
+	}
+
+	/**
+	 * Set the maximum number of bytes to read from the input overall, across
+	 * all values decoded from it. Input that exceeds the limit results in a
+	 * {@link DecodingException}.
+	 * <p>By default this is set to -1, i.e. no limit.
+	 * @param byteCount the maximum number of bytes to read, or -1 for no limit
+	 * @since 5.0.12
+	 * @see #setMaxInMemorySize
+	 */
+	public void setMaxInputSize(long byteCount) {
+		this.maxInputSize = byteCount;
+	}
+
+	/**
+	 * Return the {@link #setMaxInputSize configured} overall byte count limit.
+	 * @since 5.0.12
+	 */
+	public long getMaxInputSize() {
+		return this.maxInputSize;
+	}
+
+
 	@Override
 	public boolean canDecode(ResolvableType elementType, @Nullable MimeType mimeType) {
 		JavaType javaType = getObjectMapper().getTypeFactory().constructType(elementType.getType());
@@ -84,7 +133,8 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 	public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType,
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
-		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(Flux.from(input), this.jsonFactory, true);
+		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(
+				Flux.from(input), this.jsonFactory, true, this.maxInMemorySize, this.maxInputSize);
 		return decodeInternal(tokens, elementType, mimeType, hints);
 	}
 
@@ -92,7 +142,8 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 	public Mono<Object> decodeToMono(Publisher<DataBuffer> input, ResolvableType elementType,
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
-		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(Flux.from(input), this.jsonFactory, false);
+		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(
+				Flux.from(input), this.jsonFactory, false, this.maxInMemorySize, this.maxInputSize);
 		return decodeInternal(tokens, elementType, mimeType, hints).singleOrEmpty();
 	}
 
@@ -17,6 +17,7 @@
 package org.springframework.http.codec.json;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
@@ -48,8 +49,18 @@ class Jackson2Tokenizer {
 
 	private final boolean tokenizeArrayElements;
 
+	private final int maxInMemorySize;
+
+	private final long maxInputSize;
+
 	private TokenBuffer tokenBuffer;
 
+	private long tokenBufferStartOffset;
+
+	private long inputByteCount;
+
+	private int inputFeedOffset;
+
 	private int objectDepth;
 
 	private int arrayDepth;
@@ -58,11 +69,15 @@ class Jackson2Tokenizer {
 	private final ByteArrayFeeder inputFeeder;
 
 
-	private Jackson2Tokenizer(JsonParser parser, boolean tokenizeArrayElements) {
+	private Jackson2Tokenizer(JsonParser parser, boolean tokenizeArrayElements,
+			int maxInMemorySize, long maxInputSize) {
+
 		Assert.notNull(parser, "'parser' must not be null");
 
 		this.parser = parser;
 		this.tokenizeArrayElements = tokenizeArrayElements;
+		this.maxInMemorySize = maxInMemorySize;
+		this.maxInputSize = maxInputSize;
 		this.tokenBuffer = new TokenBuffer(parser);
 		this.inputFeeder = (ByteArrayFeeder) this.parser.getNonBlockingInputFeeder();
 	}
@@ -79,9 +94,32 @@ class Jackson2Tokenizer {
 	public static Flux<TokenBuffer> tokenize(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
 			boolean tokenizeArrayElements) {
 
+		return tokenize(dataBuffers, jsonFactory, tokenizeArrayElements, -1, -1);
+	}
+
+	/**
+	 * Tokenize the given {@code Flux<DataBuffer>} into {@code Flux<TokenBuffer>},
+	 * limiting the amount of input buffered for each token buffer as well as the
+	 * amount of input overall.
+	 * @param dataBuffers the source data buffers
+	 * @param jsonFactory the factory to use
+	 * @param tokenizeArrayElements if {@code true} and the "top level" JSON
+	 * object is an array, each element is returned individually, immediately
+	 * after it is received.
+	 * @param maxInMemorySize the maximum number of input bytes to buffer for a
+	 * single token buffer, or -1 for no limit
+	 * @param maxInputSize the maximum number of input bytes to read overall,
+	 * or -1 for no limit
+	 * @return the result token buffers
+	 * @since 5.0.12
+	 */
+	public static Flux<TokenBuffer> tokenize(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
+			boolean tokenizeArrayElements, int maxInMemorySize, long maxInputSize) {
+
 		try {
 			JsonParser parser = jsonFactory.createNonBlockingByteArrayParser();
-			Jackson2Tokenizer tokenizer = new Jackson2Tokenizer(parser, tokenizeArrayElements);
+			Jackson2Tokenizer tokenizer =
+					new Jackson2Tokenizer(parser, tokenizeArrayElements, maxInMemorySize, maxInputSize);
 			return dataBuffers.flatMap(tokenizer::tokenize, Flux::error, tokenizer::endOfInput);
 		}
 		catch (IOException ex) {
@@ -90,12 +128,8 @@ class Jackson2Tokenizer {
 	}
 
 	private Flux<TokenBuffer> tokenize(DataBuffer dataBuffer) {
-		byte[] bytes = new byte[dataBuffer.readableByteCount()];
-		dataBuffer.read(bytes);
-		DataBufferUtils.release(dataBuffer);
-
 		try {
-			this.inputFeeder.feedInput(bytes, 0, bytes.length);
+			feedInput(dataBuffer);
 			return parseTokenBufferFlux();
 		}
 		catch (JsonProcessingException ex) {
@@ -105,6 +139,29 @@ class Jackson2Tokenizer {
 		catch (IOException ex) {
 			return Flux.error(ex);
 		}
+		finally {
+			DataBufferUtils.release(dataBuffer);
+		}
+	}
+
+	private void feedInput(DataBuffer dataBuffer) throws IOException {
+		this.inputByteCount += dataBuffer.readableByteCount();
+		if (this.maxInputSize >= 0 && this.inputByteCount > this.maxInputSize) {
+			throw new DecodingException("Exceeded limit on max bytes to read for JSON input: " + this.maxInputSize);
+		}
+		ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
+		if (byteBuffer.hasArray()) {
+			// Input is fully consumed before the data buffer is released: no need to copy
+			int offset = byteBuffer.arrayOffset() + byteBuffer.position();
+			this.inputFeeder.feedInput(byteBuffer.array(), offset, offset + byteBuffer.remaining());
+			this.inputFeedOffset = offset;
+		}
+		else {
+			byte[] bytes = new byte[dataBuffer.readableByteCount()];
+			dataBuffer.read(bytes);
+			this.inputFeeder.feedInput(bytes, 0, bytes.length);
+			this.inputFeedOffset = 0;
+		}
 	}
 
 	private Flux<TokenBuffer> endOfInput() {
@@ -129,6 +186,7 @@ class Jackson2Tokenizer {
 			// SPR-16151: Smile data format uses null to separate documents
 			if ((token == JsonToken.NOT_AVAILABLE) ||
 					(token == null && (token = this.parser.nextToken()) == null)) {
+				checkInMemorySize();
 				break;
 			}
 			updateDepth(token);
@@ -139,10 +197,36 @@ class Jackson2Tokenizer {
 			else {
 				processTokenArray(token, result);
 			}
+			checkInMemorySize();
 		}
 		return Flux.fromIterable(result);
 	}
 
+	private void checkInMemorySize() {
+		if (this.maxInMemorySize >= 0) {
+			long size = getInputOffset() - this.tokenBufferStartOffset;
+			if (size > this.maxInMemorySize) {
+				throw new DecodingException(
+						"Exceeded limit on max bytes to buffer for a JSON value: " + this.maxInMemorySize);
+			}
+		}
+	}
+
+	private void newTokenBuffer() {
+		this.tokenBuffer = new TokenBuffer(this.parser);
+		this.tokenBufferStartOffset = getInputOffset();
+	}
+
+	/**
+	 * Return the number of input bytes consumed by the parser so far.
+	 * <p>As of Jackson 2.9, the parser's own byte offset includes the start
+	 * offset within the array fed last, e.g. for a slice of a pooled buffer,
+	 * so we correct it.
+	 */
+	private long getInputOffset() {
+		return this.parser.getCurrentLocation().getByteOffset() - this.inputFeedOffset;
+	}
+
 	private void updateDepth(JsonToken token) {
 		switch (token) {
 			case START_OBJECT:
@@ -166,7 +250,7 @@ class Jackson2Tokenizer {
 		if ((token.isStructEnd() || token.isScalarValue()) &&
 				this.objectDepth == 0 && this.arrayDepth == 0) {
 			result.add(this.tokenBuffer);
-			this.tokenBuffer = new TokenBuffer(this.parser);
+			newTokenBuffer();
 		}
 
 	}
@@ -180,7 +264,7 @@ class Jackson2Tokenizer {
 				(this.arrayDepth == 0 || this.arrayDepth == 1) &&
 				(token == JsonToken.END_OBJECT || token.isScalarValue())) {
 			result.add(this.tokenBuffer);
-			this.tokenBuffer = new TokenBuffer(this.parser);
+			newTokenBuffer();
 		}
 	}
 
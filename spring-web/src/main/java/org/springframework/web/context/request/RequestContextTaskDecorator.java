@@ -0,0 +1,62 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.context.request;
+
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * {@link TaskDecorator} that exposes the request context of the submitting
+ * thread to the executing thread, through both
+ * {@link org.springframework.context.i18n.LocaleContextHolder} and
+ * {@link RequestContextHolder}, e.g. for {@code @Async} methods invoked during
+ * request processing. The previous context of the executing thread is restored
+ * once the task completes, so this decorator may be used with pooled threads
+ * as well as with a {@link org.springframework.core.task.VirtualThreadTaskExecutor}.
+ *
+ * <p>Note that request attributes can only be accessed while the request is
+ * still active, i.e. tasks outliving the request must not rely on them.
+ * Transaction synchronization state is deliberately not propagated, since
+ * transactional resources such as a JDBC Connection are bound to a single thread.
+ *
+ * @since 5.0.12
+ * @see org.springframework.core.task.SimpleAsyncTaskExecutor#setTaskDecorator
+ * @see org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor#setTaskDecorator
+ */
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+	@Override
+	public Runnable decorate(Runnable runnable) {
+		LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+		RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		return () -> {
+			LocaleContext previousLocaleContext = LocaleContextHolder.getLocaleContext();
+			RequestAttributes previousRequestAttributes = RequestContextHolder.getRequestAttributes();
+			LocaleContextHolder.setLocaleContext(localeContext);
+			RequestContextHolder.setRequestAttributes(requestAttributes);
+			try {
+				runnable.run();
+			}
+			finally {
+				LocaleContextHolder.setLocaleContext(previousLocaleContext);
+				RequestContextHolder.setRequestAttributes(previousRequestAttributes);
+			}
+		};
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,14 +25,17 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.core.MethodClassKey;
 import org.springframework.core.MethodParameter;
 import org.springframework.lang.Nullable;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.HandlerMethod;
 
 /**
  * Resolves method parameters by delegating to a list of registered {@link HandlerMethodArgumentResolver}s.
- * Previously resolved method parameters are cached for faster lookups.
+ * Previously resolved method parameters are cached for faster lookups, as are the
+ * resolvers for all parameters of a given handler method.
  *
  * @author Rossen Stoyanchev
  * @author Juergen Hoeller
@@ -47,12 +50,16 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 	private final Map<MethodParameter, HandlerMethodArgumentResolver> argumentResolverCache =
 			new ConcurrentHashMap<>(256);
 
+	private final Map<MethodClassKey, HandlerMethodArgumentResolver[]> handlerMethodResolverCache =
+			new ConcurrentHashMap<>(256);
+
 
 	/**
 	 * Add the given {@link HandlerMethodArgumentResolver}.
 	 */
 	public HandlerMethodArgumentResolverComposite addResolver(HandlerMethodArgumentResolver resolver) {
 		this.argumentResolvers.add(resolver);
+		this.handlerMethodResolverCache.clear();
 		return this;
 	}
 
@@ -65,6 +72,7 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 			for (HandlerMethodArgumentResolver resolver : resolvers) {
 				this.argumentResolvers.add(resolver);
 			}
+			this.handlerMethodResolverCache.clear();
 		}
 		return this;
 	}
@@ -79,6 +87,7 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 			for (HandlerMethodArgumentResolver resolver : resolvers) {
 				this.argumentResolvers.add(resolver);
 			}
+			this.handlerMethodResolverCache.clear();
 		}
 		return this;
 	}
@@ -96,6 +105,7 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 	 */
 	public void clear() {
 		this.argumentResolvers.clear();
+		this.handlerMethodResolverCache.clear();
 	}
 
 
@@ -124,6 +134,27 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 		return resolver.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
 	}
 
+	/**
+	 * Find the registered {@link HandlerMethodArgumentResolver} for each parameter of the
+	 * given handler method, computed once per method and bean type.
+	 * @return the resolvers in parameter order, with {@code null} for a parameter that
+	 * is not supported by any registered resolver (not to be modified)
+	 * @since 5.0.12
+	 */
+	HandlerMethodArgumentResolver[] getArgumentResolvers(HandlerMethod handlerMethod) {
+		MethodClassKey cacheKey = new MethodClassKey(handlerMethod.getMethod(), handlerMethod.getBeanType());
+		HandlerMethodArgumentResolver[] result = this.handlerMethodResolverCache.get(cacheKey);
+		if (result == null) {
+			MethodParameter[] parameters = handlerMethod.getMethodParameters();
+			result = new HandlerMethodArgumentResolver[parameters.length];
+			for (int i = 0; i < parameters.length; i++) {
+				result[i] = getArgumentResolver(parameters[i]);
+			}
+			this.handlerMethodResolverCache.put(cacheKey, result);
+		}
+		return result;
+	}
+
 	/**
 	 * Find a registered {@link HandlerMethodArgumentResolver} that supports the given method parameter.
 	 */
@@ -25,7 +25,6 @@ import org.springframework.core.MethodParameter;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
-import org.springframework.util.ReflectionUtils;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.support.SessionStatus;
 import org.springframework.web.bind.support.WebDataBinderFactory;
@@ -48,6 +47,8 @@ import org.springframework.web.method.HandlerMethod;
  */
 public class InvocableHandlerMethod extends HandlerMethod {
 
+	private static final Object[] EMPTY_ARGS = new Object[0];
+
 	@Nullable
 	private WebDataBinderFactory dataBinderFactory;
 
@@ -148,17 +149,24 @@ public class InvocableHandlerMethod extends HandlerMethod {
 			Object... providedArgs) throws Exception {
 
 		MethodParameter[] parameters = getMethodParameters();
+		if (parameters.length == 0) {
+			return EMPTY_ARGS;
+		}
+		for (MethodParameter parameter : parameters) {
+			parameter.initParameterNameDiscovery(this.parameterNameDiscoverer);
+		}
+		HandlerMethodArgumentResolver[] resolvers = this.argumentResolvers.getArgumentResolvers(this);
 		Object[] args = new Object[parameters.length];
 		for (int i = 0; i < parameters.length; i++) {
 			MethodParameter parameter = parameters[i];
-			parameter.initParameterNameDiscovery(this.parameterNameDiscoverer);
 			args[i] = resolveProvidedArgument(parameter, providedArgs);
 			if (args[i] != null) {
 				continue;
 			}
-			if (this.argumentResolvers.supportsParameter(parameter)) {
+			HandlerMethodArgumentResolver resolver = resolvers[i];
+			if (resolver != null) {
 				try {
-					args[i] = this.argumentResolvers.resolveArgument(
+					args[i] = resolver.resolveArgument(
 							parameter, mavContainer, request, this.dataBinderFactory);
 					continue;
 				}
@@ -204,7 +212,6 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	 * Invoke the handler method with the given argument values.
 	 */
 	protected Object doInvoke(Object... args) throws Exception {
-		ReflectionUtils.makeAccessible(getBridgedMethod());
 		try {
 			return getBridgedMethod().invoke(getBean(), args);
 		}
@@ -148,6 +148,49 @@ public class Jackson2JsonDecoderTests extends AbstractDataBufferAllocatingTestCa
 				.verifyComplete();
 	}
 
+	@Test
+	public void decodeArrayToFluxWithMaxInMemorySize() throws Exception {
+		Flux<DataBuffer> source = Flux.just(stringBuffer("[{\"bar\":\"b1\","),
+				stringBuffer("\"foo\":\"f1\"},{\"bar\":\"b2\",\"foo\":\"f2\"}]"));
+
+		Jackson2JsonDecoder decoder = new Jackson2JsonDecoder();
+		decoder.setMaxInMemorySize(30);
+		Flux<Object> flux = decoder.decode(source, forClass(Pojo.class), null, emptyMap());
+
+		StepVerifier.create(flux)
+				.expectNext(new Pojo("f1", "b1"))
+				.expectNext(new Pojo("f2", "b2"))
+				.verifyComplete();
+	}
+
+	@Test
+	public void decodeToListExceedingMaxInMemorySize() throws Exception {
+		Flux<DataBuffer> source = Flux.just(stringBuffer(
+				"[{\"bar\":\"b1\",\"foo\":\"f1\"},{\"bar\":\"b2\",\"foo\":\"f2\"}]"));
+
+		Jackson2JsonDecoder decoder = new Jackson2JsonDecoder();
+		decoder.setMaxInMemorySize(30);
+		ResolvableType elementType = ResolvableType.forClassWithGenerics(List.class, Pojo.class);
+		Mono<Object> mono = decoder.decodeToMono(source, elementType, null, emptyMap());
+
+		StepVerifier.create(mono).verifyError(DecodingException.class);
+	}
+
+	@Test
+	public void decodeArrayToFluxExceedingMaxInputSize() throws Exception {
+		Flux<DataBuffer> source = Flux.just(stringBuffer("[{\"bar\":\"b1\",\"foo\":\"f1\"},"),
+				stringBuffer("{\"bar\":\"b2\",\"foo\":\"f2\"}]"));
+
+		Jackson2JsonDecoder decoder = new Jackson2JsonDecoder();
+		decoder.setMaxInMemorySize(30);
+		decoder.setMaxInputSize(40);
+		Flux<Object> flux = decoder.decode(source, forClass(Pojo.class), null, emptyMap());
+
+		StepVerifier.create(flux)
+				.expectNext(new Pojo("f1", "b1"))
+				.verifyError(DecodingException.class);
+	}
+
 	@Test
 	public void decodeStreamToFlux() throws Exception {
 		Flux<DataBuffer> source = Flux.just(stringBuffer("{\"bar\":\"b1\",\"foo\":\"f1\"}"),
@@ -178,6 +178,39 @@ public class Jackson2TokenizerTests extends AbstractDataBufferAllocatingTestCase
 		testTokenize(asList("[1", ",2,", "3]"), asList("1", "2", "3"), true);
 	}
 
+	@Test
+	public void tokenizeArrayElementsWithinMaxInMemorySize() {
+		Flux<DataBuffer> source = Flux.just(stringBuffer("[{\"foo\": \"bar\"},"), stringBuffer("{\"foo\": \"baz\"}]"));
+		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(source, this.jsonFactory, true, 16, -1);
+
+		StepVerifier.create(tokens).expectNextCount(2).verifyComplete();
+	}
+
+	@Test
+	public void tokenizeArrayElementExceedingMaxInMemorySize() {
+		Flux<DataBuffer> source = Flux.just(stringBuffer("[{\"foo\": \"bar\"},{\"foo\": "),
+				stringBuffer("\"bazbazbazbaz\"}]"));
+		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(source, this.jsonFactory, true, 16, -1);
+
+		StepVerifier.create(tokens).expectNextCount(1).verifyError(DecodingException.class);
+	}
+
+	@Test
+	public void doNotTokenizeArrayElementsExceedingMaxInMemorySize() {
+		Flux<DataBuffer> source = Flux.just(stringBuffer("[{\"foo\": \"bar\"},"), stringBuffer("{\"foo\": \"baz\"}]"));
+		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(source, this.jsonFactory, false, 16, -1);
+
+		StepVerifier.create(tokens).verifyError(DecodingException.class);
+	}
+
+	@Test
+	public void tokenizeArrayElementsExceedingMaxInputSize() {
+		Flux<DataBuffer> source = Flux.just(stringBuffer("[{\"foo\": \"bar\"},"), stringBuffer("{\"foo\": \"baz\"}]"));
+		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(source, this.jsonFactory, true, -1, 20);
+
+		StepVerifier.create(tokens).expectNextCount(1).verifyError(DecodingException.class);
+	}
+
 	@Test(expected = DecodingException.class) // SPR-16521
 	public void jsonEOFExceptionIsWrappedAsDecodingError() {
 		Flux<DataBuffer> source = Flux.just(stringBuffer("{\"status\": \"noClosingQuote}"));
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.context.request;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.mock.web.test.MockHttpServletRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link RequestContextTaskDecorator}.
+ */
+public class RequestContextTaskDecoratorTests {
+
+	private final RequestContextTaskDecorator decorator = new RequestContextTaskDecorator();
+
+
+	@After
+	public void reset() {
+		LocaleContextHolder.resetLocaleContext();
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+
+	@Test
+	public void propagateRequestContext() throws Exception {
+		RequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+		RequestContextHolder.setRequestAttributes(attributes);
+		LocaleContextHolder.setLocale(Locale.FRENCH);
+
+		AtomicReference<RequestAttributes> actualAttributes = new AtomicReference<>();
+		AtomicReference<Locale> actualLocale = new AtomicReference<>();
+		Runnable task = this.decorator.decorate(() -> {
+			actualAttributes.set(RequestContextHolder.getRequestAttributes());
+			actualLocale.set(LocaleContextHolder.getLocale());
+		});
+
+		Thread thread = new Thread(task);
+		thread.start();
+		thread.join();
+
+		assertSame(attributes, actualAttributes.get());
+		assertEquals(Locale.FRENCH, actualLocale.get());
+	}
+
+	@Test
+	public void restorePreviousContext() {
+		RequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+		RequestContextHolder.setRequestAttributes(attributes);
+		Runnable task = this.decorator.decorate(() ->
+				assertSame(attributes, RequestContextHolder.getRequestAttributes()));
+
+		RequestAttributes otherAttributes = new ServletRequestAttributes(new MockHttpServletRequest());
+		RequestContextHolder.setRequestAttributes(otherAttributes);
+		task.run();
+
+		assertSame(otherAttributes, RequestContextHolder.getRequestAttributes());
+	}
+
+	@Test
+	public void noRequestContext() {
+		Runnable task = this.decorator.decorate(() -> {
+			assertNull(RequestContextHolder.getRequestAttributes());
+			assertNull(LocaleContextHolder.getLocaleContext());
+		});
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+		task.run();
+
+		assertNotNull(RequestContextHolder.getRequestAttributes());
+	}
+
+}
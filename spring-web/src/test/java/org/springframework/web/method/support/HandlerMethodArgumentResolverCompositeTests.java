@@ -22,6 +22,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import org.springframework.core.MethodParameter;
+import org.springframework.web.method.HandlerMethod;
 
 import static org.junit.Assert.*;
 
@@ -38,6 +39,8 @@ public class HandlerMethodArgumentResolverCompositeTests {
 
 	private MethodParameter paramStr;
 
+	private HandlerMethod handlerMethod;
+
 	@Before
 	public void setUp() throws Exception {
 		resolvers = new HandlerMethodArgumentResolverComposite();
@@ -45,6 +48,7 @@ public class HandlerMethodArgumentResolverCompositeTests {
 		Method method = getClass().getDeclaredMethod("handle", Integer.class, String.class);
 		paramInt = new MethodParameter(method, 0);
 		paramStr = new MethodParameter(method, 1);
+		handlerMethod = new HandlerMethod(this, method);
 	}
 
 	@Test
@@ -77,6 +81,29 @@ public class HandlerMethodArgumentResolverCompositeTests {
 		this.resolvers.resolveArgument(paramStr, null, null, null);
 	}
 
+	@Test
+	public void argumentResolversForHandlerMethod() throws Exception {
+		StubArgumentResolver intResolver = registerResolver(Integer.class, null);
+
+		HandlerMethodArgumentResolver[] result = this.resolvers.getArgumentResolvers(this.handlerMethod);
+		assertEquals(2, result.length);
+		assertSame(intResolver, result[0]);
+		assertNull(result[1]);
+		assertSame(result, this.resolvers.getArgumentResolvers(
+				new HandlerMethod(this, this.handlerMethod.getMethod())));
+	}
+
+	@Test
+	public void argumentResolversForHandlerMethodAfterAddingResolver() throws Exception {
+		StubArgumentResolver intResolver = registerResolver(Integer.class, null);
+		assertNull(this.resolvers.getArgumentResolvers(this.handlerMethod)[1]);
+
+		StubArgumentResolver strResolver = registerResolver(String.class, null);
+		HandlerMethodArgumentResolver[] result = this.resolvers.getArgumentResolvers(this.handlerMethod);
+		assertSame(intResolver, result[0]);
+		assertSame(strResolver, result[1]);
+	}
+
 	protected StubArgumentResolver registerResolver(Class<?> supportedType, Object stubValue) {
 		StubArgumentResolver resolver = new StubArgumentResolver(supportedType, stubValue);
 		this.resolvers.addResolver(resolver);
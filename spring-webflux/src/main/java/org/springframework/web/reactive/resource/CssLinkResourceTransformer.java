@@ -77,7 +77,8 @@ public class CssLinkResourceTransformer extends ResourceTransformerSupport {
 				.flatMap(ouptputResource -> {
 					String filename = ouptputResource.getFilename();
 					if (!"css".equals(StringUtils.getFilenameExtension(filename)) ||
-							inputResource instanceof GzipResourceResolver.GzippedResource) {
+							inputResource instanceof GzipResourceResolver.GzippedResource ||
+							inputResource instanceof EncodedResourceResolver.EncodedResource) {
 						return Mono.just(ouptputResource);
 					}
 
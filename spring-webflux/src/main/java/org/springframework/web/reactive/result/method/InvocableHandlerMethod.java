@@ -23,7 +23,6 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -38,9 +37,9 @@ import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ObjectUtils;
-import org.springframework.util.ReflectionUtils;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.reactive.BindingContext;
 import org.springframework.web.reactive.HandlerResult;
@@ -64,6 +63,9 @@ public class InvocableHandlerMethod extends HandlerMethod {
 
 	private List<HandlerMethodArgumentResolver> resolvers = new ArrayList<>();
 
+	@Nullable
+	private HandlerMethodArgumentResolver[] parameterResolvers;
+
 	private ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
 	private ReactiveAdapterRegistry reactiveAdapterRegistry = ReactiveAdapterRegistry.getSharedInstance();
@@ -85,6 +87,7 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	public void setArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
 		this.resolvers.clear();
 		this.resolvers.addAll(resolvers);
+		this.parameterResolvers = null;
 	}
 
 	/**
@@ -94,6 +97,22 @@ public class InvocableHandlerMethod extends HandlerMethod {
 		return this.resolvers;
 	}
 
+	/**
+	 * Set the argument resolver to use for each method parameter, as determined
+	 * in advance from the configured {@link #setArgumentResolvers argument resolvers},
+	 * e.g. once per handler method by the component that creates invocables.
+	 * Otherwise the configured argument resolvers are checked for every parameter
+	 * on each invocation.
+	 * @param parameterResolvers the argument resolver for each method parameter,
+	 * with a {@code null} element for a parameter that no resolver supports
+	 * @since 5.0.12
+	 */
+	public void setParameterResolvers(HandlerMethodArgumentResolver[] parameterResolvers) {
+		Assert.isTrue(parameterResolvers.length == getMethodParameters().length,
+				"Expected one argument resolver per method parameter");
+		this.parameterResolvers = parameterResolvers;
+	}
+
 	/**
 	 * Set the ParameterNameDiscoverer for resolving parameter names when needed
 	 * (e.g. default request attribute name).
@@ -165,22 +184,27 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	private Mono<Object[]> resolveArguments(
 			ServerWebExchange exchange, BindingContext bindingContext, Object... providedArgs) {
 
-		if (ObjectUtils.isEmpty(getMethodParameters())) {
+		MethodParameter[] parameters = getMethodParameters();
+		if (ObjectUtils.isEmpty(parameters)) {
 			return EMPTY_ARGS;
 		}
 		try {
-			List<Mono<Object>> argMonos = Stream.of(getMethodParameters())
-					.map(param -> {
-						param.initParameterNameDiscovery(this.parameterNameDiscoverer);
-						return findProvidedArgument(param, providedArgs)
-								.map(Mono::just)
-								.orElseGet(() -> {
-									HandlerMethodArgumentResolver resolver = findResolver(param);
-									return resolveArg(resolver, param, bindingContext, exchange);
-								});
-
-					})
-					.collect(Collectors.toList());
+			HandlerMethodArgumentResolver[] resolvers = this.parameterResolvers;
+			List<Mono<Object>> argMonos = new ArrayList<>(parameters.length);
+			for (int i = 0; i < parameters.length; i++) {
+				MethodParameter param = parameters[i];
+				param.initParameterNameDiscovery(this.parameterNameDiscoverer);
+				Object providedArg = findProvidedArgument(param, providedArgs);
+				if (providedArg != null) {
+					argMonos.add(Mono.just(providedArg));
+					continue;
+				}
+				HandlerMethodArgumentResolver resolver = (resolvers != null ? resolvers[i] : findResolver(param));
+				if (resolver == null) {
+					throw getArgumentError("No suitable resolver for", param, null);
+				}
+				argMonos.add(resolveArg(resolver, param, bindingContext, exchange));
+			}
 
 			// Create Mono with array of resolved values...
 			return Mono.zip(argMonos, argValues ->
@@ -191,20 +215,27 @@ public class InvocableHandlerMethod extends HandlerMethod {
 		}
 	}
 
-	private Optional<Object> findProvidedArgument(MethodParameter parameter, Object... providedArgs) {
+	@Nullable
+	private Object findProvidedArgument(MethodParameter parameter, Object... providedArgs) {
 		if (ObjectUtils.isEmpty(providedArgs)) {
-			return Optional.empty();
+			return null;
+		}
+		for (Object providedArg : providedArgs) {
+			if (parameter.getParameterType().isInstance(providedArg)) {
+				return providedArg;
+			}
 		}
-		return Arrays.stream(providedArgs)
-				.filter(arg -> parameter.getParameterType().isInstance(arg))
-				.findFirst();
+		return null;
 	}
 
+	@Nullable
 	private HandlerMethodArgumentResolver findResolver(MethodParameter param) {
-		return this.resolvers.stream()
-				.filter(r -> r.supportsParameter(param))
-				.findFirst()
-				.orElseThrow(() -> getArgumentError("No suitable resolver for", param, null));
+		for (HandlerMethodArgumentResolver resolver : this.resolvers) {
+			if (resolver.supportsParameter(param)) {
+				return resolver;
+			}
+		}
+		return null;
 	}
 
 	private Mono<Object> resolveArg(HandlerMethodArgumentResolver resolver, MethodParameter parameter,
@@ -239,7 +270,6 @@ public class InvocableHandlerMethod extends HandlerMethod {
 			logger.trace("Invoking '" + ClassUtils.getQualifiedMethodName(getMethod(), getBeanType()) +
 					"' with arguments " + Arrays.toString(args));
 		}
-		ReflectionUtils.makeAccessible(getBridgedMethod());
 		Object returnValue = getBridgedMethod().invoke(getBean(), args);
 		if (logger.isTraceEnabled()) {
 			logger.trace("Method [" + ClassUtils.getQualifiedMethodName(getMethod(), getBeanType()) +
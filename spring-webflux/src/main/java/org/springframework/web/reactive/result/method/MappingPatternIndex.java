@@ -0,0 +1,200 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.result.method;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.pattern.PathPattern;
+
+/**
+ * Prefix tree over the path segments of {@link PathPattern PathPatterns} of mappings,
+ * narrowing down the
+ * mappings to check for a lookup path to those that could possibly match it, in
+ * time proportional to the number of path segments rather than to the number
+ * of registered mappings.
+ *
+ * <p>Literal pattern segments are indexed by value, segments with wildcards or
+ * URI variables match any single path segment, and {@code "**"} as well as
+ * {@code "{*var}"} match the rest of the path. The candidates returned are a
+ * superset of the actual matches: the index ignores case and accounts for
+ * optional trailing separators, leaving the exact match to the mapping itself.
+ * Mappings added without patterns are candidates for any lookup path.
+ *
+ * <p>Not thread-safe: access is guarded by the lock of the mapping registry.
+ *
+ * @param <T> the mapping type
+ */
+final class MappingPatternIndex<T> {
+
+	private static final String PATH_SEPARATOR = "/";
+
+	private static final String CATCH_ALL_SEGMENT = "**";
+
+	private static final String CAPTURE_THE_REST_PREFIX = "{*";
+
+
+	private final Node<T> root = new Node<>();
+
+	private final Set<T> unindexedMappings = new LinkedHashSet<>();
+
+	private final Map<T, List<Set<T>>> registrations = new HashMap<>();
+
+
+	/**
+	 * Add the given mapping under each of the given patterns.
+	 * @param mapping the mapping to add
+	 * @param patterns the path patterns of the mapping, or an empty collection
+	 * to consider the mapping for any lookup path
+	 */
+	public void add(T mapping, Collection<PathPattern> patterns) {
+		List<Set<T>> mappingSets = new ArrayList<>(Math.max(patterns.size(), 1));
+		if (patterns.isEmpty()) {
+			mappingSets.add(this.unindexedMappings);
+		}
+		for (PathPattern pattern : patterns) {
+			mappingSets.add(this.root.getMappingSet(tokenize(pattern.getPatternString()), 0));
+		}
+		for (Set<T> mappingSet : mappingSets) {
+			mappingSet.add(mapping);
+		}
+		this.registrations.put(mapping, mappingSets);
+	}
+
+	/**
+	 * Remove the given mapping from the index.
+	 * <p>Nodes left empty are retained, in line with mappings being
+	 * unregistered rarely, if ever.
+	 */
+	public void remove(T mapping) {
+		List<Set<T>> mappingSets = this.registrations.remove(mapping);
+		if (mappingSets != null) {
+			for (Set<T> mappingSet : mappingSets) {
+				mappingSet.remove(mapping);
+			}
+		}
+	}
+
+	/**
+	 * Return the mappings with a pattern that may match the given lookup path.
+	 */
+	public Collection<T> getCandidates(PathContainer lookupPath) {
+		List<PathContainer.Element> elements = lookupPath.elements();
+		List<String> segments = new ArrayList<>(elements.size() / 2 + 1);
+		for (PathContainer.Element element : elements) {
+			if (element instanceof PathContainer.PathSegment) {
+				segments.add(toLowerCase(((PathContainer.PathSegment) element).valueToMatch()));
+			}
+		}
+		boolean trailingSeparator = (!elements.isEmpty() &&
+				elements.get(elements.size() - 1) instanceof PathContainer.Separator);
+		Set<T> candidates = new LinkedHashSet<>(this.unindexedMappings);
+		collectCandidates(this.root, segments, 0, trailingSeparator, candidates);
+		return candidates;
+	}
+
+	private void collectCandidates(Node<T> node, List<String> segments, int index,
+			boolean trailingSeparator, Set<T> candidates) {
+
+		candidates.addAll(node.catchAllMappings);
+		if (index == segments.size()) {
+			candidates.addAll(node.mappings);
+			if (trailingSeparator && node.wildcardChild != null) {
+				// "/foo/*" matching "/foo/"
+				candidates.addAll(node.wildcardChild.mappings);
+			}
+			return;
+		}
+		Node<T> literalChild = node.literalChildren.get(segments.get(index));
+		if (literalChild != null) {
+			collectCandidates(literalChild, segments, index + 1, trailingSeparator, candidates);
+		}
+		if (node.wildcardChild != null) {
+			collectCandidates(node.wildcardChild, segments, index + 1, trailingSeparator, candidates);
+		}
+	}
+
+	private static String[] tokenize(String path) {
+		String[] segments = StringUtils.tokenizeToStringArray(path, PATH_SEPARATOR, false, true);
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = toLowerCase(segments[i]);
+		}
+		return segments;
+	}
+
+	private static String toLowerCase(String segment) {
+		char[] chars = null;
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			char lowerCase = Character.toLowerCase(c);
+			if (c != lowerCase) {
+				if (chars == null) {
+					chars = segment.toCharArray();
+				}
+				chars[i] = lowerCase;
+			}
+		}
+		return (chars != null ? new String(chars) : segment);
+	}
+
+	private static boolean isWildcardSegment(String segment) {
+		return (segment.indexOf('*') != -1 || segment.indexOf('?') != -1 || segment.indexOf('{') != -1);
+	}
+
+
+	private static class Node<T> {
+
+		private final Map<String, Node<T>> literalChildren = new HashMap<>(4);
+
+		@Nullable
+		private Node<T> wildcardChild;
+
+		private final Set<T> mappings = new LinkedHashSet<>(2);
+
+		private final Set<T> catchAllMappings = new LinkedHashSet<>(2);
+
+		Set<T> getMappingSet(String[] segments, int index) {
+			if (index == segments.length) {
+				return this.mappings;
+			}
+			String segment = segments[index];
+			if (CATCH_ALL_SEGMENT.equals(segment) || segment.startsWith(CAPTURE_THE_REST_PREFIX)) {
+				return this.catchAllMappings;
+			}
+			Node<T> child;
+			if (isWildcardSegment(segment)) {
+				if (this.wildcardChild == null) {
+					this.wildcardChild = new Node<>();
+				}
+				child = this.wildcardChild;
+			}
+			else {
+				child = this.literalChildren.computeIfAbsent(segment, key -> new Node<>());
+			}
+			return child.getMappingSet(segments, index + 1);
+		}
+	}
+
+}
@@ -73,6 +73,16 @@ public class SyncInvocableHandlerMethod extends HandlerMethod {
 				.collect(Collectors.toList());
 	}
 
+	/**
+	 * Set the argument resolver to use for each method parameter, as determined
+	 * in advance from the configured {@link #setArgumentResolvers argument resolvers}.
+	 * @since 5.0.12
+	 * @see InvocableHandlerMethod#setParameterResolvers
+	 */
+	public void setParameterResolvers(SyncHandlerMethodArgumentResolver[] parameterResolvers) {
+		this.delegate.setParameterResolvers(parameterResolvers);
+	}
+
 	/**
 	 * Set the ParameterNameDiscoverer for resolving parameter names when needed
 	 * (e.g. default request attribute name).
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
@@ -32,7 +33,10 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.MethodClassKey;
 import org.springframework.core.MethodIntrospector;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.core.annotation.AnnotationUtils;
@@ -112,6 +116,15 @@ class ControllerMethodResolver {
 	private final Map<Class<?>, SessionAttributesHandler> sessionAttributesHandlerCache = new ConcurrentHashMap<>(64);
 
 
+	private final ParameterResolverCache<SyncHandlerMethodArgumentResolver> initBinderParameterResolvers;
+
+	private final ParameterResolverCache<HandlerMethodArgumentResolver> modelAttributeParameterResolvers;
+
+	private final ParameterResolverCache<HandlerMethodArgumentResolver> requestMappingParameterResolvers;
+
+	private final ParameterResolverCache<HandlerMethodArgumentResolver> exceptionHandlerParameterResolvers;
+
+
 	ControllerMethodResolver(ArgumentResolverConfigurer customResolvers, ReactiveAdapterRegistry reactiveRegistry,
 			ConfigurableApplicationContext context, List<HttpMessageReader<?>> readers) {
 
@@ -126,6 +139,15 @@ class ControllerMethodResolver {
 		this.exceptionHandlerResolvers = exceptionHandlerResolvers(customResolvers, reactiveRegistry, context);
 		this.reactiveAdapterRegistry = reactiveRegistry;
 
+		this.initBinderParameterResolvers =
+				new ParameterResolverCache<>(this.initBinderResolvers, SyncHandlerMethodArgumentResolver[]::new);
+		this.modelAttributeParameterResolvers =
+				new ParameterResolverCache<>(this.modelAttributeResolvers, HandlerMethodArgumentResolver[]::new);
+		this.requestMappingParameterResolvers =
+				new ParameterResolverCache<>(this.requestMappingResolvers, HandlerMethodArgumentResolver[]::new);
+		this.exceptionHandlerParameterResolvers =
+				new ParameterResolverCache<>(this.exceptionHandlerResolvers, HandlerMethodArgumentResolver[]::new);
+
 		initControllerAdviceCaches(context);
 	}
 
@@ -260,6 +282,8 @@ class ControllerMethodResolver {
 	public InvocableHandlerMethod getRequestMappingMethod(HandlerMethod handlerMethod) {
 		InvocableHandlerMethod invocable = new InvocableHandlerMethod(handlerMethod);
 		invocable.setArgumentResolvers(this.requestMappingResolvers);
+		invocable.setParameterResolvers(this.requestMappingParameterResolvers.getParameterResolvers(
+				invocable, invocable.getParameterNameDiscoverer()));
 		invocable.setReactiveAdapterRegistry(this.reactiveAdapterRegistry);
 		return invocable;
 	}
@@ -294,6 +318,8 @@ class ControllerMethodResolver {
 	private SyncInvocableHandlerMethod getInitBinderMethod(Object bean, Method method) {
 		SyncInvocableHandlerMethod invocable = new SyncInvocableHandlerMethod(bean, method);
 		invocable.setArgumentResolvers(this.initBinderResolvers);
+		invocable.setParameterResolvers(this.initBinderParameterResolvers.getParameterResolvers(
+				invocable, invocable.getParameterNameDiscoverer()));
 		return invocable;
 	}
 
@@ -327,6 +353,8 @@ class ControllerMethodResolver {
 	private InvocableHandlerMethod createAttributeMethod(Object bean, Method method) {
 		InvocableHandlerMethod invocable = new InvocableHandlerMethod(bean, method);
 		invocable.setArgumentResolvers(this.modelAttributeResolvers);
+		invocable.setParameterResolvers(this.modelAttributeParameterResolvers.getParameterResolvers(
+				invocable, invocable.getParameterNameDiscoverer()));
 		return invocable;
 	}
 
@@ -364,6 +392,8 @@ class ControllerMethodResolver {
 
 		InvocableHandlerMethod invocable = new InvocableHandlerMethod(targetBean, targetMethod);
 		invocable.setArgumentResolvers(this.exceptionHandlerResolvers);
+		invocable.setParameterResolvers(this.exceptionHandlerParameterResolvers.getParameterResolvers(
+				invocable, invocable.getParameterNameDiscoverer()));
 		return invocable;
 	}
 
@@ -386,4 +416,43 @@ class ControllerMethodResolver {
 		return result;
 	}
 
+
+	/**
+	 * Cache for the argument resolver of each parameter of a handler method,
+	 * determined once per method and bean type against a fixed list of resolvers.
+	 */
+	private static class ParameterResolverCache<R extends HandlerMethodArgumentResolver> {
+
+		private final List<R> resolvers;
+
+		private final IntFunction<R[]> arrayFactory;
+
+		private final Map<MethodClassKey, R[]> cache = new ConcurrentHashMap<>(64);
+
+		public ParameterResolverCache(List<R> resolvers, IntFunction<R[]> arrayFactory) {
+			this.resolvers = resolvers;
+			this.arrayFactory = arrayFactory;
+		}
+
+		public R[] getParameterResolvers(HandlerMethod handlerMethod, ParameterNameDiscoverer parameterNameDiscoverer) {
+			MethodClassKey cacheKey = new MethodClassKey(handlerMethod.getMethod(), handlerMethod.getBeanType());
+			R[] parameterResolvers = this.cache.get(cacheKey);
+			if (parameterResolvers == null) {
+				MethodParameter[] parameters = handlerMethod.getMethodParameters();
+				parameterResolvers = this.arrayFactory.apply(parameters.length);
+				for (int i = 0; i < parameters.length; i++) {
+					parameters[i].initParameterNameDiscovery(parameterNameDiscoverer);
+					for (R resolver : this.resolvers) {
+						if (resolver.supportsParameter(parameters[i])) {
+							parameterResolvers[i] = resolver;
+							break;
+						}
+					}
+				}
+				this.cache.put(cacheKey, parameterResolvers);
+			}
+			return parameterResolvers;
+		}
+	}
+
 }
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.resource;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.test.server.MockServerWebExchange;
+import org.springframework.util.FileCopyUtils;
+
+import static org.junit.Assert.*;
+import static org.springframework.mock.http.server.reactive.test.MockServerHttpRequest.*;
+
+/**
+ * Unit tests for {@link EncodedResourceResolver}.
+ */
+public class EncodedResourceResolverTests {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+	private EncodedResourceResolver encodedResourceResolver;
+
+	private ResourceResolverChain resolver;
+
+	private List<Resource> locations;
+
+	private Cache cache;
+
+
+	@BeforeClass
+	public static void createEncodedResources() throws IOException {
+		createEncodedFile("js/foo.js", "gzip");
+		createEncodedFile("js/foo.js", "br");
+		createEncodedFile("foo.css", "gzip");
+	}
+
+	private static void createEncodedFile(String filePath, String coding) throws IOException {
+		Resource location = new ClassPathResource("test/", EncodedResourceResolverTests.class);
+		Resource fileResource = new FileSystemResource(location.createRelative(filePath).getFile());
+		String extension = ("gzip".equals(coding) ? ".gz" : "." + coding);
+		Path encodedFilePath = Paths.get(fileResource.getFile().getAbsolutePath() + extension);
+		Files.deleteIfExists(encodedFilePath);
+		File encodedFile = Files.createFile(encodedFilePath).toFile();
+		OutputStream out = new FileOutputStream(encodedFile);
+		if ("gzip".equals(coding)) {
+			out = new GZIPOutputStream(out);
+		}
+		// No Brotli encoder available: only the presence of the file matters
+		FileCopyUtils.copy(fileResource.getInputStream(), out);
+		encodedFile.deleteOnExit();
+	}
+
+
+	@Before
+	public void setup() {
+		this.cache = new ConcurrentMapCache("resourceCache");
+
+		Map<String, VersionStrategy> versionStrategyMap = new HashMap<>();
+		versionStrategyMap.put("/**", new ContentVersionStrategy());
+		VersionResourceResolver versionResolver = new VersionResourceResolver();
+		versionResolver.setStrategyMap(versionStrategyMap);
+
+		this.encodedResourceResolver = new EncodedResourceResolver();
+
+		List<ResourceResolver> resolvers = new ArrayList<>();
+		resolvers.add(new CachingResourceResolver(this.cache));
+		resolvers.add(this.encodedResourceResolver);
+		resolvers.add(versionResolver);
+		resolvers.add(new PathResourceResolver());
+		this.resolver = new DefaultResourceResolverChain(resolvers);
+
+		this.locations = new ArrayList<>();
+		this.locations.add(new ClassPathResource("test/", getClass()));
+		this.locations.add(new ClassPathResource("testalternatepath/", getClass()));
+	}
+
+
+	@Test
+	public void resolveGzippedFile() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(get("").header("Accept-Encoding", "gzip"));
+		Resource resolved = this.resolver.resolveResource(exchange, "js/foo.js", this.locations).block(TIMEOUT);
+
+		assertEquals(getResource("js/foo.js.gz").getDescription(), resolved.getDescription());
+		assertEquals(getResource("js/foo.js").getFilename(), resolved.getFilename());
+		assertTrue(resolved instanceof HttpResource);
+		assertEquals("gzip", ((HttpResource) resolved).getResponseHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+		assertEquals("Accept-Encoding", ((HttpResource) resolved).getResponseHeaders().getFirst(HttpHeaders.VARY));
+	}
+
+	@Test
+	public void resolveBrotliFileInPreferenceToGzip() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(
+				get("").header("Accept-Encoding", "gzip, deflate, br"));
+		Resource resolved = this.resolver.resolveResource(exchange, "js/foo.js", this.locations).block(TIMEOUT);
+
+		assertEquals(getResource("js/foo.js.br").getDescription(), resolved.getDescription());
+		assertEquals(getResource("js/foo.js").getFilename(), resolved.getFilename());
+		assertEquals("br", ((HttpResource) resolved).getResponseHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+	}
+
+	@Test
+	public void resolveFingerprintedGzippedFile() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(get("").header("Accept-Encoding", "gzip"));
+		String file = "foo-e36d2e05253c6c7085a91522ce43a0b4.css";
+		Resource resolved = this.resolver.resolveResource(exchange, file, this.locations).block(TIMEOUT);
+
+		assertEquals(getResource("foo.css.gz").getDescription(), resolved.getDescription());
+		assertEquals(getResource("foo.css").getFilename(), resolved.getFilename());
+		assertTrue(resolved instanceof HttpResource);
+	}
+
+	@Test
+	public void resolveFromCacheWithEncodingVariants() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(get("").header("Accept-Encoding", "gzip"));
+		Resource resolved = this.resolver.resolveResource(exchange, "js/foo.js", this.locations).block(TIMEOUT);
+
+		assertEquals(getResource("js/foo.js.gz").getDescription(), resolved.getDescription());
+		assertTrue(this.cache.get(CachingResourceResolver.RESOLVED_RESOURCE_CACHE_KEY_PREFIX +
+				"js/foo.js+encoding=gzip") != null);
+
+		// resolved resource is now cached in CachingResourceResolver
+
+		exchange = MockServerWebExchange.from(get("").header("Accept-Encoding", "br, gzip"));
+		resolved = this.resolver.resolveResource(exchange, "js/foo.js", this.locations).block(TIMEOUT);
+
+		assertEquals(getResource("js/foo.js.br").getDescription(), resolved.getDescription());
+
+		exchange = MockServerWebExchange.from(get(""));
+		resolved = this.resolver.resolveResource(exchange, "js/foo.js", this.locations).block(TIMEOUT);
+
+		assertEquals(getResource("js/foo.js").getDescription(), resolved.getDescription());
+		assertFalse(resolved instanceof HttpResource);
+	}
+
+	@Test
+	public void resolveWithNullRequest() {
+		Resource resolved = this.resolver.resolveResource(null, "js/foo.js", this.locations).block(TIMEOUT);
+
+		assertEquals(getResource("js/foo.js").getDescription(), resolved.getDescription());
+		assertFalse(resolved instanceof HttpResource);
+	}
+
+	@Test
+	public void compressOnTheFly() throws IOException {
+		MockServerWebExchange exchange = MockServerWebExchange.from(get("").header("Accept-Encoding", "gzip"));
+		Resource resolved = this.resolver.resolveResource(exchange, "bar.css", this.locations).block(TIMEOUT);
+
+		assertTrue(resolved instanceof HttpResource);
+		assertEquals("gzip", ((HttpResource) resolved).getResponseHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+		assertEquals("bar.css", resolved.getFilename());
+		assertFalse(resolved.isFile());
+
+		byte[] expected = FileCopyUtils.copyToByteArray(getResource("bar.css").getInputStream());
+		byte[] compressed = FileCopyUtils.copyToByteArray(resolved.getInputStream());
+		assertEquals(compressed.length, resolved.contentLength());
+		assertArrayEquals(expected, FileCopyUtils.copyToByteArray(new GZIPInputStream(resolved.getInputStream())));
+	}
+
+	@Test
+	public void compressOnTheFlyWithoutCache() throws IOException {
+		this.encodedResourceResolver.setCacheSizeLimit(0);
+		MockServerWebExchange exchange = MockServerWebExchange.from(get("").header("Accept-Encoding", "gzip"));
+		Resource resolved = this.resolver.resolveResource(exchange, "bar.css", this.locations).block(TIMEOUT);
+
+		byte[] expected = FileCopyUtils.copyToByteArray(getResource("bar.css").getInputStream());
+		assertArrayEquals(expected, FileCopyUtils.copyToByteArray(new GZIPInputStream(resolved.getInputStream())));
+		assertArrayEquals(expected, FileCopyUtils.copyToByteArray(new GZIPInputStream(resolved.getInputStream())));
+	}
+
+	@Test
+	public void compressOnTheFlyOnlyForCompressibleMediaTypes() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(get("").header("Accept-Encoding", "gzip"));
+		Resource resolved = this.resolver.resolveResource(exchange, "images/image.png", this.locations)
+				.block(TIMEOUT);
+		assertFalse(resolved instanceof HttpResource);
+
+		this.encodedResourceResolver.setCompressibleMediaTypes(Collections.singletonList(MediaType.IMAGE_PNG));
+		this.cache.clear();
+		resolved = this.resolver.resolveResource(exchange, "images/image.png", this.locations).block(TIMEOUT);
+		assertTrue(resolved instanceof HttpResource);
+	}
+
+	@Test
+	public void compressOnTheFlyDisabled() {
+		this.encodedResourceResolver.setCompressOnTheFly(false);
+		MockServerWebExchange exchange = MockServerWebExchange.from(get("").header("Accept-Encoding", "gzip"));
+		Resource resolved = this.resolver.resolveResource(exchange, "bar.css", this.locations).block(TIMEOUT);
+
+		assertEquals(getResource("bar.css").getDescription(), resolved.getDescription());
+		assertFalse(resolved instanceof HttpResource);
+	}
+
+	@Test
+	public void noCompressionForBrotliOnly() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(get("").header("Accept-Encoding", "br"));
+		Resource resolved = this.resolver.resolveResource(exchange, "bar.css", this.locations).block(TIMEOUT);
+
+		assertEquals(getResource("bar.css").getDescription(), resolved.getDescription());
+		assertFalse(resolved instanceof HttpResource);
+	}
+
+	@Test
+	public void resolveWithZeroQualityCoding() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(
+				get("").header("Accept-Encoding", "br;q=0, gzip;q=0.5"));
+		Resource resolved = this.resolver.resolveResource(exchange, "js/foo.js", this.locations).block(TIMEOUT);
+
+		assertEquals(getResource("js/foo.js.gz").getDescription(), resolved.getDescription());
+		assertEquals("gzip", ((HttpResource) resolved).getResponseHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+	}
+
+	@Test
+	public void noCompressionForZeroQualityGzip() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(get("").header("Accept-Encoding", "gzip;q=0"));
+		Resource resolved = this.resolver.resolveResource(exchange, "bar.css", this.locations).block(TIMEOUT);
+
+		assertEquals(getResource("bar.css").getDescription(), resolved.getDescription());
+		assertFalse(resolved instanceof HttpResource);
+	}
+
+	@Test
+	public void acceptedCodings() {
+		assertEquals(Arrays.asList("gzip", "br"),
+				EncodedResourceResolver.getAcceptedCodings("GZIP, deflate;q=0.0, br; q=0.8, identity;q=invalid"));
+		assertEquals(Collections.emptyList(), EncodedResourceResolver.getAcceptedCodings(null));
+	}
+
+	private Resource getResource(String filePath) {
+		return new ClassPathResource("test/" + filePath, getClass());
+	}
+
+}
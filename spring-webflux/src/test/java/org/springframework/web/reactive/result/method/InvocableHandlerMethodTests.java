@@ -21,6 +21,7 @@ import java.lang.reflect.Method;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.Collections;
 
 import org.junit.Test;
 import reactor.core.publisher.Flux;
@@ -47,6 +48,8 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.mock.http.server.reactive.test.MockServerHttpRequest.get;
 import static org.springframework.web.method.ResolvableMethod.on;
@@ -150,6 +153,18 @@ public class InvocableHandlerMethodTests {
 		assertHandlerResultValue(mono, "success:value1");
 	}
 
+	@Test
+	public void invokeMethodWithParameterResolvers() throws Exception {
+		HandlerMethodArgumentResolver resolver = resolverFor(Mono.just("value1"));
+		Method method = on(TestController.class).mockCall(o -> o.singleArg(null)).method();
+		InvocableHandlerMethod hm = new InvocableHandlerMethod(new TestController(), method);
+		hm.setArgumentResolvers(Collections.singletonList(resolver));
+		hm.setParameterResolvers(new HandlerMethodArgumentResolver[] {resolver});
+
+		assertHandlerResultValue(hm.invoke(this.exchange, new BindingContext()), "success:value1");
+		verify(resolver, never()).supportsParameter(any());
+	}
+
 	@Test
 	public void noMatchingResolver() throws Exception {
 		Method method = on(TestController.class).mockCall(o -> o.singleArg(null)).method();
@@ -23,6 +23,7 @@ import org.junit.Before;
 import org.junit.Test;
 import reactor.core.publisher.Mono;
 
+import org.springframework.beans.DirectFieldAccessor;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ReactiveAdapterRegistry;
@@ -48,6 +49,7 @@ import org.springframework.web.server.ServerWebExchange;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 
 /**
  * Unit tests for {@link ControllerMethodResolver}.
@@ -237,6 +239,19 @@ public class ControllerMethodResolverTests {
 		assertEquals(TestControllerAdvice.class, invocable.getBeanType());
 	}
 
+	@Test
+	public void parameterResolversDeterminedOncePerMethod() throws Exception {
+		Throwable ex = new ResponseStatusException(HttpStatus.BAD_REQUEST, "reason");
+		InvocableHandlerMethod first = this.methodResolver.getExceptionHandlerMethod(ex, this.handlerMethod);
+		InvocableHandlerMethod second = this.methodResolver.getExceptionHandlerMethod(ex, this.handlerMethod);
+
+		assertNotNull(first);
+		assertNotNull(second);
+		Object parameterResolvers = new DirectFieldAccessor(first).getPropertyValue("parameterResolvers");
+		assertEquals(1, ((HandlerMethodArgumentResolver[]) parameterResolvers).length);
+		assertSame(parameterResolvers, new DirectFieldAccessor(second).getPropertyValue("parameterResolvers"));
+	}
+
 
 	private static HandlerMethodArgumentResolver next(
 			List<? extends HandlerMethodArgumentResolver> resolvers, AtomicInteger index) {
@@ -23,6 +23,7 @@ import java.util.concurrent.Callable;
 
 import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.lang.Nullable;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.context.request.async.CallableProcessingInterceptor;
@@ -57,7 +58,9 @@ public class AsyncSupportConfigurer {
 	 * </ol>
 	 * <p>By default only a {@link SimpleAsyncTaskExecutor} is used. However when
 	 * using the above two use cases, it's recommended to configure an executor
-	 * backed by a thread pool such as {@link ThreadPoolTaskExecutor}.
+	 * backed by a thread pool such as {@link ThreadPoolTaskExecutor} or, on
+	 * Java 21 and higher, a {@link VirtualThreadTaskExecutor} for {@code Callable}
+	 * return values that block, e.g. on JDBC calls, without the need for a large pool.
 	 * @param taskExecutor the task executor instance to use by default
 	 */
 	public AsyncSupportConfigurer setTaskExecutor(AsyncTaskExecutor taskExecutor) {
@@ -36,10 +36,12 @@ import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.MethodIntrospector;
 import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.method.HandlerMethod;
@@ -348,8 +350,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 		if (matches.isEmpty()) {
-			// No choice but to go through all mappings...
-			addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			// Go through all mappings with a pattern that may match...
+			addMatchingMappings(this.mappingRegistry.getMappingsByPattern(lookupPath), matches, request);
 		}
 
 		if (!matches.isEmpty()) {
@@ -452,6 +454,9 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 	/**
 	 * Extract and return the URL paths contained in a mapping.
+	 * <p>Also used to index mappings by path segment, so that only mappings
+	 * with a pattern that may match the lookup path are checked for a request.
+	 * Mappings without URL paths are checked for every request.
 	 */
 	protected abstract Set<String> getMappingPathPatterns(T mapping);
 
@@ -487,6 +492,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> urlLookup = new LinkedMultiValueMap<>();
 
+		private final MappingPatternIndex<T> patternIndex = new MappingPatternIndex<>();
+
 		private final Map<String, List<HandlerMethod>> nameLookup = new ConcurrentHashMap<>();
 
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
@@ -510,6 +517,15 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.urlLookup.get(urlPath);
 		}
 
+		/**
+		 * Return the mappings with a pattern that may match the given URL path,
+		 * to be checked through {@link #getMatchingMapping}. Not thread-safe.
+		 * @see #acquireReadLock()
+		 */
+		public Collection<T> getMappingsByPattern(String urlPath) {
+			return this.patternIndex.getCandidates(urlPath);
+		}
+
 		/**
 		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 */
@@ -555,6 +571,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.urlLookup.add(url, mapping);
 				}
 
+				Set<String> patterns = (isPatternIndexSupported() ?
+						getMappingPathPatterns(mapping) : Collections.emptySet());
+				this.patternIndex.add(mapping, patterns);
+
 				String name = null;
 				if (getNamingStrategy() != null) {
 					name = getNamingStrategy().getName(handlerMethod, mapping);
@@ -593,6 +613,16 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return urls;
 		}
 
+		/**
+		 * Whether patterns can be indexed by path segment: this requires an
+		 * {@link AntPathMatcher} using "/" as separator and not trimming tokens.
+		 */
+		private boolean isPatternIndexSupported() {
+			PathMatcher pathMatcher = getPathMatcher();
+			return (pathMatcher instanceof AntPathMatcher &&
+					!pathMatcher.match("/*", "/a/b") && !pathMatcher.match("/a/b", "/a/ /b"));
+		}
+
 		private void addMappingName(String name, HandlerMethod handlerMethod) {
 			List<HandlerMethod> oldList = this.nameLookup.get(name);
 			if (oldList == null) {
@@ -631,6 +661,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				}
 
 				this.mappingLookup.remove(definition.getMapping());
+				this.patternIndex.remove(definition.getMapping());
 
 				for (String url : definition.getDirectUrls()) {
 					List<T> list = this.urlLookup.get(url);
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.handler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * Prefix tree over the path segments of mapping patterns, narrowing down the
+ * mappings to check for a lookup path to those that could possibly match it,
+ * in time proportional to the number of path segments rather than to the
+ * number of registered mappings.
+ *
+ * <p>Literal pattern segments are indexed by value, segments with wildcards or
+ * URI variables match any single path segment, and {@code "**"} matches the
+ * rest of the path. The candidates returned are a superset of the actual
+ * matches: the index ignores case and accounts for suffix pattern and trailing
+ * slash matching, leaving the exact match to the mapping itself. Mappings
+ * added without patterns are candidates for any lookup path.
+ *
+ * <p>Not thread-safe: access is guarded by the lock of the mapping registry.
+ *
+ * @param <T> the mapping type
+ */
+final class MappingPatternIndex<T> {
+
+	private static final String PATH_SEPARATOR = "/";
+
+	private static final String CATCH_ALL_SEGMENT = "**";
+
+
+	private final Node<T> root = new Node<>();
+
+	private final Set<T> unindexedMappings = new LinkedHashSet<>();
+
+	private final Map<T, List<Set<T>>> registrations = new HashMap<>();
+
+
+	/**
+	 * Add the given mapping under each of the given patterns.
+	 * @param mapping the mapping to add
+	 * @param patterns the path patterns of the mapping, or an empty collection
+	 * to consider the mapping for any lookup path
+	 */
+	public void add(T mapping, Collection<String> patterns) {
+		List<Set<T>> mappingSets = new ArrayList<>(Math.max(patterns.size(), 1));
+		if (patterns.isEmpty()) {
+			mappingSets.add(this.unindexedMappings);
+		}
+		for (String pattern : patterns) {
+			mappingSets.add(this.root.getMappingSet(tokenize(pattern), 0));
+		}
+		for (Set<T> mappingSet : mappingSets) {
+			mappingSet.add(mapping);
+		}
+		this.registrations.put(mapping, mappingSets);
+	}
+
+	/**
+	 * Remove the given mapping from the index.
+	 * <p>Nodes left empty are retained, in line with mappings being
+	 * unregistered rarely, if ever.
+	 */
+	public void remove(T mapping) {
+		List<Set<T>> mappingSets = this.registrations.remove(mapping);
+		if (mappingSets != null) {
+			for (Set<T> mappingSet : mappingSets) {
+				mappingSet.remove(mapping);
+			}
+		}
+	}
+
+	/**
+	 * Return the mappings with a pattern that may match the given lookup path.
+	 */
+	public Collection<T> getCandidates(String lookupPath) {
+		String[] segments = tokenize(lookupPath);
+		Set<T> candidates = new LinkedHashSet<>(this.unindexedMappings);
+		collectCandidates(this.root, segments, 0, lookupPath.endsWith(PATH_SEPARATOR), candidates);
+		return candidates;
+	}
+
+	private void collectCandidates(Node<T> node, String[] segments, int index,
+			boolean trailingSlash, Set<T> candidates) {
+
+		candidates.addAll(node.catchAllMappings);
+		if (index == segments.length) {
+			candidates.addAll(node.mappings);
+			if (trailingSlash && node.wildcardChild != null) {
+				// "/foo/*" matching "/foo/"
+				candidates.addAll(node.wildcardChild.mappings);
+			}
+			return;
+		}
+		String segment = segments[index];
+		Node<T> literalChild = node.literalChildren.get(segment);
+		if (literalChild != null) {
+			collectCandidates(literalChild, segments, index + 1, trailingSlash, candidates);
+		}
+		if (node.wildcardChild != null) {
+			collectCandidates(node.wildcardChild, segments, index + 1, trailingSlash, candidates);
+		}
+		if (index == segments.length - 1) {
+			// Suffix pattern match, e.g. "/foo" matching "/foo.json" or "/foo/" matching "/foo/.json"
+			for (int i = segment.indexOf('.'); i != -1; i = segment.indexOf('.', i + 1)) {
+				Node<T> prefixNode = (i == 0 ? node : node.literalChildren.get(segment.substring(0, i)));
+				if (prefixNode != null) {
+					collectCandidates(prefixNode, segments, segments.length, false, candidates);
+				}
+			}
+		}
+	}
+
+	private static String[] tokenize(String path) {
+		String[] segments = StringUtils.tokenizeToStringArray(path, PATH_SEPARATOR, false, true);
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = toLowerCase(segments[i]);
+		}
+		return segments;
+	}
+
+	private static String toLowerCase(String segment) {
+		char[] chars = null;
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			char lowerCase = Character.toLowerCase(c);
+			if (c != lowerCase) {
+				if (chars == null) {
+					chars = segment.toCharArray();
+				}
+				chars[i] = lowerCase;
+			}
+		}
+		return (chars != null ? new String(chars) : segment);
+	}
+
+	private static boolean isWildcardSegment(String segment) {
+		return (segment.indexOf('*') != -1 || segment.indexOf('?') != -1 || segment.indexOf('{') != -1);
+	}
+
+
+	private static class Node<T> {
+
+		private final Map<String, Node<T>> literalChildren = new HashMap<>(4);
+
+		@Nullable
+		private Node<T> wildcardChild;
+
+		private final Set<T> mappings = new LinkedHashSet<>(2);
+
+		private final Set<T> catchAllMappings = new LinkedHashSet<>(2);
+
+		Set<T> getMappingSet(String[] segments, int index) {
+			if (index == segments.length) {
+				return this.mappings;
+			}
+			String segment = segments[index];
+			if (CATCH_ALL_SEGMENT.equals(segment)) {
+				return this.catchAllMappings;
+			}
+			Node<T> child;
+			if (isWildcardSegment(segment)) {
+				if (this.wildcardChild == null) {
+					this.wildcardChild = new Node<>();
+				}
+				child = this.wildcardChild;
+			}
+			else {
+				child = this.literalChildren.computeIfAbsent(segment, key -> new Node<>());
+			}
+			return child.getMappingSet(segments, index + 1);
+		}
+	}
+
+}
@@ -0,0 +1,627 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.zip.GZIPOutputStream;
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Resolver that delegates to the chain, and if a resource is found, it then
+ * attempts to find an encoded (e.g. gzip, brotli) variant that is acceptable
+ * based on the "Accept-Encoding" request header.
+ *
+ * <p>The list of supported {@link #setContentCodings(List) contentCodings} can
+ * be configured, in order of preference, and each coding must be associated
+ * with {@link #setExtensions(Map) extensions}.
+ *
+ * <p>If no pre-encoded variant exists and the client accepts "gzip", resources
+ * with a {@link #setCompressibleMediaTypes compressible} media type are
+ * compressed on the fly. The compressed content is kept in a cache that is
+ * bounded by {@link #setCacheSizeLimit total size} and evicts least recently
+ * used entries first; concurrent requests for content that is not cached share
+ * a single compression. Since the JDK does not provide a Brotli encoder, "br"
+ * is only supported through pre-encoded files.
+ *
+ * <p>Content codings listed with a quality value of 0 in the "Accept-Encoding"
+ * header, e.g. {@code "gzip;q=0"}, are considered as not acceptable.
+ *
+ * <p>Note that this resolver must be ordered ahead of a
+ * {@link VersionResourceResolver} with a content-based, version strategy to
+ * ensure the version calculation is not impacted by the encoding. A
+ * {@link CachingResourceResolver} ordered ahead of this resolver keeps the
+ * resolved resources per negotiated content coding, while the compressed
+ * content remains subject to the size limit of this resolver.
+ *
+ * @since 5.0.12
+ * @see GzipResourceResolver
+ */
+public class EncodedResourceResolver extends AbstractResourceResolver {
+
+	/**
+	 * The default content codings.
+	 */
+	public static final List<String> DEFAULT_CODINGS = Arrays.asList("br", "gzip");
+
+	/**
+	 * The default limit for the total size of compressed content to keep in
+	 * memory: 10 MB.
+	 */
+	public static final long DEFAULT_CACHE_SIZE_LIMIT = 10 * 1024 * 1024;
+
+	private static final String GZIP = "gzip";
+
+
+	private final List<String> contentCodings = new ArrayList<>(DEFAULT_CODINGS);
+
+	private final Map<String, String> extensions = new LinkedHashMap<>();
+
+	private final List<MediaType> compressibleMediaTypes = new ArrayList<>(Arrays.asList(
+			new MediaType("text", "*"), new MediaType("application", "javascript"),
+			new MediaType("application", "json"), new MediaType("application", "*+json"),
+			new MediaType("application", "xml"), new MediaType("application", "*+xml"),
+			new MediaType("image", "svg+xml")));
+
+	private boolean compressOnTheFly = true;
+
+	private final CompressedContentCache compressedContentCache =
+			new CompressedContentCache(DEFAULT_CACHE_SIZE_LIMIT);
+
+
+	public EncodedResourceResolver() {
+		this.extensions.put(GZIP, ".gz");
+		this.extensions.put("br", ".br");
+	}
+
+
+	/**
+	 * Configure the supported content codings in order of preference. The first
+	 * coding that is present in the {@literal "Accept-Encoding"} header for a
+	 * given request, and that has a file present with the associated extension,
+	 * is used.
+	 * <p><strong>Note:</strong> Each coding must be associated with a file
+	 * extension via {@link #registerExtension} or {@link #setExtensions}. Also
+	 * customizations to the list of codings here should be matched by
+	 * customizations to the same list in {@link CachingResourceResolver} to
+	 * ensure encoded variants of a resource are cached under separate keys.
+	 * <p>By default this property is set to {@literal ["br", "gzip"]}.
+	 * @param codings one or more supported content codings
+	 */
+	public void setContentCodings(List<String> codings) {
+		Assert.notEmpty(codings, "At least one content coding expected");
+		this.contentCodings.clear();
+		this.contentCodings.addAll(codings);
+	}
+
+	/**
+	 * Return a read-only list with the supported content codings.
+	 */
+	public List<String> getContentCodings() {
+		return Collections.unmodifiableList(this.contentCodings);
+	}
+
+	/**
+	 * Configure mappings from content codings to file extensions. A dot "."
+	 * will be prepended in front of the extension value if not present.
+	 * <p>By default this is configured with {@literal ["br" -> ".br"]} and
+	 * {@literal ["gzip" -> ".gz"]}.
+	 * @param extensions the extensions to use
+	 * @see #registerExtension(String, String)
+	 */
+	public void setExtensions(Map<String, String> extensions) {
+		extensions.forEach(this::registerExtension);
+	}
+
+	/**
+	 * Return a read-only map with coding-to-extension mappings.
+	 */
+	public Map<String, String> getExtensions() {
+		return Collections.unmodifiableMap(this.extensions);
+	}
+
+	/**
+	 * Java config friendly alternative to {@link #setExtensions(Map)}.
+	 * @param coding the content coding
+	 * @param extension the associated file extension
+	 */
+	public void registerExtension(String coding, String extension) {
+		this.extensions.put(coding, (extension.startsWith(".") ? extension : "." + extension));
+	}
+
+	/**
+	 * Whether to gzip resources on the fly if the client accepts "gzip" and no
+	 * pre-encoded variant is available.
+	 * <p>By default this is set to {@code true}.
+	 * @see #setCompressibleMediaTypes
+	 * @see #setCacheSizeLimit
+	 */
+	public void setCompressOnTheFly(boolean compressOnTheFly) {
+		this.compressOnTheFly = compressOnTheFly;
+	}
+
+	/**
+	 * Whether resources are compressed on the fly.
+	 */
+	public boolean isCompressOnTheFly() {
+		return this.compressOnTheFly;
+	}
+
+	/**
+	 * Configure the media types of resources to compress on the fly. Resources
+	 * whose media type cannot be determined from the file extension, or is not
+	 * included in any of the given media types, are served as they are.
+	 * <p>By default this is set to text and JavaScript, JSON, XML and SVG types.
+	 * @param mediaTypes the media types of compressible resources
+	 */
+	public void setCompressibleMediaTypes(List<MediaType> mediaTypes) {
+		this.compressibleMediaTypes.clear();
+		this.compressibleMediaTypes.addAll(mediaTypes);
+	}
+
+	/**
+	 * Return a read-only list with the media types of compressible resources.
+	 */
+	public List<MediaType> getCompressibleMediaTypes() {
+		return Collections.unmodifiableList(this.compressibleMediaTypes);
+	}
+
+	/**
+	 * Configure the maximum total size, in bytes, of compressed content to keep
+	 * in memory. Least recently used content is evicted first, and compressed
+	 * again when requested next. Content larger than the limit is compressed
+	 * for every request.
+	 * <p>By default this is set to {@link #DEFAULT_CACHE_SIZE_LIMIT}.
+	 * @param cacheSizeLimit the size limit in bytes, or 0 to disable caching
+	 */
+	public void setCacheSizeLimit(long cacheSizeLimit) {
+		Assert.isTrue(cacheSizeLimit >= 0, "Cache size limit must not be negative");
+		this.compressedContentCache.setSizeLimit(cacheSizeLimit);
+	}
+
+	/**
+	 * Return the maximum total size of compressed content to keep in memory.
+	 */
+	public long getCacheSizeLimit() {
+		return this.compressedContentCache.getSizeLimit();
+	}
+
+
+	@Override
+	protected Resource resolveResourceInternal(@Nullable HttpServletRequest request, String requestPath,
+			List<? extends Resource> locations, ResourceResolverChain chain) {
+
+		Resource resource = chain.resolveResource(request, requestPath, locations);
+		if (resource == null || request == null) {
+			return resource;
+		}
+
+		List<String> acceptedCodings = getAcceptedCodings(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+		if (acceptedCodings.isEmpty()) {
+			return resource;
+		}
+
+		for (String coding : this.contentCodings) {
+			if (acceptedCodings.contains(coding)) {
+				try {
+					String extension = getExtension(coding);
+					Resource encoded = resource.createRelative(resource.getFilename() + extension);
+					if (encoded.exists()) {
+						return new EncodedResource(resource, coding, encoded);
+					}
+				}
+				catch (IOException ex) {
+					if (logger.isTraceEnabled()) {
+						logger.trace("No " + coding + " resource for [" + resource.getFilename() + "]", ex);
+					}
+				}
+			}
+		}
+
+		if (this.compressOnTheFly && acceptedCodings.contains(GZIP) && isCompressible(resource)) {
+			return new EncodedResource(resource, GZIP, new CompressedResource(resource));
+		}
+
+		return resource;
+	}
+
+	/**
+	 * Parse the given "Accept-Encoding" header into the lower-case content
+	 * codings it lists, leaving out codings with a quality value of 0.
+	 * @param header the header value, possibly {@code null}
+	 * @return the accepted content codings, in the order of the header
+	 */
+	static List<String> getAcceptedCodings(@Nullable String header) {
+		if (!StringUtils.hasText(header)) {
+			return Collections.emptyList();
+		}
+		List<String> codings = new ArrayList<>();
+		for (String token : StringUtils.tokenizeToStringArray(header, ",")) {
+			String[] parts = StringUtils.tokenizeToStringArray(token, ";");
+			if (parts.length > 0 && isAcceptable(parts)) {
+				codings.add(parts[0].toLowerCase());
+			}
+		}
+		return codings;
+	}
+
+	private static boolean isAcceptable(String[] codingParts) {
+		for (int i = 1; i < codingParts.length; i++) {
+			String param = codingParts[i];
+			int index = param.indexOf('=');
+			if (index > 0 && "q".equalsIgnoreCase(param.substring(0, index).trim())) {
+				try {
+					return Double.parseDouble(param.substring(index + 1).trim()) > 0;
+				}
+				catch (NumberFormatException ex) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private String getExtension(String coding) {
+		String extension = this.extensions.get(coding);
+		if (extension == null) {
+			throw new IllegalStateException("No file extension associated with content coding " + coding);
+		}
+		return extension;
+	}
+
+	private boolean isCompressible(Resource resource) {
+		MediaType mediaType = MediaTypeFactory.getMediaType(resource).orElse(null);
+		if (mediaType == null) {
+			return false;
+		}
+		for (MediaType compressibleType : this.compressibleMediaTypes) {
+			if (compressibleType.includes(mediaType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	protected String resolveUrlPathInternal(String resourceUrlPath,
+			List<? extends Resource> locations, ResourceResolverChain chain) {
+
+		return chain.resolveUrlPath(resourceUrlPath, locations);
+	}
+
+
+	/**
+	 * An encoded {@link HttpResource}.
+	 */
+	static final class EncodedResource extends AbstractResource implements HttpResource {
+
+		private final Resource original;
+
+		private final String coding;
+
+		private final Resource encoded;
+
+		EncodedResource(Resource original, String coding, Resource encoded) {
+			this.original = original;
+			this.coding = coding;
+			this.encoded = encoded;
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			return this.encoded.getInputStream();
+		}
+
+		@Override
+		public boolean exists() {
+			return this.encoded.exists();
+		}
+
+		@Override
+		public boolean isReadable() {
+			return this.encoded.isReadable();
+		}
+
+		@Override
+		public boolean isOpen() {
+			return this.encoded.isOpen();
+		}
+
+		@Override
+		public boolean isFile() {
+			return this.encoded.isFile();
+		}
+
+		@Override
+		public URL getURL() throws IOException {
+			return this.encoded.getURL();
+		}
+
+		@Override
+		public URI getURI() throws IOException {
+			return this.encoded.getURI();
+		}
+
+		@Override
+		public File getFile() throws IOException {
+			return this.encoded.getFile();
+		}
+
+		@Override
+		public long contentLength() throws IOException {
+			return this.encoded.contentLength();
+		}
+
+		@Override
+		public long lastModified() throws IOException {
+			return this.encoded.lastModified();
+		}
+
+		@Override
+		public Resource createRelative(String relativePath) throws IOException {
+			return this.encoded.createRelative(relativePath);
+		}
+
+		@Override
+		@Nullable
+		public String getFilename() {
+			return this.original.getFilename();
+		}
+
+		@Override
+		public String getDescription() {
+			return this.encoded.getDescription();
+		}
+
+		@Override
+		public HttpHeaders getResponseHeaders() {
+			HttpHeaders headers;
+			if (this.original instanceof HttpResource) {
+				headers = ((HttpResource) this.original).getResponseHeaders();
+			}
+			else {
+				headers = new HttpHeaders();
+			}
+			headers.add(HttpHeaders.CONTENT_ENCODING, this.coding);
+			headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+			return headers;
+		}
+	}
+
+
+	/**
+	 * The gzip-compressed content of a resource, obtained from the
+	 * {@link CompressedContentCache} or compressed on demand.
+	 * <p>Content obtained for {@link #contentLength()} is held until the next
+	 * call to {@link #getInputStream()}, so that serving the resource compresses
+	 * it once even if it is too large for the cache. It is not held beyond that
+	 * since instances may be cached by a {@link CachingResourceResolver}.
+	 */
+	private final class CompressedResource extends AbstractResource {
+
+		private final Resource original;
+
+		CompressedResource(Resource original) {
+			this.original = original;
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			return new ByteArrayInputStream(compressedContentCache.get(this.original, this::compress));
+		}
+
+		@Override
+		public long contentLength() throws IOException {
+			return compressedContentCache.get(this.original, this::compress).length;
+		}
+
+		@Override
+		public long lastModified() throws IOException {
+			return this.original.lastModified();
+		}
+
+		@Override
+		public boolean exists() {
+			return this.original.exists();
+		}
+
+		@Override
+		@Nullable
+		public String getFilename() {
+			return this.original.getFilename();
+		}
+
+		@Override
+		public String getDescription() {
+			return "gzip-compressed " + this.original.getDescription();
+		}
+
+		private byte[] compress() throws IOException {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			try (InputStream in = this.original.getInputStream(); OutputStream gzip = new GZIPOutputStream(out)) {
+				StreamUtils.copy(in, gzip);
+			}
+			byte[] content = out.toByteArray();
+			if (logger.isTraceEnabled()) {
+				logger.trace("Compressed [" + this.original.getFilename() + "] to " + content.length + " bytes");
+			}
+			return content;
+		}
+	}
+
+
+	/**
+	 * Callback to compress the content of a resource.
+	 */
+	@FunctionalInterface
+	private interface Compressor {
+
+		byte[] compress() throws IOException;
+	}
+
+
+	/**
+	 * Cache for compressed content, bounded by the total size of the content and
+	 * evicting least recently used entries first. Concurrent misses for the same
+	 * resource wait for a single compression.
+	 */
+	private static final class CompressedContentCache {
+
+		private final LinkedHashMap<Resource, CompressedContent> contents = new LinkedHashMap<>(16, 0.75f, true);
+
+		private final Map<Resource, FutureTask<byte[]>> compressions = new ConcurrentHashMap<>();
+
+		private long sizeLimit;
+
+		private long size;
+
+		CompressedContentCache(long sizeLimit) {
+			this.sizeLimit = sizeLimit;
+		}
+
+		public synchronized void setSizeLimit(long sizeLimit) {
+			this.sizeLimit = sizeLimit;
+			evict();
+		}
+
+		public synchronized long getSizeLimit() {
+			return this.sizeLimit;
+		}
+
+		public byte[] get(Resource resource, Compressor compressor) throws IOException {
+			long lastModified = resource.lastModified();
+			byte[] content = get(resource, lastModified);
+			if (content != null) {
+				return content;
+			}
+			FutureTask<byte[]> compression = new FutureTask<>(() -> {
+				// Re-check: a compression may have completed since the first lookup
+				byte[] bytes = get(resource, lastModified);
+				if (bytes == null) {
+					bytes = compressor.compress();
+					put(resource, lastModified, bytes);
+				}
+				return bytes;
+			});
+			FutureTask<byte[]> existing = this.compressions.putIfAbsent(resource, compression);
+			if (existing == null) {
+				try {
+					compression.run();
+				}
+				finally {
+					this.compressions.remove(resource, compression);
+				}
+				existing = compression;
+			}
+			try {
+				return existing.get();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for compression of " + resource);
+			}
+			catch (ExecutionException ex) {
+				Throwable cause = ex.getCause();
+				if (cause instanceof IOException) {
+					throw (IOException) cause;
+				}
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new IOException("Failed to compress " + resource, cause);
+			}
+		}
+
+		@Nullable
+		private synchronized byte[] get(Resource resource, long lastModified) {
+			CompressedContent content = this.contents.get(resource);
+			if (content == null) {
+				return null;
+			}
+			if (content.lastModified != lastModified) {
+				this.contents.remove(resource);
+				this.size -= content.bytes.length;
+				return null;
+			}
+			return content.bytes;
+		}
+
+		private synchronized void put(Resource resource, long lastModified, byte[] bytes) {
+			if (bytes.length > this.sizeLimit) {
+				return;
+			}
+			CompressedContent previous = this.contents.put(resource, new CompressedContent(bytes, lastModified));
+			if (previous != null) {
+				this.size -= previous.bytes.length;
+			}
+			this.size += bytes.length;
+			evict();
+		}
+
+		private void evict() {
+			Iterator<CompressedContent> it = this.contents.values().iterator();
+			while (this.size > this.sizeLimit && it.hasNext()) {
+				this.size -= it.next().bytes.length;
+				it.remove();
+			}
+		}
+	}
+
+
+	private static final class CompressedContent {
+
+		final byte[] bytes;
+
+		final long lastModified;
+
+		CompressedContent(byte[] bytes, long lastModified) {
+			this.bytes = bytes;
+			this.lastModified = lastModified;
+		}
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package org.springframework.web.servlet.resource;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
@@ -25,6 +26,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import javax.servlet.ServletException;
+import javax.servlet.ServletRequestWrapper;
+import javax.servlet.ServletResponseWrapper;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
@@ -36,6 +39,7 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.EmbeddedValueResolverAware;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.support.ResourceRegion;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpRange;
@@ -85,6 +89,10 @@ import org.springframework.web.util.UrlPathHelper;
  * (if present) so that a {@code 304} status code will be returned as appropriate,
  * avoiding unnecessary overhead for resources that are already cached by the client.
  *
+ * <p>Large file-based resources are handed off to the Servlet container's sendfile
+ * support where available (see {@link #setSendfileThreshold}), letting the container
+ * transfer the content without copying it through the response output stream.
+ *
  * @author Keith Donald
  * @author Jeremy Grelle
  * @author Juergen Hoeller
@@ -100,6 +108,14 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 
 	private static final String URL_RESOURCE_CHARSET_PREFIX = "[charset=";
 
+	private static final String SENDFILE_SUPPORTED_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+
+	private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+
+	private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+
+	private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
 
 	private final List<String> locationValues = new ArrayList<>(4);
 
@@ -117,6 +133,8 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 	@Nullable
 	private ResourceRegionHttpMessageConverter resourceRegionHttpMessageConverter;
 
+	private long sendfileThreshold = 48 * 1024;
+
 	@Nullable
 	private ContentNegotiationManager contentNegotiationManager;
 
@@ -248,6 +266,31 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 		return this.resourceRegionHttpMessageConverter;
 	}
 
+	/**
+	 * Set the minimum content length for file-based resources to be handed off
+	 * to the Servlet container's sendfile support instead of being copied through
+	 * the response output stream. Currently supported through Tomcat's
+	 * {@code org.apache.tomcat.sendfile.*} request attributes.
+	 * <p>Sendfile is only used if the container indicates support for the current
+	 * request, and only for requests and responses that have not been wrapped
+	 * (e.g. by a content caching filter) since a wrapper would not see the content.
+	 * <p>The default is 48 KB, in line with Tomcat's default servlet.
+	 * Set this to -1 in order to always copy resources through the output stream.
+	 * @since 5.0.12
+	 */
+	public void setSendfileThreshold(long sendfileThreshold) {
+		this.sendfileThreshold = sendfileThreshold;
+	}
+
+	/**
+	 * Return the minimum content length for resources to be handed off to
+	 * the Servlet container's sendfile support, or -1 if disabled.
+	 * @since 5.0.12
+	 */
+	public long getSendfileThreshold() {
+		return this.sendfileThreshold;
+	}
+
 	/**
 	 * Configure a {@code ContentNegotiationManager} to help determine the
 	 * media types for resources being served. If the manager contains a path
@@ -484,6 +527,14 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 		if (request.getHeader(HttpHeaders.RANGE) == null) {
 			Assert.state(this.resourceHttpMessageConverter != null, "Not initialized");
 			setHeaders(response, resource, mediaType);
+			long length = resource.contentLength();
+			if (sendfile(request, response, resource, 0, length)) {
+				if (mediaType == null) {
+					response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+				}
+				logger.trace("Resource content handed off to the container's sendfile support");
+				return;
+			}
 			this.resourceHttpMessageConverter.write(resource, mediaType, outputMessage);
 		}
 		else {
@@ -492,9 +543,23 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 			ServletServerHttpRequest inputMessage = new ServletServerHttpRequest(request);
 			try {
 				List<HttpRange> httpRanges = inputMessage.getHeaders().getRange();
+				List<ResourceRegion> regions = HttpRange.toResourceRegions(httpRanges, resource);
 				response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
-				this.resourceRegionHttpMessageConverter.write(
-						HttpRange.toResourceRegions(httpRanges, resource), mediaType, outputMessage);
+				if (regions.size() == 1) {
+					ResourceRegion region = regions.get(0);
+					long length = resource.contentLength();
+					long start = region.getPosition();
+					long end = Math.min(start + region.getCount(), length);
+					if (sendfile(request, response, resource, start, end)) {
+						response.setHeader("Content-Range", "bytes " + start + '-' + (end - 1) + '/' + length);
+						response.setContentLengthLong(end - start);
+						response.setContentType(mediaType != null ? mediaType.toString() :
+								MediaType.APPLICATION_OCTET_STREAM_VALUE);
+						logger.trace("Resource region handed off to the container's sendfile support");
+						return;
+					}
+				}
+				this.resourceRegionHttpMessageConverter.write(regions, mediaType, outputMessage);
 			}
 			catch (IllegalArgumentException ex) {
 				response.setHeader("Content-Range", "bytes */" + resource.contentLength());
@@ -503,6 +568,33 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 		}
 	}
 
+	/**
+	 * Hand off the given range of the resource content to the Servlet container's
+	 * sendfile support, if available for the current request and resource.
+	 * @param request current servlet request
+	 * @param response current servlet response
+	 * @param resource the identified resource
+	 * @param start the start position (inclusive)
+	 * @param end the end position (exclusive)
+	 * @return {@code true} if the content is going to be written by the container,
+	 * {@code false} if it needs to be written to the response output stream
+	 */
+	private boolean sendfile(HttpServletRequest request, HttpServletResponse response,
+			Resource resource, long start, long end) throws IOException {
+
+		if (this.sendfileThreshold < 0 || end - start < this.sendfileThreshold ||
+				!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTRIBUTE)) ||
+				request instanceof ServletRequestWrapper || response instanceof ServletResponseWrapper ||
+				!resource.isFile()) {
+			return false;
+		}
+		File file = resource.getFile();
+		request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.getAbsolutePath());
+		request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+		request.setAttribute(SENDFILE_END_ATTRIBUTE, end);
+		return true;
+	}
+
 	@Nullable
 	protected Resource getResource(HttpServletRequest request) throws IOException {
 		String path = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.handler;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link MappingPatternIndex}.
+ */
+public class MappingPatternIndexTests {
+
+	private final MappingPatternIndex<String> index = new MappingPatternIndex<>();
+
+
+	@Before
+	public void setup() {
+		add("/hotels");
+		add("/hotels/{hotel}");
+		add("/hotels/{hotel}/bookings", "/hotels/{hotel}/bookings/*");
+		add("/hotels/*/rooms/{room:\\d+}");
+		add("/static/**");
+		add("/files/**/*.txt");
+		add("/users/{id}/profile");
+		add("/users/me/profile");
+	}
+
+	private void add(String... patterns) {
+		this.index.add(patterns[0], Arrays.asList(patterns));
+	}
+
+
+	@Test
+	public void literalMatch() {
+		assertCandidates("/hotels", "/hotels");
+		assertCandidates("/unknown");
+	}
+
+	@Test
+	public void singleSegmentWildcards() {
+		assertCandidates("/hotels/42", "/hotels/{hotel}");
+		assertCandidates("/hotels/42/bookings", "/hotels/{hotel}/bookings");
+		assertCandidates("/hotels/42/bookings/1", "/hotels/{hotel}/bookings");
+		assertCandidates("/hotels/42/rooms/7", "/hotels/*/rooms/{room:\\d+}");
+		assertCandidates("/hotels/42/rooms/7/beds");
+	}
+
+	@Test
+	public void literalAndWildcardSegments() {
+		assertCandidates("/users/me/profile", "/users/{id}/profile", "/users/me/profile");
+		assertCandidates("/users/1/profile", "/users/{id}/profile");
+	}
+
+	@Test
+	public void catchAll() {
+		assertCandidates("/static", "/static/**");
+		assertCandidates("/static/css/main.css", "/static/**");
+		assertCandidates("/files/a/b/c.txt", "/files/**/*.txt");
+	}
+
+	@Test
+	public void suffixPatternAndTrailingSlash() {
+		assertCandidates("/hotels.json", "/hotels");
+		assertCandidates("/hotels/", "/hotels", "/hotels/{hotel}");
+		assertCandidates("/hotels/42/bookings.xml", "/hotels/{hotel}/bookings");
+	}
+
+	@Test
+	public void caseInsensitive() {
+		assertCandidates("/Hotels/42", "/hotels/{hotel}");
+	}
+
+	@Test
+	public void unindexedMapping() {
+		this.index.add("any", Collections.emptySet());
+		assertCandidates("/unknown", "any");
+		assertCandidates("/hotels", "/hotels", "any");
+	}
+
+	@Test
+	public void remove() {
+		this.index.remove("/hotels/{hotel}/bookings");
+		this.index.remove("/static/**");
+		assertCandidates("/hotels/42/bookings");
+		assertCandidates("/hotels/42/bookings/1");
+		assertCandidates("/static/css/main.css");
+	}
+
+	private void assertCandidates(String lookupPath, String... expected) {
+		Collection<String> candidates = this.index.getCandidates(lookupPath);
+		assertEquals(new HashSet<>(Arrays.asList(expected)), new HashSet<>(candidates));
+	}
+
+}
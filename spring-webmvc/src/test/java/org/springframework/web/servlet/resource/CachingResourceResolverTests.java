@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -121,6 +121,18 @@ public class CachingResourceResolverTests {
 		assertEquals(expected, this.cache.get(cacheKey).get());
 	}
 
+	@Test
+	public void resolveResourceAcceptEncodingsInCacheKey() {
+		String file = "bar.css";
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", file);
+		request.addHeader("Accept-Encoding", "gzip;q=0.9, deflate, br");
+		Resource expected = this.chain.resolveResource(request, file, this.locations);
+		String cacheKey = CachingResourceResolver.RESOLVED_RESOURCE_CACHE_KEY_PREFIX + file + "+encoding=br,gzip";
+
+		assertEquals(expected, this.cache.get(cacheKey).get());
+	}
+
 	@Test
 	public void resolveResourceNoAcceptEncodingInCacheKey() {
 		String file = "bar.css";
@@ -22,6 +22,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
 
 import org.hamcrest.Matchers;
 import org.junit.Before;
@@ -660,6 +661,62 @@ public class ResourceHttpRequestHandlerTests {
 		assertEquals("max-age=3600", this.response.getHeader("Cache-Control"));
 	}
 
+	@Test
+	public void sendfile() throws Exception {
+		this.handler.setSendfileThreshold(0);
+		this.request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		this.request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "foo.css");
+		this.handler.handleRequest(this.request, this.response);
+
+		assertEquals(200, this.response.getStatus());
+		assertEquals("text/css", this.response.getContentType());
+		assertEquals(17, this.response.getContentLength());
+		assertEquals("bytes", this.response.getHeader("Accept-Ranges"));
+		assertEquals(0, this.response.getContentAsByteArray().length);
+		assertEquals(new ClassPathResource("test/foo.css", getClass()).getFile().getAbsolutePath(),
+				this.request.getAttribute("org.apache.tomcat.sendfile.filename"));
+		assertEquals(0L, this.request.getAttribute("org.apache.tomcat.sendfile.start"));
+		assertEquals(17L, this.request.getAttribute("org.apache.tomcat.sendfile.end"));
+	}
+
+	@Test
+	public void sendfileWithByteRange() throws Exception {
+		this.handler.setSendfileThreshold(0);
+		this.request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		this.request.addHeader("Range", "bytes=2-5");
+		this.request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "foo.txt");
+		this.handler.handleRequest(this.request, this.response);
+
+		assertEquals(206, this.response.getStatus());
+		assertEquals("text/plain", this.response.getContentType());
+		assertEquals(4, this.response.getContentLength());
+		assertEquals("bytes 2-5/10", this.response.getHeader("Content-Range"));
+		assertEquals(0, this.response.getContentAsByteArray().length);
+		assertEquals(2L, this.request.getAttribute("org.apache.tomcat.sendfile.start"));
+		assertEquals(6L, this.request.getAttribute("org.apache.tomcat.sendfile.end"));
+	}
+
+	@Test
+	public void sendfileBelowThreshold() throws Exception {
+		this.request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		this.request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "foo.css");
+		this.handler.handleRequest(this.request, this.response);
+
+		assertEquals("h1 { color:red; }", this.response.getContentAsString());
+		assertNull(this.request.getAttribute("org.apache.tomcat.sendfile.filename"));
+	}
+
+	@Test
+	public void sendfileWithWrappedResponse() throws Exception {
+		this.handler.setSendfileThreshold(0);
+		this.request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		this.request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "foo.css");
+		this.handler.handleRequest(this.request, new HttpServletResponseWrapper(this.response));
+
+		assertEquals("h1 { color:red; }", this.response.getContentAsString());
+		assertNull(this.request.getAttribute("org.apache.tomcat.sendfile.filename"));
+	}
+
 
 	private long resourceLastModified(String resourceName) throws IOException {
 		return new ClassPathResource(resourceName, getClass()).getFile().lastModified();